@@ -17,6 +17,7 @@ function addFunctions() {
     addSprintfFunctions();
     addIoFunctions();
     addStringFunctions();
+    addQueryFunctions();
 }
 
 function addJSONFunctions() {
@@ -140,3 +141,10 @@ function addStringFunctions() {
     functions["benchmarkStringSplit"] = benchmarktypes:benchmarkStringSplit;
     functions["benchmarkStringUnescape"] = benchmarktypes:benchmarkStringUnescape;
 }
+
+function addQueryFunctions() {
+    functions["benchmarkQueryOrderByConstantLimit"] = benchmarktypes:benchmarkQueryOrderByConstantLimit;
+    functions["benchmarkQueryOrderByVariableLimit"] = benchmarktypes:benchmarkQueryOrderByVariableLimit;
+    functions["benchmarkQueryWhereLetSelect"] = benchmarktypes:benchmarkQueryWhereLetSelect;
+    functions["benchmarkQuerySelect"] = benchmarktypes:benchmarkQuerySelect;
+}
@@ -0,0 +1,53 @@
+type Reading record {|
+    int id;
+    int sensor;
+    int value;
+|};
+
+const int READING_COUNT = 1000000;
+
+// The readings are created once, so that each iteration only measures the query.
+final Reading[] & readonly readings = createReadings(READING_COUNT);
+
+public function benchmarkQueryOrderByConstantLimit() {
+    // A constant limit right after the order by clause keeps only the first 10 frames while ordering.
+    Reading[] top = from var reading in readings
+        order by reading.value descending
+        limit 10
+        select reading;
+}
+
+public function benchmarkQueryOrderByVariableLimit() {
+    // The same query with a non-constant limit orders all the readings before taking the first 10.
+    int count = 10;
+    Reading[] top = from var reading in readings
+        order by reading.value descending
+        limit count
+        select reading;
+}
+
+public function benchmarkQueryWhereLetSelect() {
+    // The where, let and select stages run as one fused stage.
+    int[] scaled = from var reading in readings
+        where reading.sensor % 2 == 0
+        let int scaledValue = reading.value * 10
+        where scaledValue > 500000
+        select scaledValue + reading.sensor;
+}
+
+public function benchmarkQuerySelect() {
+    // A lone select stage is not fused.
+    int[] values = from var reading in readings
+        select reading.value;
+}
+
+function createReadings(int count) returns Reading[] & readonly {
+    Reading[] result = [];
+    int seed = 42;
+    foreach int i in 0 ..< count {
+        // Linear congruential generator, which gives the same readings for every run.
+        seed = (seed * 1103515245 + 12345) % 2147483648;
+        result.push({id: i, sensor: i % 64, value: seed % 100000});
+    }
+    return result.cloneReadOnly();
+}
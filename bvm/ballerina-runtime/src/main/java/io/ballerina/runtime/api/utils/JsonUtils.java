@@ -31,7 +31,6 @@ import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BIterator;
 import io.ballerina.runtime.api.values.BMap;
-import io.ballerina.runtime.api.values.BRefValue;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTable;
 import io.ballerina.runtime.internal.JsonGenerator;
@@ -39,8 +38,6 @@ import io.ballerina.runtime.internal.JsonInternalUtils;
 import io.ballerina.runtime.internal.JsonParser;
 import io.ballerina.runtime.internal.TypeChecker;
 import io.ballerina.runtime.internal.commons.TypeValuePair;
-import io.ballerina.runtime.internal.util.exceptions.BLangExceptionHelper;
-import io.ballerina.runtime.internal.util.exceptions.RuntimeErrors;
 import io.ballerina.runtime.internal.values.ErrorValue;
 
 import java.io.IOException;
@@ -52,10 +49,6 @@ import java.nio.charset.Charset;
 import java.util.List;
 import java.util.Map;
 
-import static io.ballerina.runtime.api.creators.ErrorCreator.createError;
-import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReasons.VALUE_LANG_LIB_CONVERSION_ERROR;
-import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReasons.VALUE_LANG_LIB_CYCLIC_VALUE_REFERENCE_ERROR;
-import static io.ballerina.runtime.internal.util.exceptions.RuntimeErrors.INCOMPATIBLE_CONVERT_OPERATION;
 
 /**
  * Class @{@link JsonParser} provides APIs to handle json values.
@@ -289,7 +282,7 @@ public class JsonUtils {
         }
         TypeValuePair typeValuePair = new TypeValuePair(value, jsonType);
         if (unresolvedValues.contains(typeValuePair)) {
-            throw createCyclicValueReferenceError(value);
+            throw JsonInternalUtils.createCyclicValueReferenceError(value);
         }
         unresolvedValues.add(typeValuePair);
         Object newValue;
@@ -316,7 +309,7 @@ public class JsonUtils {
                     try {
                         newValue = JsonInternalUtils.toJSON(bTable);
                     } catch (Exception e) {
-                        throw createConversionError(value, jsonType, e.getMessage());
+                        throw JsonInternalUtils.createConversionError(value, jsonType, e.getMessage());
                     }
                 }
                 break;
@@ -326,7 +319,7 @@ public class JsonUtils {
                 break;
             case TypeTags.ERROR_TAG:
             default:
-                throw createConversionError(value, jsonType);
+                throw JsonInternalUtils.createConversionError(value, jsonType);
         }
         unresolvedValues.remove(typeValuePair);
         return newValue;
@@ -363,23 +356,6 @@ public class JsonUtils {
         return newArray;
     }
 
-    private static BError createConversionError(Object inputValue, Type targetType) {
-        return createError(VALUE_LANG_LIB_CONVERSION_ERROR,
-                BLangExceptionHelper.getErrorDetails(INCOMPATIBLE_CONVERT_OPERATION,
-                        TypeChecker.getType(inputValue), targetType));
-    }
-
-    private static BError createConversionError(Object inputValue, Type targetType, String detailMessage) {
-        return createError(VALUE_LANG_LIB_CONVERSION_ERROR, BLangExceptionHelper.getErrorMessage(
-                        INCOMPATIBLE_CONVERT_OPERATION, TypeChecker.getType(inputValue), targetType)
-                .concat(StringUtils.fromString(": ".concat(detailMessage))));
-    }
-
-    private static BError createCyclicValueReferenceError(Object value) {
-        return createError(VALUE_LANG_LIB_CYCLIC_VALUE_REFERENCE_ERROR, BLangExceptionHelper.getErrorDetails(
-                RuntimeErrors.CYCLIC_VALUE_REFERENCE, ((BRefValue) value).getType()));
-    }
-
     /**
      * Represents the modes which process numeric values while converting a string to JSON.
      */
@@ -52,6 +52,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -355,6 +356,16 @@ public class StringUtils {
      * @return Json String value of the value
      */
     public static String getJsonString(Object value) {
+        switch (TypeChecker.getType(value).getTag()) {
+            case TypeTags.RECORD_TYPE_TAG:
+            case TypeTags.MAP_TAG:
+            case TypeTags.TUPLE_TAG:
+            case TypeTags.ARRAY_TAG:
+            case TypeTags.TABLE_TAG:
+                return toJsonString(value);
+            default:
+                break;
+        }
         Object jsonValue = JsonUtils.convertToJson(value, new ArrayList<>());
 
         Type type = TypeChecker.getType(jsonValue);
@@ -374,6 +385,18 @@ public class StringUtils {
         }
     }
 
+    private static String toJsonString(Object value) {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        JsonGenerator gen = new JsonGenerator(byteOut, StandardCharsets.UTF_8);
+        try {
+            gen.convertAndSerialize(value);
+            gen.flush();
+        } catch (IOException e) {
+            throw new BallerinaException("Error in converting value to a json string: " + e.getMessage(), e);
+        }
+        return byteOut.toString(StandardCharsets.UTF_8);
+    }
+
     private static String stringToJson(BString value) {
         ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
         JsonGenerator gen = new JsonGenerator(byteOut);
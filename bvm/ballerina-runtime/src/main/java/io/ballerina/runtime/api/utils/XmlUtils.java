@@ -88,6 +88,31 @@ public class XmlUtils {
         return XmlFactory.parse(reader);
     }
 
+    /**
+     * Create a XML sequence from string reader, where the children of each element are built on first access.
+     * The input is fully read and checked, but subtrees which are never navigated are not materialized.
+     *
+     * @param reader XML reader
+     * @return XML Sequence
+     */
+    public static BXml parseLazily(Reader reader) {
+        return XmlFactory.parseLazily(reader);
+    }
+
+    /**
+     * Create a XML sequence which reads its items from string reader while being iterated, without retaining the
+     * items already iterated. The sequence supports a single iteration; accessing it otherwise reads all remaining
+     * items into memory.
+     *
+     * @param reader XML reader
+     * @param depth  Element nesting depth of the items, 0 for the top-level items of the document, 1 for the
+     *               children of the top-level elements and so on
+     * @return XML Sequence
+     */
+    public static BXml parseAsStream(Reader reader, int depth) {
+        return XmlFactory.parseAsStream(reader, depth);
+    }
+
     /**
      * Converts a {@link io.ballerina.runtime.internal.values.TableValue} to {@link BXml}.
      *
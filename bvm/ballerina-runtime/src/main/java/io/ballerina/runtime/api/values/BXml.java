@@ -19,6 +19,8 @@ package io.ballerina.runtime.api.values;
 import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.types.XmlNodeType;
 
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 
 /**
@@ -289,4 +291,13 @@ public interface BXml extends BRefValue, BCollection {
      * @return iterator next return type.
      */
     Type getIteratorNextReturnType();
+
+    /**
+     * Serialize the XML as UTF-8 encoded markup into the given channel.
+     *
+     * @param channel Represent the channel that the data will be written to.
+     */
+    default void serialize(WritableByteChannel channel) {
+        serialize(Channels.newOutputStream(channel));
+    }
 }
@@ -21,53 +21,121 @@ import io.ballerina.runtime.internal.scheduling.State;
 import io.ballerina.runtime.internal.scheduling.Strand;
 
 import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * {@code VarLock} represents lock object for variables in jvm.
+ * <p>
+ * The owner strand is acquired with a CAS, hence an uncontended lock or unlock does not need the monitor. A strand
+ * which finds the lock held spins for a short, adaptively sized period before it is queued and yields. Queued strands
+ * are unblocked one at a time on unlock and retry acquiring the lock when they are resumed.
  *
  * @since 1.0.0
  */
 public class BLock {
 
-    private ArrayDeque<Strand> current;
+    private static final int MAX_SPINS = Runtime.getRuntime().availableProcessors() > 1 ? 256 : 0;
+    private static final int MIN_SPINS = 4;
 
-    private ArrayDeque<Strand> waitingForLock;
+    private final AtomicReference<Strand> owner = new AtomicReference<>();
 
-    public BLock() {
-        this.current = new ArrayDeque<>();
-        this.waitingForLock = new ArrayDeque<>();
-    }
+    /**
+     * Number of times the owner has acquired the lock. Only accessed by the owner.
+     */
+    private int holdCount;
+
+    /**
+     * Spin limit for contended acquisitions, adjusted based on whether spinning paid off for this lock.
+     */
+    private int spinLimit = MAX_SPINS / 4;
+
+    /**
+     * Number of strands that are queued, or about to be queued, in {@code waitingForLock}.
+     */
+    private final AtomicInteger waiterCount = new AtomicInteger();
 
-    public synchronized boolean lock(Strand strand) {
-        if (isLockFree() || lockedBySameContext(strand)) {
-            this.current.offerLast(strand);
+    private final ArrayDeque<Strand> waitingForLock = new ArrayDeque<>();
+
+    public boolean lock(Strand strand) {
+        Strand currentOwner = owner.get();
+        if (currentOwner == strand) {
+            holdCount++;
             strand.acquiredLockCount++;
             return true;
         }
+        if ((currentOwner == null && tryAcquire(strand)) || spinAndAcquire(strand)) {
+            return true;
+        }
 
-        this.waitingForLock.offerLast(strand);
+        synchronized (this) {
+            // Publish the waiter before the final attempt, so that an unlock which misses this attempt will see the
+            // waiter and unblock a queued strand.
+            waiterCount.incrementAndGet();
+            if (tryAcquire(strand)) {
+                waiterCount.decrementAndGet();
+                return true;
+            }
 
-        // Strand state change
-        strand.setState(State.BLOCK_AND_YIELD);
-        strand.blockedOnExtern = false;
+            // Strand state change. This must happen before the strand is queued, under the monitor an unlock polls
+            // the queue with, or else the unblocked state set by an unlock could be overwritten and the wakeup lost.
+            strand.setState(State.BLOCK_AND_YIELD);
+            strand.blockedOnExtern = false;
+            this.waitingForLock.offerLast(strand);
+        }
         return false;
     }
 
-    public synchronized void unlock() {
-        //current cannot be empty as unlock cannot be called without lock being called first.
-        Strand removedStrand = this.current.removeLast();
+    public void unlock() {
+        //owner cannot be null as unlock cannot be called without lock being called first.
+        Strand removedStrand = owner.get();
         removedStrand.acquiredLockCount--;
-        if (!waitingForLock.isEmpty()) {
-            Strand strand = this.waitingForLock.removeFirst();
-            strand.scheduler.unblockStrand(strand);
+        if (--holdCount > 0) {
+            return;
         }
+        owner.set(null);
+        if (waiterCount.get() == 0) {
+            return;
+        }
+
+        Strand strand;
+        synchronized (this) {
+            strand = this.waitingForLock.pollFirst();
+            if (strand == null) {
+                return;
+            }
+            waiterCount.decrementAndGet();
+        }
+        strand.scheduler.unblockStrand(strand);
     }
 
     public boolean isLockFree() {
-        return this.current.isEmpty();
+        return owner.get() == null;
     }
 
     public boolean lockedBySameContext(Strand ctx) {
-        return this.current.getLast() == ctx;
+        return owner.get() == ctx;
+    }
+
+    private boolean tryAcquire(Strand strand) {
+        if (!owner.compareAndSet(null, strand)) {
+            return false;
+        }
+        holdCount = 1;
+        strand.acquiredLockCount++;
+        return true;
+    }
+
+    private boolean spinAndAcquire(Strand strand) {
+        int limit = spinLimit;
+        for (int i = 0; i < limit; i++) {
+            Thread.onSpinWait();
+            if (owner.get() == null && tryAcquire(strand)) {
+                spinLimit = Math.min(MAX_SPINS, limit * 2);
+                return true;
+            }
+        }
+        spinLimit = Math.max(Math.min(MIN_SPINS, MAX_SPINS), limit / 2);
+        return false;
     }
 }
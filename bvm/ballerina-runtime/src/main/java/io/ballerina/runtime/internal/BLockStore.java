@@ -45,6 +45,12 @@ public class BLockStore {
     }
 
     public BLock getLockFromMap(String lockName) {
+        // Locks are looked up on every lock and unlock, hence avoid computeIfAbsent, which may lock the bin, once
+        // the lock is created.
+        BLock lock = globalLockMap.get(lockName);
+        if (lock != null) {
+            return lock;
+        }
         return globalLockMap.computeIfAbsent(lockName, (k) -> {
             return new BLock();
         });
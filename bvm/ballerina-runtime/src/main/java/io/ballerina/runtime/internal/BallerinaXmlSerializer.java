@@ -26,13 +26,15 @@ import io.ballerina.runtime.internal.values.XmlPi;
 import io.ballerina.runtime.internal.values.XmlSequence;
 import io.ballerina.runtime.internal.values.XmlText;
 
-import java.io.CharArrayWriter;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,53 +42,38 @@ import java.util.Set;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
-import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.XMLStreamWriter;
 
 import static io.ballerina.runtime.api.values.BXmlItem.XMLNS_NS_URI_PREFIX;
 
 /**
- * XML Serializer for Ballerina XML value trees.
+ * XML Serializer for Ballerina XML value trees. The markup is encoded as UTF-8 directly into the target output
+ * stream or channel, without building the XML string.
  *
  * @since 1.2.0
  */
 public class BallerinaXmlSerializer extends OutputStream {
-    private static final XMLOutputFactory xmlOutputFactory;
     private static final String XMLNS = "xmlns";
     private static final String XML_NAME_SPACE = "http://www.w3.org/XML/1998/namespace";
     private static final String EMPTY_STR = "";
     private static final String PARSE_XML_OP = "parse xml";
     private static final String XML = "xml";
     private static final String XML_NS_URI_PREFIX = "{" + XMLConstants.XML_NS_URI + "}";
-    private static final String OUTPUT_VALIDATE_PROPERTY = "com.ctc.wstx.outputValidateStructure";
-    private static final String OUTPUT_FACTORY = "com.ctc.wstx.stax.WstxOutputFactory";
-    private static final String AUTOMATIC_END_ELEMENTS = "com.ctc.wstx.automaticEndElements";
 
-    private XMLStreamWriter xmlStreamWriter;
-    private Deque<Set<String>> parentNSSet;
+    private final Utf8XmlWriter xmlStreamWriter;
+    private final Deque<NamespaceLevel> parentNSSet = new ArrayDeque<>();
     private int nsNumber;
-    private boolean withinElement;
-    private static boolean isDefaultFactory = false;
-
-    static {
-        xmlOutputFactory = XMLOutputFactory.newInstance();
-        if (xmlOutputFactory.getClass().getName().equals(OUTPUT_FACTORY)) {
-            xmlOutputFactory.setProperty(OUTPUT_VALIDATE_PROPERTY, false);
-            xmlOutputFactory.setProperty(AUTOMATIC_END_ELEMENTS, false);
-        } else {
-            xmlOutputFactory.setProperty("escapeCharacters", false);
-            isDefaultFactory = true;
-        }
-    }
+    // Scratch maps of the element being written, they are no longer needed once its children are written.
+    private final Map<String, String> nsPrefixMap = new LinkedHashMap<>();
+    private final Map<String, String> attributeMap = new LinkedHashMap<>();
+    private final Map<String, String> defaultNsMapEntries = new HashMap<>();
 
     public BallerinaXmlSerializer(OutputStream outputStream) {
-        try {
-            xmlStreamWriter = xmlOutputFactory.createXMLStreamWriter(outputStream);
-            parentNSSet = new ArrayDeque<>();
-        } catch (XMLStreamException e) {
-            BLangExceptionHelper.handleXMLException(PARSE_XML_OP, e);
-        }
+        xmlStreamWriter = new Utf8XmlWriter(outputStream);
+    }
+
+    public BallerinaXmlSerializer(WritableByteChannel channel) {
+        xmlStreamWriter = new Utf8XmlWriter(channel);
     }
 
     @Override
@@ -150,53 +137,22 @@ public class BallerinaXmlSerializer extends OutputStream {
     }
 
     private void writeXMLText(XmlText xmlValue) throws XMLStreamException {
-        // No need to escape xml text when they are within xml element or if it is not from default stream writer.
-        // It's handled by xml stream  writer.
-        if (this.withinElement && !isDefaultFactory) {
-            String textValue = xmlValue.getTextValue();
-            if (!textValue.isEmpty()) {
-                xmlStreamWriter.writeCharacters(textValue);
-            }
-        } else {
-            char[] textValue = escapeCharacters(xmlValue.getTextValue());
-            if (textValue.length != 0) {
-                xmlStreamWriter.writeCharacters(textValue, 0, textValue.length);
-            }
+        String textValue = xmlValue.getTextValue();
+        if (!textValue.isEmpty()) {
+            xmlStreamWriter.writeCharacters(textValue, true);
         }
     }
 
-    private char[] escapeCharacters(String textValue) {
-        char[] chars = textValue.toCharArray();
-        int length = chars.length;
-        CharArrayWriter writer = new CharArrayWriter(length);
-        int i;
-        for (i = 0; i < length; i++) {
-            char c = chars[i];
-            switch (c) {
-                case '<':
-                    writer.append("&lt;");
-                    break;
-                case '&':
-                    writer.append("&amp;");
-                    break;
-                case '>':
-                    writer.append("&gt;");
-                    break;
-                default:
-                    writer.append(c);
-            }
-        }
-        return writer.toCharArray();
-    }
-
     private void writeElement(XmlItem xmlValue) throws XMLStreamException {
         // Setup namespace hierarchy
-        Set<String> prevNSSet = this.parentNSSet.peek();
-        HashSet<String> currentNSLevel = prevNSSet == null ? new HashSet<>() : new HashSet<>(prevNSSet);
+        NamespaceLevel prevNSLevel = this.parentNSSet.peek();
+        NamespaceLevel currentNSLevel = new NamespaceLevel(prevNSLevel);
         this.parentNSSet.push(currentNSLevel);
 
-        Map<String, String> nsPrefixMap = new LinkedHashMap<>();
-        Map<String, String> attributeMap = new LinkedHashMap<>();
+        Map<String, String> nsPrefixMap = this.nsPrefixMap;
+        Map<String, String> attributeMap = this.attributeMap;
+        nsPrefixMap.clear();
+        attributeMap.clear();
         splitAttributesAndNSPrefixes(xmlValue, nsPrefixMap, attributeMap);
 
         QName qName = xmlValue.getQName();
@@ -209,18 +165,14 @@ public class BallerinaXmlSerializer extends OutputStream {
         // Write attributes
         writeAttributes(currentNSLevel, attributeMap);
 
-        // Track and override xml text escape when xml text is within an element.
-        boolean prevWithinElementFlag = this.withinElement;
-        this.withinElement = true;
         xmlValue.getChildrenSeq().serialize(this);
-        this.withinElement = prevWithinElementFlag;
 
         xmlStreamWriter.writeEndElement();
         // Reset namespace decl hierarchy for this node.
         this.parentNSSet.pop();
     }
 
-    private String setDefaultNamespace(Map<String, String> nsPrefixMap, QName qName, HashSet<String> currentNSLevel)
+    private String setDefaultNamespace(Map<String, String> nsPrefixMap, QName qName, NamespaceLevel currentNSLevel)
             throws XMLStreamException {
         boolean elementNSUsageFoundInAttribute = false;
         for (Map.Entry<String, String> entry : nsPrefixMap.entrySet()) {
@@ -257,7 +209,7 @@ public class BallerinaXmlSerializer extends OutputStream {
         return null;
     }
 
-    private void writeStartElement(QName qName, Map<String, String> nsPrefixMap, HashSet<String> currentNSLevel)
+    private void writeStartElement(QName qName, Map<String, String> nsPrefixMap, NamespaceLevel currentNSLevel)
             throws XMLStreamException {
         String defaultNamespaceUri = setDefaultNamespace(nsPrefixMap, qName, currentNSLevel);
 
@@ -276,7 +228,11 @@ public class BallerinaXmlSerializer extends OutputStream {
             return;
         }
 
-        String defaultNsMapEntry = concatNsPrefixURI("", defaultNamespaceUri);
+        String defaultNsMapEntry = defaultNsMapEntries.get(defaultNamespaceUri);
+        if (defaultNsMapEntry == null) {
+            defaultNsMapEntry = concatNsPrefixURI("", defaultNamespaceUri);
+            defaultNsMapEntries.put(defaultNamespaceUri, defaultNsMapEntry);
+        }
         if (!currentNSLevel.contains(defaultNsMapEntry)) {
             xmlStreamWriter.writeDefaultNamespace(defaultNamespaceUri);
             currentNSLevel.add(defaultNsMapEntry);
@@ -292,8 +248,8 @@ public class BallerinaXmlSerializer extends OutputStream {
         return null;
     }
 
-    private void writeAttributes(HashSet<String> curNSSet, Map<String, String> attributeMap) throws XMLStreamException {
-        String defaultNS = xmlStreamWriter.getNamespaceContext().getNamespaceURI(XMLNS);
+    private void writeAttributes(NamespaceLevel curNSSet, Map<String, String> attributeMap) throws XMLStreamException {
+        String defaultNS = xmlStreamWriter.getNamespaceUri(XMLNS);
         for (Map.Entry<String, String> attributeEntry : attributeMap.entrySet()) {
             String key = attributeEntry.getKey();
             int closingCurlyPos = key.lastIndexOf('}');
@@ -304,7 +260,7 @@ public class BallerinaXmlSerializer extends OutputStream {
                 String uri = key.substring(1, closingCurlyPos);
 
                 // Prefix for the namespace is not defined.
-                if (xmlStreamWriter.getNamespaceContext().getPrefix(uri) == null) {
+                if (xmlStreamWriter.getPrefix(uri) == null) {
                     generateAndAddRandomNSPrefix(curNSSet, uri);
                 }
                 String localName = key.substring(closingCurlyPos + 1);
@@ -317,7 +273,7 @@ public class BallerinaXmlSerializer extends OutputStream {
         }
     }
 
-    private void writeNamespaceAttributes(HashSet<String> curNSSet, Map<String, String> nsPrefixMap)
+    private void writeNamespaceAttributes(NamespaceLevel curNSSet, Map<String, String> nsPrefixMap)
             throws XMLStreamException {
         for (Map.Entry<String, String> nsEntry : nsPrefixMap.entrySet()) {
             String prefix = nsEntry.getKey();
@@ -352,11 +308,11 @@ public class BallerinaXmlSerializer extends OutputStream {
     }
 
     private boolean alreadyDefinedNSPrefixNotFound(QName qName) {
-        String prefix = xmlStreamWriter.getNamespaceContext().getPrefix(qName.getNamespaceURI());
+        String prefix = xmlStreamWriter.getPrefix(qName.getNamespaceURI());
         return prefix == null || prefix.isEmpty();
     }
 
-    private void generateAndAddRandomNSPrefix(HashSet<String> curNSSet, String uri) throws XMLStreamException {
+    private void generateAndAddRandomNSPrefix(NamespaceLevel curNSSet, String uri) throws XMLStreamException {
         // Namespace URI and the prefix `xml` is predefined, hence no need to generate a prefix for that
         if (uri.isEmpty() || XML_NAME_SPACE.equals(uri)) {
             return;
@@ -368,7 +324,7 @@ public class BallerinaXmlSerializer extends OutputStream {
         curNSSet.add(nsKey);
     }
 
-    private String generateRandomPrefix(HashSet<String> curNSSet, String uri) {
+    private String generateRandomPrefix(NamespaceLevel curNSSet, String uri) {
         nsNumber++;
         String generatedNs = "ns" + nsNumber;
         if (curNSSet.contains(concatNsPrefixURI(generatedNs, uri))) {
@@ -430,4 +386,40 @@ public class BallerinaXmlSerializer extends OutputStream {
             this.write(value);
         }
     }
+
+    /**
+     * Namespace declarations in scope of an element. The declarations of the parent are shared until the element
+     * declares a namespace of its own.
+     */
+    private static class NamespaceLevel implements Iterable<String> {
+
+        private Set<String> declarations;
+        private boolean shared;
+
+        NamespaceLevel(NamespaceLevel parent) {
+            if (parent == null) {
+                declarations = new HashSet<>();
+            } else {
+                declarations = parent.declarations;
+                shared = true;
+            }
+        }
+
+        boolean contains(String nsKey) {
+            return declarations.contains(nsKey);
+        }
+
+        void add(String nsKey) {
+            if (shared) {
+                declarations = new HashSet<>(declarations);
+                shared = false;
+            }
+            declarations.add(nsKey);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return declarations.iterator();
+        }
+    }
 }
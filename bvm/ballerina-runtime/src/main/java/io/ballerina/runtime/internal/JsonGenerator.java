@@ -17,9 +17,20 @@
  */
 package io.ballerina.runtime.internal;
 
+import io.ballerina.runtime.api.PredefinedTypes;
 import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.types.TableType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BIterator;
+import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTable;
+import io.ballerina.runtime.internal.types.BRecordType;
 import io.ballerina.runtime.internal.values.ArrayValue;
+import io.ballerina.runtime.internal.values.ArrayValueImpl;
 import io.ballerina.runtime.internal.values.DecimalValue;
 import io.ballerina.runtime.internal.values.MapValueImpl;
 import io.ballerina.runtime.internal.values.RefValue;
@@ -32,11 +43,19 @@ import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 
 /**
  * This class represents the functionality to generate the JSON constructs to be written out
  * to a given {@link OutputStream}.
+ * <p>
+ * When the output is UTF-8 encoded, the constructs are encoded straight into a per thread pooled byte buffer
+ * instead of going through a {@link Writer}.
  * 
  * @since 0.995.0
  */
@@ -44,16 +63,45 @@ public class JsonGenerator {
 
     private static final int DEFAULT_DEPTH = 10;
 
+    private static final int BUFFER_SIZE = 8192;
+
+    // Room for the longest encoded form of a single character, which is a three byte sequence. A surrogate pair
+    // takes four bytes for two characters.
+    private static final int MAX_CHAR_BYTES = 3;
+
+    // Room for the longest decimal form of a long value.
+    private static final int MAX_LONG_BYTES = 20;
+
+    private static final ThreadLocal<byte[]> BUFFER_POOL = new ThreadLocal<>();
+
+    private static final byte[] NULL = ascii("null");
+
+    private static final byte[] TRUE = ascii("true");
+
+    private static final byte[] FALSE = ascii("false");
+
     private Writer writer;
 
+    private OutputStream out;
+
+    private byte[] buffer;
+
+    private int position;
+
     private boolean[] levelInit = new boolean[DEFAULT_DEPTH];
 
     private int currentLevel;
 
     private boolean fieldActive;
 
+    // Values being converted by convertAndSerialize, used to detect cyclic references.
+    private List<Object> unresolvedValues;
+
     private static boolean[] escChars = new boolean[93];
 
+    // Second character of the escape sequence of each character escaped by writeStringEsc.
+    private static final byte[] ESCAPES = new byte[93];
+
     static {
         escChars['"'] = true;
         escChars['\\'] = true;
@@ -61,6 +109,15 @@ public class JsonGenerator {
         escChars['\n'] = true;
         escChars['\r'] = true;
         escChars['\t'] = true;
+
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['/'] = '/';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\r'] = 'r';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\t'] = 't';
     }
 
     public JsonGenerator(OutputStream out) {
@@ -68,7 +125,11 @@ public class JsonGenerator {
     }
 
     public JsonGenerator(OutputStream out, Charset charset) {
-        this(new BufferedWriter(new OutputStreamWriter(out, charset)));
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            this.out = out;
+        } else {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, charset));
+        }
     }
 
     public JsonGenerator(Writer writer) {
@@ -96,7 +157,7 @@ public class JsonGenerator {
     private void processStartLevel() throws IOException {
         if (!this.fieldActive) {
             if (this.getLevelInit(this.currentLevel)) {
-                this.writer.write(", ");
+                this.writeSeparator();
             } else {
                 this.setLevelInit(this.currentLevel, true);
             }
@@ -114,7 +175,7 @@ public class JsonGenerator {
 
     private void processFieldInit() throws IOException {
         if (this.getLevelInit(this.currentLevel)) {
-            this.writer.write(", ");
+            this.writeSeparator();
         } else {
             this.setLevelInit(this.currentLevel, true);
         }
@@ -127,7 +188,7 @@ public class JsonGenerator {
             return;
         }
         if (this.getLevelInit(this.currentLevel)) {
-            this.writer.write(", ");
+            this.writeSeparator();
         } else {
             this.setLevelInit(this.currentLevel, true);
         }
@@ -135,21 +196,27 @@ public class JsonGenerator {
 
     public void startObject() throws IOException {
         this.processStartLevel();
-        this.writer.write('{');
+        this.writeAscii('{');
     }
 
     public void endObject() throws IOException {
-        this.writer.write('}');
+        this.writeAscii('}');
         this.processEndLevel();
     }
 
     public void writeFieldName(String fieldName) throws IOException {
         this.processFieldInit();
         this.writeStringValue(fieldName);
-        this.writer.write(":");
+        this.writeAscii(':');
     }
 
     private void writeStringValue(String value) throws IOException {
+        if (this.writer == null) {
+            this.writeAscii('"');
+            this.encodeString(value, needsEscaping(value));
+            this.writeAscii('"');
+            return;
+        }
         this.writer.write("\"");
         int count = value.length();
         char ch;
@@ -176,6 +243,10 @@ public class JsonGenerator {
     }
 
     public void writeStringEsc(char[] chs) throws IOException {
+        if (this.writer == null) {
+            this.encodeString(String.valueOf(chs), true);
+            return;
+        }
         int count = chs.length;
         int index = 0;
         char ch;
@@ -235,41 +306,80 @@ public class JsonGenerator {
 
     public void writeNumber(long value) throws IOException {
         this.processValueInit();
-        this.writer.write(Long.toString(value));
+        if (this.writer != null) {
+            this.writer.write(Long.toString(value));
+            return;
+        }
+        if (value == Long.MIN_VALUE) {
+            this.writeAscii(Long.toString(value));
+            return;
+        }
+        byte[] buf = this.reserve(MAX_LONG_BYTES);
+        int pos = this.position;
+        if (value < 0) {
+            buf[pos++] = '-';
+            value = -value;
+        }
+        int end = pos + digitCount(value);
+        this.position = end;
+        do {
+            buf[--end] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
     }
 
     public void writeNumber(double value) throws IOException {
         this.processValueInit();
-        this.writer.write(Double.toString(value));
+        this.writeAscii(Double.toString(value));
     }
 
     public void writeNumber(BigDecimal value) throws IOException {
         this.processValueInit();
-        this.writer.write(value.toString());
+        this.writeAscii(value.toString());
     }
 
     public void writeBoolean(boolean value) throws IOException {
         this.processValueInit();
-        this.writer.write(Boolean.toString(value));
+        if (this.writer != null) {
+            this.writer.write(Boolean.toString(value));
+            return;
+        }
+        this.writeBytes(value ? TRUE : FALSE);
     }
 
     public void writeNull() throws IOException {
         this.processValueInit();
-        this.writer.write("null");
+        if (this.writer != null) {
+            this.writer.write("null");
+            return;
+        }
+        this.writeBytes(NULL);
     }
 
     public void writeStartArray() throws IOException {
         this.processStartLevel();
-        this.writer.write("[");
+        this.writeAscii('[');
     }
 
     public void writeEndArray() throws IOException {
-        this.writer.write("]");
+        this.writeAscii(']');
         this.processEndLevel();
     }
 
     public void flush() throws IOException {
-        this.writer.flush();
+        if (this.writer != null) {
+            this.writer.flush();
+            return;
+        }
+        if (this.buffer != null) {
+            this.out.write(this.buffer, 0, this.position);
+            this.position = 0;
+            if (BUFFER_POOL.get() == null) {
+                BUFFER_POOL.set(this.buffer);
+            }
+            this.buffer = null;
+        }
+        this.out.flush();
     }
 
     @SuppressWarnings("unchecked")
@@ -323,4 +433,325 @@ public class JsonGenerator {
                 break;
         }
     }
+
+    /**
+     * Serializes the json value the given value is converted to by
+     * {@link io.ballerina.runtime.api.utils.JsonUtils#convertToJson}, without creating the converted value.
+     * Mappings, lists and tables are streamed out member by member and record field names are written in the
+     * form cached by their record type.
+     *
+     * @param value value to be serialized
+     * @throws IOException if an error occurs while writing
+     */
+    public void convertAndSerialize(Object value) throws IOException {
+        if (value == null) {
+            this.writeNull();
+            return;
+        }
+        Type type = TypeChecker.getType(value);
+        int tag = type.getTag();
+        if (tag <= TypeTags.BOOLEAN_TAG && TypeChecker.checkIsType(value, PredefinedTypes.TYPE_JSON)) {
+            this.serialize(value);
+            return;
+        }
+        if (this.unresolvedValues == null) {
+            this.unresolvedValues = new ArrayList<>();
+        }
+        for (Object unresolvedValue : this.unresolvedValues) {
+            if (unresolvedValue == value) {
+                throw JsonInternalUtils.createCyclicValueReferenceError(value);
+            }
+        }
+        this.unresolvedValues.add(value);
+
+        switch (tag) {
+            case TypeTags.XML_TAG:
+            case TypeTags.XML_ELEMENT_TAG:
+            case TypeTags.XML_COMMENT_TAG:
+            case TypeTags.XML_PI_TAG:
+            case TypeTags.XML_TEXT_TAG:
+            case TypeTags.REG_EXP_TYPE_TAG:
+                this.writeString(StringUtils.getStringValue(value, null));
+                break;
+            case TypeTags.TUPLE_TAG:
+            case TypeTags.ARRAY_TAG:
+                this.convertAndSerializeArray((BArray) value);
+                break;
+            case TypeTags.TABLE_TAG:
+                this.convertAndSerializeTable((BTable<?, ?>) value);
+                break;
+            case TypeTags.RECORD_TYPE_TAG:
+                this.convertAndSerializeMap((BMap<?, ?>) value, (BRecordType) type);
+                break;
+            case TypeTags.MAP_TAG:
+                this.convertAndSerializeMap((BMap<?, ?>) value, null);
+                break;
+            default:
+                throw JsonInternalUtils.createConversionError(value, PredefinedTypes.TYPE_JSON);
+        }
+        this.unresolvedValues.remove(this.unresolvedValues.size() - 1);
+    }
+
+    private void convertAndSerializeMap(BMap<?, ?> map, BRecordType recordType) throws IOException {
+        this.startObject();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            String fieldName = entry.getKey().toString();
+            byte[] encodedFieldName = recordType == null || this.writer != null ? null :
+                    recordType.getEncodedJsonFieldName(fieldName);
+            if (encodedFieldName == null) {
+                this.writeFieldName(fieldName);
+            } else {
+                this.processFieldInit();
+                this.writeBytes(encodedFieldName);
+            }
+            this.convertAndSerialize(entry.getValue());
+        }
+        this.endObject();
+    }
+
+    private void convertAndSerializeArray(BArray array) throws IOException {
+        this.writeStartArray();
+        int size = array.size();
+        // Members of lists backed by arrays of simple values are written without boxing them.
+        int elementTag = array instanceof ArrayValueImpl ?
+                TypeUtils.getReferredType(array.getElementType()).getTag() : TypeTags.JSON_TAG;
+        switch (elementTag) {
+            case TypeTags.INT_TAG:
+            case TypeTags.SIGNED32_INT_TAG:
+            case TypeTags.SIGNED16_INT_TAG:
+            case TypeTags.SIGNED8_INT_TAG:
+            case TypeTags.UNSIGNED32_INT_TAG:
+            case TypeTags.UNSIGNED16_INT_TAG:
+            case TypeTags.UNSIGNED8_INT_TAG:
+                for (int i = 0; i < size; i++) {
+                    this.writeNumber(array.getInt(i));
+                }
+                break;
+            case TypeTags.BYTE_TAG:
+                for (int i = 0; i < size; i++) {
+                    this.writeNumber(Byte.toUnsignedInt(array.getByte(i)));
+                }
+                break;
+            case TypeTags.FLOAT_TAG:
+                for (int i = 0; i < size; i++) {
+                    this.writeNumber(array.getFloat(i));
+                }
+                break;
+            case TypeTags.BOOLEAN_TAG:
+                for (int i = 0; i < size; i++) {
+                    this.writeBoolean(array.getBoolean(i));
+                }
+                break;
+            case TypeTags.STRING_TAG:
+            case TypeTags.CHAR_STRING_TAG:
+                for (int i = 0; i < size; i++) {
+                    BString member = array.getBString(i);
+                    if (member == null) {
+                        this.writeNull();
+                    } else {
+                        this.writeString(member.getValue());
+                    }
+                }
+                break;
+            default:
+                for (int i = 0; i < size; i++) {
+                    this.convertAndSerialize(array.get(i));
+                }
+                break;
+        }
+        this.writeEndArray();
+    }
+
+    private void convertAndSerializeTable(BTable<?, ?> table) throws IOException {
+        Type constrainedType = ((TableType) table.getType()).getConstrainedType();
+        if (constrainedType.getTag() == TypeTags.MAP_TAG) {
+            this.writeStartArray();
+            BIterator<?> itr = table.getIterator();
+            while (itr.hasNext()) {
+                BArray tupleValue = (BArray) itr.next();
+                this.convertAndSerializeMap((BMap<?, ?>) tupleValue.get(0), null);
+            }
+            this.writeEndArray();
+            return;
+        }
+        try {
+            new TableJsonDataSource(table).serialize(this);
+        } catch (IOException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw JsonInternalUtils.createConversionError(table, PredefinedTypes.TYPE_JSON, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the quoted, escaped and UTF-8 encoded form of the given field name, followed by the name separator,
+     * as written by {@link #writeFieldName(String)}.
+     *
+     * @param fieldName field name
+     * @return encoded field name
+     */
+    public static byte[] encodeFieldName(String fieldName) {
+        boolean escape = needsEscaping(fieldName);
+        byte[] encoded = new byte[fieldName.length() * MAX_CHAR_BYTES + 4];
+        encoded[0] = '"';
+        int end = encode(fieldName, 0, fieldName.length(), escape, encoded, 1);
+        encoded[end++] = '"';
+        encoded[end++] = ':';
+        return Arrays.copyOf(encoded, end);
+    }
+
+    private static boolean needsEscaping(String value) {
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch < escChars.length && escChars[ch]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void encodeString(String value, boolean escape) throws IOException {
+        int length = value.length();
+        int index = 0;
+        while (index < length) {
+            byte[] buf = this.buffer();
+            int room = (buf.length - this.position) / MAX_CHAR_BYTES - 1;
+            if (room <= 0) {
+                this.flushBuffer();
+                continue;
+            }
+            int end = Math.min(length, index + room);
+            if (end < length && Character.isHighSurrogate(value.charAt(end - 1))) {
+                end++;
+            }
+            this.position = encode(value, index, end, escape, buf, this.position);
+            index = end;
+        }
+    }
+
+    /**
+     * Encodes the given range of characters into the given buffer, which must have room for the longest encoded
+     * form of the characters.
+     */
+    private static int encode(String value, int start, int end, boolean escape, byte[] buf, int pos) {
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch < 0x80) {
+                if (escape && ch < ESCAPES.length && ESCAPES[ch] != 0) {
+                    buf[pos++] = '\\';
+                    buf[pos++] = ESCAPES[ch];
+                } else {
+                    buf[pos++] = (byte) ch;
+                }
+            } else if (ch < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (ch >> 6));
+                buf[pos++] = (byte) (0x80 | (ch & 0x3F));
+            } else if (!Character.isSurrogate(ch)) {
+                buf[pos++] = (byte) (0xE0 | (ch >> 12));
+                buf[pos++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (ch & 0x3F));
+            } else if (Character.isHighSurrogate(ch) && i + 1 < end && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(ch, value.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                buf[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                // Unpaired surrogates are replaced the same way the UTF-8 encoder of the writer replaces them.
+                buf[pos++] = '?';
+            }
+        }
+        return pos;
+    }
+
+    private void writeSeparator() throws IOException {
+        if (this.writer != null) {
+            this.writer.write(", ");
+            return;
+        }
+        byte[] buf = this.reserve(2);
+        buf[this.position++] = ',';
+        buf[this.position++] = ' ';
+    }
+
+    private void writeAscii(char ch) throws IOException {
+        if (this.writer != null) {
+            this.writer.write(ch);
+            return;
+        }
+        byte[] buf = this.reserve(1);
+        buf[this.position++] = (byte) ch;
+    }
+
+    private void writeAscii(String value) throws IOException {
+        if (this.writer != null) {
+            this.writer.write(value);
+            return;
+        }
+        int length = value.length();
+        if (length > BUFFER_SIZE) {
+            this.flushBuffer();
+            this.out.write(ascii(value));
+            return;
+        }
+        byte[] buf = this.reserve(length);
+        int pos = this.position;
+        for (int i = 0; i < length; i++) {
+            buf[pos++] = (byte) value.charAt(i);
+        }
+        this.position = pos;
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        if (bytes.length > BUFFER_SIZE) {
+            this.flushBuffer();
+            this.out.write(bytes);
+            return;
+        }
+        byte[] buf = this.reserve(bytes.length);
+        System.arraycopy(bytes, 0, buf, this.position, bytes.length);
+        this.position += bytes.length;
+    }
+
+    private byte[] reserve(int length) throws IOException {
+        byte[] buf = this.buffer();
+        if (this.position + length > buf.length) {
+            this.flushBuffer();
+        }
+        return buf;
+    }
+
+    private byte[] buffer() {
+        byte[] buf = this.buffer;
+        if (buf == null) {
+            buf = BUFFER_POOL.get();
+            if (buf == null) {
+                buf = new byte[BUFFER_SIZE];
+            } else {
+                BUFFER_POOL.set(null);
+            }
+            this.buffer = buf;
+        }
+        return buf;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (this.position > 0) {
+            this.out.write(this.buffer, 0, this.position);
+            this.position = 0;
+        }
+    }
+
+    private static int digitCount(long value) {
+        int count = 1;
+        while (value >= 10) {
+            value /= 10;
+            count++;
+        }
+        return count;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
 }
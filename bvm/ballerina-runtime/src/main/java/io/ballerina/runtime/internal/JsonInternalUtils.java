@@ -32,6 +32,7 @@ import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BRefValue;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTable;
 import io.ballerina.runtime.internal.types.BArrayType;
@@ -565,6 +566,25 @@ public class JsonInternalUtils {
         return ErrorCreator.createError(BallerinaErrorReasons.JSON_CONVERSION_ERROR, detail);
     }
 
+    public static BError createConversionError(Object inputValue, Type targetType) {
+        return ErrorCreator.createError(BallerinaErrorReasons.VALUE_LANG_LIB_CONVERSION_ERROR,
+                BLangExceptionHelper.getErrorDetails(RuntimeErrors.INCOMPATIBLE_CONVERT_OPERATION,
+                        TypeChecker.getType(inputValue), targetType));
+    }
+
+    public static BError createConversionError(Object inputValue, Type targetType, String detailMessage) {
+        return ErrorCreator.createError(BallerinaErrorReasons.VALUE_LANG_LIB_CONVERSION_ERROR,
+                BLangExceptionHelper.getErrorMessage(RuntimeErrors.INCOMPATIBLE_CONVERT_OPERATION,
+                        TypeChecker.getType(inputValue), targetType)
+                        .concat(StringUtils.fromString(": ".concat(detailMessage))));
+    }
+
+    public static BError createCyclicValueReferenceError(Object value) {
+        return ErrorCreator.createError(BallerinaErrorReasons.VALUE_LANG_LIB_CYCLIC_VALUE_REFERENCE_ERROR,
+                BLangExceptionHelper.getErrorDetails(RuntimeErrors.CYCLIC_VALUE_REFERENCE,
+                        ((BRefValue) value).getType()));
+    }
+
     // Private methods
 
     /**
@@ -34,12 +34,16 @@ import io.ballerina.runtime.internal.values.MapValueImpl;
 import org.apache.commons.lang3.StringEscapeUtils;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.SequenceInputStream;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
 import java.util.Deque;
 
@@ -54,6 +58,10 @@ import static io.ballerina.runtime.api.utils.JsonUtils.NonStringValueProcessingM
 @SuppressWarnings("unchecked")
 public class JsonParser {
 
+    // Inputs up to this size in bytes, or in characters for strings, are parsed with the UTF-8 fast path. Larger ones
+    // are streamed through the state machine, so that they are neither copied nor parsed twice.
+    private static final int MAX_FAST_PATH_INPUT_SIZE = 64 * 1024;
+
     private static ThreadLocal<StateMachine> tlStateMachine = new ThreadLocal<StateMachine>() {
         @Override
         public StateMachine initialValue() {
@@ -83,6 +91,14 @@ public class JsonParser {
      */
     public static Object parse(InputStream in, String charsetName) throws BError {
         try {
+            if (isUtf8(charsetName)) {
+                // Read one byte more than the fast path takes, to find out whether the stream ends within it.
+                byte[] bytes = in.readNBytes(MAX_FAST_PATH_INPUT_SIZE + 1);
+                if (bytes.length <= MAX_FAST_PATH_INPUT_SIZE) {
+                    return changeForBString(parse(bytes, JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING));
+                }
+                in = new SequenceInputStream(new ByteArrayInputStream(bytes), in);
+            }
             Object jsonObj = parse(new InputStreamReader(new BufferedInputStream(in), charsetName),
                                    JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
             return changeForBString(jsonObj);
@@ -100,7 +116,7 @@ public class JsonParser {
      * @throws BError for any parsing error
      */
     public static Object parse(String jsonStr) throws BError {
-        return parse(new StringReader(jsonStr), JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
+        return parse(jsonStr, JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
     }
 
     /**
@@ -112,9 +128,69 @@ public class JsonParser {
      * @throws BError for any parsing error
      */
     public static Object parse(String jsonStr, JsonUtils.NonStringValueProcessingMode mode) throws BError {
+        if (jsonStr.length() <= MAX_FAST_PATH_INPUT_SIZE) {
+            try {
+                return Utf8JsonParser.parse(jsonStr, mode);
+            } catch (Utf8JsonParser.UnsupportedInputException e) {
+                // Parsed by the state machine below, to get the same result and error.
+            }
+        }
         return parse(new StringReader(jsonStr), mode);
     }
 
+    /**
+     * Parses the UTF-8 encoded JSON content in the given byte array and returns a json.
+     *
+     * @param bytes the byte array which contains the JSON content
+     * @param mode  the mode to use when processing numeric values
+     * @return JSON value if parsing is successful
+     * @throws BError for any parsing error
+     */
+    public static Object parse(byte[] bytes, JsonUtils.NonStringValueProcessingMode mode) throws BError {
+        try {
+            return Utf8JsonParser.parse(bytes, 0, bytes.length, mode);
+        } catch (Utf8JsonParser.UnsupportedInputException e) {
+            return parse(new StringReader(new String(bytes, StandardCharsets.UTF_8)), mode);
+        }
+    }
+
+    /**
+     * Parses the UTF-8 encoded JSON content in the remaining bytes of the given buffer and returns a json. The
+     * position of the buffer is not changed.
+     *
+     * @param buffer the byte buffer which contains the JSON content
+     * @param mode   the mode to use when processing numeric values
+     * @return JSON value if parsing is successful
+     * @throws BError for any parsing error
+     */
+    public static Object parse(ByteBuffer buffer, JsonUtils.NonStringValueProcessingMode mode) throws BError {
+        try {
+            return Utf8JsonParser.parse(buffer, mode);
+        } catch (Utf8JsonParser.UnsupportedInputException e) {
+            return parse(new StringReader(StandardCharsets.UTF_8.decode(buffer.duplicate()).toString()), mode);
+        }
+    }
+
+    private static boolean isUtf8(String charsetName) {
+        try {
+            return Charset.isSupported(charsetName) && StandardCharsets.UTF_8.equals(Charset.forName(charsetName));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    static boolean hasUnpairedSurrogates(String str) {
+        for (int i = 0; i < str.length(); i++) {
+            char ch = str.charAt(i);
+            if (Character.isHighSurrogate(ch) && i + 1 < str.length() && Character.isLowSurrogate(str.charAt(i + 1))) {
+                i++;
+            } else if (Character.isSurrogate(ch)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static Object changeForBString(Object jsonObj) {
         if (jsonObj instanceof String) {
             return StringUtils.fromString((String) jsonObj);
@@ -232,6 +308,8 @@ public class JsonParser {
             this.column = 0;
             this.nodesStack = new ArrayDeque<>();
             this.fieldNames = new ArrayDeque<>();
+            this.charBuffIndex = 0;
+            this.hexBuilder.setLength(0);
             this.setMode(JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
         }
 
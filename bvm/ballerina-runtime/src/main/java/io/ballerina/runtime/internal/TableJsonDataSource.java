@@ -61,8 +61,12 @@ public class TableJsonDataSource implements JsonDataSource {
     @Override
     public void serialize(JsonGenerator gen) throws IOException {
         gen.writeStartArray();
-        while (this.hasNext()) {
-            gen.serialize(this.next());
+        BIterator itr = this.tableValue.getIterator();
+        while (itr.hasNext()) {
+            TupleValueImpl tupleValue = (TupleValueImpl) itr.next();
+            //Retrieve table value from key-value tuple
+            BMap record = ((BMap) tupleValue.get(1));
+            gen.serialize(this.objGen.transform(record));
         }
         gen.writeEndArray();
     }
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal;
+
+import io.ballerina.runtime.api.types.Type;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of subtype verdicts used by the {@link TypeChecker}.
+ * <p>
+ * Entries are keyed by the identity of the source and the target type, and by whether the verdict was computed for a
+ * value of the source type rather than for the type alone. The cache is a direct-mapped table: a new verdict simply
+ * replaces whatever entry occupied its slot, so the memory footprint is fixed and no locking is needed. Entries are
+ * immutable, hence a racing reader either sees a complete entry or a stale one, which is then treated as a miss.
+ * Entries refer to the types weakly, so that the cache does not keep the types of unloaded modules alive.
+ * <p>
+ * Types are created first and populated afterwards, e.g. the fields of a record type are set after the type is created
+ * so that it can refer to itself. A verdict computed before the types it involves are fully populated would be wrong
+ * afterwards. Hence every change to the shape of a type is reported through {@link #typeModified()}, and a verdict is
+ * only used as long as no type has been modified since the check that computed it started.
+ * <p>
+ * Only verdicts of checks that started without any assumed type pairs should be stored here. Verdicts computed in the
+ * middle of a recursive type check may depend on pairs that were optimistically assumed to match.
+ *
+ * @since 2201.4.0
+ */
+public final class TypeCheckCache {
+
+    private static final int CAPACITY = 4096;
+    private static final int MASK = CAPACITY - 1;
+
+    private static final Entry[] ENTRIES = new Entry[CAPACITY];
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final AtomicInteger TYPE_MODIFICATIONS = new AtomicInteger();
+
+    private TypeCheckCache() {
+    }
+
+    /**
+     * Returns the number of lookups that found a cached verdict.
+     *
+     * @return the hit count
+     */
+    public static long getHitCount() {
+        return HITS.sum();
+    }
+
+    /**
+     * Returns the number of lookups that did not find a cached verdict.
+     *
+     * @return the miss count
+     */
+    public static long getMissCount() {
+        return MISSES.sum();
+    }
+
+    /**
+     * Removes all the cached verdicts and resets the hit and miss counters.
+     */
+    public static void clear() {
+        for (int i = 0; i < CAPACITY; i++) {
+            ENTRIES[i] = null;
+        }
+        HITS.reset();
+        MISSES.reset();
+    }
+
+    /**
+     * Reports that the shape of a type changed, e.g. because its members were populated. Verdicts cached before the
+     * change are no longer used.
+     */
+    public static void typeModified() {
+        TYPE_MODIFICATIONS.incrementAndGet();
+    }
+
+    /**
+     * Returns the current modification count, to be passed to {@link #put} once the verdict is computed.
+     *
+     * @return the modification count
+     */
+    static int getModificationCount() {
+        return TYPE_MODIFICATIONS.get();
+    }
+
+    static Boolean get(Type sourceType, Type targetType, boolean onValue) {
+        Entry entry = ENTRIES[index(sourceType, targetType, onValue)];
+        if (entry != null && entry.modificationCount == TYPE_MODIFICATIONS.get() &&
+                entry.sourceType.get() == sourceType && entry.targetType.get() == targetType &&
+                entry.onValue == onValue) {
+            HITS.increment();
+            return entry.result;
+        }
+        MISSES.increment();
+        return null;
+    }
+
+    static void put(Type sourceType, Type targetType, boolean onValue, boolean result, int modificationCount) {
+        // A type was modified while the verdict was computed, hence it may have been computed on a partial type.
+        if (modificationCount != TYPE_MODIFICATIONS.get()) {
+            return;
+        }
+        ENTRIES[index(sourceType, targetType, onValue)] =
+                new Entry(sourceType, targetType, onValue, result, modificationCount);
+    }
+
+    private static int index(Type sourceType, Type targetType, boolean onValue) {
+        int hash = System.identityHashCode(sourceType) * 31 + System.identityHashCode(targetType);
+        if (onValue) {
+            hash = ~hash;
+        }
+        return (hash ^ (hash >>> 16)) & MASK;
+    }
+
+    private static final class Entry {
+
+        private final WeakReference<Type> sourceType;
+        private final WeakReference<Type> targetType;
+        private final boolean onValue;
+        private final boolean result;
+        private final int modificationCount;
+
+        private Entry(Type sourceType, Type targetType, boolean onValue, boolean result, int modificationCount) {
+            this.sourceType = new WeakReference<>(sourceType);
+            this.targetType = new WeakReference<>(targetType);
+            this.onValue = onValue;
+            this.result = result;
+            this.modificationCount = modificationCount;
+        }
+    }
+}
@@ -52,6 +52,7 @@ import io.ballerina.runtime.internal.types.BParameterizedType;
 import io.ballerina.runtime.internal.types.BRecordType;
 import io.ballerina.runtime.internal.types.BResourceMethodType;
 import io.ballerina.runtime.internal.types.BStreamType;
+import io.ballerina.runtime.internal.types.BStructureType;
 import io.ballerina.runtime.internal.types.BTableType;
 import io.ballerina.runtime.internal.types.BTupleType;
 import io.ballerina.runtime.internal.types.BType;
@@ -612,8 +613,29 @@ public class TypeChecker {
 
     @Deprecated
     public static boolean checkIsType(Type sourceType, Type targetType, List<TypePair> unresolvedTypes) {
+        if (sourceType == targetType) {
+            return true;
+        }
+
+        // Verdicts are only cached for checks that start without assumed type pairs. Within a recursive check, the
+        // result may rely on pairs that are still being resolved.
+        if (isUnresolvedTypesEmpty(unresolvedTypes) &&
+                isStructuralTypeCheck(sourceType.getTag(), targetType.getTag())) {
+            int modificationCount = TypeCheckCache.getModificationCount();
+            Boolean cachedResult = TypeCheckCache.get(sourceType, targetType, false);
+            if (cachedResult != null) {
+                return cachedResult;
+            }
+            boolean result = checkIsSubType(sourceType, targetType, unresolvedTypes);
+            TypeCheckCache.put(sourceType, targetType, false, result, modificationCount);
+            return result;
+        }
+        return checkIsSubType(sourceType, targetType, unresolvedTypes);
+    }
+
+    private static boolean checkIsSubType(Type sourceType, Type targetType, List<TypePair> unresolvedTypes) {
         // First check whether both types are the same.
-        if (sourceType == targetType || (sourceType.getTag() == targetType.getTag() && sourceType.equals(targetType))) {
+        if (sourceType.getTag() == targetType.getTag() && sourceType.equals(targetType)) {
             return true;
         }
 
@@ -764,9 +786,67 @@ public class TypeChecker {
             case TypeTags.READONLY_TAG:
                 return isInherentlyImmutableType(sourceType) || sourceType.isReadOnly();
             default:
-                return checkIsRecursiveTypeOnValue(sourceVal, sourceType, targetType, sourceTypeTag, targetTypeTag,
-                                                   unresolvedTypes == null ? new ArrayList<>() : unresolvedTypes);
+                break;
+        }
+
+        // Only `readonly` record fields and `final` object fields are checked against the value, so without such
+        // fields the verdict depends only on the types.
+        if (isUnresolvedTypesEmpty(unresolvedTypes) && !isShapeDependentOnValue((BStructureType) sourceType)) {
+            int modificationCount = TypeCheckCache.getModificationCount();
+            Boolean cachedResult = TypeCheckCache.get(sourceType, targetType, true);
+            if (cachedResult != null) {
+                return cachedResult;
+            }
+            boolean result = checkIsRecursiveTypeOnValue(sourceVal, sourceType, targetType, sourceTypeTag,
+                                                         targetTypeTag, new ArrayList<>());
+            TypeCheckCache.put(sourceType, targetType, true, result, modificationCount);
+            return result;
         }
+        return checkIsRecursiveTypeOnValue(sourceVal, sourceType, targetType, sourceTypeTag, targetTypeTag,
+                                           unresolvedTypes == null ? new ArrayList<>() : unresolvedTypes);
+    }
+
+    private static boolean isUnresolvedTypesEmpty(List<TypePair> unresolvedTypes) {
+        return unresolvedTypes == null || unresolvedTypes.isEmpty();
+    }
+
+    private static boolean isStructuralTypeCheck(int sourceTypeTag, int targetTypeTag) {
+        if (sourceTypeTag == TypeTags.UNION_TAG) {
+            return true;
+        }
+
+        switch (targetTypeTag) {
+            case TypeTags.MAP_TAG:
+            case TypeTags.STREAM_TAG:
+            case TypeTags.TABLE_TAG:
+            case TypeTags.JSON_TAG:
+            case TypeTags.RECORD_TYPE_TAG:
+            case TypeTags.FUNCTION_POINTER_TAG:
+            case TypeTags.ARRAY_TAG:
+            case TypeTags.TUPLE_TAG:
+            case TypeTags.UNION_TAG:
+            case TypeTags.OBJECT_TYPE_TAG:
+            case TypeTags.FINITE_TYPE_TAG:
+            case TypeTags.FUTURE_TAG:
+            case TypeTags.ERROR_TAG:
+            case TypeTags.TYPEDESC_TAG:
+            case TypeTags.XML_TAG:
+            case TypeTags.SERVICE_TAG:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isShapeDependentOnValue(BStructureType sourceType) {
+        long valueDependentFlag = sourceType.getTag() == TypeTags.RECORD_TYPE_TAG ? SymbolFlags.READONLY :
+                SymbolFlags.FINAL;
+        for (Field field : sourceType.getFields().values()) {
+            if (SymbolFlags.isFlagOn(field.getFlags(), valueDependentFlag)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     // Private methods
@@ -0,0 +1,445 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.ReferenceType;
+import io.ballerina.runtime.api.types.TupleType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BListInitialValueEntry;
+import io.ballerina.runtime.api.values.BMapInitialValueEntry;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+import io.ballerina.runtime.internal.scheduling.Scheduler;
+import io.ballerina.runtime.internal.util.exceptions.BallerinaException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Parses a JSON string directly into a value of a given target type, in a single pass.
+ * <p>
+ * This is the fast path of {@code value:fromJsonStringWithType}. Instead of parsing the document into a generic
+ * {@code json} tree, checking whether that tree is convertible to the target type and then converting it, records,
+ * maps, arrays and tuples of the target type are built while the document is being read. Members of other types
+ * (e.g. {@code json}, {@code anydata} and general unions) are parsed as JSON and converted with the given converter,
+ * which is the one used by {@code value:fromJsonWithType}.
+ * <p>
+ * Only documents which can be converted are handled here. If the document is not well-formed, or any part of it
+ * cannot be converted to its target type, the whole document is parsed and converted the usual way, so that the
+ * result, including the error message, is exactly that of {@code fromJsonWithType(fromJsonString(str), t)}.
+ * <p>
+ * Creating a record runs the default value initializers of its fields, and the converter may do so as well. Such
+ * values are therefore only created once the whole document has been read and checked, when falling back is no longer
+ * possible. User code is never run twice, and errors raised by it are not mistaken for unsupported input.
+ *
+ * @since 2201.4.0
+ */
+public final class TypedJsonParser {
+
+    private static final int MAX_DEPTH = 256;
+    private static final Object UNSUPPORTED = new Object();
+
+    private final Utf8JsonParser parser;
+    private final BTypedesc typedesc;
+    private final BiFunction<Object, Type, Object> converter;
+
+    private TypedJsonParser(Utf8JsonParser parser, BTypedesc typedesc, BiFunction<Object, Type, Object> converter) {
+        this.parser = parser;
+        this.typedesc = typedesc;
+        this.converter = converter;
+    }
+
+    /**
+     * Parses the given JSON string into a value of the type described by the given typedesc.
+     *
+     * @param jsonStr   the string which contains the JSON content
+     * @param typedesc  the typedesc of the target type
+     * @param converter converts a JSON value to a given type, returning an error if it cannot be converted
+     * @return the converted value, or the error returned by the converter
+     * @throws BError if the string is not a valid JSON document, or if creating a record panics
+     */
+    public static Object parse(String jsonStr, BTypedesc typedesc, BiFunction<Object, Type, Object> converter)
+            throws BError {
+        Type targetType = typedesc.getDescribingType();
+        byte[] bytes = jsonStr.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length == jsonStr.length() || !JsonParser.hasUnpairedSurrogates(jsonStr)) {
+            Object value = read(bytes, typedesc, converter);
+            if (value != UNSUPPORTED) {
+                try {
+                    return create(value);
+                } catch (ConversionFailure e) {
+                    return e.error;
+                }
+            }
+        }
+        // Parse and convert the document the usual way, to get the same result and error.
+        return converter.apply(JsonParser.parse(jsonStr), targetType);
+    }
+
+    /**
+     * Reads and checks the whole document, without creating values which run user code.
+     *
+     * @return the value of the document, which may be a {@link DeferredValue}, or {@link #UNSUPPORTED} if the
+     * document has to be parsed and converted the usual way
+     */
+    private static Object read(byte[] bytes, BTypedesc typedesc, BiFunction<Object, Type, Object> converter) {
+        Utf8JsonParser parser = Utf8JsonParser.acquire();
+        try {
+            parser.init(bytes, 0, bytes.length, JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
+            Object value = new TypedJsonParser(parser, typedesc, converter)
+                    .readValue(typedesc.getDescribingType(), 0, false);
+            parser.expectEnd();
+            return value;
+        } catch (Utf8JsonParser.UnsupportedInputException | BError | BallerinaException e) {
+            // Only the parser and the runtime's own checks and conversions have run at this point.
+            return UNSUPPORTED;
+        } finally {
+            parser.release();
+        }
+    }
+
+    /**
+     * Reads the next value of the document as a value of the given type.
+     *
+     * @param targetType the target type of the value
+     * @param depth      the depth of the value in the document
+     * @param inList     whether the value is (nested in) a member of a map, an array or a tuple, in which case
+     *                   {@link TypeConverter} checks it without the JSON specific conversions
+     * @return the converted value
+     */
+    private Object readValue(Type targetType, int depth, boolean inList)
+            throws Utf8JsonParser.UnsupportedInputException {
+        byte ch = this.parser.nextNonWhitespace();
+        if (ch != '{' && ch != '[') {
+            Object value;
+            if (ch == '"') {
+                this.parser.expect((byte) '"');
+                value = this.parser.readString();
+            } else {
+                value = depth == 0 ? this.parser.readTopLevelToken() : this.parser.readToken();
+            }
+            return this.convertSimpleValue(value, targetType, inList);
+        }
+
+        Type type = getStructuredType(targetType);
+        if (type == null || depth >= MAX_DEPTH) {
+            return this.convert(this.parser.readStructure(), targetType, inList);
+        }
+        switch (type.getTag()) {
+            case TypeTags.RECORD_TYPE_TAG:
+                if (ch == '{') {
+                    return this.readRecord((RecordType) type, depth, inList);
+                }
+                break;
+            case TypeTags.MAP_TAG:
+                if (ch == '{') {
+                    return this.readMap((MapType) type, depth);
+                }
+                break;
+            case TypeTags.ARRAY_TAG:
+                if (ch == '[') {
+                    return this.readArray((ArrayType) type, depth);
+                }
+                break;
+            default:
+                if (ch == '[') {
+                    return this.readTuple((TupleType) type, depth);
+                }
+                break;
+        }
+        throw Utf8JsonParser.UnsupportedInputException.INSTANCE;
+    }
+
+    private Object readRecord(RecordType recordType, int depth, boolean inList)
+            throws Utf8JsonParser.UnsupportedInputException {
+        Map<String, Field> fields = recordType.getFields();
+        Map<String, Object> values = new LinkedHashMap<>();
+        this.parser.expect((byte) '{');
+        if (!this.parser.readEmptyClose((byte) '}')) {
+            do {
+                this.parser.expect((byte) '"');
+                String fieldName = this.parser.readFieldName().getValue();
+                this.parser.expect((byte) ':');
+                Field field = fields.get(fieldName);
+                Type fieldType;
+                if (field != null) {
+                    fieldType = field.getFieldType();
+                } else if (!recordType.isSealed()) {
+                    fieldType = recordType.getRestFieldType();
+                } else {
+                    throw Utf8JsonParser.UnsupportedInputException.INSTANCE;
+                }
+                values.put(fieldName, this.readValue(fieldType, depth + 1, inList));
+            } while (this.parser.readSeparator((byte) '}'));
+        }
+        for (Field field : fields.values()) {
+            if (SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.REQUIRED) &&
+                    !values.containsKey(field.getFieldName())) {
+                throw Utf8JsonParser.UnsupportedInputException.INSTANCE;
+            }
+        }
+
+        return (DeferredValue) () -> this.createRecord(recordType, values);
+    }
+
+    private Object createRecord(RecordType recordType, Map<String, Object> values) {
+        // Create the record the same way as lang.value:fromJsonWithType does.
+        if (this.typedesc.getDescribingType() == recordType) {
+            BMapInitialValueEntry[] initialValues = new BMapInitialValueEntry[values.size()];
+            int i = 0;
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                initialValues[i++] = ValueCreator.createKeyFieldEntry(
+                        StringUtils.fromString(entry.getKey()), create(entry.getValue()));
+            }
+            return this.typedesc.instantiate(Scheduler.getStrand(), initialValues);
+        }
+        // Fill the map one entry at a time, as the field order of the record follows the iteration order of it.
+        Map<String, Object> valueMap = new HashMap<>();
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            valueMap.put(entry.getKey(), create(entry.getValue()));
+        }
+        return ValueCreator.createRecordValue(recordType.getPackage(), recordType.getName(), valueMap);
+    }
+
+    private Object readMap(MapType mapType, int depth) throws Utf8JsonParser.UnsupportedInputException {
+        Type constraintType = mapType.getConstrainedType();
+        Map<BString, Object> values = new LinkedHashMap<>();
+        boolean deferred = false;
+        this.parser.expect((byte) '{');
+        if (!this.parser.readEmptyClose((byte) '}')) {
+            do {
+                this.parser.expect((byte) '"');
+                BString key = this.parser.readFieldName();
+                this.parser.expect((byte) ':');
+                Object value = this.readValue(constraintType, depth + 1, true);
+                deferred |= value instanceof DeferredValue;
+                values.put(key, value);
+            } while (this.parser.readSeparator((byte) '}'));
+        }
+        return createOrDefer(deferred, () -> {
+            BMapInitialValueEntry[] initialValues = new BMapInitialValueEntry[values.size()];
+            int i = 0;
+            for (Map.Entry<BString, Object> entry : values.entrySet()) {
+                initialValues[i++] = ValueCreator.createKeyFieldEntry(entry.getKey(), create(entry.getValue()));
+            }
+            return ValueCreator.createMapValue(mapType, initialValues);
+        });
+    }
+
+    private Object readArray(ArrayType arrayType, int depth) throws Utf8JsonParser.UnsupportedInputException {
+        Type elementType = arrayType.getElementType();
+        List<Object> values = new ArrayList<>();
+        boolean deferred = false;
+        this.parser.expect((byte) '[');
+        if (!this.parser.readEmptyClose((byte) ']')) {
+            do {
+                Object value = this.readValue(elementType, depth + 1, true);
+                deferred |= value instanceof DeferredValue;
+                values.add(value);
+            } while (this.parser.readSeparator((byte) ']'));
+        }
+        return createOrDefer(deferred, () -> ValueCreator.createArrayValue(arrayType, createListEntries(values)));
+    }
+
+    private Object readTuple(TupleType tupleType, int depth) throws Utf8JsonParser.UnsupportedInputException {
+        List<Type> memberTypes = tupleType.getTupleTypes();
+        Type restType = tupleType.getRestType();
+        List<Object> values = new ArrayList<>();
+        boolean deferred = false;
+        this.parser.expect((byte) '[');
+        if (!this.parser.readEmptyClose((byte) ']')) {
+            do {
+                int index = values.size();
+                Type elementType = index < memberTypes.size() ? memberTypes.get(index) : restType;
+                if (elementType == null) {
+                    throw Utf8JsonParser.UnsupportedInputException.INSTANCE;
+                }
+                Object value = this.readValue(elementType, depth + 1, true);
+                deferred |= value instanceof DeferredValue;
+                values.add(value);
+            } while (this.parser.readSeparator((byte) ']'));
+        }
+        if (values.size() < memberTypes.size()) {
+            throw Utf8JsonParser.UnsupportedInputException.INSTANCE;
+        }
+        return createOrDefer(deferred,
+                () -> ValueCreator.createTupleValue(tupleType, values.size(), createListEntries(values)));
+    }
+
+    private static BListInitialValueEntry[] createListEntries(List<Object> values) {
+        BListInitialValueEntry[] entries = new BListInitialValueEntry[values.size()];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = ValueCreator.createListInitialValueEntry(create(values.get(i)));
+        }
+        return entries;
+    }
+
+    /**
+     * Converts a string, number, boolean or null value read from the document to the given type.
+     */
+    private Object convertSimpleValue(Object value, Type targetType, boolean inList)
+            throws Utf8JsonParser.UnsupportedInputException {
+        if (value == null) {
+            if (targetType.isNilable()) {
+                return null;
+            }
+            throw Utf8JsonParser.UnsupportedInputException.INSTANCE;
+        }
+        Type type = getNonNilType(targetType);
+        if (type != null && isSimpleBasicType(type.getTag())) {
+            if (!TypeChecker.checkIsLikeType(value, type, true)) {
+                throw Utf8JsonParser.UnsupportedInputException.INSTANCE;
+            }
+            return TypeChecker.checkIsType(value, type) ? value : TypeConverter.convertValues(type, value);
+        }
+        return this.convert(value, targetType, inList);
+    }
+
+    /**
+     * Converts a JSON value with the converter, once the whole document has been read. Whether the value can be
+     * converted is checked right away, the same way the converter checks it. A member of a map, an array or a tuple
+     * is also checked the way {@link TypeConverter} checks list and map members, as the converter itself only applies
+     * the checks for the top level value.
+     */
+    private Object convert(Object value, Type targetType, boolean inList)
+            throws Utf8JsonParser.UnsupportedInputException {
+        if (inList) {
+            int tag = TypeUtils.getReferredType(targetType).getTag();
+            if (tag != TypeTags.JSON_TAG && tag != TypeTags.ANYDATA_TAG && TypeConverter.getConvertibleType(value,
+                    targetType, null, false, new ArrayList<>(), new ArrayList<>(), true) == null) {
+                throw Utf8JsonParser.UnsupportedInputException.INSTANCE;
+            }
+        }
+        if (value != null && TypeConverter.getConvertibleTypeFromJson(value, targetType, null, new ArrayList<>(),
+                new ArrayList<>(), true) == null) {
+            throw Utf8JsonParser.UnsupportedInputException.INSTANCE;
+        }
+        return (DeferredValue) () -> {
+            Object result = this.converter.apply(value, targetType);
+            if (result instanceof BError) {
+                // The error of a member is also the result of converting the whole document.
+                throw new ConversionFailure((BError) result);
+            }
+            return result;
+        };
+    }
+
+    private static Object createOrDefer(boolean deferred, DeferredValue value) {
+        return deferred ? value : value.create();
+    }
+
+    private static Object create(Object value) {
+        return value instanceof DeferredValue ? ((DeferredValue) value).create() : value;
+    }
+
+    /**
+     * Returns the record, map, array or tuple type a structured value of the given type is built as, or null if the
+     * value has to be converted with the converter.
+     */
+    private static Type getStructuredType(Type targetType) {
+        Type type = getNonNilType(targetType);
+        if (type == null || type.isReadOnly()) {
+            return null;
+        }
+        switch (type.getTag()) {
+            case TypeTags.ARRAY_TAG:
+                return ((ArrayType) type).getState() == ArrayType.ArrayState.OPEN ? type : null;
+            case TypeTags.RECORD_TYPE_TAG:
+            case TypeTags.MAP_TAG:
+            case TypeTags.TUPLE_TAG:
+                return type;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the type a non-nil value of the given type is converted to, without type references, if the given type
+     * is not a union or is an optional type. Returns null for other unions.
+     */
+    private static Type getNonNilType(Type targetType) {
+        Type type = targetType;
+        while (true) {
+            switch (type.getTag()) {
+                case TypeTags.TYPE_REFERENCED_TYPE_TAG:
+                    type = ((ReferenceType) type).getReferredType();
+                    break;
+                case TypeTags.UNION_TAG:
+                    List<Type> memberTypes = ((UnionType) type).getMemberTypes();
+                    if (memberTypes.size() != 2) {
+                        return null;
+                    }
+                    if (memberTypes.get(0).getTag() == TypeTags.NULL_TAG) {
+                        type = memberTypes.get(1);
+                    } else if (memberTypes.get(1).getTag() == TypeTags.NULL_TAG) {
+                        type = memberTypes.get(0);
+                    } else {
+                        return null;
+                    }
+                    break;
+                default:
+                    return type;
+            }
+        }
+    }
+
+    private static boolean isSimpleBasicType(int tag) {
+        return TypeTags.isIntegerTypeTag(tag) || TypeTags.isStringTypeTag(tag) || tag == TypeTags.BYTE_TAG ||
+                tag == TypeTags.FLOAT_TAG || tag == TypeTags.DECIMAL_TAG || tag == TypeTags.BOOLEAN_TAG;
+    }
+
+    /**
+     * A value which may run user code when it is created, and is hence only created after the whole document has been
+     * read and checked. Values containing a deferred value are deferred as well.
+     */
+    @FunctionalInterface
+    private interface DeferredValue {
+
+        Object create();
+    }
+
+    /**
+     * Carries the error the converter returned for a member up to {@link #parse}.
+     */
+    private static final class ConversionFailure extends RuntimeException {
+
+        private final transient BError error;
+
+        private ConversionFailure(BError error) {
+            super(null, null, false, false);
+            this.error = error;
+        }
+    }
+}
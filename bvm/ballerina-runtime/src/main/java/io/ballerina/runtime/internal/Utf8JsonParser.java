@@ -0,0 +1,791 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.types.BArrayType;
+import io.ballerina.runtime.internal.types.BMapType;
+import io.ballerina.runtime.internal.values.ArrayValueImpl;
+import io.ballerina.runtime.internal.values.BmpStringValue;
+import io.ballerina.runtime.internal.values.DecimalValue;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A pull based JSON parser which works directly on UTF-8 encoded bytes.
+ * <p>
+ * This is the fast path of {@link JsonParser}. It builds the same {@link MapValueImpl} and {@link ArrayValueImpl}
+ * trees as the character based state machine, but without copying the input through intermediate char buffers.
+ * Strings which contain only ASCII characters are created as {@link BmpStringValue}s straight from the input bytes,
+ * and field names are interned so that repeated keys of a payload share the same {@link BString} instance.
+ * <p>
+ * The parser only accepts well-formed documents. Whenever it sees something it is not sure about (a syntax error,
+ * malformed UTF-8, or one of the lenient constructs tolerated by the state machine), it gives up with an
+ * {@link UnsupportedInputException} and the caller re-parses the document with the state machine. This keeps the
+ * accepted language and the error messages identical to that of {@link JsonParser}.
+ *
+ * @since 2201.4.0
+ */
+@SuppressWarnings("unchecked")
+final class Utf8JsonParser {
+
+    private static final ThreadLocal<Utf8JsonParser> TL_PARSER = ThreadLocal.withInitial(Utf8JsonParser::new);
+
+    private static final byte QUOTES = '"';
+    private static final byte REV_SOL = '\\';
+    private static final int MAX_INTERNED_NAME_LENGTH = 32;
+    private static final int NAME_CACHE_SIZE = 256;
+    private static final int INITIAL_CHAR_BUFF_SIZE = 256;
+    private static final int MAX_RETAINED_CHAR_BUFF_SIZE = 64 * 1024;
+    private static final int INITIAL_INPUT_BUFF_SIZE = 1024;
+    private static final int MAX_RETAINED_INPUT_BUFF_SIZE = 64 * 1024;
+    // Up to 18 decimal digits always fit in a long.
+    private static final int MAX_FAST_PATH_DIGITS = 18;
+
+    private byte[] buff;
+    private int pos;
+    private int end;
+
+    private JsonUtils.NonStringValueProcessingMode mode;
+    private Type definedJsonType;
+
+    private Object[] containers = new Object[16];
+    private BString[] keys = new BString[16];
+    private int depth;
+
+    private char[] charBuff = new char[INITIAL_CHAR_BUFF_SIZE];
+    // Holds the UTF-8 encoding of string inputs.
+    private byte[] inputBuff = new byte[INITIAL_INPUT_BUFF_SIZE];
+
+    private final byte[][] nameCacheKeys = new byte[NAME_CACHE_SIZE][];
+    private final BString[] nameCacheValues = new BString[NAME_CACHE_SIZE];
+
+    private boolean inUse;
+
+    private Utf8JsonParser() {
+    }
+
+    /**
+     * Returns a parser for the current thread. A new parser is returned if the one of the thread is in use, as values
+     * created while parsing may run code (e.g. record initializers) which parses JSON in turn.
+     *
+     * @return a parser, which has to be released after use
+     */
+    static Utf8JsonParser acquire() {
+        Utf8JsonParser parser = TL_PARSER.get();
+        if (parser.inUse) {
+            return new Utf8JsonParser();
+        }
+        parser.inUse = true;
+        return parser;
+    }
+
+    void release() {
+        this.reset();
+        this.inUse = false;
+    }
+
+    /**
+     * Parses the UTF-8 encoded JSON document in the given range of the byte array.
+     *
+     * @param bytes  the input bytes
+     * @param offset the offset of the document in the array
+     * @param length the length of the document in bytes
+     * @param mode   the mode to use when processing numeric values
+     * @return the parsed JSON value
+     * @throws UnsupportedInputException if the document needs to be parsed by the state machine
+     */
+    static Object parse(byte[] bytes, int offset, int length, JsonUtils.NonStringValueProcessingMode mode)
+            throws UnsupportedInputException {
+        Utf8JsonParser parser = acquire();
+        try {
+            return parser.execute(bytes, offset, offset + length, mode);
+        } finally {
+            parser.release();
+        }
+    }
+
+    /**
+     * Parses the JSON document in the given string. The string is encoded to UTF-8 into a buffer which is reused by
+     * the parsers of the current thread.
+     *
+     * @param str  the input string
+     * @param mode the mode to use when processing numeric values
+     * @return the parsed JSON value
+     * @throws UnsupportedInputException if the document needs to be parsed by the state machine
+     */
+    static Object parse(String str, JsonUtils.NonStringValueProcessingMode mode) throws UnsupportedInputException {
+        Utf8JsonParser parser = acquire();
+        try {
+            parser.init(str, mode);
+            return parser.execute();
+        } finally {
+            parser.release();
+        }
+    }
+
+    /**
+     * Parses the UTF-8 encoded JSON document in the remaining bytes of the given buffer. The position of the buffer
+     * is not changed.
+     *
+     * @param buffer the input buffer
+     * @param mode   the mode to use when processing numeric values
+     * @return the parsed JSON value
+     * @throws UnsupportedInputException if the document needs to be parsed by the state machine
+     */
+    static Object parse(ByteBuffer buffer, JsonUtils.NonStringValueProcessingMode mode)
+            throws UnsupportedInputException {
+        if (buffer.hasArray()) {
+            return parse(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), mode);
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return parse(bytes, 0, bytes.length, mode);
+    }
+
+    private void reset() {
+        // Drop the references to the input and the created values, so that they can be garbage collected.
+        this.buff = null;
+        Arrays.fill(this.containers, 0, this.depth, null);
+        Arrays.fill(this.keys, 0, this.depth, null);
+        this.depth = 0;
+        if (this.charBuff.length > MAX_RETAINED_CHAR_BUFF_SIZE) {
+            this.charBuff = new char[INITIAL_CHAR_BUFF_SIZE];
+        }
+        if (this.inputBuff.length > MAX_RETAINED_INPUT_BUFF_SIZE) {
+            this.inputBuff = new byte[INITIAL_INPUT_BUFF_SIZE];
+        }
+    }
+
+    /**
+     * Sets the input of this parser. The values of the document are then read with the {@code read*} methods.
+     */
+    void init(byte[] bytes, int start, int end, JsonUtils.NonStringValueProcessingMode mode) {
+        this.buff = bytes;
+        this.pos = start;
+        this.end = end;
+        this.setMode(mode);
+    }
+
+    /**
+     * Sets the given string as the input of this parser. Strings with unpaired surrogates cannot be encoded to UTF-8,
+     * hence these are left to the state machine.
+     */
+    void init(String str, JsonUtils.NonStringValueProcessingMode mode) throws UnsupportedInputException {
+        int length = str.length();
+        byte[] bytes = this.inputBuff;
+        if (length > bytes.length) {
+            bytes = this.growInputBuff(length, 0);
+        }
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            char ch = str.charAt(i);
+            if (ch < 0x80) {
+                if (count == bytes.length) {
+                    bytes = this.growInputBuff(count + 1, count);
+                }
+                bytes[count++] = (byte) ch;
+                continue;
+            }
+            if (count + 4 > bytes.length) {
+                bytes = this.growInputBuff(count + 4, count);
+            }
+            if (ch < 0x800) {
+                bytes[count++] = (byte) (0xC0 | (ch >> 6));
+                bytes[count++] = (byte) (0x80 | (ch & 0x3F));
+            } else if (!Character.isSurrogate(ch)) {
+                bytes[count++] = (byte) (0xE0 | (ch >> 12));
+                bytes[count++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+                bytes[count++] = (byte) (0x80 | (ch & 0x3F));
+            } else if (Character.isHighSurrogate(ch) && i + 1 < length && Character.isLowSurrogate(str.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(ch, str.charAt(++i));
+                bytes[count++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[count++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                throw UnsupportedInputException.INSTANCE;
+            }
+        }
+        this.init(bytes, 0, count, mode);
+    }
+
+    private byte[] growInputBuff(int minCapacity, int count) {
+        byte[] bytes = new byte[Math.max(minCapacity, this.inputBuff.length << 1)];
+        System.arraycopy(this.inputBuff, 0, bytes, 0, count);
+        this.inputBuff = bytes;
+        return bytes;
+    }
+
+    private Object execute(byte[] bytes, int start, int end, JsonUtils.NonStringValueProcessingMode mode)
+            throws UnsupportedInputException {
+        this.init(bytes, start, end, mode);
+        return this.execute();
+    }
+
+    private Object execute() throws UnsupportedInputException {
+        Object result;
+        if (this.nextNonWhitespace() == QUOTES) {
+            this.pos++;
+            result = this.readString();
+        } else if (this.peek() == '{' || this.peek() == '[') {
+            result = this.readStructure();
+        } else {
+            result = this.readTopLevelToken();
+        }
+        this.expectEnd();
+        return result;
+    }
+
+    /**
+     * Reads an object or an array member value of any kind, as a JSON value.
+     */
+    Object readValue() throws UnsupportedInputException {
+        byte ch = this.nextNonWhitespace();
+        if (ch == QUOTES) {
+            this.pos++;
+            return this.readString();
+        } else if (ch == '{' || ch == '[') {
+            return this.readStructure();
+        }
+        return this.readToken();
+    }
+
+    byte peek() {
+        return this.buff[this.pos];
+    }
+
+    /**
+     * Consumes the given character, after skipping any whitespace before it.
+     */
+    void expect(byte expected) throws UnsupportedInputException {
+        if (this.nextNonWhitespace() != expected) {
+            throw UnsupportedInputException.INSTANCE;
+        }
+        this.pos++;
+    }
+
+    /**
+     * Consumes a comma or the given closing bracket, after skipping any whitespace before it.
+     *
+     * @return true if a comma was consumed
+     */
+    boolean readSeparator(byte closingBracket) throws UnsupportedInputException {
+        byte ch = this.nextNonWhitespace();
+        this.pos++;
+        if (ch == ',') {
+            return true;
+        }
+        if (ch != closingBracket) {
+            throw UnsupportedInputException.INSTANCE;
+        }
+        return false;
+    }
+
+    /**
+     * Consumes the given closing bracket if it is the next non-whitespace character.
+     */
+    boolean readEmptyClose(byte closingBracket) throws UnsupportedInputException {
+        if (this.nextNonWhitespace() == closingBracket) {
+            this.pos++;
+            return true;
+        }
+        return false;
+    }
+
+    void expectEnd() throws UnsupportedInputException {
+        this.skipWhitespace();
+        if (this.pos != this.end) {
+            throw UnsupportedInputException.INSTANCE;
+        }
+    }
+
+    private void setMode(JsonUtils.NonStringValueProcessingMode mode) {
+        this.mode = mode;
+        switch (mode) {
+            case FROM_JSON_DECIMAL_STRING:
+                this.definedJsonType = PredefinedTypes.TYPE_JSON_DECIMAL;
+                break;
+            case FROM_JSON_FLOAT_STRING:
+                this.definedJsonType = PredefinedTypes.TYPE_JSON_FLOAT;
+                break;
+            default:
+                this.definedJsonType = PredefinedTypes.TYPE_JSON;
+                break;
+        }
+    }
+
+    /**
+     * Parses an object or an array starting at the current position, including all of its nested members. Nesting
+     * is tracked with an explicit stack, so deeply nested documents do not exhaust the Java stack.
+     */
+    Object readStructure() throws UnsupportedInputException {
+        Object current = this.openStructure(this.buff[this.pos++]);
+        boolean first = true;
+        while (true) {
+            boolean isMap = current instanceof MapValueImpl;
+            byte ch = this.nextNonWhitespace();
+            if (!first || ch != (isMap ? '}' : ']')) {
+                BString key = null;
+                if (isMap) {
+                    if (ch != QUOTES) {
+                        throw UnsupportedInputException.INSTANCE;
+                    }
+                    this.pos++;
+                    key = this.readFieldName();
+                    if (this.nextNonWhitespace() != ':') {
+                        throw UnsupportedInputException.INSTANCE;
+                    }
+                    this.pos++;
+                    ch = this.nextNonWhitespace();
+                }
+                if (ch == '{' || ch == '[') {
+                    this.push(current, key);
+                    current = this.openStructure(ch);
+                    this.pos++;
+                    first = true;
+                    continue;
+                }
+                Object value;
+                if (ch == QUOTES) {
+                    this.pos++;
+                    value = this.readString();
+                } else {
+                    value = this.readToken();
+                }
+                addMember(current, key, value);
+            }
+
+            // Consume the separators and closing brackets which follow the last member of the current structure (or
+            // the closing bracket of an empty one), until the next member is about to start.
+            while (true) {
+                ch = this.nextNonWhitespace();
+                this.pos++;
+                if (ch == ',') {
+                    first = false;
+                    break;
+                }
+                if (ch != (current instanceof MapValueImpl ? '}' : ']')) {
+                    throw UnsupportedInputException.INSTANCE;
+                }
+                if (this.depth == 0) {
+                    return current;
+                }
+                Object child = current;
+                this.depth--;
+                current = this.containers[this.depth];
+                addMember(current, this.keys[this.depth], child);
+                this.containers[this.depth] = null;
+                this.keys[this.depth] = null;
+            }
+        }
+    }
+
+    private Object openStructure(byte ch) {
+        if (ch == '{') {
+            return new MapValueImpl<>(new BMapType(this.definedJsonType));
+        }
+        return new ArrayValueImpl(new BArrayType(this.definedJsonType));
+    }
+
+    private void push(Object container, BString key) {
+        if (this.depth == this.containers.length) {
+            int newLength = this.depth << 1;
+            this.containers = Arrays.copyOf(this.containers, newLength);
+            this.keys = Arrays.copyOf(this.keys, newLength);
+        }
+        this.containers[this.depth] = container;
+        this.keys[this.depth] = key;
+        this.depth++;
+    }
+
+    private static void addMember(Object container, BString key, Object value) {
+        if (key == null) {
+            ((ArrayValueImpl) container).append(value);
+        } else {
+            ((MapValueImpl<BString, Object>) container).put(key, value);
+        }
+    }
+
+    byte nextNonWhitespace() throws UnsupportedInputException {
+        this.skipWhitespace();
+        if (this.pos >= this.end) {
+            throw UnsupportedInputException.INSTANCE;
+        }
+        return this.buff[this.pos];
+    }
+
+    private void skipWhitespace() {
+        byte[] buff = this.buff;
+        int i = this.pos;
+        int end = this.end;
+        while (i < end) {
+            byte ch = buff[i];
+            if (ch != ' ' && ch != '\n' && ch != '\r' && ch != '\t') {
+                break;
+            }
+            i++;
+        }
+        this.pos = i;
+    }
+
+    /**
+     * Reads a field name, the opening quote of which has already been consumed. Short ASCII names without escape
+     * sequences are looked up in, and added to, the name cache.
+     */
+    BString readFieldName() throws UnsupportedInputException {
+        byte[] buff = this.buff;
+        int start = this.pos;
+        int hash = 0;
+        for (int i = start; i < this.end; i++) {
+            byte ch = buff[i];
+            if (ch == QUOTES) {
+                this.pos = i + 1;
+                int length = i - start;
+                if (length > MAX_INTERNED_NAME_LENGTH) {
+                    return new BmpStringValue(new String(buff, start, length, StandardCharsets.ISO_8859_1));
+                }
+                return this.internName(start, length, hash);
+            }
+            if (ch == REV_SOL || ch < 0) {
+                break;
+            }
+            hash = 31 * hash + ch;
+        }
+        return this.readString();
+    }
+
+    private BString internName(int start, int length, int hash) {
+        int slot = (hash ^ (hash >>> 16)) & (NAME_CACHE_SIZE - 1);
+        byte[] cachedKey = this.nameCacheKeys[slot];
+        if (cachedKey != null && Arrays.equals(cachedKey, 0, cachedKey.length, this.buff, start, start + length)) {
+            return this.nameCacheValues[slot];
+        }
+        BString name = new BmpStringValue(new String(this.buff, start, length, StandardCharsets.ISO_8859_1));
+        this.nameCacheKeys[slot] = Arrays.copyOfRange(this.buff, start, start + length);
+        this.nameCacheValues[slot] = name;
+        return name;
+    }
+
+    /**
+     * Reads a string, the opening quote of which has already been consumed.
+     */
+    BString readString() throws UnsupportedInputException {
+        byte[] buff = this.buff;
+        int start = this.pos;
+        for (int i = start; i < this.end; i++) {
+            byte ch = buff[i];
+            if (ch == QUOTES) {
+                this.pos = i + 1;
+                return new BmpStringValue(new String(buff, start, i - start, StandardCharsets.ISO_8859_1));
+            }
+            if (ch == REV_SOL || ch < 0) {
+                this.pos = i;
+                return this.readDecodedString(start, i);
+            }
+        }
+        throw UnsupportedInputException.INSTANCE;
+    }
+
+    /**
+     * Reads the rest of a string which contains escape sequences or non-ASCII characters. The ASCII prefix in the
+     * range [{@code start}, {@code this.pos}) has already been scanned.
+     */
+    private BString readDecodedString(int start, int prefixEnd) throws UnsupportedInputException {
+        byte[] buff = this.buff;
+        int prefixLength = prefixEnd - start;
+        char[] chars = this.charBuff;
+        if (prefixLength + 2 > chars.length) {
+            chars = this.growCharBuff(prefixLength + 2);
+        }
+        for (int i = 0; i < prefixLength; i++) {
+            chars[i] = (char) buff[start + i];
+        }
+        int count = prefixLength;
+        boolean hasSurrogates = false;
+        int i = prefixEnd;
+        while (i < this.end) {
+            int ch = buff[i++];
+            if (ch == QUOTES) {
+                this.pos = i;
+                String str = new String(chars, 0, count);
+                return hasSurrogates ? StringUtils.fromString(str) : new BmpStringValue(str);
+            }
+            if (ch >= 0) {
+                if (count + 1 > chars.length) {
+                    chars = this.growCharBuff(count + 1);
+                }
+                if (ch == REV_SOL) {
+                    if (i >= this.end) {
+                        break;
+                    }
+                    char escaped = unescape(buff[i++]);
+                    if (escaped == 'u') {
+                        if (i + 4 > this.end) {
+                            break;
+                        }
+                        escaped = (char) ((hexValue(buff[i]) << 12) | (hexValue(buff[i + 1]) << 8) |
+                                (hexValue(buff[i + 2]) << 4) | hexValue(buff[i + 3]));
+                        i += 4;
+                        hasSurrogates |= Character.isSurrogate(escaped);
+                    }
+                    chars[count++] = escaped;
+                } else {
+                    chars[count++] = (char) ch;
+                }
+                continue;
+            }
+
+            // Multi-byte UTF-8 sequence. Anything malformed is left to the state machine, so that it is replaced in
+            // exactly the same way as by the character decoder used there.
+            int codePoint;
+            if ((ch & 0xE0) == 0xC0) {
+                if (i >= this.end || isNotContinuation(buff[i])) {
+                    break;
+                }
+                codePoint = ((ch & 0x1F) << 6) | (buff[i] & 0x3F);
+                i += 1;
+                if (codePoint < 0x80) {
+                    break;
+                }
+            } else if ((ch & 0xF0) == 0xE0) {
+                if (i + 1 >= this.end || isNotContinuation(buff[i]) || isNotContinuation(buff[i + 1])) {
+                    break;
+                }
+                codePoint = ((ch & 0x0F) << 12) | ((buff[i] & 0x3F) << 6) | (buff[i + 1] & 0x3F);
+                i += 2;
+                if (codePoint < 0x800 || Character.isSurrogate((char) codePoint)) {
+                    break;
+                }
+            } else if ((ch & 0xF8) == 0xF0) {
+                if (i + 2 >= this.end || isNotContinuation(buff[i]) || isNotContinuation(buff[i + 1]) ||
+                        isNotContinuation(buff[i + 2])) {
+                    break;
+                }
+                codePoint = ((ch & 0x07) << 18) | ((buff[i] & 0x3F) << 12) | ((buff[i + 1] & 0x3F) << 6) |
+                        (buff[i + 2] & 0x3F);
+                i += 3;
+                if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT || codePoint > Character.MAX_CODE_POINT) {
+                    break;
+                }
+            } else {
+                break;
+            }
+            if (count + 2 > chars.length) {
+                chars = this.growCharBuff(count + 2);
+            }
+            if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                chars[count++] = (char) codePoint;
+            } else {
+                chars[count++] = Character.highSurrogate(codePoint);
+                chars[count++] = Character.lowSurrogate(codePoint);
+                hasSurrogates = true;
+            }
+        }
+        throw UnsupportedInputException.INSTANCE;
+    }
+
+    private char[] growCharBuff(int minCapacity) {
+        this.charBuff = Arrays.copyOf(this.charBuff, Math.max(minCapacity, this.charBuff.length << 1));
+        return this.charBuff;
+    }
+
+    private static boolean isNotContinuation(byte b) {
+        return (b & 0xC0) != 0x80;
+    }
+
+    private static char unescape(byte ch) throws UnsupportedInputException {
+        switch (ch) {
+            case '"':
+                return '"';
+            case '\\':
+                return '\\';
+            case '/':
+                return '/';
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                return 'u';
+            default:
+                throw UnsupportedInputException.INSTANCE;
+        }
+    }
+
+    private static int hexValue(byte ch) throws UnsupportedInputException {
+        if (ch >= '0' && ch <= '9') {
+            return ch - '0';
+        } else if (ch >= 'a' && ch <= 'f') {
+            return ch - 'a' + 10;
+        } else if (ch >= 'A' && ch <= 'F') {
+            return ch - 'A' + 10;
+        }
+        throw UnsupportedInputException.INSTANCE;
+    }
+
+    /**
+     * Reads a non-string member value of an object or an array. The token ends at a whitespace, a comma or a closing
+     * bracket, which is not consumed.
+     */
+    Object readToken() throws UnsupportedInputException {
+        byte[] buff = this.buff;
+        int start = this.pos;
+        int i = start;
+        for (; i < this.end; i++) {
+            byte ch = buff[i];
+            if (ch == ',' || ch == '}' || ch == ']' || ch == ' ' || ch == '\n' || ch == '\r' || ch == '\t') {
+                break;
+            }
+            if (ch == '{' || ch == '[' || ch < 0) {
+                throw UnsupportedInputException.INSTANCE;
+            }
+        }
+        if (i == start || i == this.end) {
+            throw UnsupportedInputException.INSTANCE;
+        }
+        this.pos = i;
+        return this.processToken(start, i);
+    }
+
+    /**
+     * Reads a non-string value at the top level of a document, which ends at a whitespace or at the end of input.
+     */
+    Object readTopLevelToken() throws UnsupportedInputException {
+        byte[] buff = this.buff;
+        int start = this.pos;
+        int i = start;
+        for (; i < this.end; i++) {
+            byte ch = buff[i];
+            if (ch == ' ' || ch == '\n' || ch == '\r' || ch == '\t') {
+                break;
+            }
+            if (ch < 0) {
+                throw UnsupportedInputException.INSTANCE;
+            }
+        }
+        this.pos = i;
+        return this.processToken(start, i);
+    }
+
+    private Object processToken(int start, int end) throws UnsupportedInputException {
+        byte[] buff = this.buff;
+        int length = end - start;
+        byte first = buff[start];
+        if (first == 't' && length == 4 && buff[start + 1] == 'r' && buff[start + 2] == 'u' &&
+                buff[start + 3] == 'e') {
+            return Boolean.TRUE;
+        }
+        if (first == 'f' && length == 5 && buff[start + 1] == 'a' && buff[start + 2] == 'l' &&
+                buff[start + 3] == 's' && buff[start + 4] == 'e') {
+            return Boolean.FALSE;
+        }
+        if (first == 'n' && length == 4 && buff[start + 1] == 'u' && buff[start + 2] == 'l' &&
+                buff[start + 3] == 'l') {
+            return null;
+        }
+        if (this.mode == JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING) {
+            Object value = this.readLong(start, end);
+            if (value != null) {
+                return value;
+            }
+        }
+        return this.processNumber(new String(buff, start, length, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Reads a plain integer which is guaranteed to fit in a long without going through a string. Returns
+     * {@code null} if the token is anything else, including a negative zero, which is a float.
+     */
+    private Long readLong(int start, int end) {
+        byte[] buff = this.buff;
+        boolean negative = buff[start] == '-';
+        int i = negative ? start + 1 : start;
+        if (i == end || end - i > MAX_FAST_PATH_DIGITS) {
+            return null;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buff[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return null;
+            }
+            value = value * 10 + digit;
+        }
+        if (negative) {
+            if (value == 0) {
+                return null;
+            }
+            value = -value;
+        }
+        return value;
+    }
+
+    // Keep in sync with JsonParser.StateMachine#processNonStringValue.
+    private Object processNumber(String str) throws UnsupportedInputException {
+        try {
+            switch (this.mode) {
+                case FROM_JSON_FLOAT_STRING:
+                    return Double.parseDouble(str);
+                case FROM_JSON_DECIMAL_STRING:
+                    return new DecimalValue(str);
+                default:
+                    if (isNegativeZero(str)) {
+                        return Double.parseDouble(str);
+                    }
+                    if (str.indexOf('.') >= 0) {
+                        return new DecimalValue(str);
+                    }
+                    return Long.parseLong(str);
+            }
+        } catch (NumberFormatException e) {
+            throw UnsupportedInputException.INSTANCE;
+        }
+    }
+
+    private static boolean isNegativeZero(String str) {
+        return '-' == str.charAt(0) && 0 == Double.parseDouble(str);
+    }
+
+    /**
+     * Thrown when a document has to be parsed by the state machine of {@link JsonParser} instead.
+     */
+    static final class UnsupportedInputException extends Exception {
+
+        private static final long serialVersionUID = -3567372003432290785L;
+
+        static final UnsupportedInputException INSTANCE = new UnsupportedInputException();
+
+        private UnsupportedInputException() {
+            super(null, null, false, false);
+        }
+    }
+}
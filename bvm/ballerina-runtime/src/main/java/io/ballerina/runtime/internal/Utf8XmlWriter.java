@@ -0,0 +1,487 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * Writes XML markup as UTF-8 bytes straight into an {@link OutputStream} or a {@link WritableByteChannel}.
+ * <p>
+ * This covers the subset of {@code XMLStreamWriter} used by {@link BallerinaXmlSerializer}, with the namespace
+ * scoping rules of the JDK writer in non-repairing mode, so the produced markup does not change. Characters are
+ * encoded into a per thread pooled buffer while they are escaped, names are encoded once per writer and markup
+ * tokens are pre-encoded, hence no intermediate strings or character buffers are created.
+ *
+ * @since 2201.4.0
+ */
+final class Utf8XmlWriter {
+
+    private static final int BUFFER_SIZE = 8192;
+    // Room for the longest encoded form of a single character, which is an escaped entity.
+    private static final int MAX_CHAR_BYTES = 6;
+    private static final int MAX_ENCODED_NAMES = 1024;
+    private static final ThreadLocal<byte[]> BUFFER_POOL = new ThreadLocal<>();
+
+    private static final byte[] LT_ENTITY = ascii("&lt;");
+    private static final byte[] GT_ENTITY = ascii("&gt;");
+    private static final byte[] AMP_ENTITY = ascii("&amp;");
+    private static final byte[] QUOT_ENTITY = ascii("&quot;");
+    private static final byte[] END_TAG_OPEN = ascii("</");
+    private static final byte[] XMLNS_DECL = ascii(" xmlns");
+    private static final byte[] VALUE_OPEN = ascii("=\"");
+    private static final byte[] COMMENT_OPEN = ascii("<!--");
+    private static final byte[] COMMENT_CLOSE = ascii("-->");
+    private static final byte[] PI_OPEN = ascii("<?");
+    private static final byte[] PI_CLOSE = ascii("?>");
+
+    private static final String XML_PREFIX = XMLConstants.XML_NS_PREFIX;
+    private static final String XMLNS_PREFIX = XMLConstants.XMLNS_ATTRIBUTE;
+    private static final String DEFAULT_PREFIX = XMLConstants.DEFAULT_NS_PREFIX;
+
+    private final OutputStream outputStream;
+    private final WritableByteChannel channel;
+    private byte[] buffer;
+    private int position;
+    private final Map<String, byte[]> encodedNames = new HashMap<>();
+
+    // Open elements, as prefix and local name pairs.
+    private String[] elements = new String[32];
+    private int elementCount;
+    private boolean startTagOpen;
+
+    // Namespace bindings as prefix and uri pairs, and the start of the bindings of each element scope.
+    private String[] bindings = new String[32];
+    private int bindingCount;
+    private int[] scopes = new int[16];
+    private int currentScope;
+
+    Utf8XmlWriter(OutputStream outputStream) {
+        this(outputStream, null);
+    }
+
+    Utf8XmlWriter(WritableByteChannel channel) {
+        this(null, channel);
+    }
+
+    private Utf8XmlWriter(OutputStream outputStream, WritableByteChannel channel) {
+        this.outputStream = outputStream;
+        this.channel = channel;
+        this.buffer = acquireBuffer();
+        bindings[bindingCount++] = XML_PREFIX;
+        bindings[bindingCount++] = XMLConstants.XML_NS_URI;
+        bindings[bindingCount++] = XMLNS_PREFIX;
+        bindings[bindingCount++] = XMLConstants.XMLNS_ATTRIBUTE_NS_URI;
+        scopes[currentScope] = bindingCount;
+    }
+
+    void writeStartElement(String localName) throws XMLStreamException {
+        openStartTag(DEFAULT_PREFIX, localName);
+        writeName(localName);
+    }
+
+    void writeStartElement(String prefix, String localName, String namespaceUri) throws XMLStreamException {
+        if (prefix == null) {
+            throw new XMLStreamException("Prefix cannot be null");
+        }
+        openStartTag(prefix, localName);
+        String boundPrefix = getPrefix(namespaceUri);
+        if (!prefix.equals(boundPrefix)) {
+            declarePrefix(prefix, namespaceUri);
+        }
+        if (!prefix.isEmpty()) {
+            writeName(prefix);
+            writeByte(':');
+        }
+        writeName(localName);
+    }
+
+    void writeEndElement() throws XMLStreamException {
+        if (elementCount == 0) {
+            throw new XMLStreamException("No element was found to write");
+        }
+        if (startTagOpen) {
+            closeStartTag();
+        }
+        String localName = elements[--elementCount];
+        String prefix = elements[--elementCount];
+        writeBytes(END_TAG_OPEN);
+        if (!prefix.isEmpty()) {
+            writeName(prefix);
+            writeByte(':');
+        }
+        writeName(localName);
+        writeByte('>');
+        bindingCount = scopes[currentScope--];
+    }
+
+    void writeDefaultNamespace(String namespaceUri) throws XMLStreamException {
+        ensureStartTagOpen();
+        String boundUri = getBindingInCurrentScope(DEFAULT_PREFIX);
+        if (boundUri != null && !boundUri.equals(namespaceUri)) {
+            throw new XMLStreamException("xmlns has been already bound to " + boundUri + ". Rebinding it to " +
+                                                 namespaceUri + " is an error");
+        }
+        declarePrefix(DEFAULT_PREFIX, namespaceUri);
+        writeNamespaceDeclaration(DEFAULT_PREFIX, namespaceUri);
+    }
+
+    void writeNamespace(String prefix, String namespaceUri) throws XMLStreamException {
+        if (prefix.isEmpty() || prefix.equals(XMLNS_PREFIX)) {
+            writeDefaultNamespace(namespaceUri);
+            return;
+        }
+        ensureStartTagOpen();
+        if (prefix.equals(XML_PREFIX) && namespaceUri.equals(XMLConstants.XML_NS_URI)) {
+            return;
+        }
+        String boundUri = getBindingInCurrentScope(prefix);
+        if (boundUri != null && !boundUri.equals(namespaceUri)) {
+            throw new XMLStreamException("prefix " + prefix + " has been already bound to " + boundUri +
+                                                 ". Rebinding it to " + namespaceUri + " is an error");
+        }
+        declarePrefix(prefix, namespaceUri);
+        writeNamespaceDeclaration(prefix, namespaceUri);
+    }
+
+    void setPrefix(String prefix, String namespaceUri) {
+        declarePrefix(prefix, namespaceUri);
+    }
+
+    void setDefaultNamespace(String namespaceUri) {
+        declarePrefix(DEFAULT_PREFIX, namespaceUri);
+    }
+
+    String getPrefix(String namespaceUri) {
+        for (int i = bindingCount; i > 0; i -= 2) {
+            if (bindings[i - 1].equals(namespaceUri)) {
+                String prefix = bindings[i - 2];
+                if (namespaceUri.equals(getNamespaceUri(prefix))) {
+                    return prefix;
+                }
+            }
+        }
+        return null;
+    }
+
+    String getNamespaceUri(String prefix) {
+        for (int i = bindingCount; i > 0; i -= 2) {
+            if (bindings[i - 2].equals(prefix)) {
+                return bindings[i - 1];
+            }
+        }
+        return null;
+    }
+
+    void writeAttribute(String localName, String value) throws XMLStreamException {
+        ensureStartTagOpen();
+        writeAttributeWithPrefix(DEFAULT_PREFIX, localName, value);
+    }
+
+    void writeAttribute(String namespaceUri, String localName, String value) throws XMLStreamException {
+        ensureStartTagOpen();
+        String prefix = getPrefix(namespaceUri);
+        if (prefix == null) {
+            throw new XMLStreamException("Prefix cannot be null");
+        }
+        writeAttributeWithPrefix(prefix, localName, value);
+    }
+
+    /**
+     * Writes character data, escaping {@code <}, {@code &} and {@code >} if requested.
+     *
+     * @param text   character data
+     * @param escape whether markup characters are to be escaped
+     * @throws XMLStreamException if writing to the underlying output fails
+     */
+    void writeCharacters(String text, boolean escape) throws XMLStreamException {
+        if (startTagOpen) {
+            closeStartTag();
+        }
+        writeText(text, escape, false);
+    }
+
+    void writeComment(String comment) throws XMLStreamException {
+        if (startTagOpen) {
+            closeStartTag();
+        }
+        writeBytes(COMMENT_OPEN);
+        if (comment != null) {
+            writeText(comment, false, false);
+        }
+        writeBytes(COMMENT_CLOSE);
+    }
+
+    void writeProcessingInstruction(String target, String data) throws XMLStreamException {
+        if (target == null || data == null) {
+            throw new XMLStreamException("PI target cannot be null");
+        }
+        if (startTagOpen) {
+            closeStartTag();
+        }
+        writeBytes(PI_OPEN);
+        writeName(target);
+        writeByte(' ');
+        writeText(data, false, false);
+        writeBytes(PI_CLOSE);
+    }
+
+    void flush() throws XMLStreamException {
+        drain();
+        if (outputStream != null) {
+            try {
+                outputStream.flush();
+            } catch (IOException e) {
+                throw new XMLStreamException(e);
+            }
+        }
+    }
+
+    /**
+     * Flushes the pending output and returns the buffer to the pool. The underlying output is not closed.
+     *
+     * @throws XMLStreamException if writing to the underlying output fails
+     */
+    void close() throws XMLStreamException {
+        if (buffer == null) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            if (BUFFER_POOL.get() == null) {
+                BUFFER_POOL.set(buffer);
+            }
+            buffer = null;
+        }
+    }
+
+    private void openStartTag(String prefix, String localName) throws XMLStreamException {
+        if (localName == null) {
+            throw new XMLStreamException("Local Name cannot be null");
+        }
+        if (startTagOpen) {
+            closeStartTag();
+        }
+        if (elementCount == elements.length) {
+            elements = Arrays.copyOf(elements, elementCount << 1);
+        }
+        elements[elementCount++] = prefix;
+        elements[elementCount++] = localName;
+        if (++currentScope == scopes.length) {
+            scopes = Arrays.copyOf(scopes, currentScope << 1);
+        }
+        scopes[currentScope] = bindingCount;
+        startTagOpen = true;
+        writeByte('<');
+    }
+
+    private void closeStartTag() throws XMLStreamException {
+        startTagOpen = false;
+        writeByte('>');
+    }
+
+    private void ensureStartTagOpen() throws XMLStreamException {
+        if (!startTagOpen) {
+            throw new XMLStreamException("Attribute not associated with any element");
+        }
+    }
+
+    private void declarePrefix(String prefix, String namespaceUri) {
+        if (prefix.equals(XML_PREFIX) || prefix.equals(XMLNS_PREFIX)) {
+            return;
+        }
+        for (int i = bindingCount; i > scopes[currentScope]; i -= 2) {
+            if (bindings[i - 2].equals(prefix)) {
+                bindings[i - 1] = namespaceUri;
+                return;
+            }
+        }
+        if (bindingCount == bindings.length) {
+            bindings = Arrays.copyOf(bindings, bindingCount << 1);
+        }
+        bindings[bindingCount++] = prefix;
+        bindings[bindingCount++] = namespaceUri;
+    }
+
+    private String getBindingInCurrentScope(String prefix) {
+        for (int i = scopes[currentScope]; i < bindingCount; i += 2) {
+            if (bindings[i].equals(prefix)) {
+                return bindings[i + 1];
+            }
+        }
+        return null;
+    }
+
+    private void writeNamespaceDeclaration(String prefix, String namespaceUri) throws XMLStreamException {
+        writeBytes(XMLNS_DECL);
+        if (!prefix.isEmpty()) {
+            writeByte(':');
+            writeName(prefix);
+        }
+        writeBytes(VALUE_OPEN);
+        writeText(namespaceUri, true, true);
+        writeByte('"');
+    }
+
+    private void writeAttributeWithPrefix(String prefix, String localName, String value) throws XMLStreamException {
+        writeByte(' ');
+        if (!prefix.isEmpty()) {
+            writeName(prefix);
+            writeByte(':');
+        }
+        writeName(localName);
+        writeBytes(VALUE_OPEN);
+        writeText(value, true, true);
+        writeByte('"');
+    }
+
+    private void writeName(String name) throws XMLStreamException {
+        byte[] encoded = encodedNames.get(name);
+        if (encoded == null) {
+            if (encodedNames.size() >= MAX_ENCODED_NAMES) {
+                writeText(name, false, false);
+                return;
+            }
+            encoded = name.getBytes(StandardCharsets.UTF_8);
+            encodedNames.put(name, encoded);
+        }
+        writeBytes(encoded);
+    }
+
+    private void writeText(String text, boolean escape, boolean escapeQuotes) throws XMLStreamException {
+        byte[] buf = buffer;
+        int pos = position;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (pos > buf.length - MAX_CHAR_BYTES) {
+                position = pos;
+                drain();
+                pos = 0;
+            }
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                if (escape && c <= '>') {
+                    byte[] entity = getEntity(c, escapeQuotes);
+                    if (entity != null) {
+                        System.arraycopy(entity, 0, buf, pos, entity.length);
+                        pos += entity.length;
+                        continue;
+                    }
+                }
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (!Character.isSurrogate(c)) {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                buf[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                // Unpaired surrogates cannot be encoded, same as the replacement of the UTF-8 charset encoder.
+                buf[pos++] = '?';
+            }
+        }
+        position = pos;
+    }
+
+    private static byte[] getEntity(char c, boolean escapeQuotes) {
+        switch (c) {
+            case '<':
+                return LT_ENTITY;
+            case '>':
+                return GT_ENTITY;
+            case '&':
+                return AMP_ENTITY;
+            case '"':
+                return escapeQuotes ? QUOT_ENTITY : null;
+            default:
+                return null;
+        }
+    }
+
+    private void writeByte(char c) throws XMLStreamException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = (byte) c;
+    }
+
+    private void writeBytes(byte[] bytes) throws XMLStreamException {
+        if (bytes.length > buffer.length - position) {
+            drain();
+            if (bytes.length > buffer.length) {
+                write(bytes, bytes.length);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void drain() throws XMLStreamException {
+        if (position > 0) {
+            write(buffer, position);
+            position = 0;
+        }
+    }
+
+    private void write(byte[] bytes, int length) throws XMLStreamException {
+        try {
+            if (channel == null) {
+                outputStream.write(bytes, 0, length);
+                return;
+            }
+            ByteBuffer byteBuffer = ByteBuffer.wrap(bytes, 0, length);
+            while (byteBuffer.hasRemaining()) {
+                channel.write(byteBuffer);
+            }
+        } catch (IOException e) {
+            throw new XMLStreamException(e);
+        }
+    }
+
+    private static byte[] acquireBuffer() {
+        byte[] pooled = BUFFER_POOL.get();
+        if (pooled == null) {
+            return new byte[BUFFER_SIZE];
+        }
+        BUFFER_POOL.set(null);
+        return pooled;
+    }
+
+    private static byte[] ascii(String token) {
+        return token.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -139,6 +139,37 @@ public class XmlFactory {
         }
     }
 
+    /**
+     * Create a XML sequence from string reader, building the children of elements on first access.
+     *
+     * @param reader XML reader
+     * @return XML Sequence
+     */
+    public static BXml parseLazily(Reader reader) {
+        try {
+            XmlTreeBuilder xmlTreeBuilder = new XmlTreeBuilder(reader);
+            return xmlTreeBuilder.parseLazily();
+        } catch (Throwable e) {
+            throw ErrorCreator.createError(StringUtils.fromString("failed to create xml: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Create a XML sequence which reads the items at the given depth from string reader as it is iterated.
+     *
+     * @param reader XML reader
+     * @param depth  Element nesting depth of the items, 0 for the top-level items of the document
+     * @return XML Sequence
+     */
+    public static BXml parseAsStream(Reader reader, int depth) {
+        try {
+            XmlTreeBuilder xmlTreeBuilder = new XmlTreeBuilder(reader);
+            return xmlTreeBuilder.parseAsStream(depth);
+        } catch (Throwable e) {
+            throw ErrorCreator.createError(StringUtils.fromString("failed to create xml: " + e.getMessage()));
+        }
+    }
+
     /**
      * Concatenate two XML sequences and produce a single sequence.
      *
@@ -538,7 +569,7 @@ public class XmlFactory {
                 target[len] = b;
             }
 
-            return new String(target, 0, len);
+            return new String(target, 0, len, StandardCharsets.UTF_8);
         }
     }
 
@@ -17,12 +17,14 @@
  */
 package io.ballerina.runtime.internal;
 
+import io.ballerina.runtime.api.creators.ErrorCreator;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BXml;
 import io.ballerina.runtime.api.values.BXmlSequence;
 import io.ballerina.runtime.internal.util.exceptions.BallerinaException;
 import io.ballerina.runtime.internal.values.MapValue;
+import io.ballerina.runtime.internal.values.StreamingXmlItemList;
 import io.ballerina.runtime.internal.values.XmlComment;
 import io.ballerina.runtime.internal.values.XmlItem;
 import io.ballerina.runtime.internal.values.XmlPi;
@@ -33,11 +35,14 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 import javax.xml.namespace.QName;
@@ -69,6 +74,8 @@ public class XmlTreeBuilder {
         xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
     }
 
+    private static final String[] NO_ATTRIBUTES = new String[0];
+
     private XMLStreamReader xmlStreamReader;
     private Map<String, String> namespaces; // xml ns declarations from Bal source [xmlns "http://ns.com" as ns]
     private Deque<BXmlSequence> seqDeque;
@@ -136,6 +143,109 @@ public class XmlTreeBuilder {
         return null;
     }
 
+    /**
+     * Parse the document into an xml value whose elements build their children on first access.
+     * <p>
+     * The whole input is read and checked upfront, but only into a compact buffer of names, attributes and character
+     * data. Nodes are created from the buffer one level at a time, as the children of an element are navigated, so
+     * subtrees which are never touched do not cost an object graph.
+     *
+     * @return xml sequence of the top-level items of the document
+     */
+    public BXml parseLazily() {
+        LazyXmlNodes nodes = new LazyXmlNodes();
+        try {
+            while (xmlStreamReader.hasNext()) {
+                int next = xmlStreamReader.next();
+                switch (next) {
+                    case START_ELEMENT:
+                        QName elemName = xmlStreamReader.getName();
+                        nodes.startElement(elemName, readAttributes(xmlStreamReader, elemName));
+                        break;
+                    case END_ELEMENT:
+                        nodes.endElement();
+                        break;
+                    case PROCESSING_INSTRUCTION:
+                        nodes.add(LazyXmlNodes.PI_NODE,
+                                  new String[]{xmlStreamReader.getPITarget(), xmlStreamReader.getPIData()});
+                        break;
+                    case COMMENT:
+                        nodes.add(LazyXmlNodes.COMMENT_NODE, xmlStreamReader.getText());
+                        break;
+                    case CDATA:
+                    case CHARACTERS:
+                        nodes.add(LazyXmlNodes.TEXT_NODE, xmlStreamReader.getText());
+                        break;
+                    case END_DOCUMENT:
+                        return nodes.children(-1);
+                    case DTD:
+                        handleDTD(xmlStreamReader);
+                        break;
+                    default:
+                        assert false;
+                }
+            }
+        } catch (Exception e) {
+            handleXMLStreamException(e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Parse the document into an xml sequence which reads its items from the input while it is iterated.
+     * <p>
+     * Iterating the sequence does not retain the items already handed out, hence a {@code foreach} over it runs in
+     * memory proportional to a single item. Items are fully built subtrees; the enclosing elements at shallower
+     * depths are skipped. Parse errors are reported when the offending item is reached.
+     *
+     * @param depth element nesting depth of the streamed items, {@code 0} streams the top-level items of the
+     *              document, {@code 1} the children of the top-level elements and so on
+     * @return xml sequence of the items at the given depth
+     */
+    public BXml parseAsStream(int depth) {
+        return new XmlSequence(new StreamingXmlItemList(new StreamedItemIterator(depth)));
+    }
+
+    private BXml readStreamedItem(int event) {
+        List<BXml> item = new ArrayList<>(1);
+        siblingDeque.push(item);
+        int itemLevel = siblingDeque.size();
+        try {
+            readEvent(event);
+            while (siblingDeque.size() > itemLevel) {
+                readEvent(xmlStreamReader.next());
+            }
+        } catch (Exception e) {
+            handleXMLStreamException(e);
+        }
+        siblingDeque.pop();
+        return item.get(0);
+    }
+
+    private void readEvent(int event) {
+        switch (event) {
+            case START_ELEMENT:
+                readElement(xmlStreamReader);
+                break;
+            case END_ELEMENT:
+                endElement();
+                break;
+            case PROCESSING_INSTRUCTION:
+                readPI(xmlStreamReader);
+                break;
+            case COMMENT:
+                readComment(xmlStreamReader);
+                break;
+            case CDATA:
+            case CHARACTERS:
+                readText(xmlStreamReader);
+                break;
+            default:
+                break;
+        }
+    }
+
     private void handleDTD(XMLStreamReader xmlStreamReader) {
         // ignore
     }
@@ -174,21 +284,30 @@ public class XmlTreeBuilder {
         seqDeque.push(xmlItem.getChildrenSeq());
 
         siblingDeque.peek().add(xmlItem);
-        populateAttributeMap(xmlStreamReader, xmlItem, elemName);
+        populateAttributeMap(xmlItem, readAttributes(xmlStreamReader, elemName));
         siblingDeque.push(xmlItem.getChildrenSeq().getChildrenList());
     }
     // need to duplicate the same in xmlItem.setAttribute
 
     // todo: need to write a comment explaining each step
-    private void populateAttributeMap(XMLStreamReader xmlStreamReader, XmlItem xmlItem, QName elemName) {
+    private static void populateAttributeMap(XmlItem xmlItem, String[] attributes) {
         MapValue<BString, BString> attributesMap = xmlItem.getAttributesMap();
+        for (int i = 0; i < attributes.length; i += 2) {
+            attributesMap.put(StringUtils.fromString(attributes[i]), StringUtils.fromString(attributes[i + 1]));
+        }
+    }
+
+    // Returns the attribute entries of the current element as consecutive key, value pairs, in the order they are
+    // to be put into the attribute map.
+    private String[] readAttributes(XMLStreamReader xmlStreamReader, QName elemName) {
+        List<String> attributes = new ArrayList<>();
         Set<QName> usedNS = new HashSet<>(); // Track namespace prefixes found in this element.
 
         int count = xmlStreamReader.getAttributeCount();
         for (int i = 0; i < count; i++) {
             QName attributeName = xmlStreamReader.getAttributeName(i);
-            attributesMap.put(StringUtils.fromString(attributeName.toString()),
-                              StringUtils.fromString(xmlStreamReader.getAttributeValue(i)));
+            attributes.add(attributeName.toString());
+            attributes.add(xmlStreamReader.getAttributeValue(i));
             if (!attributeName.getPrefix().isEmpty()) {
                 usedNS.add(attributeName);
             }
@@ -204,8 +323,8 @@ public class XmlTreeBuilder {
                 namespaceURI = namespaces.getOrDefault(prefix, "");
             }
 
-            BString xmlnsPrefix = StringUtils.fromString(XmlItem.XMLNS_NS_URI_PREFIX + prefix);
-            attributesMap.put(xmlnsPrefix, StringUtils.fromString(namespaceURI));
+            attributes.add(XmlItem.XMLNS_NS_URI_PREFIX + prefix);
+            attributes.add(namespaceURI);
         }
 
         int namespaceCount = xmlStreamReader.getNamespaceCount();
@@ -213,11 +332,159 @@ public class XmlTreeBuilder {
             String uri = xmlStreamReader.getNamespaceURI(i);
             String prefix = xmlStreamReader.getNamespacePrefix(i);
             if (prefix == null || prefix.isEmpty()) {
-                attributesMap.put(StringUtils.fromString(XmlItem.XMLNS_NS_URI_PREFIX + "xmlns"),
-                                  StringUtils.fromString(uri));
+                attributes.add(XmlItem.XMLNS_NS_URI_PREFIX + "xmlns");
             } else {
-                attributesMap.put(StringUtils.fromString(XmlItem.XMLNS_NS_URI_PREFIX + prefix),
-                                  StringUtils.fromString(uri));
+                attributes.add(XmlItem.XMLNS_NS_URI_PREFIX + prefix);
+            }
+            attributes.add(uri);
+        }
+        return attributes.isEmpty() ? NO_ATTRIBUTES : attributes.toArray(NO_ATTRIBUTES);
+    }
+
+    /**
+     * Iterator over the items at a given depth of the document, each read from the stream reader on demand.
+     */
+    private class StreamedItemIterator implements Iterator<BXml> {
+
+        private final int itemDepth;
+        private int depth = 0;
+        private BXml nextItem;
+        private boolean ended;
+
+        StreamedItemIterator(int itemDepth) {
+            this.itemDepth = itemDepth;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextItem == null && !ended) {
+                try {
+                    nextItem = readNextItem();
+                } catch (BallerinaException e) {
+                    ended = true;
+                    throw ErrorCreator.createError(StringUtils.fromString("failed to create xml: " + e.getMessage()));
+                }
+                ended = nextItem == null;
+            }
+            return nextItem != null;
+        }
+
+        @Override
+        public BXml next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            BXml item = nextItem;
+            nextItem = null;
+            return item;
+        }
+
+        private BXml readNextItem() {
+            try {
+                while (xmlStreamReader.hasNext()) {
+                    int next = xmlStreamReader.next();
+                    if (next == END_DOCUMENT) {
+                        return null;
+                    }
+                    if (next == END_ELEMENT) {
+                        depth--;
+                    } else if (depth == itemDepth) {
+                        if (next != DTD) {
+                            return readStreamedItem(next);
+                        }
+                    } else if (next == START_ELEMENT) {
+                        depth++;
+                    }
+                }
+            } catch (XMLStreamException e) {
+                handleXMLStreamException(e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Compact record of a parsed document used to build the xml nodes lazily. Nodes are kept in document order, and
+     * the descendants of an element are the nodes following it up to the end index of the element.
+     */
+    private static final class LazyXmlNodes {
+
+        static final byte ELEMENT_NODE = 0;
+        static final byte TEXT_NODE = 1;
+        static final byte COMMENT_NODE = 2;
+        static final byte PI_NODE = 3;
+
+        private byte[] kinds = new byte[64];
+        private int[] ends = new int[64];
+        private Object[] values = new Object[64];
+        private String[][] attributes = new String[64][];
+        private int size;
+        private int[] openElements = new int[16];
+        private int openElementCount;
+        // Names repeat across the elements of a document, hence a single instance of each is kept.
+        private final Map<QName, XmlQName> elementNames = new HashMap<>();
+        private final Map<String, String> attributeNames = new HashMap<>();
+
+        int add(byte kind, Object value) {
+            if (size == kinds.length) {
+                int capacity = size << 1;
+                kinds = Arrays.copyOf(kinds, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                values = Arrays.copyOf(values, capacity);
+                attributes = Arrays.copyOf(attributes, capacity);
+            }
+            int index = size++;
+            kinds[index] = kind;
+            values[index] = value;
+            ends[index] = index;
+            return index;
+        }
+
+        void startElement(QName elemName, String[] elementAttributes) {
+            XmlQName name = elementNames.computeIfAbsent(elemName, qName ->
+                    new XmlQName(qName.getLocalPart(), qName.getNamespaceURI(), qName.getPrefix()));
+            for (int i = 0; i < elementAttributes.length; i += 2) {
+                elementAttributes[i] = attributeNames.computeIfAbsent(elementAttributes[i], key -> key);
+            }
+            int index = add(ELEMENT_NODE, name);
+            attributes[index] = elementAttributes;
+            if (openElementCount == openElements.length) {
+                openElements = Arrays.copyOf(openElements, openElementCount << 1);
+            }
+            openElements[openElementCount++] = index;
+        }
+
+        void endElement() {
+            ends[openElements[--openElementCount]] = size - 1;
+        }
+
+        // Builds the children of the node at the given index, or the top-level items for index -1.
+        XmlSequence children(int parent) {
+            int last = parent < 0 ? size - 1 : ends[parent];
+            List<BXml> children = new ArrayList<>();
+            for (int i = parent + 1; i <= last; i = ends[i] + 1) {
+                children.add(createNode(i));
+            }
+            return new XmlSequence(children);
+        }
+
+        private BXml createNode(int index) {
+            switch (kinds[index]) {
+                case ELEMENT_NODE:
+                    XmlQName name = (XmlQName) values[index];
+                    XmlItem xmlItem = (XmlItem) XmlFactory.createXMLElement(name, name, null);
+                    populateAttributeMap(xmlItem, attributes[index]);
+                    if (ends[index] > index) {
+                        xmlItem.setLazyChildren(() -> children(index));
+                    }
+                    return xmlItem;
+                case TEXT_NODE:
+                    return XmlFactory.createXMLText((String) values[index]);
+                case COMMENT_NODE:
+                    return XmlFactory.createXMLComment((String) values[index]);
+                default:
+                    String[] pi = (String[]) values[index];
+                    return XmlFactory.createXMLProcessingInstruction(pi[0], pi[1]);
             }
         }
     }
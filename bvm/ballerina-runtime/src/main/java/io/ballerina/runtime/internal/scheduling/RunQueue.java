@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+/**
+ * Holds the {@link ItemGroup}s that are ready to be picked up by the carrier threads of a {@link Scheduler}.
+ * <p>
+ * A group is added to the queue only when its {@code scheduled} flag is flipped, hence a group is present at most
+ * once and is executed by a single carrier at a time, irrespective of the queue implementation.
+ *
+ * @since 2201.4.0
+ */
+interface RunQueue {
+
+    /**
+     * Makes the given group available for execution.
+     *
+     * @param group group to be executed
+     */
+    void add(ItemGroup group);
+
+    /**
+     * Waits until a group is available for the given carrier and returns it.
+     *
+     * @param carrierId index of the calling carrier thread, in the range [0, numThreads)
+     * @return next group to be executed
+     * @throws InterruptedException if the carrier is interrupted while waiting
+     */
+    ItemGroup take(int carrierId) throws InterruptedException;
+
+    boolean isEmpty();
+
+    /**
+     * Makes every carrier of the scheduler receive a {@link ItemGroup#POISON_PILL}.
+     *
+     * @param numThreads number of carriers to be stopped
+     */
+    void poison(int numThreads);
+}
@@ -36,10 +36,9 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -64,7 +63,7 @@ public class Scheduler {
     /**
      * Strands that are ready for execution.
      */
-    private final BlockingQueue<ItemGroup> runnableList = new LinkedBlockingDeque<>();
+    private final RunQueue runnableList;
 
     private static final ThreadLocal<StrandHolder> strandHolder = ThreadLocal.withInitial(StrandHolder::new);
     private static final ConcurrentHashMap<Integer, Strand> currentStrands = new ConcurrentHashMap<>();
@@ -74,12 +73,20 @@ public class Scheduler {
 
     private static String poolSizeConf = System.getenv(RuntimeConstants.BALLERINA_MAX_POOL_SIZE_ENV_VAR);
 
+    private static String schedulerModeConf = System.getenv(RuntimeConstants.BALLERINA_SCHEDULER_MODE_ENV_VAR);
+
     /**
      * This can be changed by setting the BALLERINA_MAX_POOL_SIZE system variable.
-     * Default is 100.
+     * Default is 100. Always 1 in {@link SchedulerMode#VIRTUAL_THREADS} mode, where the system variable is ignored.
      */
     private final int numThreads;
 
+    /**
+     * Creates the virtual threads which run the item groups, when the scheduler runs in
+     * {@link SchedulerMode#VIRTUAL_THREADS} mode. {@code null} otherwise.
+     */
+    private final ThreadFactory virtualThreadFactory;
+
     private static int poolSize = Runtime.getRuntime().availableProcessors() * 2;
 
     private Semaphore mainBlockSem;
@@ -91,8 +98,19 @@ public class Scheduler {
     }
 
     public Scheduler(int numThreads, boolean immortal) {
-        this.numThreads = numThreads;
+        this(numThreads, immortal, getSchedulerMode());
+    }
+
+    public Scheduler(int numThreads, boolean immortal, SchedulerMode mode) {
         this.immortal = immortal;
+        this.virtualThreadFactory = mode == SchedulerMode.VIRTUAL_THREADS ? createVirtualThreadFactory() : null;
+        // In virtual thread mode a single carrier dispatches the item groups to virtual threads.
+        if (virtualThreadFactory != null && poolSizeConf != null) {
+            err.println("ballerina: system variable " + RuntimeConstants.BALLERINA_MAX_POOL_SIZE_ENV_VAR +
+                    " is ignored in the '" + SchedulerMode.VIRTUAL_THREADS.getConfigValue() + "' scheduler mode");
+        }
+        this.numThreads = virtualThreadFactory != null ? 1 : numThreads;
+        this.runnableList = createRunQueue(mode, this.numThreads);
         this.runtimeRegistry = new RuntimeRegistry(this);
         this.previousStrand = numThreads == 1 ? strandHolder.get().strand : null;
         ItemGroup group = new ItemGroup();
@@ -273,9 +291,10 @@ public class Scheduler {
     public void start() {
         this.mainBlockSem = new Semaphore(-(numThreads - 1));
         for (int i = 0; i < numThreads - 1; i++) {
-            new Thread(this::runSafely, "jbal-strand-exec-" + i).start();
+            int carrierId = i;
+            new Thread(() -> runSafely(carrierId), "jbal-strand-exec-" + i).start();
         }
-        this.runSafely();
+        this.runSafely(numThreads - 1);
         try {
             this.mainBlockSem.acquire();
         } catch (InterruptedException e) {
@@ -286,9 +305,9 @@ public class Scheduler {
     /**
      * Defensive programming to prevent unforeseen errors.
      */
-    private void runSafely() {
+    private void runSafely(int carrierId) {
         try {
-            run();
+            run(carrierId);
         } catch (Throwable t) {
             RuntimeUtils.printCrashLog(t);
         }
@@ -297,12 +316,11 @@ public class Scheduler {
     /**
      * Executes tasks that are submitted to the Scheduler.
      */
-    private void run() {
+    private void run(int carrierId) {
         while (true) {
-            SchedulerItem item;
             ItemGroup group;
             try {
-                group = runnableList.take();
+                group = runnableList.take(carrierId);
             } catch (InterruptedException ignored) {
                 continue;
             }
@@ -312,38 +330,58 @@ public class Scheduler {
                 break;
             }
 
-            boolean isItemsEmpty = group.items.isEmpty();
-            while (!isItemsEmpty) {
-                Object result = null;
-                Throwable panic = null;
+            if (virtualThreadFactory != null) {
+                virtualThreadFactory.newThread(() -> runGroupSafely(group)).start();
+            } else {
+                runGroup(group);
+            }
+        }
+    }
+
+    private void runGroupSafely(ItemGroup group) {
+        try {
+            runGroup(group);
+        } catch (Throwable t) {
+            RuntimeUtils.printCrashLog(t);
+        }
+    }
 
-                item = group.get();
+    /**
+     * Executes the items of the given group until none of them are runnable.
+     */
+    private void runGroup(ItemGroup group) {
+        SchedulerItem item;
+        boolean isItemsEmpty = group.items.isEmpty();
+        while (!isItemsEmpty) {
+            Object result = null;
+            Throwable panic = null;
 
-                try {
-                    strandHolder.get().strand = item.future.strand;
-                    result = item.execute();
-                } catch (Throwable e) {
-                    panic = createError(e);
-                    notifyChannels(item, panic);
+            item = group.get();
 
-                    if (!(panic instanceof BError)) {
-                        RuntimeUtils.printCrashLog(panic);
-                    }
-                    // Please refer #18763.
-                    // This logs cases where errors have occurred while strand is blocked.
-                    if (item.isYielded()) {
-                        RuntimeUtils.printCrashLog(panic);
-                    }
-                } finally {
-                    strandHolder.get().strand = previousStrand;
+            try {
+                strandHolder.get().strand = item.future.strand;
+                result = item.execute();
+            } catch (Throwable e) {
+                panic = createError(e);
+                notifyChannels(item, panic);
+
+                if (!(panic instanceof BError)) {
+                    RuntimeUtils.printCrashLog(panic);
                 }
-                postProcess(item, result, panic);
-                group.lock();
-                if ((isItemsEmpty = group.items.empty())) {
-                    group.scheduled.set(false);
+                // Please refer #18763.
+                // This logs cases where errors have occurred while strand is blocked.
+                if (item.isYielded()) {
+                    RuntimeUtils.printCrashLog(panic);
                 }
-                group.unlock();
+            } finally {
+                strandHolder.get().strand = previousStrand;
+            }
+            postProcess(item, result, panic);
+            group.lock();
+            if ((isItemsEmpty = group.items.empty())) {
+                group.scheduled.set(false);
             }
+            group.unlock();
         }
     }
 
@@ -532,9 +570,7 @@ public class Scheduler {
     }
 
     public void poison() {
-        for (int i = 0; i < numThreads; i++) {
-            runnableList.add(POISON_PILL);
-        }
+        runnableList.poison(numThreads);
     }
 
     public void setListenerDeclarationFound(boolean listenerDeclarationFound) {
@@ -564,4 +600,58 @@ public class Scheduler {
         }
         return poolSize;
     }
+
+    private static SchedulerMode getSchedulerMode() {
+        try {
+            if (schedulerModeConf != null) {
+                return SchedulerMode.fromConfigValue(schedulerModeConf);
+            }
+        } catch (Throwable t) {
+            // Log and continue with default
+            err.println("ballerina: error occurred in scheduler while reading system variable:" +
+                    RuntimeConstants.BALLERINA_SCHEDULER_MODE_ENV_VAR + ", " + t.getMessage());
+        }
+        return SchedulerMode.SHARED_QUEUE;
+    }
+
+    /**
+     * Returns whether the current Java runtime can create virtual threads, which the item groups run on in
+     * {@link SchedulerMode#VIRTUAL_THREADS} mode. The scheduler falls back to the shared mode otherwise.
+     *
+     * @return true if virtual threads are available
+     */
+    public static boolean isVirtualThreadSupported() {
+        try {
+            newVirtualThreadFactory();
+            return true;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static ThreadFactory createVirtualThreadFactory() {
+        try {
+            return newVirtualThreadFactory();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            err.println("ballerina: virtual threads are not supported by the current Java runtime, using the '" +
+                    SchedulerMode.SHARED_QUEUE.getConfigValue() + "' scheduler mode instead");
+            return null;
+        }
+    }
+
+    private static ThreadFactory newVirtualThreadFactory() throws ReflectiveOperationException {
+        // Virtual threads are only available from Java 21 onwards, hence looked up reflectively.
+        Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+        Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+        builder = builderClass.getMethod("name", String.class, long.class)
+                .invoke(builder, "jbal-strand-vexec-", 0L);
+        return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+    }
+
+    private static RunQueue createRunQueue(SchedulerMode mode, int numThreads) {
+        if (mode == SchedulerMode.WORK_STEALING) {
+            return new WorkStealingRunQueue(numThreads);
+        }
+        return new SharedRunQueue();
+    }
 }
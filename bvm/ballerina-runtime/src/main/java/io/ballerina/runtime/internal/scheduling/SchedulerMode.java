@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+import java.util.Locale;
+
+/**
+ * Execution modes supported by the {@link Scheduler}. The mode can be selected using the
+ * {@code BALLERINA_SCHEDULER_MODE} system variable.
+ *
+ * @since 2201.4.0
+ */
+public enum SchedulerMode {
+
+    /**
+     * All the carrier threads take runnable groups from a single shared queue.
+     */
+    SHARED_QUEUE("shared"),
+
+    /**
+     * Each carrier thread owns a run queue and steals from the others when it runs out of work.
+     */
+    WORK_STEALING("work-stealing"),
+
+    /**
+     * Each runnable item group is executed on its own virtual thread, so that strands blocked inside Java interop
+     * calls do not hold up a platform thread. Requires a Java runtime with virtual thread support. A single carrier
+     * thread dispatches the groups, so the {@code BALLERINA_MAX_POOL_SIZE} system variable is ignored in this mode.
+     */
+    VIRTUAL_THREADS("virtual-threads");
+
+    private final String configValue;
+
+    SchedulerMode(String configValue) {
+        this.configValue = configValue;
+    }
+
+    public String getConfigValue() {
+        return configValue;
+    }
+
+    public static SchedulerMode fromConfigValue(String configValue) {
+        String value = configValue.trim().toLowerCase(Locale.ROOT);
+        for (SchedulerMode mode : values()) {
+            if (mode.configValue.equals(value)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("unsupported scheduler mode '" + configValue + "'");
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal.scheduling;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Unbounded single producer, single consumer queue used by {@link WorkerDataChannel}.
+ * <p>
+ * Elements are kept in a ring buffer and an empty slot is marked with null, so the producer and the consumer each
+ * only touch their own index and the slots they own. The producer always leaves one slot free. When the slot after
+ * the next one is still occupied, it links a ring twice the size after the current one, puts the element there and
+ * leaves a jump marker in the current ring, which tells the consumer to follow the link once it gets there.
+ * <p>
+ * Only one thread at a time may offer and only one thread at a time may poll or peek.
+ *
+ * @param <E> element type
+ * @since 2201.4.0
+ */
+class SpscChannelQueue<E> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final Object JUMP = new Object();
+
+    // Producer side; the last slot of a ring holds the link to the next ring.
+    private AtomicReferenceArray<Object> producerBuffer;
+    private int producerMask;
+    private long producerIndex;
+
+    // Consumer side.
+    private AtomicReferenceArray<Object> consumerBuffer;
+    private int consumerMask;
+    private long consumerIndex;
+
+    SpscChannelQueue() {
+        AtomicReferenceArray<Object> buffer = new AtomicReferenceArray<>(INITIAL_CAPACITY + 1);
+        this.producerBuffer = buffer;
+        this.consumerBuffer = buffer;
+        this.producerMask = INITIAL_CAPACITY - 1;
+        this.consumerMask = INITIAL_CAPACITY - 1;
+    }
+
+    /**
+     * Adds an element at the tail. The write is a volatile write, so that a following volatile read by the producer
+     * cannot be ordered before it.
+     *
+     * @param element element to add, not null
+     */
+    void offer(E element) {
+        AtomicReferenceArray<Object> buffer = this.producerBuffer;
+        long index = this.producerIndex;
+        int mask = this.producerMask;
+        if (buffer.get((int) (index + 1) & mask) == null) {
+            buffer.set((int) index & mask, element);
+        } else {
+            int capacity = (mask + 1) * 2;
+            AtomicReferenceArray<Object> next = new AtomicReferenceArray<>(capacity + 1);
+            next.lazySet((int) index & (capacity - 1), element);
+            buffer.lazySet(mask + 1, next);
+            buffer.set((int) index & mask, JUMP);
+            this.producerBuffer = next;
+            this.producerMask = capacity - 1;
+        }
+        this.producerIndex = index + 1;
+    }
+
+    /**
+     * Removes the element at the head.
+     *
+     * @return the head, or null if the queue is empty
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        Object element = head();
+        if (element != null) {
+            this.consumerBuffer.lazySet((int) this.consumerIndex & this.consumerMask, null);
+            this.consumerIndex++;
+        }
+        return (E) element;
+    }
+
+    /**
+     * Returns the element at the head without removing it.
+     *
+     * @return the head, or null if the queue is empty
+     */
+    @SuppressWarnings("unchecked")
+    E peek() {
+        return (E) head();
+    }
+
+    private Object head() {
+        AtomicReferenceArray<Object> buffer = this.consumerBuffer;
+        int offset = (int) this.consumerIndex & this.consumerMask;
+        Object element = buffer.get(offset);
+        if (element == JUMP) {
+            // the producer wrote the element to the next ring before publishing the jump
+            @SuppressWarnings("unchecked")
+            AtomicReferenceArray<Object> next = (AtomicReferenceArray<Object>) buffer.get(this.consumerMask + 1);
+            this.consumerBuffer = next;
+            this.consumerMask = next.length() - 2;
+            element = next.get((int) this.consumerIndex & this.consumerMask);
+        }
+        return element;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static io.ballerina.runtime.internal.scheduling.ItemGroup.POISON_PILL;
+
+/**
+ * {@link RunQueue} which keeps a deque per carrier thread.
+ * <p>
+ * Groups scheduled from a carrier are pushed to the head of its own deque and popped from the head again (LIFO), to
+ * benefit from locality. A carrier which runs out of work first looks at the injection queue, which holds the groups
+ * scheduled from non carrier threads, and then steals from the tail of the other carriers' deques (FIFO). Carriers
+ * that still cannot find work spin for a while and then park until new work is added.
+ *
+ * @since 2201.4.0
+ */
+class WorkStealingRunQueue implements RunQueue {
+
+    private static final int SPINS_BEFORE_PARK = 64;
+
+    /**
+     * Upper bound for a single park, so that an idle carrier re-checks the queues even without a signal.
+     */
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final Carrier[] carriers;
+    private final Queue<ItemGroup> injectionQueue = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Carrier> currentCarrier = new ThreadLocal<>();
+    private final AtomicInteger idleCarriers = new AtomicInteger();
+
+    WorkStealingRunQueue(int numThreads) {
+        this.carriers = new Carrier[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+            carriers[i] = new Carrier();
+        }
+    }
+
+    @Override
+    public void add(ItemGroup group) {
+        Carrier carrier = currentCarrier.get();
+        if (carrier != null) {
+            carrier.deque.offerFirst(group);
+        } else {
+            injectionQueue.offer(group);
+        }
+        if (idleCarriers.get() > 0) {
+            signalIdleCarrier();
+        }
+    }
+
+    @Override
+    public ItemGroup take(int carrierId) throws InterruptedException {
+        Carrier self = carriers[carrierId];
+        if (currentCarrier.get() != self) {
+            self.thread = Thread.currentThread();
+            currentCarrier.set(self);
+        }
+
+        int spins = 0;
+        while (true) {
+            ItemGroup group = poll(self, carrierId);
+            if (group != null) {
+                if (group == POISON_PILL) {
+                    currentCarrier.remove();
+                }
+                return group;
+            }
+            if (spins < SPINS_BEFORE_PARK) {
+                spins++;
+                Thread.onSpinWait();
+                continue;
+            }
+            park(self);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if (!injectionQueue.isEmpty()) {
+            return false;
+        }
+        for (Carrier carrier : carriers) {
+            if (!carrier.deque.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void poison(int numThreads) {
+        for (int i = 0; i < numThreads; i++) {
+            injectionQueue.offer(POISON_PILL);
+        }
+        for (Carrier carrier : carriers) {
+            carrier.parked.set(false);
+            Thread thread = carrier.thread;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    private ItemGroup poll(Carrier self, int carrierId) {
+        ItemGroup group = self.deque.pollFirst();
+        if (group != null) {
+            return group;
+        }
+        group = injectionQueue.poll();
+        if (group != null) {
+            return group;
+        }
+        return steal(carrierId);
+    }
+
+    private ItemGroup steal(int carrierId) {
+        int numCarriers = carriers.length;
+        for (int i = 1; i < numCarriers; i++) {
+            ItemGroup group = carriers[(carrierId + i) % numCarriers].deque.pollLast();
+            if (group != null) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private void park(Carrier self) {
+        self.parked.set(true);
+        idleCarriers.incrementAndGet();
+        try {
+            // Work added before the idle count was published would not signal this carrier, hence re-check.
+            if (isEmpty()) {
+                LockSupport.parkNanos(this, MAX_PARK_NANOS);
+            }
+        } finally {
+            self.parked.set(false);
+            idleCarriers.decrementAndGet();
+        }
+    }
+
+    private void signalIdleCarrier() {
+        for (Carrier carrier : carriers) {
+            if (carrier.parked.compareAndSet(true, false)) {
+                LockSupport.unpark(carrier.thread);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Run queue state owned by a single carrier thread.
+     */
+    private static class Carrier {
+
+        private final Deque<ItemGroup> deque = new ConcurrentLinkedDeque<>();
+        private final AtomicBoolean parked = new AtomicBoolean(false);
+        private volatile Thread thread;
+    }
+}
@@ -19,8 +19,6 @@ package io.ballerina.runtime.internal.scheduling;
 
 import io.ballerina.runtime.internal.values.ErrorValue;
 
-import java.util.LinkedList;
-import java.util.Queue;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -29,17 +27,26 @@ import static io.ballerina.runtime.internal.scheduling.State.BLOCK_AND_YIELD;
 /**
  * This represents a worker data channel that is created for each worker to
  * worker interaction for each function call.
+ * <p>
+ * A channel has exactly one sending and one receiving worker, so messages are kept in a single producer, single
+ * consumer queue. Async sends do not take the channel lock unless the receiver is waiting: the sender publishes the
+ * message and then checks for a waiting receiver, while a receiver that finds the queue empty publishes itself and
+ * then checks the queue again, so that one of them always sees the other.
  *
  * @since 0.995.0
  */
 public class WorkerDataChannel {
 
-    private Strand receiver;
+    // Stands in for the nil value sent by an async send, since the queue does not take null.
+    private static final Object NIL = new Object();
+
+    private volatile Strand receiver;
     private WaitingSender waitingSender;
     private WaitingSender flushSender;
     private ErrorValue error;
     private Throwable panic;
-    private int senderCounter;
+    // Only updated by the sending side.
+    private volatile int senderCounter;
     private int receiverCounter;
     private boolean reschedule;
 
@@ -47,8 +54,8 @@ public class WorkerDataChannel {
 
     public String chnlName;
 
-    @SuppressWarnings("rawtypes")
-    private Queue<WorkerResult> channel = new LinkedList<>();
+    // Holds the values of async sends, NIL for a nil value, and a WorkerResult for a sync send.
+    private final SpscChannelQueue<Object> channel = new SpscChannelQueue<>();
 
     public WorkerDataChannel() {
         this.channelLock = new ReentrantLock();
@@ -70,14 +77,17 @@ public class WorkerDataChannel {
         this.channelLock.unlock();
     }
 
-    @SuppressWarnings("rawtypes")
     public void sendData(Object data, Strand sender) {
+        this.channel.offer(data == null ? NIL : data);
+        this.senderCounter++;
+        if (this.receiver == null) {
+            return;
+        }
         try {
             acquireChannelLock();
-            this.channel.add(new WorkerResult(data));
-            this.senderCounter++;
-            if (this.receiver != null) {
-                this.receiver.scheduler.unblockStrand(this.receiver);
+            Strand receiver = this.receiver;
+            if (receiver != null) {
+                receiver.scheduler.unblockStrand(receiver);
                 this.receiver = null;
             }
         } finally {
@@ -97,7 +107,7 @@ public class WorkerDataChannel {
             acquireChannelLock();
             if (!reschedule) {
                 // this is a new message, not a reschedule
-                this.channel.add(new WorkerResult(data, true));
+                this.channel.offer(new WorkerResult(data, true));
                 this.senderCounter++;
                 this.waitingSender = new WaitingSender(strand, -1);
 
@@ -137,16 +147,14 @@ public class WorkerDataChannel {
         }
     }
 
-    @SuppressWarnings("rawtypes")
     public Object tryTakeData(Strand strand) throws Throwable {
         try {
             acquireChannelLock();
-            WorkerResult result = this.channel.peek();
-            if (result != null) {
+            Object message = this.channel.poll();
+            if (message != null) {
                 this.receiverCounter++;
-                this.channel.remove();
 
-                if (result.isSync) {
+                if (message instanceof WorkerResult) {
                     // sync sender will pick the this.error as result, which is null
                     if (this.waitingSender != null) {
                         Strand waiting  = this.waitingSender.waitingStrand;
@@ -166,7 +174,10 @@ public class WorkerDataChannel {
                     this.flushSender.waitingStrand.flushDetail.flushLock.unlock();
                     this.flushSender = null;
                 }
-                return result.value;
+                if (message instanceof WorkerResult) {
+                    return ((WorkerResult) message).value;
+                }
+                return message == NIL ? null : message;
             } else if (this.panic != null && this.senderCounter == this.receiverCounter + 1) {
                 this.receiverCounter++;
                 throw this.panic;
@@ -175,6 +186,11 @@ public class WorkerDataChannel {
                 return error;
             } else {
                 this.receiver = strand;
+                if (this.channel.peek() != null) {
+                    // an async send published a message before it could see this receiver
+                    this.receiver = null;
+                    return tryTakeData(strand);
+                }
                 strand.setState(BLOCK_AND_YIELD);
                 return null;
             }
@@ -30,6 +30,7 @@ import io.ballerina.runtime.api.types.RecordType;
 import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.JsonGenerator;
 import io.ballerina.runtime.internal.values.MapValue;
 import io.ballerina.runtime.internal.values.MapValueImpl;
 import io.ballerina.runtime.internal.values.ReadOnlyUtils;
@@ -37,6 +38,7 @@ import io.ballerina.runtime.internal.values.ReadOnlyUtils;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@code BRecordType} represents a user defined record type in Ballerina.
@@ -51,6 +53,7 @@ public class BRecordType extends BStructureType implements RecordType {
     private final boolean readonly;
     private IntersectionType immutableType;
     private IntersectionType intersectionType = null;
+    private final Map<String, byte[]> encodedJsonFieldNames = new ConcurrentHashMap<>();
 
     /**
      * Create a {@code BRecordType} which represents the user defined record type.
@@ -190,4 +193,20 @@ public class BRecordType extends BStructureType implements RecordType {
     public int getTypeFlags() {
         return typeFlags;
     }
+
+    /**
+     * Returns the encoded form of the name of the given field as written by the {@link JsonGenerator}, which is
+     * created once per record type.
+     *
+     * @param fieldName name of the field
+     * @return encoded field name, or null if the record type does not declare the field
+     */
+    public byte[] getEncodedJsonFieldName(String fieldName) {
+        byte[] encodedFieldName = this.encodedJsonFieldNames.get(fieldName);
+        if (encodedFieldName == null && this.fields.containsKey(fieldName)) {
+            encodedFieldName = JsonGenerator.encodeFieldName(fieldName);
+            this.encodedJsonFieldNames.put(fieldName, encodedFieldName);
+        }
+        return encodedFieldName;
+    }
 }
@@ -23,6 +23,7 @@ import io.ballerina.runtime.api.flags.TypeFlags;
 import io.ballerina.runtime.api.types.IntersectionType;
 import io.ballerina.runtime.api.types.TupleType;
 import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.internal.TypeCheckCache;
 import io.ballerina.runtime.internal.values.ReadOnlyUtils;
 import io.ballerina.runtime.internal.values.TupleValueImpl;
 
@@ -164,6 +165,7 @@ public class BTupleType extends BType implements TupleType {
             this.restType = restType;
         }
         checkAllMembers();
+        TypeCheckCache.typeModified();
     }
 
     @Override
@@ -26,6 +26,7 @@ import io.ballerina.runtime.api.types.SelectivelyImmutableReferenceType;
 import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.types.UnionType;
 import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.internal.TypeCheckCache;
 import io.ballerina.runtime.internal.TypeChecker;
 import io.ballerina.runtime.internal.values.ReadOnlyUtils;
 
@@ -167,10 +168,12 @@ public class BUnionType extends BType implements UnionType, SelectivelyImmutable
         }
         this.memberTypes = readonly ? getReadOnlyTypes(members) : Arrays.asList(members);
         setFlagsBasedOnMembers();
+        TypeCheckCache.typeModified();
     }
 
     public void setOriginalMemberTypes(Type[] originalMemberTypes) {
         this.originalMemberTypes = Arrays.asList(originalMemberTypes);
+        TypeCheckCache.typeModified();
     }
 
     private void setOriginalMemberTypes(List<Type> originalMemberTypes) {
@@ -239,6 +242,7 @@ public class BUnionType extends BType implements UnionType, SelectivelyImmutable
         this.memberTypes.addAll(Arrays.asList(types));
         setFlagsBasedOnMembers();
         this.originalMemberTypes.addAll(Arrays.asList(types));
+        TypeCheckCache.typeModified();
     }
 
     private void setFlagsBasedOnMembers() {
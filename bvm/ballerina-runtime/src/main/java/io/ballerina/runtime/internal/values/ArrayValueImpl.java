@@ -82,6 +82,11 @@ public class ArrayValueImpl extends AbstractArrayValue {
     private double[] floatValues;
     private BString[] bStringValues;
     private BTypedesc typedesc;
+
+    /**
+     * Whether the backing array may be referenced by a copy of this array, and hence must be copied before writing.
+     */
+    private boolean sharedValues;
     // ------------------------ Constructors -------------------------------------------------------------------
 
     public ArrayValueImpl(Object[] values, ArrayType type) {
@@ -185,6 +190,9 @@ public class ArrayValueImpl extends AbstractArrayValue {
 
     @Override
     public Object reverse() {
+        if (sharedValues) {
+            unshareValues();
+        }
         switch (elementType.getTag()) {
             case TypeTags.INT_TAG:
             case TypeTags.SIGNED32_INT_TAG:
@@ -620,6 +628,9 @@ public class ArrayValueImpl extends AbstractArrayValue {
     public Object shift(long index) {
         handleImmutableArrayValue();
         Object val = get(index);
+        if (sharedValues) {
+            unshareValues();
+        }
         shiftArray((int) index, getArrayFromType(this.elementReferredType.getTag()));
         return val;
     }
@@ -792,22 +803,26 @@ public class ArrayValueImpl extends AbstractArrayValue {
             case TypeTags.UNSIGNED32_INT_TAG:
             case TypeTags.UNSIGNED16_INT_TAG:
             case TypeTags.UNSIGNED8_INT_TAG:
-                valueArray = new ArrayValueImpl(Arrays.copyOf(intValues, this.size), arrayType.isReadOnly());
+                valueArray = shareValuesWith(new ArrayValueImpl(intValues, arrayType.isReadOnly()));
                 break;
             case TypeTags.BOOLEAN_TAG:
-                valueArray = new ArrayValueImpl(Arrays.copyOf(booleanValues, this.size), arrayType.isReadOnly());
+                valueArray = shareValuesWith(new ArrayValueImpl(booleanValues, arrayType.isReadOnly()));
                 break;
             case TypeTags.BYTE_TAG:
-                valueArray = new ArrayValueImpl(Arrays.copyOf(byteValues, this.size), arrayType.isReadOnly());
+                valueArray = shareValuesWith(new ArrayValueImpl(byteValues, arrayType.isReadOnly()));
                 break;
             case TypeTags.FLOAT_TAG:
-                valueArray = new ArrayValueImpl(Arrays.copyOf(floatValues, this.size), arrayType.isReadOnly());
+                valueArray = shareValuesWith(new ArrayValueImpl(floatValues, arrayType.isReadOnly()));
                 break;
             case TypeTags.STRING_TAG:
             case TypeTags.CHAR_STRING_TAG:
-                valueArray = new ArrayValueImpl(Arrays.copyOf(bStringValues, this.size), arrayType.isReadOnly());
+                valueArray = shareValuesWith(new ArrayValueImpl(bStringValues, arrayType.isReadOnly()));
                 break;
             default:
+                if (hasOnlyImmutableValues()) {
+                    valueArray = shareValuesWith(new ArrayValueImpl(refValues, arrayType));
+                    break;
+                }
                 Object[] values = new Object[this.size];
                 valueArray = new ArrayValueImpl(values, arrayType);
                 IntStream.range(0, this.size).forEach(i -> {
@@ -825,6 +840,26 @@ public class ArrayValueImpl extends AbstractArrayValue {
         return valueArray;
     }
 
+    /**
+     * Makes the given copy of this array use the backing array of this array, until either of the two is modified.
+     */
+    private ArrayValueImpl shareValuesWith(ArrayValueImpl copy) {
+        copy.size = this.size;
+        copy.sharedValues = true;
+        this.sharedValues = true;
+        return copy;
+    }
+
+    private boolean hasOnlyImmutableValues() {
+        for (int i = 0; i < this.size; i++) {
+            Object value = this.refValues[i];
+            if (value instanceof RefValue && !((RefValue) value).isFrozen()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public Object frozenCopy(Map<Object, Object> refs) {
         ArrayValue copy = (ArrayValue) copy(refs);
@@ -892,6 +927,9 @@ public class ArrayValueImpl extends AbstractArrayValue {
      */
     @Override
     public Object[] getValues() {
+        if (sharedValues) {
+            unshareValues();
+        }
         return refValues;
     }
 
@@ -1008,6 +1046,9 @@ public class ArrayValueImpl extends AbstractArrayValue {
 
     @Override
     protected void resizeInternalArray(int newLength) {
+        if (sharedValues) {
+            unshareValues();
+        }
         switch (this.elementReferredType.getTag()) {
             case TypeTags.INT_TAG:
             case TypeTags.SIGNED32_INT_TAG:
@@ -1165,6 +1206,9 @@ public class ArrayValueImpl extends AbstractArrayValue {
     // Private methods
 
     private void prepareForAdd(long index, Object value, Type sourceType, int currentArraySize) {
+        if (sharedValues) {
+            unshareValues();
+        }
         // check types
         if (!TypeChecker.checkIsType(null, value, sourceType, this.elementType)) {
             throw ErrorCreator.createError(getModulePrefixedReason(ARRAY_LANG_LIB,
@@ -1181,6 +1225,9 @@ public class ArrayValueImpl extends AbstractArrayValue {
     }
 
     private void fillRead(long index, int currentArraySize) {
+        if (sharedValues) {
+            unshareValues();
+        }
         if (!arrayType.hasFillerValue()) {
             throw BLangExceptionHelper.getRuntimeException(BallerinaErrorReasons.ILLEGAL_LIST_INSERTION_ERROR,
                                                            RuntimeErrors.ILLEGAL_ARRAY_INSERTION, size, index + 1);
@@ -1229,6 +1276,9 @@ public class ArrayValueImpl extends AbstractArrayValue {
     }
 
     private void unshiftArray(long index, int unshiftByN, int arrLength) {
+        if (sharedValues) {
+            unshareValues();
+        }
         int lastIndex = size() + unshiftByN - 1;
         prepareForConsecutiveMultiAdd(lastIndex, arrLength);
         if (index > lastIndex) {
@@ -1242,6 +1292,53 @@ public class ArrayValueImpl extends AbstractArrayValue {
         System.arraycopy(arr, i, arr, i + unshiftByN, this.size - i);
     }
 
+    /**
+     * Replaces the backing array, which is shared with a copy of this array, with a private one of the same length.
+     * Only the members are copied, so that the unused slots hold default values as in a freshly allocated array.
+     */
+    private void unshareValues() {
+        switch (this.elementReferredType.getTag()) {
+            case TypeTags.INT_TAG:
+            case TypeTags.SIGNED32_INT_TAG:
+            case TypeTags.SIGNED16_INT_TAG:
+            case TypeTags.SIGNED8_INT_TAG:
+            case TypeTags.UNSIGNED32_INT_TAG:
+            case TypeTags.UNSIGNED16_INT_TAG:
+            case TypeTags.UNSIGNED8_INT_TAG:
+                long[] ints = new long[intValues.length];
+                System.arraycopy(intValues, 0, ints, 0, size);
+                intValues = ints;
+                break;
+            case TypeTags.BOOLEAN_TAG:
+                boolean[] booleans = new boolean[booleanValues.length];
+                System.arraycopy(booleanValues, 0, booleans, 0, size);
+                booleanValues = booleans;
+                break;
+            case TypeTags.BYTE_TAG:
+                byte[] bytes = new byte[byteValues.length];
+                System.arraycopy(byteValues, 0, bytes, 0, size);
+                byteValues = bytes;
+                break;
+            case TypeTags.FLOAT_TAG:
+                double[] floats = new double[floatValues.length];
+                System.arraycopy(floatValues, 0, floats, 0, size);
+                floatValues = floats;
+                break;
+            case TypeTags.STRING_TAG:
+            case TypeTags.CHAR_STRING_TAG:
+                BString[] strings = new BString[bStringValues.length];
+                System.arraycopy(bStringValues, 0, strings, 0, size);
+                bStringValues = strings;
+                break;
+            default:
+                Object[] values = new Object[refValues.length];
+                System.arraycopy(refValues, 0, values, 0, size);
+                refValues = values;
+                break;
+        }
+        sharedValues = false;
+    }
+
     private Object getArrayFromType(int typeTag) {
         switch (typeTag) {
             case TypeTags.INT_TAG:
@@ -43,17 +43,20 @@ import io.ballerina.runtime.api.values.BString;
 
      @Override
      public BString concat(BString str) {
-         StringValue stringValue = (StringValue) str;
+         StringValue stringValue = ((StringValue) str).flat();
+         if (value.length() + stringValue.charLength() >= ConcatStringValue.MIN_LENGTH) {
+             return ConcatStringValue.concat(this, stringValue);
+         }
          if (stringValue.isNonBmp) {
-             int[] otherSurrogates = ((NonBmpStringValue) str).getSurrogates();
+             int[] otherSurrogates = ((NonBmpStringValue) stringValue).getSurrogates();
              int[] newSurrogates = new int[otherSurrogates.length];
              int length = length();
              for (int i = 0; i < otherSurrogates.length; i++) {
                  newSurrogates[i] = otherSurrogates[i] + length;
              }
-             return new NonBmpStringValue(this.value + str.getValue(), newSurrogates);
+             return new NonBmpStringValue(this.value + stringValue.value, newSurrogates);
          }
-         return new BmpStringValue(this.value + str.getValue());
+         return new BmpStringValue(this.value + stringValue.value);
      }
 
      @Override
@@ -0,0 +1,633 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.values;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Insertion ordered hash map which keeps its entries in parallel key, value and hash arrays, and looks them up
+ * through an open addressed {@code int} index table.
+ * <p>
+ * Compared to {@link java.util.LinkedHashMap}, no entry object is allocated per mapping. Removed entries leave a hole
+ * in the entry arrays, which is reclaimed when the arrays need to grow. Storage is allocated lazily on the first
+ * insertion, using the expected size given at construction, if any.
+ * <p>
+ * A map can share its storage with a copy of it through {@link #shareStorageWith(CompactLinkedHashMap)}, after which
+ * whichever of the two maps is written to first takes a private copy of the arrays, leaving the other one intact.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ *
+ * @since 2201.4.0
+ */
+public class CompactLinkedHashMap<K, V> extends AbstractMap<K, V> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int DEFAULT_CAPACITY = 8;
+    private static final int MAX_CAPACITY = 1 << 29;
+    private static final Object[] EMPTY = new Object[0];
+    private static final int[] EMPTY_INDEX = new int[0];
+
+    /**
+     * Marks a removed entry in the {@code keys} array.
+     */
+    private static final Object REMOVED = new Object();
+
+    private Object[] keys = EMPTY;
+    private Object[] vals = EMPTY;
+    private int[] hashes = EMPTY_INDEX;
+
+    /**
+     * Open addressed table of {@code entry position + 1}, where {@code 0} denotes a free slot. Its length is a power
+     * of two, large enough to keep the load factor at or below 0.75 when the entry arrays are full.
+     */
+    private int[] index = EMPTY_INDEX;
+
+    /**
+     * Number of live mappings.
+     */
+    private int size;
+
+    /**
+     * Number of used entry positions, including removed ones.
+     */
+    private int used;
+
+    private int expectedSize;
+    private transient int modCount;
+
+    /**
+     * Whether the entry and index arrays may be referenced by another map, and hence must be copied before writing.
+     */
+    private transient boolean sharedStorage;
+
+    private transient Set<Entry<K, V>> entrySet;
+    private transient Set<K> keySet;
+    private transient Collection<V> values;
+
+    public CompactLinkedHashMap() {
+        this(0);
+    }
+
+    public CompactLinkedHashMap(int expectedSize) {
+        this.expectedSize = expectedSize;
+    }
+
+    /**
+     * Sets the number of mappings this map is expected to hold. Only effective before the first insertion.
+     *
+     * @param expectedSize expected number of mappings
+     */
+    protected void setExpectedSize(int expectedSize) {
+        this.expectedSize = expectedSize;
+    }
+
+    /**
+     * Makes this map, which must be empty, hold the same mappings as the given map by sharing its storage. The storage
+     * is copied by whichever of the two maps is modified first.
+     *
+     * @param source map to share the storage of
+     */
+    protected void shareStorageWith(CompactLinkedHashMap<K, V> source) {
+        keys = source.keys;
+        vals = source.vals;
+        hashes = source.hashes;
+        index = source.index;
+        size = source.size;
+        used = source.used;
+        modCount++;
+        if (keys.length != 0) {
+            sharedStorage = true;
+            source.sharedStorage = true;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return findPosition(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (int i = 0; i < used; i++) {
+            if (keys[i] != REMOVED && Objects.equals(vals[i], value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(Object key) {
+        int pos = findPosition(key);
+        return pos < 0 ? null : (V) vals[pos];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        int pos = findPosition(key);
+        return pos < 0 ? defaultValue : (V) vals[pos];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V put(K key, V value) {
+        if (sharedStorage) {
+            unshareStorage();
+        }
+        int hash = hash(key);
+        if (index.length != 0) {
+            int mask = index.length - 1;
+            for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                int entry = index[slot];
+                if (entry == 0) {
+                    break;
+                }
+                int pos = entry - 1;
+                if (hashes[pos] == hash && Objects.equals(keys[pos], key)) {
+                    V oldValue = (V) vals[pos];
+                    vals[pos] = value;
+                    return oldValue;
+                }
+            }
+        }
+
+        if (used == keys.length) {
+            ensureCapacity();
+        }
+        int pos = used++;
+        keys[pos] = key;
+        vals[pos] = value;
+        hashes[pos] = hash;
+        insertIntoIndex(hash, pos);
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V remove(Object key) {
+        int pos = findPosition(key);
+        if (pos < 0) {
+            return null;
+        }
+        V oldValue = (V) vals[pos];
+        removeAt(pos);
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        if (used == 0) {
+            return;
+        }
+        if (sharedStorage) {
+            unshareStorage();
+        }
+        Arrays.fill(keys, 0, used, null);
+        Arrays.fill(vals, 0, used, null);
+        Arrays.fill(index, 0);
+        size = 0;
+        used = 0;
+        modCount++;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        int expectedModCount = modCount;
+        for (int i = 0; i < used; i++) {
+            Object key = keys[i];
+            if (key != REMOVED) {
+                action.accept((K) key, (V) vals[i]);
+            }
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> es = entrySet;
+        return es != null ? es : (entrySet = new EntrySet());
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> ks = keySet;
+        return ks != null ? ks : (keySet = new KeySet());
+    }
+
+    @Override
+    public Collection<V> values() {
+        Collection<V> vs = values;
+        return vs != null ? vs : (values = new Values());
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        if (used != size) {
+            // Removed entry markers are identity based, hence must not be serialized.
+            resize(keys.length);
+        }
+        out.defaultWriteObject();
+    }
+
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private int findPosition(Object key) {
+        if (size == 0) {
+            return -1;
+        }
+        int hash = hash(key);
+        int mask = index.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int entry = index[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            int pos = entry - 1;
+            if (hashes[pos] == hash && Objects.equals(keys[pos], key)) {
+                return pos;
+            }
+        }
+    }
+
+    private void insertIntoIndex(int hash, int pos) {
+        int mask = index.length - 1;
+        int slot = hash & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = pos + 1;
+    }
+
+    private void removeAt(int pos) {
+        if (sharedStorage) {
+            unshareStorage();
+        }
+        int mask = index.length - 1;
+        int slot = hashes[pos] & mask;
+        while (index[slot] != pos + 1) {
+            slot = (slot + 1) & mask;
+        }
+        deleteFromIndex(slot);
+
+        keys[pos] = REMOVED;
+        vals[pos] = null;
+        size--;
+        modCount++;
+        // Trailing removed entries can be reused right away.
+        while (used > 0 && keys[used - 1] == REMOVED) {
+            keys[--used] = null;
+        }
+    }
+
+    /**
+     * Frees the given index slot, shifting back the entries of the same probe sequence so that lookups do not need
+     * tombstones.
+     */
+    private void deleteFromIndex(int freeSlot) {
+        int mask = index.length - 1;
+        int slot = freeSlot;
+        while (true) {
+            slot = (slot + 1) & mask;
+            int entry = index[slot];
+            if (entry == 0) {
+                break;
+            }
+            int home = hashes[entry - 1] & mask;
+            // Move the entry if its home slot is not cyclically within (freeSlot, slot].
+            boolean movable = freeSlot <= slot ? (home <= freeSlot || home > slot) : (home <= freeSlot && home > slot);
+            if (movable) {
+                index[freeSlot] = entry;
+                freeSlot = slot;
+            }
+        }
+        index[freeSlot] = 0;
+    }
+
+    private void ensureCapacity() {
+        int capacity = keys.length;
+        if (capacity == 0) {
+            resize(expectedSize > 0 ? expectedSize : DEFAULT_CAPACITY);
+            return;
+        }
+        if (size < used - (used >> 2)) {
+            // More than a quarter of the entries are removed ones, hence reclaim them instead of growing.
+            resize(capacity);
+            return;
+        }
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("map capacity exceeded");
+        }
+        resize(Math.min(MAX_CAPACITY, capacity + Math.max(capacity >> 1, DEFAULT_CAPACITY >> 1)));
+    }
+
+    private void resize(int newCapacity) {
+        Object[] newKeys = new Object[newCapacity];
+        Object[] newVals = new Object[newCapacity];
+        int[] newHashes = new int[newCapacity];
+        int newUsed = 0;
+        for (int i = 0; i < used; i++) {
+            if (keys[i] != REMOVED) {
+                newKeys[newUsed] = keys[i];
+                newVals[newUsed] = vals[i];
+                newHashes[newUsed] = hashes[i];
+                newUsed++;
+            }
+        }
+        keys = newKeys;
+        vals = newVals;
+        hashes = newHashes;
+        used = newUsed;
+
+        // Keep the index load factor at or below 0.75.
+        int minIndexLength = newCapacity + (newCapacity + 2) / 3;
+        int indexLength = Integer.highestOneBit(Math.max(1, minIndexLength - 1)) << 1;
+        if (index.length != indexLength || sharedStorage) {
+            index = new int[indexLength];
+            sharedStorage = false;
+        } else {
+            Arrays.fill(index, 0);
+        }
+        for (int i = 0; i < newUsed; i++) {
+            insertIntoIndex(newHashes[i], i);
+        }
+    }
+
+    private void unshareStorage() {
+        keys = keys.clone();
+        vals = vals.clone();
+        hashes = hashes.clone();
+        index = index.clone();
+        sharedStorage = false;
+    }
+
+    /**
+     * Iterates the live entry positions in insertion order.
+     */
+    private abstract class PositionIterator<T> implements Iterator<T> {
+
+        int next;
+        int current = -1;
+        int expectedModCount = modCount;
+
+        PositionIterator() {
+            next = nextLivePosition(0);
+        }
+
+        private int nextLivePosition(int from) {
+            while (from < used && keys[from] == REMOVED) {
+                from++;
+            }
+            return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < used;
+        }
+
+        int nextPosition() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= used) {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            next = nextLivePosition(next + 1);
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            if (current < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(current);
+            current = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+     * Map entry which reads and writes through to the map while the mapping is present.
+     */
+    private final class MapEntry extends SimpleEntry<K, V> {
+
+        private static final long serialVersionUID = 1L;
+        private transient int pos;
+
+        @SuppressWarnings("unchecked")
+        MapEntry(int pos) {
+            super((K) keys[pos], (V) vals[pos]);
+            this.pos = pos;
+        }
+
+        private boolean locate() {
+            K key = getKey();
+            if (pos < used && keys[pos] == key) {
+                return true;
+            }
+            pos = findPosition(key);
+            return pos >= 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V getValue() {
+            if (locate()) {
+                super.setValue((V) vals[pos]);
+            }
+            return super.getValue();
+        }
+
+        @Override
+        public V setValue(V value) {
+            V oldValue = getValue();
+            if (locate()) {
+                if (sharedStorage) {
+                    unshareStorage();
+                }
+                vals[pos] = value;
+            }
+            super.setValue(value);
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            return Objects.equals(getKey(), entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new PositionIterator<>() {
+                @Override
+                public Entry<K, V> next() {
+                    return new MapEntry(nextPosition());
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            int pos = findPosition(entry.getKey());
+            return pos >= 0 && Objects.equals(vals[pos], entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            removeAt(findPosition(((Entry<?, ?>) o).getKey()));
+            return true;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            CompactLinkedHashMap.this.clear();
+        }
+    }
+
+    private final class KeySet extends AbstractSet<K> {
+
+        @Override
+        public Iterator<K> iterator() {
+            return new PositionIterator<>() {
+                @SuppressWarnings("unchecked")
+                @Override
+                public K next() {
+                    return (K) keys[nextPosition()];
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            int pos = findPosition(o);
+            if (pos < 0) {
+                return false;
+            }
+            removeAt(pos);
+            return true;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            CompactLinkedHashMap.this.clear();
+        }
+    }
+
+    private final class Values extends AbstractCollection<V> {
+
+        @Override
+        public Iterator<V> iterator() {
+            return new PositionIterator<>() {
+                @SuppressWarnings("unchecked")
+                @Override
+                public V next() {
+                    return (V) vals[nextPosition()];
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsValue(o);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            CompactLinkedHashMap.this.clear();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.values.BLink;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.Arrays;
+
+/**
+ * Represent ballerina strings built by repeated concatenation.
+ * <p>
+ * The characters live in a buffer shared with the string this value was concatenated from. Appending to the string
+ * that ends at the current end of the buffer appends to the buffer in place, so building a string with {@code +=} in
+ * a loop takes amortized constant time per append. Any other append copies the prefix into a new buffer. The value
+ * is flattened into a {@link BmpStringValue} or a {@link NonBmpStringValue} on the first read of its characters, and
+ * drops the shared buffer then, so that a value which is kept does not hold on to the characters appended after it.
+ *
+ * @since 2201.4.0
+ */
+public final class ConcatStringValue extends StringValue {
+
+    /**
+     * Minimum number of UTF-16 chars in a concatenation result for it to be backed by a shared buffer. Shorter
+     * strings are cheaper to copy.
+     */
+    static final int MIN_LENGTH = 256;
+
+    // Set to null once the value is flattened
+    private volatile Buffer buffer;
+    private final int charCount;
+    private final int surrogateCount;
+    private volatile StringValue flattened;
+
+    private ConcatStringValue(Buffer buffer, int charCount, int surrogateCount) {
+        super(null, surrogateCount > 0);
+        this.buffer = buffer;
+        this.charCount = charCount;
+        this.surrogateCount = surrogateCount;
+    }
+
+    static BString concat(StringValue lhs, BString rhs) {
+        StringValue other = ((StringValue) rhs).flat();
+        Buffer buffer = new Buffer(lhs.charLength() + other.charLength());
+        synchronized (buffer) {
+            buffer.append(lhs.flat());
+            return buffer.append(other);
+        }
+    }
+
+    @Override
+    StringValue flat() {
+        StringValue flattened = this.flattened;
+        if (flattened != null) {
+            return flattened;
+        }
+        Buffer buffer = this.buffer;
+        if (buffer == null) {
+            // The buffer is only dropped after the flattened value is set
+            return this.flattened;
+        }
+        String value;
+        int[] surrogates;
+        synchronized (buffer) {
+            value = buffer.chars.substring(0, charCount);
+            surrogates = isNonBmp ? Arrays.copyOf(buffer.surrogates, surrogateCount) : null;
+        }
+        flattened = isNonBmp ? new NonBmpStringValue(value, surrogates) : new BmpStringValue(value);
+        this.flattened = flattened;
+        this.buffer = null;
+        return flattened;
+    }
+
+    @Override
+    int charLength() {
+        return charCount;
+    }
+
+    @Override
+    public String getValue() {
+        return flat().value;
+    }
+
+    @Override
+    public int getCodePoint(int index) {
+        return flat().getCodePoint(index);
+    }
+
+    @Override
+    public int length() {
+        return charCount - surrogateCount;
+    }
+
+    @Override
+    public BString concat(BString str) {
+        // Flatten the other string before locking, so that no two buffers are ever locked at once.
+        StringValue other = ((StringValue) str).flat();
+        Buffer buffer = this.buffer;
+        if (buffer != null) {
+            synchronized (buffer) {
+                if (buffer.chars.length() == charCount) {
+                    return buffer.append(other);
+                }
+            }
+        }
+        return concat(this, other);
+    }
+
+    @Override
+    public Long indexOf(BString str, int fromIndex) {
+        return flat().indexOf(str, fromIndex);
+    }
+
+    @Override
+    public Long lastIndexOf(BString str, int fromIndex) {
+        return flat().lastIndexOf(str, fromIndex);
+    }
+
+    @Override
+    public BString substring(int beginIndex, int endIndex) {
+        return flat().substring(beginIndex, endIndex);
+    }
+
+    @Override
+    public IteratorValue getIterator() {
+        return flat().getIterator();
+    }
+
+    @Override
+    public String stringValue(BLink parent) {
+        return getValue();
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+
+    @Override
+    public int hashCode() {
+        return getValue().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object str) {
+        if (str == this) {
+            return true;
+        }
+        if (str instanceof BString) {
+            return ((BString) str).getValue().equals(getValue());
+        }
+        return false;
+    }
+
+    /**
+     * Characters and surrogate pair locations shared by the strings concatenated onto the same prefix.
+     */
+    private static final class Buffer {
+
+        private final StringBuilder chars;
+        private int[] surrogates = new int[0];
+        private int surrogateCount;
+
+        Buffer(int capacity) {
+            this.chars = new StringBuilder(capacity);
+        }
+
+        /**
+         * Appends a flat string. Callers must hold the lock of this buffer.
+         */
+        ConcatStringValue append(StringValue str) {
+            if (str.isNonBmp) {
+                int[] otherSurrogates = ((NonBmpStringValue) str).getSurrogates();
+                int length = chars.length() - surrogateCount;
+                if (surrogateCount + otherSurrogates.length > surrogates.length) {
+                    surrogates = Arrays.copyOf(surrogates,
+                            Math.max(surrogates.length * 2, surrogateCount + otherSurrogates.length));
+                }
+                for (int surrogate : otherSurrogates) {
+                    surrogates[surrogateCount++] = surrogate + length;
+                }
+            }
+            chars.append(str.value);
+            return new ConcatStringValue(this, chars.length(), surrogateCount);
+        }
+    }
+}
@@ -60,15 +60,42 @@ public class DecimalValue implements SimpleValue, BDecimal {
     @Deprecated
     public DecimalValueKind valueKind = DecimalValueKind.OTHER;
 
-    private final BigDecimal value;
+    // Largest scale magnitude of the compact form. Any unscaled long with such a scale is well within the decimal
+    // range, and never below its smallest magnitude.
+    private static final int MAX_COMPACT_SCALE = 1000;
+    private static final long[] LONG_TEN_POWERS = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+            100000000L, 1000000000L, 10000000000L, 100000000000L, 1000000000000L, 10000000000000L,
+            100000000000000L, 1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L};
+
+    // The value as an unscaled long and a scale, when it fits. Arithmetic between two compact values whose exact
+    // result also fits is done on longs: such a result has at most 19 digits, so rounding it to the 34 digits of
+    // decimal128 would not change it, and it has the same scale that BigDecimal would prefer.
+    private final boolean compact;
+    private final long unscaled;
+    private final int scale;
+
+    // Lazily created for values computed in the compact form.
+    private BigDecimal value;
 
     public DecimalValue(BigDecimal value) {
         this.value = getValidDecimalValue(value);
+        this.compact = isCompact(this.value);
+        this.unscaled = this.compact ? this.value.unscaledValue().longValue() : 0;
+        this.scale = this.value.scale();
         if (!this.booleanValue()) {
             this.valueKind = DecimalValueKind.ZERO;
         }
     }
 
+    private DecimalValue(long unscaled, int scale) {
+        this.compact = true;
+        this.unscaled = unscaled;
+        this.scale = scale;
+        if (unscaled == 0) {
+            this.valueKind = DecimalValueKind.ZERO;
+        }
+    }
+
     public DecimalValue(String value) {
         // Check whether the number provided is a hexadecimal value.
         BigDecimal bd;
@@ -84,6 +111,9 @@ public class DecimalValue implements SimpleValue, BDecimal {
             throw exception;
         }
         this.value = getValidDecimalValue(bd);
+        this.compact = isCompact(this.value);
+        this.unscaled = this.compact ? this.value.unscaledValue().longValue() : 0;
+        this.scale = this.value.scale();
 
         if (!this.booleanValue()) {
             this.valueKind = DecimalValueKind.ZERO;
@@ -106,12 +136,54 @@ public class DecimalValue implements SimpleValue, BDecimal {
         return bd;
     }
 
+    private static boolean isCompact(BigDecimal bd) {
+        return bd.precision() <= 18 && Math.abs(bd.scale()) <= MAX_COMPACT_SCALE;
+    }
+
+    private static DecimalValue compactValue(long unscaled, int scale) {
+        if (scale < -MAX_COMPACT_SCALE || scale > MAX_COMPACT_SCALE) {
+            return new DecimalValue(BigDecimal.valueOf(unscaled, scale));
+        }
+        return new DecimalValue(unscaled, scale);
+    }
+
+    /**
+     * Returns {@code lhs} plus the decimal given by {@code unscaled} and {@code scale} in the compact form, or null if
+     * the exact sum does not fit in a long.
+     */
+    private static DecimalValue compactAdd(DecimalValue lhs, long unscaled, int scale) {
+        long lhsUnscaled = lhs.unscaled;
+        int resultScale = lhs.scale;
+        if (scale > resultScale) {
+            if (!canScaleUp(lhsUnscaled, scale - resultScale)) {
+                return null;
+            }
+            lhsUnscaled *= LONG_TEN_POWERS[scale - resultScale];
+            resultScale = scale;
+        } else if (scale < resultScale) {
+            if (!canScaleUp(unscaled, resultScale - scale)) {
+                return null;
+            }
+            unscaled *= LONG_TEN_POWERS[resultScale - scale];
+        }
+        long sum = lhsUnscaled + unscaled;
+        if (((lhsUnscaled ^ sum) & (unscaled ^ sum)) < 0) {
+            return null;
+        }
+        return new DecimalValue(sum, resultScale);
+    }
+
+    private static boolean canScaleUp(long unscaled, int scaleIncrease) {
+        return scaleIncrease < LONG_TEN_POWERS.length && unscaled != Long.MIN_VALUE &&
+                Math.abs(unscaled) <= Long.MAX_VALUE / LONG_TEN_POWERS[scaleIncrease];
+    }
+
     /**
      * Get value of the decimal.
      * @return the value
      */
     public BigDecimal decimalValue() {
-        return this.value;
+        return value();
     }
 
     /**
@@ -125,7 +197,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
             throw ErrorUtils.createNumericConversionError(this.stringValue(null), PredefinedTypes.TYPE_DECIMAL,
                                                           PredefinedTypes.TYPE_INT);
         }
-        return value.setScale(0, RoundingMode.HALF_EVEN).longValue();
+        return value().setScale(0, RoundingMode.HALF_EVEN).longValue();
     }
 
     /**
@@ -134,7 +206,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return true if the value is in int range
      */
     public static boolean isDecimalWithinIntRange(DecimalValue decimalValue) {
-        BigDecimal value = decimalValue.value;
+        BigDecimal value = decimalValue.value();
         return value.compareTo(RuntimeConstants.BINT_MAX_VALUE_BIG_DECIMAL_RANGE_MAX) < 0 &&
                value.compareTo(RuntimeConstants.BINT_MIN_VALUE_BIG_DECIMAL_RANGE_MIN) > 0;
     }
@@ -146,9 +218,9 @@ public class DecimalValue implements SimpleValue, BDecimal {
      */
     public int byteValue() {
 
-        int intVal = (int) Math.rint(this.value.doubleValue());
+        int intVal = (int) Math.rint(value().doubleValue());
         if (!isByteLiteral(intVal)) {
-            throw ErrorUtils.createNumericConversionError(value, PredefinedTypes.TYPE_DECIMAL,
+            throw ErrorUtils.createNumericConversionError(value(), PredefinedTypes.TYPE_DECIMAL,
                                                           PredefinedTypes.TYPE_BYTE);
         }
         return intVal;
@@ -163,7 +235,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return the double value
      */
     public double floatValue() {
-        return value.doubleValue();
+        return value().doubleValue();
     }
 
     /**
@@ -171,6 +243,9 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return true if the value is non zero
      */
     public boolean booleanValue() {
+        if (this.compact) {
+            return this.unscaled != 0;
+        }
         return value.compareTo(BigDecimal.ZERO) != 0;
     }
 
@@ -193,7 +268,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
         if (this.valueKind != DecimalValueKind.OTHER) {
             return this.valueKind.getValue();
         }
-        return value.toString();
+        return value().toString();
     }
 
     /**
@@ -205,7 +280,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
         if (this.valueKind != DecimalValueKind.OTHER) {
             return this.valueKind.getValue() + "d";
         }
-        return value.toString() + "d";
+        return value().toString() + "d";
     }
 
     /**
@@ -213,7 +288,12 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return the decimal value
      */
     public BigDecimal value() {
-        return this.value;
+        BigDecimal value = this.value;
+        if (value == null) {
+            value = BigDecimal.valueOf(this.unscaled, this.scale);
+            this.value = value;
+        }
+        return value;
     }
 
     /**
@@ -238,6 +318,12 @@ public class DecimalValue implements SimpleValue, BDecimal {
         if (augend.valueKind == DecimalValueKind.ZERO) {
             return this;
         }
+        if (this.compact && augend.compact) {
+            DecimalValue sum = compactAdd(this, augend.unscaled, augend.scale);
+            if (sum != null) {
+                return sum;
+            }
+        }
         return new DecimalValue(this.decimalValue().add(augend.decimalValue(), MathContext.DECIMAL128));
     }
 
@@ -257,6 +343,12 @@ public class DecimalValue implements SimpleValue, BDecimal {
         if (subtrahend.valueKind == DecimalValueKind.ZERO) {
             return this;
         }
+        if (this.compact && subtrahend.compact && subtrahend.unscaled != Long.MIN_VALUE) {
+            DecimalValue difference = compactAdd(this, -subtrahend.unscaled, subtrahend.scale);
+            if (difference != null) {
+                return difference;
+            }
+        }
         return new DecimalValue(this.decimalValue().subtract(subtrahend.decimalValue(),
                 MathContext.DECIMAL128));
     }
@@ -273,6 +365,13 @@ public class DecimalValue implements SimpleValue, BDecimal {
             return this;
         }
         if (multiplicand.valueKind == DecimalValueKind.OTHER) {
+            if (this.compact && multiplicand.compact) {
+                long high = Math.multiplyHigh(this.unscaled, multiplicand.unscaled);
+                long product = this.unscaled * multiplicand.unscaled;
+                if ((high == 0 && product >= 0) || (high == -1 && product < 0)) {
+                    return compactValue(product, this.scale + multiplicand.scale);
+                }
+            }
             return new DecimalValue(this.decimalValue().multiply(multiplicand.decimalValue(),
                     MathContext.DECIMAL128));
         }
@@ -323,6 +422,9 @@ public class DecimalValue implements SimpleValue, BDecimal {
      */
     public DecimalValue negate() {
         if (this.valueKind == DecimalValueKind.OTHER) {
+            if (this.compact && this.unscaled != Long.MIN_VALUE) {
+                return new DecimalValue(-this.unscaled, this.scale);
+            }
             return new DecimalValue(this.decimalValue().negate());
         }
         return this;
@@ -374,12 +476,18 @@ public class DecimalValue implements SimpleValue, BDecimal {
         }
 
         DecimalValue bDecimal = (DecimalValue) obj;
-        return ((value.compareTo(bDecimal.value) == 0) && (this.valueKind == bDecimal.valueKind));
+        if (this.valueKind != bDecimal.valueKind) {
+            return false;
+        }
+        if (this.compact && bDecimal.compact && this.scale == bDecimal.scale) {
+            return this.unscaled == bDecimal.unscaled;
+        }
+        return value().compareTo(bDecimal.value()) == 0;
     }
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        return value().hashCode();
     }
 
     /**
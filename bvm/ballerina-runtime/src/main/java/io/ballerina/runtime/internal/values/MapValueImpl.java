@@ -49,11 +49,11 @@ import io.ballerina.runtime.internal.util.exceptions.RuntimeErrors;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -88,8 +88,8 @@ import static io.ballerina.runtime.internal.values.ReadOnlyUtils.handleInvalidUp
  *
  * @since 0.995.0
  */
-public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue, CollectionValue, MapValue<K, V>,
-        BMap<K, V> {
+public class MapValueImpl<K, V> extends CompactLinkedHashMap<K, V> implements RefValue, CollectionValue,
+        MapValue<K, V>, BMap<K, V> {
 
     private static final long serialVersionUID = 1L;
     private BTypedesc typedesc;
@@ -107,12 +107,14 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
     public MapValueImpl(Type type) {
         super();
         this.type = getReferredType(type);
+        presizeForRecordFields();
         this.typedesc = getTypedescValue(type, this);
     }
 
     public MapValueImpl(Type type, BMapInitialValueEntry[] initialValues) {
         super();
         this.type = getReferredType(type);
+        presizeForRecordFields();
         populateInitialValues(initialValues);
         if (!type.isReadOnly()) {
             this.typedesc = new TypedescValueImpl(type);
@@ -125,6 +127,14 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
         this.typedesc = getTypedescValue(type, this);
     }
 
+    private void presizeForRecordFields() {
+        // Only the capacity is derived from the record fields; the fields do not get fixed slots in this storage.
+        // Generated record value classes keep the declared fields in their own slots, outside this storage.
+        if (getClass() == MapValueImpl.class && this.type.getTag() == TypeTags.RECORD_TYPE_TAG) {
+            setExpectedSize(((BRecordType) this.type).getFields().size());
+        }
+    }
+
     public Long getIntValue(BString key) {
         return (Long) get(key);
     }
@@ -447,6 +457,11 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
 
         MapValueImpl<K, V> newMap = new MapValueImpl<>(type);
         refs.put(this, newMap);
+        if (getClass() == MapValueImpl.class && hasOnlyImmutableValues()) {
+            // None of the values needs copying, hence the copy shares the storage until either map is modified.
+            newMap.shareStorageWith(this);
+            return newMap;
+        }
         for (Map.Entry<K, V> entry : this.entrySet()) {
             V value = entry.getValue();
             value = value instanceof RefValue ? (V) ((RefValue) value).copy(refs) : value;
@@ -455,6 +470,15 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
         return newMap;
     }
 
+    private boolean hasOnlyImmutableValues() {
+        for (V value : values()) {
+            if (value instanceof RefValue && !((RefValue) value).isFrozen()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public Object frozenCopy(Map<Object, Object> refs) {
@@ -545,6 +569,17 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
         return new String(byteOut.toByteArray());
     }
 
+    @Override
+    public void serialize(OutputStream outputStream) {
+        JsonGenerator gen = new JsonGenerator(outputStream);
+        try {
+            gen.convertAndSerialize(this);
+            gen.flush();
+        } catch (IOException e) {
+            throw new BallerinaException("error occurred while serializing data", e);
+        }
+    }
+
     @Override
     public IteratorValue getIterator() {
         return new MapIterator<>(new LinkedHashSet<>(this.entrySet()).iterator());
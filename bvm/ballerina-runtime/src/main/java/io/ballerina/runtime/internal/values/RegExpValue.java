@@ -23,6 +23,7 @@ import io.ballerina.runtime.api.values.BTypedesc;
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 import static io.ballerina.runtime.internal.ValueUtils.getTypedescValue;
 
@@ -40,6 +41,7 @@ public class RegExpValue implements BRegexpValue, RefValue {
     private final RegExpDisjunction regExpDisjunction;
     private final BTypedesc typedesc;
     private static final Type type = PredefinedTypes.TYPE_READONLY_ANYDATA;
+    private volatile Pattern pattern;
 
     public RegExpValue(RegExpDisjunction regExpDisjunction) {
         this.regExpDisjunction = regExpDisjunction;
@@ -50,6 +52,25 @@ public class RegExpValue implements BRegexpValue, RefValue {
         return this.regExpDisjunction;
     }
 
+    /**
+     * Returns the Java pattern compiled for this regular expression, if it has been compiled already.
+     *
+     * @return compiled pattern or null
+     */
+    public Pattern getPattern() {
+        return this.pattern;
+    }
+
+    /**
+     * Sets the Java pattern compiled for this regular expression. Since the value is immutable, the pattern can be
+     * reused by every subsequent match.
+     *
+     * @param pattern compiled pattern
+     */
+    public void setPattern(Pattern pattern) {
+        this.pattern = pattern;
+    }
+
     @Override
     public String stringValue(BLink parent) {
         return this.regExpDisjunction.stringValue(parent);
@@ -128,7 +128,7 @@ public class StreamingJsonValue extends ArrayValueImpl implements BStreamingJson
         if (datasource.hasNext()) {
             buildDatasource();
         }
-        return refValues;
+        return super.getValues();
     }
 
     @Override
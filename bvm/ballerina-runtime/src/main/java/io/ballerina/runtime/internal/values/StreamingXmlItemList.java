@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BXml;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * <p>
+ * {@link StreamingXmlItemList} is the item list of an xml sequence whose items are read from a parser on demand.
+ * </p>
+ * <p>
+ * Iterating the sequence hands out the items as they are parsed without retaining them, so that a {@code foreach}
+ * over a large document runs in constant memory. Any other access (size, indexing, serialization, mutation) reads
+ * the remaining items into memory first, which is only possible if no streaming iteration has started.
+ * </p>
+ * <p>
+ * <i>Note: This is an internal API and may change in future versions.</i>
+ * </p>
+ *
+ * @since 2201.4.0
+ */
+public final class StreamingXmlItemList extends AbstractList<BXml> {
+
+    private Iterator<BXml> source;
+    private List<BXml> items;
+    private boolean streamed;
+
+    public StreamingXmlItemList(Iterator<BXml> source) {
+        this.source = source;
+    }
+
+    /**
+     * Returns an iterator which reads the items from the underlying parser without retaining them. Only one
+     * streaming iteration is allowed, unless the items have already been read into memory.
+     *
+     * @return iterator over the items of the sequence
+     */
+    public synchronized Iterator<BXml> streamingIterator() {
+        if (items != null) {
+            return items.iterator();
+        }
+        if (streamed) {
+            throw createConsumedError();
+        }
+        streamed = true;
+        Iterator<BXml> remaining = source;
+        source = null;
+        return remaining;
+    }
+
+    @Override
+    public BXml get(int index) {
+        return materialize().get(index);
+    }
+
+    @Override
+    public int size() {
+        return materialize().size();
+    }
+
+    @Override
+    public BXml set(int index, BXml element) {
+        return materialize().set(index, element);
+    }
+
+    @Override
+    public void add(int index, BXml element) {
+        materialize().add(index, element);
+    }
+
+    @Override
+    public BXml remove(int index) {
+        return materialize().remove(index);
+    }
+
+    private synchronized List<BXml> materialize() {
+        if (items != null) {
+            return items;
+        }
+        if (streamed) {
+            throw createConsumedError();
+        }
+        List<BXml> materialized = new ArrayList<>();
+        while (source.hasNext()) {
+            materialized.add(source.next());
+        }
+        source = null;
+        items = materialized;
+        return items;
+    }
+
+    private static RuntimeException createConsumedError() {
+        return ErrorCreator.createError(StringUtils.fromString(
+                "xml sequence has already been consumed by a streaming iteration"));
+    }
+}
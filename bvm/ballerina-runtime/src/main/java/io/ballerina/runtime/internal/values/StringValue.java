@@ -39,6 +39,24 @@ public abstract class StringValue implements BString, SimpleValue {
         this.isNonBmp = isNonBmp;
     }
 
+    /**
+     * Returns the number of UTF-16 chars of this string, without materializing it.
+     *
+     * @return char count
+     */
+    int charLength() {
+        return value.length();
+    }
+
+    /**
+     * Returns this string as a {@link BmpStringValue} or a {@link NonBmpStringValue}.
+     *
+     * @return string backed by a Java string
+     */
+    StringValue flat() {
+        return this;
+    }
+
     @Override
     public Type getType() {
         return PredefinedTypes.TYPE_STRING;
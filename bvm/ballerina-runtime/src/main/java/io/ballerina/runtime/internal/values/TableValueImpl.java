@@ -20,10 +20,12 @@ package io.ballerina.runtime.internal.values;
 import io.ballerina.runtime.api.TypeTags;
 import io.ballerina.runtime.api.creators.ErrorCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
 import io.ballerina.runtime.api.types.Field;
 import io.ballerina.runtime.api.types.TableType;
 import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BIterator;
 import io.ballerina.runtime.api.values.BLink;
@@ -33,6 +35,7 @@ import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTypedesc;
 import io.ballerina.runtime.internal.CycleUtils;
 import io.ballerina.runtime.internal.IteratorUtils;
+import io.ballerina.runtime.internal.JsonGenerator;
 import io.ballerina.runtime.internal.TableUtils;
 import io.ballerina.runtime.internal.TypeChecker;
 import io.ballerina.runtime.internal.types.BIntersectionType;
@@ -44,22 +47,22 @@ import io.ballerina.runtime.internal.types.BTypeReferenceType;
 import io.ballerina.runtime.internal.types.BUnionType;
 import io.ballerina.runtime.internal.util.exceptions.BLangExceptionHelper;
 import io.ballerina.runtime.internal.util.exceptions.BLangFreezeException;
+import io.ballerina.runtime.internal.util.exceptions.BallerinaException;
 import io.ballerina.runtime.internal.util.exceptions.RuntimeErrors;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static io.ballerina.runtime.api.constants.RuntimeConstants.TABLE_LANG_LIB;
@@ -70,9 +73,12 @@ import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReason
 import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReasons.TABLE_HAS_A_VALUE_FOR_KEY_ERROR;
 import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReasons.TABLE_KEY_NOT_FOUND_ERROR;
 import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReasons.getModulePrefixedReason;
-
 /**
  * The runtime representation of table.
+ * <p>
+ * Rows are stored in insertion order in dense arrays. A keyed table finds a row by its key through an open
+ * addressing index over the positions of the rows, and lookups by a field which cannot be mutated are served by a
+ * hash index on that field, created on the first such lookup.
  *
  * @param <K> the type of keys maintained by this map
  * @param <V> the type of mapped values
@@ -81,20 +87,34 @@ import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReason
  */
 public class TableValueImpl<K, V> implements TableValue<K, V> {
 
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int FREE_SLOT = 0;
+    private static final int DELETED_SLOT = -1;
+
     private TableType type;
     private Type iteratorNextReturnType;
-    private ConcurrentHashMap<Long, List<Map.Entry<K, V>>> entries;
-    private LinkedHashMap<Long, List<V>> values;
-    private LinkedHashMap<Long, K> keys;
     private String[] fieldNames;
     private ValueHolder valueHolder;
     private long maxIntKey = 0;
 
-    //These are required to achieve the iterator behavior
-    private LinkedHashMap<Long, K> indexToKeyMap;
-    private LinkedHashMap<K, Long> keyToIndexMap;
-    private LinkedHashMap<K, V> keyValues;
-    private long noOfAddedEntries = 0;
+    // Rows in insertion order. A removed row leaves a hole, marked by a null value, until the rows are compacted.
+    private Object[] rowKeys;
+    private Object[] rowValues;
+    private long[] rowHashes;
+    // Insertion sequence of each row, used by the iterators to find their position again after a compaction.
+    private long[] rowSequences;
+    private int rowCount;
+    private int size;
+    private long nextSequence = 0;
+
+    // Open addressing index of the keyed rows. A slot holds the position of a row plus one, FREE_SLOT or
+    // DELETED_SLOT. Null for a table without a key or without any rows added yet.
+    private int[] keyIndex;
+    private int usedKeyIndexSlots;
+
+    // Hash indexes on fields which cannot be mutated, dropped when the rows are compacted. Lookups on a read-only
+    // table may build these from several strands at once, so an index is only published once it is fully built.
+    private final Map<String, FieldIndex> fieldIndexes = new ConcurrentHashMap<>();
 
     private boolean nextKeySupported;
 
@@ -104,13 +124,8 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     public TableValueImpl(TableType type) {
         this.type = type;
 
-        this.entries = new ConcurrentHashMap<>();
-        this.keys = new LinkedHashMap<>();
-        this.values = new LinkedHashMap<>();
-        this.keyToIndexMap = new LinkedHashMap<>();
-        this.indexToKeyMap = new LinkedHashMap<>();
+        initRows(INITIAL_CAPACITY);
         this.fieldNames = type.getFieldNames();
-        this.keyValues = new LinkedHashMap<>();
         if (type.getFieldNames().length > 0) {
             this.valueHolder = new KeyHashValueHolder();
         } else {
@@ -246,18 +261,21 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     @Override
     public Set<Map.Entry<K, V>> entrySet() {
         LinkedHashSet<Map.Entry<K, V>> entrySet = new LinkedHashSet<>();
-        for (List<Map.Entry<K, V>> entry: entries.values()) {
-            entrySet.addAll(entry);
+        for (int i = 0; i < rowCount; i++) {
+            if (rowValues[i] != null) {
+                entrySet.add(new AbstractMap.SimpleEntry<>((K) rowKeys[i], (V) rowValues[i]));
+            }
         }
-        return new LinkedHashSet(entries.values());
+        return entrySet;
     }
 
     @Override
     public Collection<V> values() {
-        ArrayList<V> newValues = new ArrayList<>();
-        Set<Long> keys = values.keySet();
-        for (long key: keys) {
-            newValues.addAll(values.get(key));
+        ArrayList<V> newValues = new ArrayList<>(size);
+        for (int i = 0; i < rowCount; i++) {
+            if (rowValues[i] != null) {
+                newValues.add((V) rowValues[i]);
+            }
         }
         return newValues;
     }
@@ -265,12 +283,10 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     @Override
     public void clear() {
         handleFrozenTableValue();
-        entries.clear();
-        keys.clear();
-        values.clear();
-        keyToIndexMap.clear();
-        indexToKeyMap.clear();
-        noOfAddedEntries = 0;
+        initRows(INITIAL_CAPACITY);
+        keyIndex = null;
+        usedKeyIndexSlots = 0;
+        fieldIndexes.clear();
     }
 
     @Override
@@ -299,7 +315,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
                                                                         + "The key sequence should only have an " +
                                                                            "Integer field."));
         }
-        return keys.size() == 0 ? 0 : (this.maxIntKey + 1);
+        return size == 0 ? 0 : (this.maxIntKey + 1);
     }
 
     public Type getKeyType() {
@@ -327,23 +343,65 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public K[] getKeys() {
-        Object[] keyArr = new Object[keys.size()];
+        if (!(valueHolder instanceof KeyHashValueHolder)) {
+            return (K[]) new Object[0];
+        }
+        Object[] keyArr = new Object[size];
         int i = 0;
-        for (K key : keys.values()) {
-            keyArr[i] = key;
-            i++;
+        for (int position = 0; position < rowCount; position++) {
+            if (rowValues[position] != null) {
+                keyArr[i] = rowKeys[position];
+                i++;
+            }
         }
         return (K[]) keyArr;
     }
 
+    /**
+     * Returns the rows of this table in which the given field has a value equal to the given value, in the order of
+     * the table.
+     * <p>
+     * A lookup by the key field of the table uses the key index. A lookup by a field which cannot be mutated, either
+     * because it is a readonly field of the row type or because the rows are immutable, uses a hash index on the field
+     * created by the first such lookup. Lookups by any other field scan the rows.
+     *
+     * @param fieldName name of the field
+     * @param value     value of the field
+     * @return the matching rows
+     */
+    public List<V> getRowsByFieldValue(BString fieldName, Object value) {
+        String field = fieldName.getValue();
+        List<V> rows = new ArrayList<>();
+        if (valueHolder instanceof KeyHashValueHolder && fieldNames.length == 1 && fieldNames[0].equals(field)) {
+            int position = findRow(value, TableUtils.hash(value, null));
+            if (position >= 0) {
+                rows.add((V) rowValues[position]);
+            }
+            return rows;
+        }
+
+        FieldIndex fieldIndex = isIndexableValue(value) ? getFieldIndex(fieldName) : null;
+        if (fieldIndex != null) {
+            fieldIndex.collectRows(value, rows);
+            return rows;
+        }
+        for (int position = 0; position < rowCount; position++) {
+            Object row = rowValues[position];
+            if (row != null && TypeChecker.isEqual(((MapValue) row).get(fieldName), value)) {
+                rows.add((V) row);
+            }
+        }
+        return rows;
+    }
+
     @Override
     public int size() {
-        return values().size();
+        return size;
     }
 
     @Override
     public boolean isEmpty() {
-        return entries.isEmpty();
+        return size == 0;
     }
 
     @Override
@@ -369,8 +427,11 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     }
 
     public String stringValue(BLink parent) {
-        Iterator<Map.Entry<Long, List<V>>> itr = values.entrySet().iterator();
-        return createStringValueDataEntry(itr, parent);
+        StringJoiner sj = new StringJoiner(",");
+        for (V data : values()) {
+            sj.add(StringUtils.getStringValue(data, new CycleUtils.Node(this, parent)));
+        }
+        return "[" + sj + "]";
     }
 
     @Override
@@ -380,45 +441,14 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public String expressionStringValue(BLink parent) {
-        Iterator<Map.Entry<Long, List<V>>> itr = values.entrySet().iterator();
-        return createExpressionStringValueDataEntry(itr, parent);
-    }
-
-    private String createStringValueDataEntry(Iterator<Map.Entry<Long, List<V>>> itr, BLink parent) {
-        StringJoiner sj = new StringJoiner(",");
-        while (itr.hasNext()) {
-            Map.Entry<Long, List<V>> struct = itr.next();
-            if (struct.getValue().size() > 1) {
-                for (V data: struct.getValue()) {
-                    sj.add(StringUtils.getStringValue(data,
-                            new CycleUtils.Node(this, parent)));
-                }
-            } else {
-                sj.add(StringUtils.getStringValue(struct.getValue().get(0),
-                        new CycleUtils.Node(this, parent)));
-            }
-        }
-        return "[" + sj + "]";
-    }
-
-    private String createExpressionStringValueDataEntry(Iterator<Map.Entry<Long, List<V>>> itr, BLink parent) {
         StringJoiner sj = new StringJoiner(",");
         StringJoiner keyJoiner = new StringJoiner(",");
         String[] keysList = type.getFieldNames();
         for (int i = 0; i < keysList.length; i++) {
             keyJoiner.add(keysList[i]);
         }
-        while (itr.hasNext()) {
-            Map.Entry<Long, List<V>> struct = itr.next();
-            if (struct.getValue().size() > 1) {
-                for (V data: struct.getValue()) {
-                    sj.add(StringUtils.getExpressionStringValue(data,
-                            new CycleUtils.Node(this, parent)));
-                }
-            } else {
-                sj.add(StringUtils.getExpressionStringValue(struct.getValue().get(0),
-                        new CycleUtils.Node(this, parent)));
-            }
+        for (V data : values()) {
+            sj.add(StringUtils.getExpressionStringValue(data, new CycleUtils.Node(this, parent)));
         }
         return "table key(" + keyJoiner + ") [" + sj + "]";
     }
@@ -466,37 +496,50 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     }
 
     private class TableIterator<K, V> implements IteratorValue {
-        private long cursor;
+        private Object[] rows;
+        private int cursor;
+        private long lastSequence;
 
         TableIterator() {
+            this.rows = rowValues;
             this.cursor = 0;
+            this.lastSequence = -1;
         }
 
         @Override
         public Object next() {
-            K key = (K) indexToKeyMap.get(cursor);
-            if (key != null) {
-                V value = (V) keyValues.get(key);
-
-                List<Type> types = new ArrayList<>();
-                types.add(TypeChecker.getType(key));
-                types.add(TypeChecker.getType(value));
-                BTupleType tupleType = new BTupleType(types);
-
-                TupleValueImpl tuple = new TupleValueImpl(tupleType);
-                tuple.add(0, key);
-                tuple.add(1, value);
-                cursor++;
-                return tuple;
-            } else {
-                cursor++;
-                return next();
-            }
+            moveToNextRow();
+            K key = (K) rowKeys[cursor];
+            V value = (V) rowValues[cursor];
+            lastSequence = rowSequences[cursor];
+            cursor++;
+
+            List<Type> types = new ArrayList<>();
+            types.add(TypeChecker.getType(key));
+            types.add(TypeChecker.getType(value));
+            BTupleType tupleType = new BTupleType(types);
+
+            TupleValueImpl tuple = new TupleValueImpl(tupleType);
+            tuple.add(0, key);
+            tuple.add(1, value);
+            return tuple;
         }
 
         @Override
         public boolean hasNext() {
-           return cursor < noOfAddedEntries && values.size() != 0;
+            moveToNextRow();
+            return cursor < rowCount;
+        }
+
+        private void moveToNextRow() {
+            if (rows != rowValues) {
+                // The rows have been moved, so continue from the first row added after the last returned row.
+                rows = rowValues;
+                cursor = findFirstRowAfter(lastSequence);
+            }
+            while (cursor < rowCount && rowValues[cursor] == null) {
+                cursor++;
+            }
         }
     }
 
@@ -518,18 +561,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
         public V putData(V data) {
             checkInherentTypeViolation((MapValue) data, type);
-
-            ArrayList<V> newData = new ArrayList<>();
-            newData.add(data);
-
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry(data, data);
-            List<Map.Entry<K, V>> entryList = new ArrayList<>();
-            entryList.add(entry);
-            UUID uuid = UUID.randomUUID();
-            entries.put((long) uuid.hashCode(), entryList);
-            updateIndexKeyMappings((K) data);
-            values.put((long) uuid.hashCode(), newData);
-            keyValues.put((K) data, data);
+            addRow(data, data, 0);
             return data;
         }
 
@@ -565,53 +597,26 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
             MapValue dataMap = (MapValue) data;
             checkInherentTypeViolation(dataMap, type);
             K key = this.keyWrapper.wrapKey(dataMap);
+            long hash = TableUtils.hash(key, null);
 
-            if (containsKey((K) key)) {
+            if (findRow(key, hash) >= 0) {
                 throw ErrorCreator.createError(TABLE_HAS_A_VALUE_FOR_KEY_ERROR,
                         BLangExceptionHelper.getErrorDetails(RuntimeErrors.TABLE_HAS_A_VALUE_FOR_KEY, key));
             }
 
-            if (nextKeySupported && (keys.size() == 0 || maxIntKey < TypeChecker.anyToInt(key))) {
+            if (nextKeySupported && (size == 0 || maxIntKey < TypeChecker.anyToInt(key))) {
                 maxIntKey = ((Long) TypeChecker.anyToInt(key)).intValue();
             }
 
-            Long hash = TableUtils.hash(key, null);
-
-            if (keys.containsKey(hash)) {
-                List<Map.Entry<K, V>> extEntries = entries.get(hash);
-                Map.Entry<K, V> entry = new AbstractMap.SimpleEntry(key, data);
-                extEntries.add(entry);
-                List<V> extValues = values.get(hash);
-                extValues.add(data);
-                keyValues.put(key, data);
-                updateIndexKeyMappings(key);
-                return;
-            }
-
-            ArrayList<V> newData = new ArrayList<>();
-            newData.add(data);
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry(key, data);
-            putData(key, data, newData, entry, hash);
+            addKeyedRow(key, data, hash);
         }
 
         public V getData(K key) {
-            List<Map.Entry<K, V>> entryList = entries.get(TableUtils.hash(key, null));
-            if (entryList == null) {
-                return null;
-            }
-            for (Map.Entry<K, V> entry: entryList) {
-                if (TypeChecker.isEqual(key, entry.getKey())) {
-                    return entry.getValue();
-                }
-            }
-            return null;
+            int position = findRow(key, TableUtils.hash(key, null));
+            return position < 0 ? null : (V) rowValues[position];
         }
 
         public V putData(K key, V data) {
-            ArrayList<V> newData = new ArrayList<>();
-            newData.add(data);
-
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry(key, data);
             Object actualKey = this.keyWrapper.wrapKey((MapValue) data);
             Long actualHash = TableUtils.hash(actualKey, null);
             Long hash = TableUtils.hash(key, null);
@@ -621,83 +626,62 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
                         BLangExceptionHelper.getErrorDetails(RuntimeErrors.KEY_NOT_FOUND_IN_VALUE, key, data));
             }
 
-            return putData(key, data, newData, entry, hash);
+            return putData(key, data, hash);
         }
 
-        private V putData(K key, V value, List<V> data, Map.Entry<K, V> entry, Long hash) {
-
-            List<Map.Entry<K, V>> entryList = new ArrayList<>();
-            entryList.add(entry);
-            entries.put(hash, entryList);
-            keys.put(hash, key);
-            updateIndexKeyMappings(key);
-            values.put(hash, data);
-            keyValues.put(key, value);
-            return data.get(0);
+        private V putData(K key, V value, long hash) {
+            int position = findRow(key, hash);
+            if (position < 0) {
+                addKeyedRow(key, value, hash);
+            } else {
+                replaceRow(position, key, value);
+            }
+            return value;
         }
 
         public V putData(V data) {
             MapValue dataMap = (MapValue) data;
             checkInherentTypeViolation(dataMap, type);
             K key = this.keyWrapper.wrapKey(dataMap);
-
-            ArrayList<V> newData = new ArrayList<>();
-            newData.add(data);
-
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry<>(key, data);
-            Long hash = TableUtils.hash(key, null);
-            return putData((K) key, data, newData, entry, hash);
+            return putData(key, data, TableUtils.hash(key, null));
         }
 
         public V remove(K key) {
-            keyValues.remove(key);
-            Long hash = TableUtils.hash(key, null);
-            List<Map.Entry<K, V>> entryList = entries.get(hash);
-            if (entryList != null && entryList.size() > 1) {
-                for (Map.Entry<K, V> entry: entryList) {
-                    if (TypeChecker.isEqual(key, entry.getKey())) {
-                        List<V> valueList = values.get(hash);
-                        valueList.remove(entry.getValue());
-                        entryList.remove(entry);
-                        Long index = keyToIndexMap.remove(key);
-                        indexToKeyMap.remove(index);
-                        if (index != null && index == noOfAddedEntries - 1) {
-                            noOfAddedEntries--;
-                        }
-                        return entry.getValue();
-                    }
-                }
-            }
-            entries.remove(hash);
-            keys.remove(hash);
-            Long index = keyToIndexMap.remove(key);
-            indexToKeyMap.remove(index);
-            if (index != null && index == noOfAddedEntries - 1) {
-                noOfAddedEntries--;
-            }
-            List<V> removedValue = values.remove(hash);
-            if (removedValue == null) {
+            int slot = findKeyIndexSlot(key, TableUtils.hash(key, null));
+            if (slot < 0) {
                 return null;
             }
-            return removedValue.get(0);
+            int position = keyIndex[slot] - 1;
+            keyIndex[slot] = DELETED_SLOT;
+            return removeRow(position);
         }
 
         public boolean containsKey(K key) {
-            if (keys.containsKey(TableUtils.hash(key, null))) {
-                List<Map.Entry<K, V>> entryList = entries.get(TableUtils.hash(key, null));
-                for (Map.Entry<K, V> entry: entryList) {
-                    if (TypeChecker.isEqual(entry.getKey(), key)) {
-                        return true;
-                    }
-                }
-            }
-            return false;
+            return findRow(key, TableUtils.hash(key, null)) >= 0;
         }
 
         public Type getKeyType() {
             return keyType;
         }
 
+        private void addKeyedRow(K key, V value, long hash) {
+            if (keyIndex == null) {
+                keyIndex = new int[INITIAL_CAPACITY];
+            } else if ((usedKeyIndexSlots + 1) * 2 > keyIndex.length) {
+                rebuildKeyIndex();
+            }
+            int position = addRow(key, value, hash);
+            int mask = keyIndex.length - 1;
+            int slot = spreadHash(hash) & mask;
+            while (keyIndex[slot] > FREE_SLOT) {
+                slot = (slot + 1) & mask;
+            }
+            if (keyIndex[slot] == FREE_SLOT) {
+                usedKeyIndexSlots++;
+            }
+            keyIndex[slot] = position + 1;
+        }
+
         private class DefaultKeyWrapper {
 
             public DefaultKeyWrapper() {
@@ -742,13 +726,233 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
         }
     }
 
-    // This method updates the indexes and the order required by the iterators
-    private void updateIndexKeyMappings(K key) {
-        if (!keyToIndexMap.containsKey(key)) {
-            keyToIndexMap.put(key, noOfAddedEntries);
-            indexToKeyMap.put(noOfAddedEntries, key);
-            noOfAddedEntries++;
+    /**
+     * Hash index of the positions of the rows by the value of a field. Only values of the types accepted by
+     * {@link #isIndexableValue(Object)} are indexed, since these are equal only if their hash codes are equal.
+     * <p>
+     * Positions are not removed from the index when a row is removed or replaced, so the rows found through the
+     * index are checked again against the looked up value.
+     */
+    private class FieldIndex {
+        private final BString fieldName;
+        private final Map<Integer, IndexedPositions> positionsByHash = new HashMap<>();
+
+        FieldIndex(BString fieldName) {
+            this.fieldName = fieldName;
+        }
+
+        void addRow(int position, Object row) {
+            Object value = ((MapValue) row).get(fieldName);
+            if (isIndexableValue(value)) {
+                positionsByHash.computeIfAbsent(hashIndexableValue(value), hash -> new IndexedPositions())
+                        .add(position);
+            }
         }
+
+        void collectRows(Object value, List<V> rows) {
+            IndexedPositions positions = positionsByHash.get(hashIndexableValue(value));
+            if (positions == null) {
+                return;
+            }
+            for (int i = 0; i < positions.count; i++) {
+                Object row = rowValues[positions.positions[i]];
+                if (row != null && TypeChecker.isEqual(((MapValue) row).get(fieldName), value)) {
+                    rows.add((V) row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Row positions in ascending order.
+     */
+    private static class IndexedPositions {
+        private int[] positions = new int[2];
+        private int count = 0;
+
+        void add(int position) {
+            int index = Arrays.binarySearch(positions, 0, count, position);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+            }
+            System.arraycopy(positions, index, positions, index + 1, count - index);
+            positions[index] = position;
+            count++;
+        }
+    }
+
+    private static boolean isIndexableValue(Object value) {
+        return value == null || value instanceof Long || value instanceof BString || value instanceof Boolean;
+    }
+
+    private static int hashIndexableValue(Object value) {
+        return value == null ? 0 : value.hashCode();
+    }
+
+    private static int spreadHash(long hash) {
+        int spread = (int) (hash ^ (hash >>> 32));
+        return spread ^ (spread >>> 16);
+    }
+
+    private void initRows(int capacity) {
+        rowKeys = new Object[capacity];
+        rowValues = new Object[capacity];
+        rowHashes = new long[capacity];
+        rowSequences = new long[capacity];
+        rowCount = 0;
+        size = 0;
+    }
+
+    // Appends a row and returns its position
+    private int addRow(Object key, Object value, long hash) {
+        if (rowCount == rowValues.length) {
+            growRows();
+        }
+        int position = rowCount++;
+        rowKeys[position] = key;
+        rowValues[position] = value;
+        rowHashes[position] = hash;
+        rowSequences[position] = nextSequence++;
+        size++;
+        if (!fieldIndexes.isEmpty()) {
+            for (FieldIndex fieldIndex : fieldIndexes.values()) {
+                fieldIndex.addRow(position, value);
+            }
+        }
+        return position;
+    }
+
+    private void replaceRow(int position, Object key, Object value) {
+        rowKeys[position] = key;
+        rowValues[position] = value;
+        if (!fieldIndexes.isEmpty()) {
+            for (FieldIndex fieldIndex : fieldIndexes.values()) {
+                fieldIndex.addRow(position, value);
+            }
+        }
+    }
+
+    private V removeRow(int position) {
+        V value = (V) rowValues[position];
+        rowKeys[position] = null;
+        rowValues[position] = null;
+        size--;
+        return value;
+    }
+
+    // Grows the row storage, or only drops the holes of the removed rows if at least half of the rows are removed.
+    // Either way the rows are moved to new arrays, so that the iterators find their position again.
+    private void growRows() {
+        int capacity = size * 2 > rowCount ? rowValues.length * 2 : rowValues.length;
+        Object[] oldKeys = rowKeys;
+        Object[] oldValues = rowValues;
+        long[] oldHashes = rowHashes;
+        long[] oldSequences = rowSequences;
+        int oldRowCount = rowCount;
+        initRows(capacity);
+        for (int i = 0; i < oldRowCount; i++) {
+            if (oldValues[i] != null) {
+                rowKeys[rowCount] = oldKeys[i];
+                rowValues[rowCount] = oldValues[i];
+                rowHashes[rowCount] = oldHashes[i];
+                rowSequences[rowCount] = oldSequences[i];
+                rowCount++;
+            }
+        }
+        size = rowCount;
+        if (rowCount != oldRowCount) {
+            if (keyIndex != null) {
+                rebuildKeyIndex();
+            }
+            fieldIndexes.clear();
+        }
+    }
+
+    private void rebuildKeyIndex() {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < size * 4) {
+            capacity <<= 1;
+        }
+        keyIndex = new int[capacity];
+        usedKeyIndexSlots = 0;
+        int mask = capacity - 1;
+        for (int position = 0; position < rowCount; position++) {
+            if (rowValues[position] == null) {
+                continue;
+            }
+            int slot = spreadHash(rowHashes[position]) & mask;
+            while (keyIndex[slot] != FREE_SLOT) {
+                slot = (slot + 1) & mask;
+            }
+            keyIndex[slot] = position + 1;
+            usedKeyIndexSlots++;
+        }
+    }
+
+    private int findKeyIndexSlot(Object key, long hash) {
+        if (keyIndex == null) {
+            return -1;
+        }
+        int mask = keyIndex.length - 1;
+        for (int slot = spreadHash(hash) & mask; keyIndex[slot] != FREE_SLOT; slot = (slot + 1) & mask) {
+            int position = keyIndex[slot] - 1;
+            if (position >= 0 && rowHashes[position] == hash && TypeChecker.isEqual(key, rowKeys[position])) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int findRow(Object key, long hash) {
+        int slot = findKeyIndexSlot(key, hash);
+        return slot < 0 ? -1 : keyIndex[slot] - 1;
+    }
+
+    private int findFirstRowAfter(long sequence) {
+        int index = Arrays.binarySearch(rowSequences, 0, rowCount, sequence);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private FieldIndex getFieldIndex(BString fieldName) {
+        String field = fieldName.getValue();
+        FieldIndex fieldIndex = fieldIndexes.get(field);
+        if (fieldIndex != null || !isImmutableField(field)) {
+            return fieldIndex;
+        }
+        return fieldIndexes.computeIfAbsent(field, key -> createFieldIndex(fieldName));
+    }
+
+    private FieldIndex createFieldIndex(BString fieldName) {
+        FieldIndex fieldIndex = new FieldIndex(fieldName);
+        for (int position = 0; position < rowCount; position++) {
+            if (rowValues[position] != null) {
+                fieldIndex.addRow(position, rowValues[position]);
+            }
+        }
+        return fieldIndex;
+    }
+
+    // Checks whether the value of the given field of a row of this table can never change
+    private boolean isImmutableField(String fieldName) {
+        if (type.isReadOnly()) {
+            return true;
+        }
+        Type constraintType = TypeUtils.getReferredType(type.getConstrainedType());
+        if (constraintType.isReadOnly()) {
+            return true;
+        }
+        if (constraintType.getTag() == TypeTags.INTERSECTION_TAG) {
+            constraintType = TypeUtils.getReferredType(((BIntersectionType) constraintType).getEffectiveType());
+        }
+        if (constraintType.getTag() != TypeTags.RECORD_TYPE_TAG) {
+            return false;
+        }
+        Field field = ((BRecordType) constraintType).getFields().get(fieldName);
+        return field != null && SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.READONLY);
     }
 
     // This method checks for inherent table type violation
@@ -766,6 +970,17 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
         return stringValue(null);
     }
 
+    @Override
+    public void serialize(OutputStream outputStream) {
+        JsonGenerator gen = new JsonGenerator(outputStream);
+        try {
+            gen.convertAndSerialize(this);
+            gen.flush();
+        } catch (IOException e) {
+            throw new BallerinaException("error occurred while serializing data", e);
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BLink;
+import io.ballerina.runtime.api.values.BString;
+
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Represent ballerina strings kept as UTF-8 encoded bytes.
+ * <p>
+ * A {@link String} with a character beyond Latin-1 takes two bytes per char, and a {@link NonBmpStringValue} adds
+ * four more bytes per supplementary character. Mostly ASCII text with such characters takes close to half of that
+ * in UTF-8, which matters for large strings that are held in memory rather than processed. Random access goes
+ * through a sparse index of the byte offsets of every {@code INDEX_INTERVAL}th code point, built on first use.
+ * Equality and hashing work on the bytes. Reads that need a Java string, such as concatenation and searching,
+ * decode the bytes once and keep the decoded string softly reachable, so that it can be dropped again under memory
+ * pressure.
+ *
+ * @since 2201.4.0
+ */
+public final class Utf8StringValue extends StringValue {
+
+    /**
+     * Minimum number of bytes for a string to be kept as UTF-8.
+     */
+    private static final int MIN_LENGTH = 256;
+    private static final int INDEX_INTERVAL = 64;
+    private static final int INDEX_SHIFT = 6;
+
+    private final byte[] bytes;
+    private final int length;
+    private final int charCount;
+    private int hash;
+    private volatile int[] index;
+    private volatile SoftReference<String> decoded;
+
+    private Utf8StringValue(byte[] bytes, int length, int charCount) {
+        super(null, charCount > length);
+        this.bytes = bytes;
+        this.length = length;
+        this.charCount = charCount;
+    }
+
+    /**
+     * Creates a string from UTF-8 encoded bytes, taking ownership of the given array. The bytes are kept as they are
+     * if that takes less memory than a Java string; otherwise they are decoded.
+     *
+     * @param bytes UTF-8 encoded bytes, which must not be modified afterwards
+     * @return the string, or null if the bytes are not valid UTF-8
+     */
+    public static BString fromUtf8Bytes(byte[] bytes) {
+        int length = 0;
+        int charCount = 0;
+        boolean latin1 = true;
+        int i = 0;
+        while (i < bytes.length) {
+            int b = bytes[i] & 0xFF;
+            int size = sequenceSize(bytes, i);
+            if (size < 0) {
+                return null;
+            }
+            latin1 &= b < 0xC4;
+            charCount += size == 4 ? 2 : 1;
+            length++;
+            i += size;
+        }
+        if (latin1 || bytes.length < MIN_LENGTH || bytes.length >= 2 * charCount) {
+            return StringUtils.fromString(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return new Utf8StringValue(bytes, length, charCount);
+    }
+
+    /**
+     * Returns the size of the UTF-8 sequence starting at the given position, or -1 if it is not well formed.
+     */
+    private static int sequenceSize(byte[] bytes, int pos) {
+        int b = bytes[pos] & 0xFF;
+        if (b < 0x80) {
+            return 1;
+        }
+        int size;
+        int min;
+        int codePoint;
+        if (b >= 0xC2 && b <= 0xDF) {
+            size = 2;
+            min = 0x80;
+            codePoint = b & 0x1F;
+        } else if (b >= 0xE0 && b <= 0xEF) {
+            size = 3;
+            min = 0x800;
+            codePoint = b & 0x0F;
+        } else if (b >= 0xF0 && b <= 0xF4) {
+            size = 4;
+            min = 0x10000;
+            codePoint = b & 0x07;
+        } else {
+            return -1;
+        }
+        if (pos + size > bytes.length) {
+            return -1;
+        }
+        for (int i = 1; i < size; i++) {
+            int c = bytes[pos + i] & 0xFF;
+            if ((c & 0xC0) != 0x80) {
+                return -1;
+            }
+            codePoint = (codePoint << 6) | (c & 0x3F);
+        }
+        if (codePoint < min || codePoint > Character.MAX_CODE_POINT ||
+                (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+            return -1;
+        }
+        return size;
+    }
+
+    private static int decode(byte[] bytes, int pos) {
+        int b = bytes[pos] & 0xFF;
+        if (b < 0x80) {
+            return b;
+        }
+        if (b < 0xE0) {
+            return ((b & 0x1F) << 6) | (bytes[pos + 1] & 0x3F);
+        }
+        if (b < 0xF0) {
+            return ((b & 0x0F) << 12) | ((bytes[pos + 1] & 0x3F) << 6) | (bytes[pos + 2] & 0x3F);
+        }
+        return ((b & 0x07) << 18) | ((bytes[pos + 1] & 0x3F) << 12) | ((bytes[pos + 2] & 0x3F) << 6) |
+                (bytes[pos + 3] & 0x3F);
+    }
+
+    private static int sizeOf(byte leadByte) {
+        int b = leadByte & 0xFF;
+        return b < 0x80 ? 1 : b < 0xE0 ? 2 : b < 0xF0 ? 3 : 4;
+    }
+
+    /**
+     * Returns the byte offset of the code point at the given index.
+     */
+    private int offsetOf(int codePointIndex) {
+        if (codePointIndex == length) {
+            return bytes.length;
+        }
+        int[] index = this.index;
+        if (index == null) {
+            index = buildIndex();
+        }
+        int offset = index[codePointIndex >>> INDEX_SHIFT];
+        for (int i = codePointIndex & ~(INDEX_INTERVAL - 1); i < codePointIndex; i++) {
+            offset += sizeOf(bytes[offset]);
+        }
+        return offset;
+    }
+
+    private int[] buildIndex() {
+        int[] index = new int[(length >>> INDEX_SHIFT) + 1];
+        int offset = 0;
+        for (int i = 0; i < length; i++) {
+            if ((i & (INDEX_INTERVAL - 1)) == 0) {
+                index[i >>> INDEX_SHIFT] = offset;
+            }
+            offset += sizeOf(bytes[offset]);
+        }
+        this.index = index;
+        return index;
+    }
+
+    /**
+     * Returns a copy of the UTF-8 encoded bytes of this string. The bytes are copied since strings are immutable, so
+     * this is not a zero-copy view; it only saves the encoding.
+     *
+     * @return UTF-8 encoded bytes
+     */
+    public byte[] getUtf8Bytes() {
+        return bytes.clone();
+    }
+
+    @Override
+    int charLength() {
+        return charCount;
+    }
+
+    @Override
+    StringValue flat() {
+        return (StringValue) StringUtils.fromString(getValue());
+    }
+
+    @Override
+    public String getValue() {
+        SoftReference<String> decoded = this.decoded;
+        String value = decoded == null ? null : decoded.get();
+        if (value == null) {
+            value = new String(bytes, StandardCharsets.UTF_8);
+            this.decoded = new SoftReference<>(value);
+        }
+        return value;
+    }
+
+    @Override
+    public int getCodePoint(int index) {
+        if (index < 0 || index >= length) {
+            throw new StringIndexOutOfBoundsException(index);
+        }
+        return decode(bytes, offsetOf(index));
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public BString concat(BString str) {
+        return flat().concat(str);
+    }
+
+    @Override
+    public Long indexOf(BString str, int fromIndex) {
+        return flat().indexOf(str, fromIndex);
+    }
+
+    @Override
+    public Long lastIndexOf(BString str, int fromIndex) {
+        return flat().lastIndexOf(str, fromIndex);
+    }
+
+    @Override
+    public BString substring(int beginIndex, int endIndex) {
+        if (beginIndex < 0 || endIndex > length || beginIndex > endIndex) {
+            throw new StringIndexOutOfBoundsException("begin " + beginIndex + ", end " + endIndex + ", length " +
+                    length);
+        }
+        int beginOffset = offsetOf(beginIndex);
+        int endOffset = offsetOf(endIndex);
+        return fromUtf8Bytes(Arrays.copyOfRange(bytes, beginOffset, endOffset));
+    }
+
+    @Override
+    public IteratorValue getIterator() {
+        return flat().getIterator();
+    }
+
+    @Override
+    public String stringValue(BLink parent) {
+        return getValue();
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = this.hash;
+        if (hash == 0) {
+            // Same as String.hashCode() of the decoded string, computed over the UTF-16 chars of each code point
+            for (int offset = 0; offset < bytes.length; offset += sizeOf(bytes[offset])) {
+                int codePoint = decode(bytes, offset);
+                if (Character.isBmpCodePoint(codePoint)) {
+                    hash = 31 * hash + codePoint;
+                } else {
+                    hash = 31 * (31 * hash + Character.highSurrogate(codePoint)) + Character.lowSurrogate(codePoint);
+                }
+            }
+            this.hash = hash;
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object str) {
+        if (str == this) {
+            return true;
+        }
+        if (str instanceof Utf8StringValue) {
+            return Arrays.equals(bytes, ((Utf8StringValue) str).bytes);
+        }
+        if (str instanceof BString) {
+            return equalsValue(((BString) str).getValue());
+        }
+        return false;
+    }
+
+    /**
+     * Compares the code points of the given Java string with the bytes, without decoding this string.
+     */
+    private boolean equalsValue(String value) {
+        if (value.length() != charCount) {
+            return false;
+        }
+        int pos = 0;
+        for (int offset = 0; offset < bytes.length; offset += sizeOf(bytes[offset])) {
+            int codePoint = decode(bytes, offset);
+            if (value.codePointAt(pos) != codePoint) {
+                return false;
+            }
+            pos += Character.charCount(codePoint);
+        }
+        return true;
+    }
+}
@@ -46,6 +46,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
@@ -68,6 +69,7 @@ public final class XmlItem extends XmlValue implements BXmlItem {
 
     private QName name;
     private XmlSequence children;
+    private volatile Supplier<XmlSequence> lazyChildren;
     private AttributeMapValueImpl attributes;
     // Keep track of probable parents of xml element to detect probable cycles in xml.
     private List<WeakReference<XmlItem>> probableParents;
@@ -183,7 +185,7 @@ public final class XmlItem extends XmlValue implements BXmlItem {
      */
     @Override
     public String getTextValue() {
-        return children.getTextValue();
+        return childrenSeq().getTextValue();
     }
 
     /**
@@ -272,7 +274,7 @@ public final class XmlItem extends XmlValue implements BXmlItem {
      */
     @Override
     public XmlValue children() {
-        return new XmlSequence(new ArrayList<>(children.getChildrenList()));
+        return new XmlSequence(new ArrayList<>(childrenSeq().getChildrenList()));
     }
 
     /**
@@ -280,7 +282,7 @@ public final class XmlItem extends XmlValue implements BXmlItem {
      */
     @Override
     public XmlValue children(String qname) {
-        return children.elements(qname);
+        return childrenSeq().elements(qname);
     }
 
     /**
@@ -296,6 +298,7 @@ public final class XmlItem extends XmlValue implements BXmlItem {
             return;
         }
 
+        lazyChildren = null;
         if (seq.getNodeType() == XmlNodeType.SEQUENCE) {
             children = (XmlSequence) seq;
             for (BXml child : children.children) {
@@ -307,6 +310,39 @@ public final class XmlItem extends XmlValue implements BXmlItem {
         }
     }
 
+    /**
+     * Set a supplier which builds the children of this element on first access. Used by the XML parser to defer
+     * materializing subtrees which may never be navigated.
+     *
+     * @param childrenSupplier supplier of the children sequence, invoked at most once
+     */
+    public void setLazyChildren(Supplier<XmlSequence> childrenSupplier) {
+        this.lazyChildren = childrenSupplier;
+    }
+
+    private XmlSequence childrenSeq() {
+        if (lazyChildren != null) {
+            expandLazyChildren();
+        }
+        return children;
+    }
+
+    private synchronized void expandLazyChildren() {
+        Supplier<XmlSequence> childrenSupplier = lazyChildren;
+        if (childrenSupplier == null) {
+            return;
+        }
+        XmlSequence expanded = childrenSupplier.get();
+        for (BXml child : expanded.children) {
+            addParent(child, this);
+        }
+        if (this.type.isReadOnly()) {
+            expanded.freezeDirect();
+        }
+        children = expanded;
+        lazyChildren = null;
+    }
+
     /**
      * @param seq children to add to this element.
      *
@@ -322,7 +358,7 @@ public final class XmlItem extends XmlValue implements BXmlItem {
             return;
         }
 
-        List<BXml> leftList = new ArrayList<>(children.children);
+        List<BXml> leftList = new ArrayList<>(childrenSeq().children);
 
         if (seq.getNodeType() == XmlNodeType.SEQUENCE) {
             List<BXml> appendingList = ((XmlSequence) seq).getChildrenList();
@@ -339,6 +375,7 @@ public final class XmlItem extends XmlValue implements BXmlItem {
             addParent(seq, this);
             leftList.add(seq);
         }
+        this.lazyChildren = null;
         this.children = new XmlSequence(leftList);
     }
 
@@ -361,7 +398,7 @@ public final class XmlItem extends XmlValue implements BXmlItem {
         for (WeakReference<XmlItem> probableParentRef : current.probableParents) {
             XmlItem parent = probableParentRef.get();
             // probable parent is the actual parent.
-            if (parent.children.children.contains(current)) {
+            if (parent.childrenSeq().children.contains(current)) {
                 // If new subtree is in the lineage of current node, adding this newSubTree forms a cycle.
                 if (parent == newSubTree) {
                     throw createXMLCycleError();
@@ -416,7 +453,7 @@ public final class XmlItem extends XmlValue implements BXmlItem {
             addDescendants(descendants, this, qnames);
             return new XmlSequence(descendants);
         }
-        return children.descendants(qnames);
+        return childrenSeq().descendants(qnames);
     }
 
     @Override
@@ -495,7 +532,7 @@ public final class XmlItem extends XmlValue implements BXmlItem {
         }
 
         QName elemName = new QName(this.name.getNamespaceURI(), this.name.getLocalPart(), this.name.getPrefix());
-        XmlItem xmlItem = new XmlItem(elemName, (XmlSequence) children.copy(refs));
+        XmlItem xmlItem = new XmlItem(elemName, (XmlSequence) childrenSeq().copy(refs));
 
         MapValue<BString, BString> attributesMap = xmlItem.getAttributesMap();
         MapValue<BString, BString> copy = (MapValue<BString, BString>) this.getAttributesMap().copy(refs);
@@ -572,7 +609,7 @@ public final class XmlItem extends XmlValue implements BXmlItem {
             ReadOnlyUtils.handleInvalidUpdate(XML_LANG_LIB);
         }
 
-        List<BXml> children = this.children.children;
+        List<BXml> children = childrenSeq().children;
         List<Integer> toRemove = new ArrayList<>();
         for (int i = 0; i < children.size(); i++) {
             BXml child = children.get(i);
@@ -628,7 +665,7 @@ public final class XmlItem extends XmlValue implements BXmlItem {
     @Override
     public void freezeDirect() {
         this.type = ReadOnlyUtils.setImmutableTypeAndGetEffectiveType(this.type);
-        this.children.freezeDirect();
+        childrenSeq().freezeDirect();
         this.attributes.freezeDirect();
         this.typedesc = createSingletonTypedesc(this);
     }
@@ -644,7 +681,7 @@ public final class XmlItem extends XmlValue implements BXmlItem {
     }
 
     public BXmlSequence getChildrenSeq() {
-        return children;
+        return childrenSeq();
     }
 
     @Override
@@ -671,7 +708,7 @@ public final class XmlItem extends XmlValue implements BXmlItem {
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, children, attributes, probableParents);
+        return Objects.hash(name, childrenSeq(), attributes, probableParents);
     }
 
     private interface SetAttributeFunction {
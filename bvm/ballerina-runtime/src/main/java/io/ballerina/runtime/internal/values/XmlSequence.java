@@ -614,7 +614,8 @@ public final class XmlSequence extends XmlValue implements BXmlSequence {
     @Override
     public IteratorValue getIterator() {
         return new IteratorValue() {
-            Iterator<BXml> iterator = children.iterator();
+            Iterator<BXml> iterator = children instanceof StreamingXmlItemList ?
+                    ((StreamingXmlItemList) children).streamingIterator() : children.iterator();
 
             @Override
             public boolean hasNext() {
@@ -644,7 +645,10 @@ public final class XmlSequence extends XmlValue implements BXmlSequence {
 
     private void initializeIteratorNextReturnType() {
         Type childrenType;
-        if (children.size() == 1) {
+        if (children instanceof StreamingXmlItemList) {
+            // Items of a streamed sequence are not known upfront, and reading them would consume the stream.
+            childrenType = ((BXmlType) PredefinedTypes.TYPE_XML).constraint;
+        } else if (children.size() == 1) {
             childrenType = children.get(0).getType();
         } else {
             Set<Type> types = new HashSet<>();
@@ -30,6 +30,7 @@ import io.ballerina.runtime.internal.IteratorUtils;
 import io.ballerina.runtime.internal.util.exceptions.BallerinaException;
 
 import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 import java.util.Map;
 
@@ -246,6 +247,18 @@ public abstract class XmlValue implements RefValue, BXml, CollectionValue {
         }
     }
 
+    @Override
+    public void serialize(WritableByteChannel channel) {
+        try {
+            BallerinaXmlSerializer xmlSerializer = new BallerinaXmlSerializer(channel);
+            xmlSerializer.write(this);
+            xmlSerializer.flush();
+            xmlSerializer.close();
+        } catch (Throwable t) {
+            handleXmlException("error occurred during writing the message to the channel: ", t);
+        }
+    }
+
     @Override
     public BTypedesc getTypedesc() {
         return typedesc;
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.test.scheduling;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.internal.BLock;
+import io.ballerina.runtime.internal.scheduling.Scheduler;
+import io.ballerina.runtime.internal.scheduling.SchedulerMode;
+import io.ballerina.runtime.internal.scheduling.State;
+import io.ballerina.runtime.internal.scheduling.Strand;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Test cases for {@link BLock}.
+ */
+public class BLockTest {
+
+    private static final int STRAND_COUNT = 5000;
+    private static final int CONTENDED_STRAND_COUNT = 2000;
+    private static final int CONTENDED_ROUNDS = 50;
+
+    private int counter;
+
+    @DataProvider
+    public Object[][] schedulerModes() {
+        return new Object[][]{
+                {SchedulerMode.SHARED_QUEUE},
+                {SchedulerMode.WORK_STEALING}
+        };
+    }
+
+    @Test(dataProvider = "schedulerModes")
+    public void testMutualExclusionAcrossStrands(SchedulerMode mode) {
+        Scheduler scheduler = new Scheduler(4, false, mode);
+        BLock lock = new BLock();
+        counter = 0;
+        Function<Object[], Object> function = params -> {
+            Strand strand = (Strand) params[0];
+            if (!lock.lock(strand)) {
+                // the strand is resumed and retries the lock once the current owner unlocks
+                return null;
+            }
+            int value = counter;
+            Thread.yield();
+            counter = value + 1;
+            lock.unlock();
+            Assert.assertEquals(strand.acquiredLockCount, 0);
+            return null;
+        };
+        for (int i = 0; i < STRAND_COUNT; i++) {
+            scheduler.schedule(new Object[1], function, null, null, null, PredefinedTypes.TYPE_NULL, "locker", null);
+        }
+        scheduler.start();
+        Assert.assertEquals(counter, STRAND_COUNT);
+        Assert.assertTrue(lock.isLockFree());
+    }
+
+    @Test(dataProvider = "schedulerModes", timeOut = 60000)
+    public void testContendedLockWakesUpEveryWaiter(SchedulerMode mode) {
+        // Strands which fail to acquire the lock are resumed by an unlock running on another carrier. A waiter
+        // whose wakeup is lost is never resumed, and the scheduler never completes.
+        for (int round = 0; round < CONTENDED_ROUNDS; round++) {
+            Scheduler scheduler = new Scheduler(8, false, mode);
+            BLock lock = new BLock();
+            AtomicInteger acquired = new AtomicInteger();
+            Function<Object[], Object> function = params -> {
+                Strand strand = (Strand) params[0];
+                if (!lock.lock(strand)) {
+                    return null;
+                }
+                acquired.incrementAndGet();
+                lock.unlock();
+                return null;
+            };
+            for (int i = 0; i < CONTENDED_STRAND_COUNT; i++) {
+                scheduler.schedule(new Object[1], function, null, null, null, PredefinedTypes.TYPE_NULL, "locker",
+                        null);
+            }
+            scheduler.start();
+            Assert.assertEquals(acquired.get(), CONTENDED_STRAND_COUNT);
+            Assert.assertTrue(lock.isLockFree());
+        }
+    }
+
+    @Test(timeOut = 60000)
+    public void testWaiterIsBlockedBeforeItCanBeUnblocked() throws InterruptedException {
+        // Records the state of the strands at the time an unlock unblocks them
+        List<State> unblockedStates = new CopyOnWriteArrayList<>();
+        Scheduler scheduler = new Scheduler(1, false) {
+            @Override
+            public void unblockStrand(Strand strand) {
+                unblockedStates.add(strand.getState());
+            }
+        };
+        Strand owner = new Strand("owner", null, scheduler, null, null);
+        Strand waiter = new Strand("waiter", null, scheduler, null, null);
+        BLock lock = new BLock();
+        Assert.assertTrue(lock.lock(owner));
+
+        // Holding the lock of the waiter strand stalls the waiter while it changes its own state, which widens the
+        // window in which a concurrent unlock could see the waiter queued but not yet blocked.
+        waiter.lock();
+        Thread waiterThread = new Thread(() -> Assert.assertFalse(lock.lock(waiter)));
+        waiterThread.start();
+        waitForState(waiterThread, Thread.State.WAITING);
+
+        Thread unlockThread = new Thread(lock::unlock);
+        unlockThread.start();
+        waitForState(unlockThread, Thread.State.BLOCKED);
+        waiter.unlock();
+
+        waiterThread.join();
+        unlockThread.join();
+        Assert.assertEquals(unblockedStates, List.of(State.BLOCK_AND_YIELD));
+        Assert.assertEquals(waiter.getState(), State.BLOCK_AND_YIELD);
+    }
+
+    private static void waitForState(Thread thread, Thread.State state) throws InterruptedException {
+        // The thread may also run to completion, if it is not held up where the test expects it to be
+        while (thread.getState() != state && thread.getState() != Thread.State.TERMINATED) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    public void testReentrantLock() {
+        Strand owner = new Strand("owner", null, null, null, null);
+        Strand other = new Strand("other", null, null, null, null);
+        BLock lock = new BLock();
+
+        Assert.assertTrue(lock.lock(owner));
+        Assert.assertTrue(lock.lock(owner));
+        Assert.assertTrue(lock.lockedBySameContext(owner));
+        Assert.assertEquals(owner.acquiredLockCount, 2);
+
+        lock.unlock();
+        Assert.assertFalse(lock.isLockFree());
+        Assert.assertTrue(lock.lockedBySameContext(owner));
+
+        lock.unlock();
+        Assert.assertTrue(lock.isLockFree());
+        Assert.assertEquals(owner.acquiredLockCount, 0);
+
+        Assert.assertTrue(lock.lock(other));
+        Assert.assertTrue(lock.lockedBySameContext(other));
+        lock.unlock();
+    }
+}
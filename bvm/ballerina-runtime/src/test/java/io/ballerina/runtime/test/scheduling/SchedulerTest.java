@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.test.scheduling;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.internal.scheduling.Scheduler;
+import io.ballerina.runtime.internal.scheduling.SchedulerMode;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Test cases for the {@link Scheduler} execution modes.
+ */
+public class SchedulerTest {
+
+    private static final int STRAND_COUNT = 2000;
+
+    @DataProvider
+    public Object[][] schedulerModes() {
+        return new Object[][]{
+                {SchedulerMode.SHARED_QUEUE},
+                {SchedulerMode.WORK_STEALING},
+                {SchedulerMode.VIRTUAL_THREADS}
+        };
+    }
+
+    @Test(dataProvider = "schedulerModes")
+    public void testAllStrandsComplete(SchedulerMode mode) {
+        skipIfUnsupported(mode);
+        Scheduler scheduler = new Scheduler(4, false, mode);
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger runOnOtherThreads = new AtomicInteger();
+        Function<Object[], Object> child = params -> {
+            checkThread(mode, runOnOtherThreads);
+            return completed.incrementAndGet();
+        };
+        Function<Object[], Object> parent = params -> {
+            checkThread(mode, runOnOtherThreads);
+            // strands scheduled from a carrier are pushed to the carrier's own queue
+            Scheduler.getStrand().scheduler.schedule(new Object[1], child, null, null, null,
+                    PredefinedTypes.TYPE_NULL, "child", null);
+            return completed.incrementAndGet();
+        };
+        for (int i = 0; i < STRAND_COUNT; i++) {
+            scheduler.schedule(new Object[1], parent, null, null, null, PredefinedTypes.TYPE_NULL, "parent", null);
+        }
+        scheduler.start();
+        Assert.assertEquals(completed.get(), STRAND_COUNT * 2);
+        Assert.assertEquals(runOnOtherThreads.get(), 0);
+    }
+
+    @Test(dataProvider = "schedulerModes")
+    public void testObjectGroupRunsOneItemAtATime(SchedulerMode mode) {
+        skipIfUnsupported(mode);
+        Scheduler scheduler = new Scheduler(4, false, mode);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger runOnOtherThreads = new AtomicInteger();
+        Function<Object[], Object> function = params -> {
+            checkThread(mode, runOnOtherThreads);
+            if (running.incrementAndGet() > 1) {
+                overlaps.incrementAndGet();
+            }
+            Thread.yield();
+            running.decrementAndGet();
+            return completed.incrementAndGet();
+        };
+        for (int i = 0; i < STRAND_COUNT; i++) {
+            scheduler.scheduleToObjectGroup(new Object[1], function, null, null, null, PredefinedTypes.TYPE_NULL,
+                    "object-group", null);
+        }
+        scheduler.start();
+        Assert.assertEquals(completed.get(), STRAND_COUNT);
+        Assert.assertEquals(overlaps.get(), 0);
+        Assert.assertEquals(runOnOtherThreads.get(), 0);
+    }
+
+    private static void skipIfUnsupported(SchedulerMode mode) {
+        // The scheduler silently falls back to the shared mode, which the other cases already cover
+        if (mode == SchedulerMode.VIRTUAL_THREADS && !Scheduler.isVirtualThreadSupported()) {
+            throw new SkipException("virtual threads are not supported by the current Java runtime");
+        }
+    }
+
+    private static void checkThread(SchedulerMode mode, AtomicInteger runOnOtherThreads) {
+        if (isVirtual(Thread.currentThread()) != (mode == SchedulerMode.VIRTUAL_THREADS)) {
+            runOnOtherThreads.incrementAndGet();
+        }
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        try {
+            // Thread.isVirtual is only available from Java 21 onwards
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+}
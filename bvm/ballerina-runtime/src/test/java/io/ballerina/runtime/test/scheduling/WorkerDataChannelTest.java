@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.runtime.test.scheduling;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.internal.scheduling.Scheduler;
+import io.ballerina.runtime.internal.scheduling.SchedulerMode;
+import io.ballerina.runtime.internal.scheduling.Strand;
+import io.ballerina.runtime.internal.scheduling.WorkerDataChannel;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Test cases for message passing over a {@link WorkerDataChannel}.
+ */
+public class WorkerDataChannelTest {
+
+    private static final int MESSAGE_COUNT = 100000;
+
+    @DataProvider
+    public Object[][] schedulerModes() {
+        return new Object[][]{
+                {SchedulerMode.SHARED_QUEUE},
+                {SchedulerMode.WORK_STEALING}
+        };
+    }
+
+    @Test(dataProvider = "schedulerModes")
+    public void testAsyncSendsAreReceivedInOrder(SchedulerMode mode) {
+        Scheduler scheduler = new Scheduler(4, false, mode);
+        WorkerDataChannel channel = new WorkerDataChannel("w1->w2");
+        List<Object> received = new ArrayList<>();
+        Function<Object[], Object> sender = params -> {
+            Strand strand = Scheduler.getStrand();
+            for (int i = 0; i < MESSAGE_COUNT; i++) {
+                channel.sendData(i % 10 == 0 ? null : (long) i, strand);
+            }
+            return null;
+        };
+        Function<Object[], Object> receiver = params -> {
+            // a parked receiver is invoked again from the start once a message arrives
+            Strand strand = Scheduler.getStrand();
+            while (received.size() < MESSAGE_COUNT) {
+                Object value;
+                try {
+                    value = channel.tryTakeData(strand);
+                } catch (Throwable t) {
+                    throw new AssertionError(t);
+                }
+                if (strand.isYielded()) {
+                    return null;
+                }
+                received.add(value);
+            }
+            return null;
+        };
+        scheduler.schedule(new Object[1], receiver, null, null, null, PredefinedTypes.TYPE_NULL, "receiver", null);
+        scheduler.schedule(new Object[1], sender, null, null, null, PredefinedTypes.TYPE_NULL, "sender", null);
+        scheduler.start();
+
+        Assert.assertEquals(received.size(), MESSAGE_COUNT);
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            Assert.assertEquals(received.get(i), i % 10 == 0 ? null : (long) i, "message " + i);
+        }
+    }
+
+    @Test(dataProvider = "schedulerModes")
+    public void testPingPongAcrossTwoChannels(SchedulerMode mode) {
+        Scheduler scheduler = new Scheduler(4, false, mode);
+        WorkerDataChannel ping = new WorkerDataChannel("w1->w2");
+        WorkerDataChannel pong = new WorkerDataChannel("w2->w1");
+        int rounds = 2000;
+        long[] state = new long[2];
+        Function<Object[], Object> first = params -> {
+            Strand strand = Scheduler.getStrand();
+            while (state[0] < rounds) {
+                if (state[0] == state[1]) {
+                    ping.sendData(state[0], strand);
+                    state[1]++;
+                }
+                Object value;
+                try {
+                    value = pong.tryTakeData(strand);
+                } catch (Throwable t) {
+                    throw new AssertionError(t);
+                }
+                if (strand.isYielded()) {
+                    return null;
+                }
+                Assert.assertEquals(value, state[0] + 1);
+                state[0]++;
+            }
+            return null;
+        };
+        Function<Object[], Object> second = params -> {
+            Strand strand = Scheduler.getStrand();
+            while (true) {
+                Object value;
+                try {
+                    value = ping.tryTakeData(strand);
+                } catch (Throwable t) {
+                    throw new AssertionError(t);
+                }
+                if (strand.isYielded()) {
+                    return null;
+                }
+                long next = (long) value + 1;
+                pong.sendData(next, strand);
+                if (next == rounds) {
+                    return null;
+                }
+            }
+        };
+        scheduler.schedule(new Object[1], second, null, null, null, PredefinedTypes.TYPE_NULL, "second", null);
+        scheduler.schedule(new Object[1], first, null, null, null, PredefinedTypes.TYPE_NULL, "first", null);
+        scheduler.start();
+
+        Assert.assertEquals(state[0], rounds);
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.test.types;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.MethodType;
+import io.ballerina.runtime.api.types.Parameter;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.internal.TypeCheckCache;
+import io.ballerina.runtime.internal.TypeChecker;
+import io.ballerina.runtime.internal.types.BField;
+import io.ballerina.runtime.internal.types.BFunctionType;
+import io.ballerina.runtime.internal.types.BMethodType;
+import io.ballerina.runtime.internal.types.BObjectType;
+import io.ballerina.runtime.internal.types.BRecordType;
+import io.ballerina.runtime.internal.types.BUnionType;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test cases for caching subtype verdicts in the {@link TypeChecker}.
+ */
+public class TypeCheckCacheTest {
+
+    private static final Module MODULE = new Module("testorg", "typecheck", "1");
+
+    @BeforeMethod
+    public void clearCache() {
+        TypeCheckCache.clear();
+    }
+
+    @Test
+    public void testRecursiveRecordTypes() {
+        // type Node record { int value; Node? next; };
+        // type Link record { int value; Link? next; };
+        // type Tagged record { int value; Tagged? next; string tag; };
+        BRecordType node = createRecursiveRecord("Node", false);
+        BRecordType link = createRecursiveRecord("Link", false);
+        BRecordType tagged = createRecursiveRecord("Tagged", true);
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(TypeChecker.checkIsType(node, link));
+            Assert.assertTrue(TypeChecker.checkIsType(tagged, node));
+            Assert.assertFalse(TypeChecker.checkIsType(node, tagged));
+        }
+        Assert.assertEquals(TypeCheckCache.getMissCount(), 3);
+        Assert.assertEquals(TypeCheckCache.getHitCount(), 6);
+    }
+
+    @Test
+    public void testUnionTypes() {
+        Type intOrString = new BUnionType(List.of(PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_STRING));
+        Type intOrStringOrBoolean = new BUnionType(List.of(PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_STRING,
+                PredefinedTypes.TYPE_BOOLEAN));
+
+        for (int i = 0; i < 2; i++) {
+            Assert.assertTrue(TypeChecker.checkIsType(intOrString, intOrStringOrBoolean));
+            Assert.assertFalse(TypeChecker.checkIsType(intOrStringOrBoolean, intOrString));
+            Assert.assertTrue(TypeChecker.checkIsType(PredefinedTypes.TYPE_INT, intOrString));
+        }
+        Assert.assertTrue(TypeCheckCache.getHitCount() >= 3);
+    }
+
+    @Test
+    public void testObjectTypes() {
+        // class Counter { int count; function get() returns int; }
+        // type Getter object { function get() returns int; };
+        // type IsolatedGetter isolated object { function get() returns int; };
+        BObjectType counter = createObjectType("Counter", 0, true);
+        BObjectType getter = createObjectType("Getter", 0, false);
+        BObjectType isolatedGetter = createObjectType("IsolatedGetter", SymbolFlags.ISOLATED, false);
+
+        for (int i = 0; i < 2; i++) {
+            Assert.assertTrue(TypeChecker.checkIsType(counter, getter));
+            Assert.assertFalse(TypeChecker.checkIsType(counter, isolatedGetter));
+            Assert.assertFalse(TypeChecker.checkIsType(getter, counter));
+        }
+        Assert.assertEquals(TypeCheckCache.getMissCount(), 3);
+        Assert.assertEquals(TypeCheckCache.getHitCount(), 3);
+    }
+
+    @Test
+    public void testRecordValues() {
+        // type Source record { int|string id; };
+        // type ReadOnlySource record { readonly int|string id; };
+        // type Target record { int id; };
+        Type intOrString = new BUnionType(List.of(PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_STRING));
+        BRecordType source = createRecord("Source", new BField(intOrString, "id", SymbolFlags.REQUIRED));
+        BRecordType readOnlySource = createRecord("ReadOnlySource",
+                new BField(intOrString, "id", SymbolFlags.REQUIRED | SymbolFlags.READONLY));
+        BRecordType target = createRecord("Target", new BField(PredefinedTypes.TYPE_INT, "id", SymbolFlags.REQUIRED));
+
+        Assert.assertFalse(TypeChecker.checkIsType(createRecordValue(source, 1L), target));
+        Assert.assertFalse(TypeChecker.checkIsType(createRecordValue(source, 2L), target));
+        Assert.assertEquals(TypeCheckCache.getHitCount(), 1);
+
+        // The verdict for records with `readonly` fields depends on the field values, hence it is not cached.
+        for (int i = 0; i < 2; i++) {
+            Assert.assertTrue(TypeChecker.checkIsType(createRecordValue(readOnlySource, 1L), target));
+            Assert.assertFalse(TypeChecker.checkIsType(
+                    createRecordValue(readOnlySource, StringUtils.fromString("a")), target));
+        }
+        Assert.assertEquals(TypeCheckCache.getHitCount(), 1);
+    }
+
+    @Test
+    public void testTypePopulatedAfterCheck() {
+        // type Partial record {| |}; which is later populated to record {| int id; |}
+        BRecordType partial = new BRecordType("Partial", MODULE, 0, Map.of(), null, true, 0);
+        BRecordType target = createRecord("Target", new BField(PredefinedTypes.TYPE_INT, "id", SymbolFlags.REQUIRED));
+        Assert.assertFalse(TypeChecker.checkIsType(partial, target));
+
+        partial.setFields(Map.of("id", new BField(PredefinedTypes.TYPE_INT, "id", SymbolFlags.REQUIRED)));
+        Assert.assertTrue(TypeChecker.checkIsType(partial, target));
+        Assert.assertTrue(TypeChecker.checkIsType(partial, target));
+        Assert.assertEquals(TypeCheckCache.getHitCount(), 1);
+    }
+
+    @Test
+    public void testUnionPopulatedAfterCheck() {
+        // type IntOrString int|string; where the members are set after the type is created
+        BUnionType intOrString = new BUnionType("IntOrString", MODULE, 0, false, 0);
+        Assert.assertFalse(TypeChecker.checkIsType(PredefinedTypes.TYPE_INT, intOrString));
+
+        Type[] members = {PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_STRING};
+        intOrString.setMemberTypes(members);
+        intOrString.setOriginalMemberTypes(members);
+        Assert.assertTrue(TypeChecker.checkIsType(PredefinedTypes.TYPE_INT, intOrString));
+        Assert.assertTrue(TypeChecker.checkIsType(PredefinedTypes.TYPE_INT, intOrString));
+        Assert.assertEquals(TypeCheckCache.getHitCount(), 1);
+
+        // type IntOrBoolean int|boolean; where boolean is added after the type is created
+        BUnionType intOrBoolean = new BUnionType(new ArrayList<>(List.of(PredefinedTypes.TYPE_INT)), false);
+        Assert.assertFalse(TypeChecker.checkIsType(PredefinedTypes.TYPE_BOOLEAN, intOrBoolean));
+        intOrBoolean.addMembers(PredefinedTypes.TYPE_BOOLEAN);
+        Assert.assertTrue(TypeChecker.checkIsType(PredefinedTypes.TYPE_BOOLEAN, intOrBoolean));
+    }
+
+    private static BRecordType createRecursiveRecord(String name, boolean tagged) {
+        BRecordType recordType = new BRecordType(name, MODULE, 0, false, 0);
+        Map<String, Field> fields = new LinkedHashMap<>();
+        fields.put("value", new BField(PredefinedTypes.TYPE_INT, "value", SymbolFlags.REQUIRED));
+        fields.put("next", new BField(new BUnionType(List.of(recordType, PredefinedTypes.TYPE_NULL)), "next",
+                SymbolFlags.REQUIRED));
+        if (tagged) {
+            fields.put("tag", new BField(PredefinedTypes.TYPE_STRING, "tag", SymbolFlags.REQUIRED));
+        }
+        recordType.setFields(fields);
+        recordType.restFieldType = PredefinedTypes.TYPE_ANYDATA;
+        return recordType;
+    }
+
+    private static BRecordType createRecord(String name, Field field) {
+        return new BRecordType(name, MODULE, 0, Map.of(field.getFieldName(), field), null, true, 0);
+    }
+
+    private static MapValueImpl<?, ?> createRecordValue(BRecordType recordType, Object id) {
+        MapValueImpl<Object, Object> value = new MapValueImpl<>(recordType);
+        value.put(StringUtils.fromString("id"), id);
+        return value;
+    }
+
+    private static BObjectType createObjectType(String name, long flags, boolean withField) {
+        BObjectType objectType = new BObjectType(name, MODULE, flags);
+        Map<String, Field> fields = new LinkedHashMap<>();
+        if (withField) {
+            fields.put("count", new BField(PredefinedTypes.TYPE_INT, "count", SymbolFlags.PUBLIC));
+        }
+        objectType.setFields(fields);
+        BFunctionType functionType = new BFunctionType(MODULE, new Parameter[0], null, PredefinedTypes.TYPE_INT,
+                SymbolFlags.PUBLIC, "get");
+        objectType.setMethods(new MethodType[]{
+                new BMethodType("get", MODULE, objectType, functionType, SymbolFlags.PUBLIC)});
+        return objectType;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.test.values;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.types.BArrayType;
+import io.ballerina.runtime.internal.types.BMapType;
+import io.ballerina.runtime.internal.values.ArrayValueImpl;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Test cases for copying maps and arrays, which share their storage with the copy when no member needs copying.
+ */
+public class CloneTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMapCopiesAreIndependent() {
+        MapValueImpl<BString, Object> map = new MapValueImpl<>(PredefinedTypes.TYPE_MAP);
+        for (int i = 0; i < 100; i++) {
+            map.put(key(i), (long) i);
+        }
+        map.remove(key(3));
+
+        MapValueImpl<BString, Object> copy = (MapValueImpl<BString, Object>) map.copy(new HashMap<>());
+        MapValueImpl<BString, Object> other = (MapValueImpl<BString, Object>) map.copy(new HashMap<>());
+        Assert.assertNotSame(copy, map);
+        Assert.assertEquals(copy.size(), 99);
+        Assert.assertEquals(new ArrayList<>(copy.keySet()), new ArrayList<>(map.keySet()));
+
+        copy.put(key(0), -1L);
+        copy.put(key(100), 100L);
+        copy.remove(key(1));
+        Assert.assertEquals(map.get(key(0)), 0L);
+        Assert.assertNull(map.get(key(100)));
+        Assert.assertEquals(map.get(key(1)), 1L);
+        Assert.assertEquals(map.size(), 99);
+
+        map.entrySet().iterator().next().setValue(-2L);
+        Iterator<BString> keys = map.keySet().iterator();
+        keys.next();
+        keys.next();
+        keys.remove();
+        Assert.assertEquals(copy.get(key(0)), -1L);
+        Assert.assertEquals(other.get(key(0)), 0L);
+        Assert.assertEquals(other.get(key(1)), 1L);
+        Assert.assertEquals(map.get(key(0)), -2L);
+        Assert.assertNull(map.get(key(1)));
+
+        map.clear();
+        Assert.assertEquals(other.size(), 99);
+        Assert.assertEquals(other.get(key(99)), 99L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMapCopyWithMutableMembers() {
+        MapValueImpl<BString, Object> inner = new MapValueImpl<>(PredefinedTypes.TYPE_MAP);
+        inner.put(key(0), 0L);
+        MapValueImpl<BString, Object> frozenInner = new MapValueImpl<>(PredefinedTypes.TYPE_MAP);
+        frozenInner.put(key(0), 0L);
+        frozenInner.freezeDirect();
+
+        MapValueImpl<BString, Object> map = new MapValueImpl<>(new BMapType(PredefinedTypes.TYPE_ANYDATA));
+        map.put(key(0), frozenInner);
+        map.put(key(1), inner);
+        MapValueImpl<BString, Object> copy = (MapValueImpl<BString, Object>) map.copy(new HashMap<>());
+        Assert.assertSame(copy.get(key(0)), frozenInner);
+        Assert.assertNotSame(copy.get(key(1)), inner);
+        Assert.assertEquals(copy.get(key(1)), inner);
+
+        map.remove(key(1));
+        MapValueImpl<BString, Object> sharingCopy = (MapValueImpl<BString, Object>) map.copy(new HashMap<>());
+        Assert.assertSame(sharingCopy.get(key(0)), frozenInner);
+
+        map.freezeDirect();
+        Assert.assertSame(map.copy(new HashMap<>()), map);
+        Assert.assertSame(map.frozenCopy(new HashMap<>()), map);
+    }
+
+    @Test
+    public void testArrayCopiesAreIndependent() {
+        ArrayValueImpl ints = new ArrayValueImpl(new long[]{1, 2, 3, 4}, false);
+        ints.shift();
+        ints.append(5L);
+        ints.shift();
+        BArray copy = (BArray) ints.copy(new HashMap<>());
+        Assert.assertEquals(copy.getIntArray(), new long[]{3, 4, 5});
+
+        copy.add(5, 9L);
+        Assert.assertEquals(copy.getIntArray(), new long[]{3, 4, 5, 0, 0, 9});
+        Assert.assertEquals(ints.getIntArray(), new long[]{3, 4, 5});
+
+        BArray other = (BArray) ints.copy(new HashMap<>());
+        ints.add(0, 7L);
+        ints.reverse();
+        Assert.assertEquals(ints.getIntArray(), new long[]{5, 4, 7});
+        Assert.assertEquals(other.getIntArray(), new long[]{3, 4, 5});
+
+        ArrayValueImpl strings = new ArrayValueImpl(new BString[]{key(0), key(1)}, false);
+        BArray stringsCopy = (BArray) strings.copy(new HashMap<>());
+        strings.unshift(new Object[]{key(2)});
+        stringsCopy.setLength(3);
+        Assert.assertEquals(strings.getStringArray(), new String[]{"k2", "k0", "k1"});
+        Assert.assertEquals(stringsCopy.getStringArray(), new String[]{"k0", "k1", ""});
+    }
+
+    @Test
+    public void testArrayCopyWithMutableMembers() {
+        BArrayType type = new BArrayType(PredefinedTypes.TYPE_ANYDATA);
+        BArray frozenInner = ValueCreator.createArrayValue(new long[]{1});
+        frozenInner.freezeDirect();
+        ArrayValueImpl array = new ArrayValueImpl(type);
+        array.append(frozenInner);
+        array.append(key(0));
+        array.append(null);
+
+        ArrayValueImpl copy = (ArrayValueImpl) array.copy(new HashMap<>());
+        Object[] values = copy.getValues();
+        values[1] = key(1);
+        Assert.assertEquals(array.getRefValue(1), key(0));
+        Assert.assertSame(copy.getRefValue(0), frozenInner);
+
+        BArray inner = ValueCreator.createArrayValue(new long[]{1});
+        array.append(inner);
+        Map<Object, Object> refs = new HashMap<>();
+        ArrayValueImpl deepCopy = (ArrayValueImpl) array.copy(refs);
+        Assert.assertNotSame(deepCopy.getRefValue(3), inner);
+        Assert.assertSame(refs.get(inner), deepCopy.getRefValue(3));
+        Assert.assertSame(deepCopy.getRefValue(0), frozenInner);
+
+        array.freezeDirect();
+        Assert.assertSame(array.copy(new HashMap<>()), array);
+    }
+
+    private static BString key(int i) {
+        return StringUtils.fromString("k" + i);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.test.values;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.values.CompactLinkedHashMap;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Test cases for {@link CompactLinkedHashMap}, verified against {@link LinkedHashMap}.
+ */
+public class CompactLinkedHashMapTest {
+
+    @Test
+    public void testInsertionOrderIsKeptOnOverwrite() {
+        Map<BString, Object> map = new CompactLinkedHashMap<>();
+        map.put(StringUtils.fromString("a"), 1L);
+        map.put(StringUtils.fromString("b"), 2L);
+        map.put(StringUtils.fromString("c"), 3L);
+        Assert.assertEquals(map.put(StringUtils.fromString("a"), 4L), 1L);
+        map.remove(StringUtils.fromString("b"));
+        map.put(StringUtils.fromString("b"), 5L);
+
+        Assert.assertEquals(map.toString(), "{a=4, c=3, b=5}");
+        Assert.assertEquals(map.size(), 3);
+    }
+
+    @Test
+    public void testEntryWritesThrough() {
+        Map<String, Integer> map = new CompactLinkedHashMap<>(2);
+        map.put("x", 1);
+        map.put("y", 2);
+        for (Map.Entry<String, Integer> entry : map.entrySet()) {
+            entry.setValue(entry.getValue() * 10);
+        }
+        Assert.assertEquals(map.get("x"), Integer.valueOf(10));
+        Assert.assertEquals(map.get("y"), Integer.valueOf(20));
+        Assert.assertTrue(map.entrySet().contains(Map.entry("y", 20)));
+    }
+
+    @Test
+    public void testNullKeyAndValue() {
+        Map<String, String> map = new CompactLinkedHashMap<>();
+        map.put(null, "n");
+        map.put("k", null);
+        Assert.assertTrue(map.containsKey(null));
+        Assert.assertTrue(map.containsKey("k"));
+        Assert.assertTrue(map.containsValue(null));
+        Assert.assertEquals(map.remove(null), "n");
+        Assert.assertFalse(map.containsKey(null));
+    }
+
+    @Test
+    public void testRandomOperationsMatchLinkedHashMap() {
+        Random random = new Random(42);
+        Map<Integer, Integer> expected = new LinkedHashMap<>();
+        Map<Integer, Integer> actual = new CompactLinkedHashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            // a small key range keeps the probe sequences long and exercises removal heavily
+            Integer key = random.nextInt(512) * 31;
+            int op = random.nextInt(100);
+            if (op < 50) {
+                Assert.assertEquals(actual.put(key, i), expected.put(key, i));
+            } else if (op < 85) {
+                Assert.assertEquals(actual.remove(key), expected.remove(key));
+            } else if (op < 97) {
+                Assert.assertEquals(actual.get(key), expected.get(key));
+                Assert.assertEquals(actual.containsKey(key), expected.containsKey(key));
+            } else if (op < 99) {
+                removeEveryThird(expected);
+                removeEveryThird(actual);
+            } else if (random.nextInt(20) == 0) {
+                expected.clear();
+                actual.clear();
+            }
+            Assert.assertEquals(actual.size(), expected.size());
+        }
+        Assert.assertEquals(new ArrayList<>(actual.entrySet()), new ArrayList<>(expected.entrySet()));
+        Assert.assertEquals(new ArrayList<>(actual.values()), new ArrayList<>(expected.values()));
+    }
+
+    private static void removeEveryThird(Map<Integer, Integer> map) {
+        Iterator<Integer> iterator = map.keySet().iterator();
+        for (int i = 0; iterator.hasNext(); i++) {
+            iterator.next();
+            if (i % 3 == 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    @Test
+    public void testIteratorMatchesInsertionOrder() {
+        Map<Integer, Integer> map = new CompactLinkedHashMap<>();
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+            keys.add(i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            map.remove(i);
+            keys.remove(Integer.valueOf(i));
+        }
+        Assert.assertEquals(new ArrayList<>(map.keySet()), keys);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.test.values;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BValue;
+import io.ballerina.runtime.internal.values.ConcatStringValue;
+import io.ballerina.runtime.internal.values.IteratorValue;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test cases for {@link ConcatStringValue}, verified against strings created from the concatenated Java string.
+ */
+public class ConcatStringValueTest {
+
+    private static final String[] PARTS = {"a", "hello ", "\uD83D\uDE00", "x\uD83C\uDF89y", "", "payload-chunk "};
+
+    @Test
+    public void testLoopConcatenation() {
+        BString str = StringUtils.fromString("");
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            String part = PARTS[i % PARTS.length];
+            str = str.concat(StringUtils.fromString(part));
+            expected.append(part);
+        }
+        Assert.assertTrue(str instanceof ConcatStringValue);
+        assertSameString(str, expected.toString());
+    }
+
+    @Test
+    public void testConcatenationOntoSharedPrefix() {
+        BString prefix = StringUtils.fromString("p".repeat(300));
+        BString first = prefix.concat(StringUtils.fromString("\uD83D\uDE00first"));
+        BString second = first.concat(StringUtils.fromString("-tail"));
+        // first is no longer at the end of the shared buffer, so this append has to copy it
+        BString branch = first.concat(StringUtils.fromString("-branch"));
+
+        assertSameString(first, "p".repeat(300) + "\uD83D\uDE00first");
+        assertSameString(second, "p".repeat(300) + "\uD83D\uDE00first-tail");
+        assertSameString(branch, "p".repeat(300) + "\uD83D\uDE00first-branch");
+        assertSameString(second.concat(second), ("p".repeat(300) + "\uD83D\uDE00first-tail").repeat(2));
+    }
+
+    @Test
+    public void testConcatenationAfterRead() {
+        BString prefix = StringUtils.fromString("p".repeat(300)).concat(StringUtils.fromString("\uD83D\uDE00"));
+        // Reading the characters flattens the value and drops the buffer it shares
+        assertSameString(prefix, "p".repeat(300) + "\uD83D\uDE00");
+        BString str = prefix;
+        for (int i = 0; i < 100; i++) {
+            str = str.concat(StringUtils.fromString("-" + i));
+        }
+        BString branch = prefix.concat(StringUtils.fromString("-branch"));
+
+        StringBuilder expected = new StringBuilder("p".repeat(300) + "\uD83D\uDE00");
+        for (int i = 0; i < 100; i++) {
+            expected.append("-").append(i);
+        }
+        assertSameString(str, expected.toString());
+        assertSameString(branch, "p".repeat(300) + "\uD83D\uDE00-branch");
+        assertSameString(prefix, "p".repeat(300) + "\uD83D\uDE00");
+    }
+
+    @Test
+    public void testRandomConcatenations() {
+        Random random = new Random(7);
+        List<BString> values = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        values.add(StringUtils.fromString(""));
+        expected.add("");
+        for (int i = 0; i < 3000; i++) {
+            int lhs = random.nextInt(values.size());
+            BString rhs;
+            String rhsExpected;
+            if (random.nextInt(4) == 0) {
+                int index = random.nextInt(values.size());
+                rhs = values.get(index);
+                rhsExpected = expected.get(index);
+            } else {
+                rhsExpected = PARTS[random.nextInt(PARTS.length)].repeat(random.nextInt(40));
+                rhs = StringUtils.fromString(rhsExpected);
+            }
+            BString result = values.get(lhs).concat(rhs);
+            String resultExpected = expected.get(lhs) + rhsExpected;
+            if (resultExpected.length() > 20000) {
+                continue;
+            }
+            if (random.nextInt(10) == 0) {
+                assertSameString(result, resultExpected);
+            }
+            values.add(result);
+            expected.add(resultExpected);
+        }
+        for (int i = 0; i < values.size(); i++) {
+            assertSameString(values.get(i), expected.get(i));
+        }
+    }
+
+    private static void assertSameString(BString actual, String expected) {
+        BString reference = StringUtils.fromString(expected);
+        Assert.assertEquals(actual.getValue(), expected);
+        Assert.assertEquals(((BValue) actual).stringValue(null), expected);
+        Assert.assertEquals(actual.length(), reference.length());
+        Assert.assertEquals(actual.hashCode(), reference.hashCode());
+        Assert.assertEquals(actual, reference);
+        Assert.assertEquals(reference, actual);
+        int length = reference.length();
+        for (int i = 0; i < length; i += Math.max(1, length / 50)) {
+            Assert.assertEquals(actual.getCodePoint(i), reference.getCodePoint(i));
+        }
+        if (length > 2) {
+            Assert.assertEquals(actual.substring(1, length - 1).getValue(),
+                    reference.substring(1, length - 1).getValue());
+        }
+        BString search = StringUtils.fromString("\uD83C\uDF89y");
+        Assert.assertEquals(actual.indexOf(search, 0), reference.indexOf(search, 0));
+        Assert.assertEquals(actual.lastIndexOf(search, length), reference.lastIndexOf(search, length));
+        IteratorValue actualIterator = actual.getIterator();
+        IteratorValue referenceIterator = reference.getIterator();
+        while (referenceIterator.hasNext()) {
+            Assert.assertEquals(actualIterator.next(), referenceIterator.next());
+        }
+        Assert.assertFalse(actualIterator.hasNext());
+    }
+}
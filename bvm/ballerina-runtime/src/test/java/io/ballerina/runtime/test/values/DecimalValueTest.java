@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.test.values;
+
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.internal.values.DecimalValue;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+
+/**
+ * Differential tests for the arithmetic of {@link DecimalValue}, verified against {@link BigDecimal} arithmetic in
+ * the decimal128 context.
+ */
+public class DecimalValueTest {
+
+    private static final String[] EDGE_CASES = {"0", "0.00", "1", "-1", "0.01", "9223372036854775807",
+            "-9223372036854775808", "999999999999999999", "-999999999999999999", "1E+18", "1E-1000", "1E+1000",
+            "4611686018427387904", "3037000499.97605", "12345678901234567890123456789012345", "1.5E-6000"};
+
+    // The reference operations are BigDecimal operations in the decimal128 context, with the shortcuts that
+    // DecimalValue takes for zero operands.
+
+    @Test
+    public void testAddition() {
+        assertDifferential((a, b) -> a.signum() == 0 ? b : b.signum() == 0 ? a : a.add(b, MathContext.DECIMAL128),
+                DecimalValue::add);
+    }
+
+    @Test
+    public void testSubtraction() {
+        assertDifferential((a, b) -> a.signum() == 0 ? b.negate() : b.signum() == 0 ? a :
+                a.subtract(b, MathContext.DECIMAL128), DecimalValue::subtract);
+    }
+
+    @Test
+    public void testMultiplication() {
+        assertDifferential((a, b) -> a.signum() == 0 ? a : b.signum() == 0 ? b :
+                a.multiply(b, MathContext.DECIMAL128), DecimalValue::multiply);
+    }
+
+    @Test
+    public void testDivision() {
+        assertDifferential((a, b) -> a.signum() == 0 && b.signum() != 0 ? a : a.divide(b, MathContext.DECIMAL128),
+                DecimalValue::divide);
+    }
+
+    @Test
+    public void testNegation() {
+        Random random = new Random(3);
+        for (int i = 0; i < 20000; i++) {
+            BigDecimal operand = randomDecimal(random);
+            assertSameDecimal(new DecimalValue(operand).negate(), operand.signum() == 0 ? operand : operand.negate());
+        }
+    }
+
+    @Test
+    public void testChainedMoneyArithmetic() {
+        DecimalValue total = new DecimalValue("0.00");
+        BigDecimal expected = new BigDecimal("0.00");
+        DecimalValue rate = new DecimalValue("1.075");
+        for (int i = 1; i <= 10000; i++) {
+            DecimalValue amount = new DecimalValue(i + ".99");
+            total = total.add(amount.multiply(rate));
+            expected = expected.add(new BigDecimal(i + ".99").multiply(new BigDecimal("1.075"),
+                    MathContext.DECIMAL128), MathContext.DECIMAL128);
+        }
+        assertSameDecimal(total, expected);
+    }
+
+    private static void assertDifferential(BinaryOperator<BigDecimal> reference,
+                                           BinaryOperator<DecimalValue> operation) {
+        Random random = new Random(17);
+        for (int i = 0; i < 50000; i++) {
+            BigDecimal lhs = toBallerinaRange(randomDecimal(random));
+            BigDecimal rhs = toBallerinaRange(randomDecimal(random));
+            Object expected;
+            try {
+                expected = reference.apply(lhs, rhs);
+            } catch (ArithmeticException e) {
+                expected = e;
+            }
+            Object actual;
+            try {
+                actual = operation.apply(new DecimalValue(lhs), new DecimalValue(rhs));
+            } catch (BError | ArithmeticException e) {
+                actual = e;
+            }
+            if (expected instanceof BigDecimal && actual instanceof DecimalValue) {
+                assertSameDecimal((DecimalValue) actual, toBallerinaRange((BigDecimal) expected));
+            } else {
+                // Zero divisors and results outside the decimal range are errors either way.
+                Assert.assertFalse(actual instanceof DecimalValue, lhs + ", " + rhs + ": " + actual);
+            }
+        }
+    }
+
+    private static BigDecimal toBallerinaRange(BigDecimal value) {
+        DecimalValue decimal = new DecimalValue(value);
+        return decimal.value();
+    }
+
+    private static void assertSameDecimal(DecimalValue actual, BigDecimal expected) {
+        DecimalValue reference = new DecimalValue(expected);
+        Assert.assertEquals(actual.value().unscaledValue(), reference.value().unscaledValue(), expected.toString());
+        Assert.assertEquals(actual.value().scale(), reference.value().scale(), expected.toString());
+        Assert.assertEquals(actual.stringValue(null), reference.stringValue(null));
+        Assert.assertEquals(actual.getValueKind(), reference.getValueKind());
+        Assert.assertEquals(actual, reference);
+        Assert.assertEquals(reference, actual);
+        Assert.assertEquals(actual.hashCode(), reference.hashCode());
+        Assert.assertEquals(actual.booleanValue(), reference.booleanValue());
+    }
+
+    private static BigDecimal randomDecimal(Random random) {
+        switch (random.nextInt(6)) {
+            case 0:
+                return new BigDecimal(EDGE_CASES[random.nextInt(EDGE_CASES.length)]);
+            case 1:
+                // money like values
+                return BigDecimal.valueOf(random.nextInt(2000000) - 1000000, random.nextInt(5));
+            case 2:
+                return BigDecimal.valueOf(random.nextLong(), random.nextInt(40) - 20);
+            case 3:
+                return new BigDecimal(new BigInteger(random.nextInt(120) + 1, random), random.nextInt(60) - 30);
+            case 4:
+                return BigDecimal.valueOf(random.nextLong() >> random.nextInt(64), random.nextInt(2001) - 1000);
+            default:
+                return BigDecimal.valueOf(random.nextInt(100) - 50, random.nextInt(3));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.runtime.test.values;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.JsonGenerator;
+import io.ballerina.runtime.internal.types.BArrayType;
+import io.ballerina.runtime.internal.types.BField;
+import io.ballerina.runtime.internal.types.BMapType;
+import io.ballerina.runtime.internal.types.BRecordType;
+import io.ballerina.runtime.internal.values.ArrayValueImpl;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Test cases for writing json with {@link JsonGenerator}.
+ */
+public class JsonGeneratorTest {
+
+    private static final Module MODULE = new Module("testorg", "test", "1");
+
+    @Test
+    public void testRecordFieldNames() {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        fields.put("name", new BField(PredefinedTypes.TYPE_STRING, "name", 0));
+        fields.put("a\"b/c", new BField(PredefinedTypes.TYPE_INT, "a\"b/c", 0));
+        BRecordType recordType = new BRecordType("Rec", MODULE, 0, fields, PredefinedTypes.TYPE_ANYDATA, false, 0);
+        MapValueImpl<BString, Object> record = new MapValueImpl<>(recordType);
+        record.put(StringUtils.fromString("name"), StringUtils.fromString("caf\u00e9"));
+        record.put(StringUtils.fromString("a\"b/c"), 1L);
+        record.put(StringUtils.fromString("x/y"), ValueCreator.createArrayValue(new long[]{1, -2}));
+
+        String expected = "{\"name\":\"caf\u00e9\", \"a\\\"b\\/c\":1, \"x/y\":[1, -2]}";
+        Assert.assertEquals(StringUtils.getJsonString(record), expected);
+        Assert.assertEquals(serialize(record), expected.getBytes(StandardCharsets.UTF_8));
+
+        byte[] encodedFieldName = recordType.getEncodedJsonFieldName("a\"b/c");
+        Assert.assertEquals(new String(encodedFieldName, StandardCharsets.UTF_8), "\"a\\\"b\\/c\":");
+        Assert.assertSame(recordType.getEncodedJsonFieldName("a\"b/c"), encodedFieldName);
+        Assert.assertNull(recordType.getEncodedJsonFieldName("x/y"));
+    }
+
+    @Test
+    public void testStringEncoding() throws IOException {
+        String[] values = {"a/b\f", "q\"/\f\n\t\\", "caf\u00e9 \u20ac \ud83d\ude00", "\ud800x\udc00", ""};
+        BArray array = ValueCreator.createArrayValue(PredefinedTypes.TYPE_JSON_ARRAY);
+        for (String value : values) {
+            array.append(StringUtils.fromString(value));
+        }
+        String expected = "[\"a/b\f\", \"q\\\"\\/\\f\\n\\t\\\\\", \"caf\u00e9 \u20ac \ud83d\ude00\", \"?x?\", \"\"]";
+        Assert.assertEquals(new String(serialize(array), StandardCharsets.UTF_8), expected);
+
+        StringWriter writer = new StringWriter();
+        JsonGenerator gen = new JsonGenerator(writer);
+        gen.convertAndSerialize(array);
+        gen.flush();
+        Assert.assertEquals(writer.toString(), expected.replace("?x?", "\ud800x\udc00"));
+    }
+
+    @Test
+    public void testLargeValueToOutputStream() throws IOException {
+        MapValueImpl<BString, Object> map = new MapValueImpl<>(new BMapType(PredefinedTypes.TYPE_ANYDATA));
+        long[] numbers = new long[5000];
+        BString[] strings = new BString[5000];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = i * 1000003L - 1;
+            strings[i] = StringUtils.fromString("entry \u00e9\ud83d\ude00 \"" + i + "\"");
+        }
+        map.put(StringUtils.fromString("numbers"), ValueCreator.createArrayValue(numbers));
+        map.put(StringUtils.fromString("strings"), ValueCreator.createArrayValue(strings));
+        ArrayValueImpl nested = new ArrayValueImpl(new BArrayType(PredefinedTypes.TYPE_ANYDATA));
+        nested.append(StringUtils.fromString("x".repeat(20000)));
+        nested.append(map.get(StringUtils.fromString("strings")));
+        map.put(StringUtils.fromString("nested"), nested);
+
+        StringWriter writer = new StringWriter();
+        JsonGenerator gen = new JsonGenerator(writer);
+        gen.convertAndSerialize(map);
+        gen.flush();
+        String expected = writer.toString();
+        Assert.assertEquals(StringUtils.getJsonString(map), expected);
+        Assert.assertEquals(serialize(map), expected.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testCyclicValue() {
+        MapValueImpl<BString, Object> map = new MapValueImpl<>(new BMapType(PredefinedTypes.TYPE_ANYDATA));
+        map.put(StringUtils.fromString("self"), map);
+        try {
+            StringUtils.getJsonString(map);
+            Assert.fail("expected a cyclic value reference error");
+        } catch (BError e) {
+            Assert.assertEquals(e.getMessage(), "{ballerina/lang.value}CyclicValueReferenceError");
+        }
+    }
+
+    private static byte[] serialize(Object value) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JsonGenerator gen = new JsonGenerator(outputStream, StandardCharsets.UTF_8);
+        try {
+            gen.convertAndSerialize(value);
+            gen.flush();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.test.values;
+
+import io.ballerina.runtime.api.utils.JsonUtils.NonStringValueProcessingMode;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.JsonParser;
+import io.ballerina.runtime.internal.values.ArrayValueImpl;
+import io.ballerina.runtime.internal.values.BmpStringValue;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+import io.ballerina.runtime.internal.values.NonBmpStringValue;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Test cases for the UTF-8 fast path of {@link JsonParser}, verified against the character based parser.
+ */
+public class JsonParserTest {
+
+    private static final String[] STRINGS = {
+            "", "name", "a b c", "tab\\tnew\\nline", "quote\\\"", "\\\\back\\/slash", "\\u0041\\u00e9\\u4e2d",
+            "\\ud83d\\ude00", "\\ud83d", "caf\u00e9", "\u4e2d\u6587", "\ud83d\ude00 smile", "\\b\\f\\r", "x\u0001y"
+    };
+
+    private static final String[] NUMBERS = {
+            "0", "-0", "-0.0", "1", "-1", "123456789012345678", "1234567890123456789", "-9223372036854775808",
+            "9223372036854775808", "007", "1.5", "-2.25", "1.0e10", "3.14159265358979323846", "+5"
+    };
+
+    @DataProvider(name = "modes")
+    public Object[][] modes() {
+        return new Object[][]{
+                {NonStringValueProcessingMode.FROM_JSON_STRING},
+                {NonStringValueProcessingMode.FROM_JSON_FLOAT_STRING},
+                {NonStringValueProcessingMode.FROM_JSON_DECIMAL_STRING}
+        };
+    }
+
+    @Test(dataProvider = "modes")
+    public void testRandomDocumentsMatchCharacterParser(NonStringValueProcessingMode mode) {
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            StringBuilder sb = new StringBuilder();
+            generateValue(random, sb, 0);
+            assertSameResult(sb.toString(), mode);
+        }
+    }
+
+    @Test(dataProvider = "modes")
+    public void testInvalidAndLenientDocumentsMatchCharacterParser(NonStringValueProcessingMode mode) {
+        String[] documents = {
+                "", "   ", "{", "[", "}", "{\"a\"}", "{\"a\":}", "{\"a\":1,}", "[1,]", "[,1]", "{\"a\":1]", "[1}",
+                "{\"a\":1} x", "[1 2]", "{\"a\" 1}", "{a:1}", "\"abc", "[\"a\\x\"]", "[\"\\u12g4\"]", "[\"\\u12",
+                "tru", "nul", "[truee]", "[1e5]", "[1.2.3]", "{\"a\":1{\"b\":2}}", "[1[2]]", "[-]", "1 2", "null",
+                "  true  ", "\"top\"", "[\"a\"\"b\"]", "{\"a\":1 \"b\":2}", "{\"a\":1,\"a\":2,\"b\":3,\"a\":4}",
+                "\u00e9", "[\u00e9]", "[\"\\ud800\"]", "\t{\r\n\"k\" :\t[ ]\n}\r\n", "[[[[[[[[[[]]]]]]]]]]"
+        };
+        for (String document : documents) {
+            assertSameResult(document, mode);
+        }
+    }
+
+    @Test
+    public void testMalformedUtf8MatchesCharacterParser() {
+        byte[][] documents = {
+                {'[', '"', (byte) 0xC3, '"', ']'},
+                {'[', '"', (byte) 0xE4, (byte) 0xB8, '"', ']'},
+                {'[', '"', (byte) 0xC0, (byte) 0x80, '"', ']'},
+                {'[', '"', (byte) 0xED, (byte) 0xA0, (byte) 0x80, '"', ']'},
+                {'[', '"', (byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80, '"', ']'},
+                {'[', '"', (byte) 0xFF, '"', ']'}
+        };
+        for (byte[] document : documents) {
+            Object expected = parseWithCharacterParser(new String(document, StandardCharsets.UTF_8),
+                    NonStringValueProcessingMode.FROM_JSON_STRING);
+            assertSameValue(JsonParser.parse(document, NonStringValueProcessingMode.FROM_JSON_STRING), expected);
+        }
+    }
+
+    @Test
+    public void testStringKinds() {
+        ArrayValueImpl array = (ArrayValueImpl) JsonParser.parse("[\"ascii\", \"caf\u00e9\", \"\ud83d\ude00!\"]");
+        Assert.assertTrue(array.getRefValue(0) instanceof BmpStringValue);
+        Assert.assertTrue(array.getRefValue(1) instanceof BmpStringValue);
+        Assert.assertTrue(array.getRefValue(2) instanceof NonBmpStringValue);
+        Assert.assertEquals(((BString) array.getRefValue(2)).length(), 2);
+    }
+
+    @Test
+    public void testRepeatedFieldNamesAreShared() {
+        ArrayValueImpl array = (ArrayValueImpl) JsonParser.parse("[{\"id\": 1}, {\"id\": 2}]");
+        BString first = ((MapValueImpl<BString, Object>) array.getRefValue(0)).getKeys()[0];
+        BString second = ((MapValueImpl<BString, Object>) array.getRefValue(1)).getKeys()[0];
+        Assert.assertSame(first, second);
+    }
+
+    @Test
+    public void testByteInputs() {
+        String document = "{\"a\": [1, 2.5, \"x\"], \"b\": {\"c\": null}}";
+        Object expected = parseWithCharacterParser(document, NonStringValueProcessingMode.FROM_JSON_STRING);
+        byte[] bytes = ("  " + document + "  ").getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer heapBuffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1).slice();
+        assertSameValue(JsonParser.parse(heapBuffer, NonStringValueProcessingMode.FROM_JSON_STRING), expected);
+        Assert.assertEquals(heapBuffer.position(), 0);
+
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytes.length);
+        directBuffer.put(bytes).flip();
+        assertSameValue(JsonParser.parse(directBuffer, NonStringValueProcessingMode.FROM_JSON_STRING), expected);
+        assertSameValue(JsonParser.parse(new ByteArrayInputStream(bytes), "UTF-8"), expected);
+    }
+
+    @Test
+    public void testLargeInputs() {
+        // Larger than what the fast path takes, so that strings and streams are parsed by the state machine.
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < 10000; i++) {
+            sb.append(i == 0 ? "" : ", ").append("{\"id\": ").append(i).append(", \"name\": \"caf\u00e9\"}");
+        }
+        String document = sb.append("]").toString();
+        Object expected = parseWithCharacterParser(document, NonStringValueProcessingMode.FROM_JSON_STRING);
+        assertSameValue(JsonParser.parse(document), expected);
+
+        byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+        assertSameValue(JsonParser.parse(new ByteArrayInputStream(bytes), "UTF-8"), expected);
+        Assert.assertEquals(((ArrayValueImpl) JsonParser.parse(document)).size(), 10000);
+    }
+
+    @Test
+    public void testDeeplyNestedDocument() {
+        int depth = 10000;
+        String document = "[".repeat(depth) + "]".repeat(depth);
+        Object value = JsonParser.parse(document);
+        for (int i = 1; i < depth; i++) {
+            value = ((ArrayValueImpl) value).getRefValue(0);
+        }
+        Assert.assertEquals(((ArrayValueImpl) value).size(), 0);
+    }
+
+    private static void assertSameResult(String document, NonStringValueProcessingMode mode) {
+        Object expected;
+        try {
+            expected = parseWithCharacterParser(document, mode);
+        } catch (RuntimeException e) {
+            expected = e;
+        }
+        Object fromString;
+        Object fromBytes;
+        try {
+            fromString = JsonParser.parse(document, mode);
+        } catch (RuntimeException e) {
+            fromString = e;
+        }
+        try {
+            fromBytes = JsonParser.parse(document.getBytes(StandardCharsets.UTF_8), mode);
+        } catch (RuntimeException e) {
+            fromBytes = e;
+        }
+        assertSameValue(fromString, expected, document);
+        assertSameValue(fromBytes, expected, document);
+    }
+
+    private static Object parseWithCharacterParser(String document, NonStringValueProcessingMode mode) {
+        Object value = JsonParser.parse(new StringReader(document), mode);
+        return value instanceof String ? StringUtils.fromString((String) value) : value;
+    }
+
+    private static void assertSameValue(Object actual, Object expected) {
+        assertSameValue(actual, expected, "");
+    }
+
+    private static void assertSameValue(Object actual, Object expected, String document) {
+        if (expected == null) {
+            Assert.assertNull(actual, document);
+            return;
+        }
+        Assert.assertNotNull(actual, document);
+        Assert.assertEquals(actual.getClass(), expected.getClass(), document);
+        if (expected instanceof Throwable) {
+            Assert.assertEquals(((Throwable) actual).getMessage(), ((Throwable) expected).getMessage(), document);
+        } else if (expected instanceof MapValueImpl) {
+            MapValueImpl<?, ?> actualMap = (MapValueImpl<?, ?>) actual;
+            MapValueImpl<?, ?> expectedMap = (MapValueImpl<?, ?>) expected;
+            Assert.assertEquals(actualMap.getType().toString(), expectedMap.getType().toString(), document);
+            Assert.assertEquals(actualMap.size(), expectedMap.size(), document);
+            Iterator<? extends Map.Entry<?, ?>> actualEntries = actualMap.entrySet().iterator();
+            for (Map.Entry<?, ?> expectedEntry : expectedMap.entrySet()) {
+                Map.Entry<?, ?> actualEntry = actualEntries.next();
+                assertSameValue(actualEntry.getKey(), expectedEntry.getKey(), document);
+                assertSameValue(actualEntry.getValue(), expectedEntry.getValue(), document);
+            }
+        } else if (expected instanceof ArrayValueImpl) {
+            ArrayValueImpl actualArray = (ArrayValueImpl) actual;
+            ArrayValueImpl expectedArray = (ArrayValueImpl) expected;
+            Assert.assertEquals(actualArray.getType().toString(), expectedArray.getType().toString(), document);
+            Assert.assertEquals(actualArray.size(), expectedArray.size(), document);
+            for (int i = 0; i < expectedArray.size(); i++) {
+                assertSameValue(actualArray.getRefValue(i), expectedArray.getRefValue(i), document);
+            }
+        } else if (expected instanceof BString) {
+            Assert.assertEquals(((BString) actual).getValue(), ((BString) expected).getValue(), document);
+        } else {
+            Assert.assertEquals(actual, expected, document);
+        }
+    }
+
+    private static void generateValue(Random random, StringBuilder sb, int depth) {
+        int kind = random.nextInt(depth > 4 ? 4 : 6);
+        switch (kind) {
+            case 0:
+                sb.append('"').append(STRINGS[random.nextInt(STRINGS.length)]).append('"');
+                break;
+            case 1:
+                sb.append(NUMBERS[random.nextInt(NUMBERS.length)]);
+                break;
+            case 2:
+                sb.append(random.nextBoolean() ? "true" : "false");
+                break;
+            case 3:
+                sb.append("null");
+                break;
+            case 4:
+                sb.append('{');
+                int fields = random.nextInt(5);
+                for (int i = 0; i < fields; i++) {
+                    if (i > 0) {
+                        sb.append(',');
+                    }
+                    appendWhitespace(random, sb);
+                    sb.append('"').append(STRINGS[random.nextInt(STRINGS.length)]).append(i % 3).append('"');
+                    appendWhitespace(random, sb);
+                    sb.append(':');
+                    appendWhitespace(random, sb);
+                    generateValue(random, sb, depth + 1);
+                    appendWhitespace(random, sb);
+                }
+                sb.append('}');
+                break;
+            default:
+                sb.append('[');
+                int elements = random.nextInt(5);
+                for (int i = 0; i < elements; i++) {
+                    if (i > 0) {
+                        sb.append(',');
+                    }
+                    appendWhitespace(random, sb);
+                    generateValue(random, sb, depth + 1);
+                    appendWhitespace(random, sb);
+                }
+                sb.append(']');
+                break;
+        }
+    }
+
+    private static void appendWhitespace(Random random, StringBuilder sb) {
+        int count = random.nextInt(3);
+        for (int i = 0; i < count; i++) {
+            sb.append(" \t\r\n".charAt(random.nextInt(4)));
+        }
+    }
+}
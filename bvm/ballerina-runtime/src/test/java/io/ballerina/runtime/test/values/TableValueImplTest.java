@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.test.values;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.types.BField;
+import io.ballerina.runtime.internal.types.BRecordType;
+import io.ballerina.runtime.internal.types.BTableType;
+import io.ballerina.runtime.internal.values.IteratorValue;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+import io.ballerina.runtime.internal.values.TableValueImpl;
+import io.ballerina.runtime.internal.values.TupleValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Test cases for the row storage and the indexes of {@link TableValueImpl}.
+ */
+public class TableValueImplTest {
+
+    private static final Module MODULE = new Module("testorg", "tables", "1");
+    private static final BString ID = StringUtils.fromString("id");
+    private static final BString DEPT = StringUtils.fromString("dept");
+    private static final BString SALARY = StringUtils.fromString("salary");
+
+    // type Employee record { readonly int id; readonly string dept; int salary; };
+    private static final BRecordType EMPLOYEE = createEmployeeType();
+
+    @Test
+    public void testOperationsMatchInsertionOrderedMap() {
+        TableValueImpl<Object, Object> table = createEmployeeTable();
+        Map<Long, MapValueImpl<BString, Object>> expected = new LinkedHashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            long id = random.nextInt(500);
+            switch (random.nextInt(4)) {
+                case 0:
+                    if (!expected.containsKey(id)) {
+                        MapValueImpl<BString, Object> row = createEmployee(id, "d" + (id % 7), i);
+                        table.add(row);
+                        expected.put(id, row);
+                    }
+                    break;
+                case 1:
+                    MapValueImpl<BString, Object> row = createEmployee(id, "d" + (id % 7), i);
+                    table.put(id, row);
+                    expected.put(id, row);
+                    break;
+                case 2:
+                    Assert.assertSame(table.remove(id), expected.remove(id));
+                    break;
+                default:
+                    Assert.assertSame(table.get(id), expected.get(id));
+                    Assert.assertEquals(table.containsKey(id), expected.containsKey(id));
+            }
+        }
+
+        Assert.assertEquals(table.size(), expected.size());
+        Assert.assertEquals(table.values(), new ArrayList<>(expected.values()));
+        Assert.assertEquals(table.getKeys(), expected.keySet().toArray());
+        List<Object> iterated = new ArrayList<>();
+        IteratorValue iterator = table.getIterator();
+        while (iterator.hasNext()) {
+            TupleValueImpl entry = (TupleValueImpl) iterator.next();
+            Assert.assertSame(entry.get(1), expected.get((Long) entry.get(0)));
+            iterated.add(entry.get(1));
+        }
+        Assert.assertEquals(iterated, new ArrayList<>(expected.values()));
+    }
+
+    @Test
+    public void testIteratorContinuesAfterRowsAreCompacted() {
+        TableValueImpl<Object, Object> table = createEmployeeTable();
+        for (long id = 0; id < 100; id++) {
+            table.add(createEmployee(id, "d", id));
+        }
+        IteratorValue iterator = table.getIterator();
+        for (int i = 0; i < 10; i++) {
+            iterator.next();
+        }
+        for (long id = 0; id < 90; id++) {
+            table.remove(id);
+        }
+        for (long id = 100; id < 200; id++) {
+            table.add(createEmployee(id, "d", id));
+        }
+
+        long expectedId = 90;
+        while (iterator.hasNext()) {
+            Assert.assertEquals(((TupleValueImpl) iterator.next()).get(0), expectedId++);
+        }
+        Assert.assertEquals(expectedId, 200);
+        Assert.assertEquals(table.size(), 110);
+        Assert.assertEquals(table.getNextKey(), 200);
+    }
+
+    @Test
+    public void testKeylessTableKeepsEqualRows() {
+        TableValueImpl<Object, Object> table = new TableValueImpl<>(new BTableType(EMPLOYEE, false));
+        MapValueImpl<BString, Object> first = createEmployee(1, "a", 10);
+        MapValueImpl<BString, Object> second = createEmployee(1, "a", 10);
+        table.add(first);
+        table.add(second);
+        Assert.assertEquals(table.size(), 2);
+        Assert.assertSame(table.values().toArray()[0], first);
+        Assert.assertSame(table.values().toArray()[1], second);
+        Assert.assertEquals(table.getKeys().length, 0);
+        table.clear();
+        Assert.assertTrue(table.isEmpty());
+    }
+
+    @Test
+    public void testGetRowsByFieldValue() {
+        TableValueImpl<Object, Object> table = createEmployeeTable();
+        for (long id = 0; id < 1000; id++) {
+            table.add(createEmployee(id, "d" + (id % 10), id % 3));
+        }
+
+        // key field
+        List<Object> rows = table.getRowsByFieldValue(ID, 42L);
+        Assert.assertEquals(rows.size(), 1);
+        Assert.assertSame(rows.get(0), table.get(42L));
+        Assert.assertTrue(table.getRowsByFieldValue(ID, 1000L).isEmpty());
+
+        // readonly field, served by an index which has to follow later updates
+        assertRows(table.getRowsByFieldValue(DEPT, StringUtils.fromString("d3")), DEPT, "d3", 100);
+        for (long id = 0; id < 1000; id += 2) {
+            table.remove(id);
+        }
+        table.put(3L, createEmployee(3, "d4", 0));
+        table.add(createEmployee(1003, "d3", 0));
+        List<Object> d3Rows = table.getRowsByFieldValue(DEPT, StringUtils.fromString("d3"));
+        assertRows(d3Rows, DEPT, "d3", 100);
+        Assert.assertEquals(((MapValueImpl<?, ?>) d3Rows.get(0)).get(ID), 13L);
+        Assert.assertEquals(((MapValueImpl<?, ?>) d3Rows.get(99)).get(ID), 1003L);
+        assertRows(table.getRowsByFieldValue(DEPT, StringUtils.fromString("d4")), DEPT, "d4", 1);
+        Assert.assertTrue(table.getRowsByFieldValue(DEPT, 3L).isEmpty());
+
+        // mutable field, found by scanning the rows
+        int withSalaryTwo = table.getRowsByFieldValue(SALARY, 2L).size();
+        ((MapValueImpl<BString, Object>) table.get(1L)).put(SALARY, 2L);
+        Assert.assertEquals(table.getRowsByFieldValue(SALARY, 2L).size(), withSalaryTwo + 1);
+    }
+
+    @Test(timeOut = 60000)
+    public void testConcurrentLookupsShareFieldIndex() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 50; round++) {
+                TableValueImpl<Object, Object> table = createEmployeeTable();
+                for (long id = 0; id < 2000; id++) {
+                    table.add(createEmployee(id, "d" + (id % 10), 0));
+                }
+                // Every lookup builds or reads the index on the readonly field from a different thread.
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<List<Object>>> lookups = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    lookups.add(executor.submit(() -> {
+                        start.await();
+                        return table.getRowsByFieldValue(DEPT, StringUtils.fromString("d7"));
+                    }));
+                }
+                start.countDown();
+                for (Future<List<Object>> lookup : lookups) {
+                    assertRows(lookup.get(), DEPT, "d7", 200);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void assertRows(List<Object> rows, BString field, String value, int count) {
+        Assert.assertEquals(rows.size(), count);
+        long previousId = -1;
+        for (Object row : rows) {
+            MapValueImpl<?, ?> record = (MapValueImpl<?, ?>) row;
+            Assert.assertEquals(record.get(field).toString(), value);
+            long id = (Long) record.get(ID);
+            Assert.assertTrue(id > previousId, "rows are not in the order of the table");
+            previousId = id;
+        }
+    }
+
+    private static TableValueImpl<Object, Object> createEmployeeTable() {
+        return new TableValueImpl<>(new BTableType(EMPLOYEE, new String[]{"id"}, false));
+    }
+
+    private static BRecordType createEmployeeType() {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        fields.put("id", new BField(PredefinedTypes.TYPE_INT, "id", SymbolFlags.REQUIRED | SymbolFlags.READONLY));
+        fields.put("dept", new BField(PredefinedTypes.TYPE_STRING, "dept",
+                SymbolFlags.REQUIRED | SymbolFlags.READONLY));
+        fields.put("salary", new BField(PredefinedTypes.TYPE_INT, "salary", SymbolFlags.REQUIRED));
+        return new BRecordType("Employee", MODULE, 0, fields, null, true, 0);
+    }
+
+    private static MapValueImpl<BString, Object> createEmployee(long id, String dept, long salary) {
+        MapValueImpl<BString, Object> employee = new MapValueImpl<>(EMPLOYEE);
+        employee.put(ID, id);
+        employee.put(DEPT, StringUtils.fromString(dept));
+        employee.put(SALARY, salary);
+        return employee;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.test.values;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.internal.TypedJsonParser;
+import io.ballerina.runtime.internal.types.BArrayType;
+import io.ballerina.runtime.internal.types.BMapType;
+import io.ballerina.runtime.internal.types.BTupleType;
+import io.ballerina.runtime.internal.values.TypedescValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test cases for {@link TypedJsonParser}.
+ * <p>
+ * Records are created through the value creator of their module, hence documents with records are tested with
+ * Ballerina sources in the langlib tests of {@code value:fromJsonStringWithType}.
+ */
+public class TypedJsonParserTest {
+
+    private final List<Type> convertedTypes = new ArrayList<>();
+
+    @Test
+    public void testNestedListsAndMaps() {
+        // [string, map<int>[], float...][]
+        Type entryType = new BTupleType(List.of(PredefinedTypes.TYPE_STRING,
+                new BArrayType(new BMapType(PredefinedTypes.TYPE_INT))), PredefinedTypes.TYPE_FLOAT, 0, false);
+        String json = "[[\"a\", [{\"x\": 1, \"y\": 2}, {}], 1, 2.5], [\"b\", []]]";
+        BArray entries = (BArray) parse(json, new BArrayType(entryType));
+
+        Assert.assertEquals(entries.size(), 2);
+        BArray first = (BArray) entries.get(0);
+        Assert.assertEquals(first.getType(), entryType);
+        Assert.assertEquals(first.get(2), 1.0);
+        Assert.assertEquals(first.get(3), 2.5);
+        BArray counts = (BArray) first.get(1);
+        Assert.assertEquals(counts.getType().toString(), "map<int>[]");
+        Assert.assertEquals(((BMap<?, ?>) counts.get(0)).get(StringUtils.fromString("y")), 2L);
+        Assert.assertEquals(entries.get(1).toString(), "[\"b\",[]]");
+        Assert.assertTrue(convertedTypes.isEmpty());
+    }
+
+    @Test
+    public void testMembersOfOtherTypesUseConverter() {
+        // [json, anydata, int]
+        Type tupleType = new BTupleType(List.of(PredefinedTypes.TYPE_JSON, PredefinedTypes.TYPE_ANYDATA,
+                PredefinedTypes.TYPE_INT), null, 0, false);
+        BArray tuple = (BArray) parse("[{\"a\": [1, true]}, \"x\", 3]", tupleType);
+        Assert.assertEquals(tuple.get(0).toString(), "{\"a\":[1,true]}");
+        Assert.assertEquals(tuple.get(1).toString(), "x");
+        Assert.assertEquals(tuple.get(2), 3L);
+        Assert.assertEquals(convertedTypes, List.of(PredefinedTypes.TYPE_JSON, PredefinedTypes.TYPE_ANYDATA));
+    }
+
+    @Test
+    public void testNonConvertibleDocumentUsesConverter() {
+        // [int, string...]
+        Type tupleType = new BTupleType(List.of(PredefinedTypes.TYPE_INT), PredefinedTypes.TYPE_STRING, 0, false);
+        String[] documents = {"[]", "[\"a\"]", "[1, 2]", "[1, null]", "{}", "1"};
+        for (String document : documents) {
+            Object result = parse(document, tupleType);
+            Assert.assertTrue(result instanceof BError, document);
+            Assert.assertEquals(convertedTypes, List.of(tupleType), document);
+        }
+    }
+
+    @Test
+    public void testConverterErrorIsNotRetried() {
+        Type mapType = new BMapType(PredefinedTypes.TYPE_JSON);
+        convertedTypes.clear();
+        Object result = TypedJsonParser.parse("{\"a\": {\"b\": 1}}", new TypedescValueImpl(mapType),
+                (value, type) -> {
+                    convertedTypes.add(type);
+                    return ErrorCreator.createError(StringUtils.fromString("conversion failed"));
+                });
+        Assert.assertTrue(result instanceof BError);
+        Assert.assertEquals(((BError) result).getMessage(), "conversion failed");
+        Assert.assertEquals(convertedTypes, List.of(PredefinedTypes.TYPE_JSON));
+    }
+
+    @Test(expectedExceptions = BError.class)
+    public void testInvalidDocument() {
+        parse("[1, ", new BArrayType(PredefinedTypes.TYPE_INT));
+    }
+
+    private Object parse(String json, Type targetType) {
+        convertedTypes.clear();
+        return TypedJsonParser.parse(json, new TypedescValueImpl(targetType), (value, type) -> {
+            convertedTypes.add(type);
+            // Simple stand-in for lang.value:fromJsonWithType, which is enough for the members used in these tests.
+            boolean generic = type == PredefinedTypes.TYPE_JSON || type == PredefinedTypes.TYPE_ANYDATA;
+            return generic ? value : ErrorCreator.createError(
+                    StringUtils.fromString("cannot convert to '" + type + "'"));
+        });
+    }
+}
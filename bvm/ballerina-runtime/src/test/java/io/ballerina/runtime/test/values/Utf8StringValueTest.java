@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.test.values;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BValue;
+import io.ballerina.runtime.internal.values.IteratorValue;
+import io.ballerina.runtime.internal.values.Utf8StringValue;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Test cases for {@link Utf8StringValue}, verified against strings created from the decoded Java string.
+ */
+public class Utf8StringValueTest {
+
+    private static final String[] PARTS = {"plain ascii text ", "caf\u00E9 ", "\u6F22\u5B57", "\uD83D\uDE00",
+            "x\uD83C\uDF89y", "\u0416"};
+
+    @Test
+    public void testRepresentationChoice() {
+        Assert.assertFalse(fromUtf8("short \uD83D\uDE00") instanceof Utf8StringValue);
+        Assert.assertFalse(fromUtf8("latin-1 only caf\u00E9 ".repeat(40)) instanceof Utf8StringValue);
+        Assert.assertFalse(fromUtf8("\u6F22\u5B57\u6F22".repeat(200)) instanceof Utf8StringValue);
+        Assert.assertTrue(fromUtf8("mostly ascii \uD83D\uDE00 ".repeat(40)) instanceof Utf8StringValue);
+    }
+
+    @Test
+    public void testRandomStrings() {
+        Random random = new Random(11);
+        for (int i = 0; i < 300; i++) {
+            StringBuilder builder = new StringBuilder();
+            int parts = random.nextInt(200);
+            for (int j = 0; j < parts; j++) {
+                builder.append(PARTS[random.nextInt(PARTS.length)]);
+            }
+            String expected = builder.toString();
+            BString actual = fromUtf8(expected);
+            assertSameString(actual, expected, random);
+        }
+    }
+
+    @Test
+    public void testInvalidBytes() {
+        byte[][] invalid = {
+                {(byte) 0xC0, (byte) 0xAF},
+                {(byte) 0xE0, (byte) 0x80, (byte) 0xAF},
+                {(byte) 0xED, (byte) 0xA0, (byte) 0x80},
+                {(byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80},
+                {(byte) 0xF5, (byte) 0x80, (byte) 0x80, (byte) 0x80},
+                {'a', (byte) 0xE2, (byte) 0x82},
+                {(byte) 0x80},
+                {'a', (byte) 0xC3, 'b'}
+        };
+        for (byte[] bytes : invalid) {
+            Assert.assertNull(Utf8StringValue.fromUtf8Bytes(bytes));
+            Assert.assertFalse(isValidUtf8(bytes));
+        }
+
+        Random random = new Random(5);
+        for (int i = 0; i < 20000; i++) {
+            byte[] bytes = new byte[1 + random.nextInt(6)];
+            random.nextBytes(bytes);
+            BString str = Utf8StringValue.fromUtf8Bytes(bytes.clone());
+            Assert.assertEquals(str != null, isValidUtf8(bytes));
+            if (str != null) {
+                Assert.assertEquals(str.getValue(), new String(bytes, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    public void testComparisonWithoutDecoding() {
+        String text = "mostly ascii \uD83D\uDE00 ".repeat(40);
+        BString str = fromUtf8(text);
+        Assert.assertTrue(str instanceof Utf8StringValue);
+        Assert.assertEquals(str, StringUtils.fromString(text));
+        Assert.assertNotEquals(str, StringUtils.fromString(text.substring(0, text.length() - 1) + "!"));
+        // Same number of chars, with a surrogate pair in place of two BMP chars
+        Assert.assertNotEquals(str, StringUtils.fromString("\uD83D\uDE00" + text.substring(2)));
+        Assert.assertNotEquals(str, StringUtils.fromString(text + " "));
+        Assert.assertEquals(str.hashCode(), text.hashCode());
+
+        // The decoded string is reused by later reads
+        Assert.assertSame(str.getValue(), str.getValue());
+    }
+
+    private static BString fromUtf8(String str) {
+        return Utf8StringValue.fromUtf8Bytes(str.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean isValidUtf8(byte[] bytes) {
+        try {
+            StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(bytes));
+            return true;
+        } catch (CharacterCodingException e) {
+            return false;
+        }
+    }
+
+    private static void assertSameString(BString actual, String expected, Random random) {
+        BString reference = StringUtils.fromString(expected);
+        Assert.assertEquals(actual.getValue(), expected);
+        Assert.assertEquals(((BValue) actual).stringValue(null), expected);
+        Assert.assertEquals(actual.length(), reference.length());
+        Assert.assertEquals(actual.hashCode(), reference.hashCode());
+        Assert.assertEquals(actual, reference);
+        Assert.assertEquals(reference, actual);
+        Assert.assertEquals(actual, fromUtf8(expected));
+
+        int length = reference.length();
+        for (int i = 0; i < length; i++) {
+            Assert.assertEquals(actual.getCodePoint(i), reference.getCodePoint(i));
+        }
+        if (length > 0) {
+            int begin = random.nextInt(length);
+            int end = begin + random.nextInt(length - begin + 1);
+            Assert.assertEquals(actual.substring(begin, end), reference.substring(begin, end));
+        }
+        BString search = StringUtils.fromString("\uD83C\uDF89y");
+        Assert.assertEquals(actual.indexOf(search, 0), reference.indexOf(search, 0));
+        Assert.assertEquals(actual.lastIndexOf(search, length), reference.lastIndexOf(search, length));
+
+        BString suffix = StringUtils.fromString("-\uD83D\uDE00");
+        Assert.assertEquals(actual.concat(suffix).getValue(), expected + "-\uD83D\uDE00");
+        Assert.assertEquals(suffix.concat(actual).getValue(), "-\uD83D\uDE00" + expected);
+        Assert.assertEquals(suffix.concat(actual).length(), suffix.length() + length);
+
+        IteratorValue actualIterator = actual.getIterator();
+        IteratorValue referenceIterator = reference.getIterator();
+        while (referenceIterator.hasNext()) {
+            Assert.assertEquals(actualIterator.next(), referenceIterator.next());
+        }
+        Assert.assertFalse(actualIterator.hasNext());
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.test.values;
+
+import io.ballerina.runtime.api.utils.XmlUtils;
+import io.ballerina.runtime.api.values.BXml;
+import io.ballerina.runtime.internal.BallerinaXmlSerializer;
+import io.ballerina.runtime.internal.values.XmlItem;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test cases for serializing xml values with {@link BallerinaXmlSerializer}.
+ */
+public class XmlSerializerTest {
+
+    @Test
+    public void testEscaping() {
+        BXml xml = XmlUtils.parse("<a b=\"x&amp;y&lt;&quot;z'\">t&amp;&lt;&gt;\"'<!--c<&--><?p d<&?></a>");
+        Assert.assertEquals(xml.toString(),
+                "<a b=\"x&amp;y&lt;&quot;z'\">t&amp;&lt;&gt;\"'<!--c<&--><?p d<&?></a>");
+    }
+
+    @Test
+    public void testNonAsciiCharacters() {
+        String text = "caf\u00e9 \u20ac \ud83d\ude00";
+        BXml xml = XmlUtils.parse("<a t=\"" + text + "\">" + text + "</a>");
+        String expected = "<a t=\"" + text + "\">" + text + "</a>";
+        Assert.assertEquals(xml.toString(), expected);
+        Assert.assertEquals(serializeToChannel(xml), expected.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testNamespaces() {
+        BXml xml = XmlUtils.parse("<ns:a xmlns:ns=\"http://a\" xmlns=\"http://d\"><b ns:x=\"1\"/><ns:c/>" +
+                "<e xmlns=\"http://e\"/></ns:a>");
+        String expected = "<ns:a xmlns=\"http://d\" xmlns:ns=\"http://a\"><b ns:x=\"1\"></b><ns:c></ns:c>" +
+                "<e xmlns=\"http://e\"></e></ns:a>";
+        Assert.assertEquals(xml.toString(), expected);
+
+        // Attributes in an undeclared namespace get a generated prefix.
+        XmlItem element = (XmlItem) XmlUtils.parse("<a><b/></a>").getItem(0);
+        ((XmlItem) element.getChildrenSeq().getItem(0)).setAttribute("x", "http://x", "", "1");
+        Assert.assertEquals(element.toString(), "<a><b xmlns:ns1=\"http://x\" ns1:x=\"1\"></b></a>");
+    }
+
+    @Test
+    public void testLargeDocumentToChannel() {
+        StringBuilder document = new StringBuilder("<feed>");
+        for (int i = 0; i < 5000; i++) {
+            document.append("<entry id=\"").append(i).append("\">caf\u00e9 &amp; ").append(i).append("</entry>");
+        }
+        document.append("</feed>");
+        BXml xml = XmlUtils.parse(document.toString());
+
+        byte[] expected = xml.toString().getBytes(StandardCharsets.UTF_8);
+        Assert.assertEquals(serializeToChannel(xml), expected);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        xml.serialize(outputStream);
+        Assert.assertEquals(outputStream.toByteArray(), expected);
+    }
+
+    private static byte[] serializeToChannel(BXml xml) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        xml.serialize(Channels.newChannel(outputStream));
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.test.values;
+
+import io.ballerina.runtime.api.types.XmlNodeType;
+import io.ballerina.runtime.api.utils.XmlUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BXml;
+import io.ballerina.runtime.internal.values.IteratorValue;
+import io.ballerina.runtime.internal.values.XmlItem;
+import io.ballerina.runtime.internal.values.XmlSequence;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+/**
+ * Test cases for the lazy and the streaming parse modes of {@link io.ballerina.runtime.internal.XmlTreeBuilder}.
+ */
+public class XmlTreeBuilderTest {
+
+    private static final String DOCUMENT = "<?xml version=\"1.0\"?><!-- head --><ns0:feed xmlns:ns0=\"http://feed\" " +
+            "xmlns=\"http://default\" version=\"2\"><entry id=\"1\" ns0:kind=\"a\">one<![CDATA[ & two]]></entry>" +
+            "<!-- between --><entry id=\"2\"><name>two</name><empty/></entry><?target some data?>" +
+            "<ns0:entry id=\"3\"><nested><deep x=\"y\">text</deep></nested></ns0:entry></ns0:feed><!-- tail -->";
+
+    @Test
+    public void testLazyParseMatchesEagerParse() {
+        BXml eager = XmlUtils.parse(DOCUMENT);
+        BXml lazy = XmlUtils.parseLazily(new StringReader(DOCUMENT));
+        Assert.assertEquals(lazy.size(), eager.size());
+        Assert.assertEquals(lazy.toString(), eager.toString());
+
+        XmlItem eagerFeed = (XmlItem) eager.getItem(1);
+        XmlItem lazyFeed = (XmlItem) lazy.getItem(1);
+        Assert.assertEquals(lazyFeed.getAttributesMap().toString(), eagerFeed.getAttributesMap().toString());
+        Assert.assertEquals(lazyFeed.children("{http://default}entry").size(), 2);
+        Assert.assertEquals(lazyFeed.descendants(List.of("{http://default}deep")).getTextValue(), "text");
+        Assert.assertEquals(lazyFeed.getTextValue(), eagerFeed.getTextValue());
+    }
+
+    @Test
+    public void testLazyChildrenBuiltOnce() {
+        XmlItem feed = (XmlItem) XmlUtils.parseLazily(new StringReader(DOCUMENT)).getItem(1);
+        BXml first = feed.getChildrenSeq().getItem(0);
+        Assert.assertSame(feed.getChildrenSeq().getItem(0), first);
+        Assert.assertEquals(first.getTextValue(), "one & two");
+
+        // Replacing the children of an element which was never expanded must not bring back the parsed children.
+        XmlItem entry = (XmlItem) feed.getChildrenSeq().getItem(2);
+        entry.setChildren(XmlUtils.parse("<replaced/>"));
+        Assert.assertEquals(entry.toString(),
+                "<entry xmlns=\"http://default\" id=\"2\"><replaced></replaced></entry>");
+    }
+
+    @Test
+    public void testStreamingIteration() {
+        StringBuilder document = new StringBuilder("<feed>");
+        int count = 10000;
+        for (int i = 0; i < count; i++) {
+            document.append("<entry id=\"").append(i).append("\"><value>").append(i * 2).append("</value></entry>");
+        }
+        document.append("</feed>");
+
+        XmlSequence entries = (XmlSequence) XmlUtils.parseAsStream(new StringReader(document.toString()), 1);
+        IteratorValue iterator = entries.getIterator();
+        int read = 0;
+        while (iterator.hasNext()) {
+            XmlItem entry = (XmlItem) iterator.next();
+            Assert.assertEquals(entry.getAttribute("id", null).toString(), String.valueOf(read));
+            Assert.assertEquals(entry.getTextValue(), String.valueOf(read * 2));
+            read++;
+        }
+        Assert.assertEquals(read, count);
+
+        // The items were not retained, hence the sequence cannot be read again.
+        assertConsumed(entries::size);
+        assertConsumed(entries::getIterator);
+    }
+
+    @Test
+    public void testStreamingSequenceMaterializedOnRandomAccess() {
+        XmlSequence items = (XmlSequence) XmlUtils.parseAsStream(new StringReader(DOCUMENT), 0);
+        Assert.assertEquals(items.size(), 3);
+        Assert.assertEquals(items.getItem(0).getNodeType(), XmlNodeType.COMMENT);
+        Assert.assertEquals(items.toString(), XmlUtils.parse(DOCUMENT).toString());
+
+        IteratorValue iterator = items.getIterator();
+        int read = 0;
+        while (iterator.hasNext()) {
+            Assert.assertSame(iterator.next(), items.getItem(read++));
+        }
+        Assert.assertEquals(read, 3);
+    }
+
+    @Test
+    public void testStreamingReportsParseErrorsWhenReached() {
+        XmlSequence items = (XmlSequence) XmlUtils.parseAsStream(new StringReader("<a><b/><b></a>"), 1);
+        IteratorValue iterator = items.getIterator();
+        Assert.assertTrue(iterator.hasNext());
+        Assert.assertEquals(((XmlItem) iterator.next()).getElementName(), "b");
+        try {
+            iterator.hasNext();
+            Assert.fail("expected a parse error for the unclosed element");
+        } catch (BError e) {
+            Assert.assertTrue(e.getMessage().startsWith("failed to create xml: "), e.getMessage());
+        }
+    }
+
+    private void assertConsumed(Runnable access) {
+        try {
+            access.run();
+            Assert.fail("expected the streamed sequence to be consumed");
+        } catch (BError e) {
+            Assert.assertEquals(e.getMessage(), "xml sequence has already been consumed by a streaming iteration");
+        }
+    }
+}
@@ -42,4 +42,33 @@ public abstract class CompilationCache {
     public abstract void cachePlatformSpecificLibrary(CompilerBackend compilerBackend,
                                                       String libraryName,
                                                       ByteArrayOutputStream libraryContent);
+
+    /**
+     * Returns the hash of the module contents the cached BIR and platform-specific libraries of the given module
+     * were generated from. The cached artifacts of a build project module are reused only if this hash matches.
+     *
+     * @param moduleName name of the module
+     * @return the module hash if the artifacts of the module were cached with one
+     */
+    public Optional<String> getModuleHash(ModuleName moduleName) {
+        return Optional.empty();
+    }
+
+    /**
+     * Records the hash of the module contents the cached artifacts of the given module were generated from.
+     * This is called after the BIR and the platform-specific libraries of the module are cached.
+     *
+     * @param moduleName name of the module
+     * @param moduleHash hash of the module contents
+     */
+    public void cacheModuleHash(ModuleName moduleName, String moduleHash) {
+    }
+
+    /**
+     * Removes the recorded hash of the given module, before its artifacts are regenerated.
+     *
+     * @param moduleName name of the module
+     */
+    public void removeModuleHash(ModuleName moduleName) {
+    }
 }
@@ -19,10 +19,14 @@ package io.ballerina.projects;
 
 import io.ballerina.projects.PackageResolution.DependencyResolution;
 import io.ballerina.projects.environment.ModuleLoadRequest;
+import io.ballerina.projects.environment.PackageCache;
 import io.ballerina.projects.environment.PackageResolver;
 import io.ballerina.projects.environment.ProjectEnvironment;
 import io.ballerina.projects.internal.CompilerPhaseRunner;
 import io.ballerina.projects.internal.ModuleContextDataHolder;
+import io.ballerina.projects.internal.model.CompilerPluginDescriptor;
+import io.ballerina.projects.internal.plugins.CompilerPlugins;
+import io.ballerina.projects.plugins.CompilerPlugin;
 import io.ballerina.projects.util.ProjectUtils;
 import io.ballerina.tools.diagnostics.Diagnostic;
 import io.ballerina.tools.diagnostics.Location;
@@ -31,6 +35,7 @@ import org.ballerinalang.model.TreeBuilder;
 import org.ballerinalang.model.elements.Flag;
 import org.ballerinalang.model.elements.PackageID;
 import org.wso2.ballerinalang.compiler.BIRPackageSymbolEnter;
+import org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants;
 import org.wso2.ballerinalang.compiler.bir.writer.BIRBinaryWriter;
 import org.wso2.ballerinalang.compiler.diagnostic.BLangDiagnosticLocation;
 import org.wso2.ballerinalang.compiler.semantics.analyzer.SymbolEnter;
@@ -41,12 +46,21 @@ import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.CompilerOptions;
 import org.wso2.ballerinalang.programfile.CompiledBinaryFile;
 import org.wso2.ballerinalang.programfile.PackageFileWriter;
+import org.wso2.ballerinalang.util.RepoUtils;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -55,6 +69,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 import static org.ballerinalang.model.tree.SourceKind.REGULAR_SOURCE;
 import static org.ballerinalang.model.tree.SourceKind.TEST_SOURCE;
@@ -67,6 +82,9 @@ import static org.ballerinalang.model.tree.SourceKind.TEST_SOURCE;
  * @since 2.0.0
  */
 class ModuleContext {
+    private static final String MODULE_HASH_ALGORITHM = "SHA-256";
+    private static final String BALLERINA_VERSION = RepoUtils.getBallerinaVersion();
+
     private final ModuleId moduleId;
     private final ModuleDescriptor moduleDescriptor;
     private final Collection<DocumentId> srcDocIds;
@@ -93,6 +111,7 @@ class ModuleContext {
     private Set<ModuleLoadRequest> allTestModuleLoadRequests = null;
     private final ModuleKind kind;
     private List<Diagnostic> idlPluginDiagnostics;
+    private String moduleHash;
 
     ModuleContext(Project project,
                   ModuleId moduleId,
@@ -319,12 +338,187 @@ class ModuleContext {
         } else if (this.project().kind() == ProjectKind.BUILD_PROJECT
                 && !this.project.buildOptions().enableCache()) {
             moduleCompState = ModuleCompilationState.LOADED_FROM_SOURCES;
+        } else if (this.project().kind() == ProjectKind.BUILD_PROJECT && !isCacheUpToDate()) {
+            moduleCompState = ModuleCompilationState.LOADED_FROM_SOURCES;
         } else {
             moduleCompState = ModuleCompilationState.LOADED_FROM_CACHE;
         }
         return moduleCompState;
     }
 
+    private boolean isCacheUpToDate() {
+        Optional<String> cachedModuleHash = compilationCache.getModuleHash(moduleDescriptor.name());
+        return cachedModuleHash.isPresent() && cachedModuleHash.get().equals(moduleHash());
+    }
+
+    /**
+     * Returns the hash of everything the BIR and the jar of this module are generated from.
+     * <p>
+     * This covers the compiler version, the BIR and generated code versions, the build options which change the
+     * generated code, the descriptor, sources, test sources and resources of this module, the hashes of the modules it
+     * imports, the platform libraries of the package with their contents, and the compiler plugins engaged by the
+     * imported packages. Modules of other packages are pulled by version, hence their descriptors stand for their
+     * contents. The hash of a module of the same package is computed from its sources rather than from its BIR, so
+     * that it is known before that module is compiled.
+     *
+     * @return hash of the contents of this module
+     */
+    String moduleHash() {
+        if (moduleHash != null) {
+            return moduleHash;
+        }
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(MODULE_HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to compute the hash of module: " + moduleName(), e);
+        }
+
+        BuildOptions buildOptions = project.buildOptions();
+        updateDigest(digest, BALLERINA_VERSION);
+        updateDigest(digest, String.valueOf(CompiledBinaryFile.BIRPackageFile.BIR_VERSION));
+        updateDigest(digest, String.valueOf(JvmConstants.CODE_GEN_VERSION));
+        updateDigest(digest, String.valueOf(buildOptions.skipTests()));
+        updateDigest(digest, String.valueOf(buildOptions.observabilityIncluded()));
+        updateDigest(digest, String.valueOf(buildOptions.compilationOptions().withCodeGenerators()));
+        updateDigest(digest, String.valueOf(buildOptions.compilationOptions().withCodeModifiers()));
+        updateDigest(digest, buildOptions.cloud());
+        updateDigest(digest, moduleDescriptor);
+
+        for (DocumentContext documentContext : sortByName(srcDocContextMap.values(), DocumentContext::name)) {
+            updateDigest(digest, documentContext.name());
+            updateDigest(digest, documentContext.content());
+        }
+        for (DocumentContext documentContext : sortByName(testDocContextMap.values(), DocumentContext::name)) {
+            updateDigest(digest, documentContext.name());
+            updateDigest(digest, documentContext.content());
+        }
+        for (ResourceContext resourceContext : sortByName(resourceContextMap.values(), ResourceContext::name)) {
+            updateDigest(digest, resourceContext.name());
+            digest.update(resourceContext.content());
+        }
+        for (ResourceContext resourceContext : sortByName(testResourceContextMap.values(), ResourceContext::name)) {
+            updateDigest(digest, resourceContext.name());
+            digest.update(resourceContext.content());
+        }
+
+        if (moduleDependencies != null) {
+            Package currentPkg = project.currentPackage();
+            List<ModuleDependency> dependencies = new ArrayList<>(moduleDependencies);
+            dependencies.sort(Comparator.comparing(ModuleDependency::descriptor)
+                    .thenComparing(moduleDependency -> moduleDependency.packageDependency().scope()));
+            for (ModuleDependency moduleDependency : dependencies) {
+                ModuleDescriptor dependencyDescriptor = moduleDependency.descriptor();
+                updateDigest(digest, dependencyDescriptor);
+                updateDigest(digest, moduleDependency.packageDependency().scope().name());
+                if (moduleDependency.packageDependency().packageId().equals(currentPkg.packageId())) {
+                    updateDigest(digest, currentPkg.packageContext().moduleContext(dependencyDescriptor.name())
+                            .moduleHash());
+                }
+            }
+            updatePlatformLibrariesDigest(digest, currentPkg);
+            updateCompilerPluginsDigest(digest, currentPkg, dependencies);
+        }
+
+        StringBuilder hash = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hash.append(String.format("%02x", b));
+        }
+        // The hash is final only once the dependencies of the module are resolved
+        if (moduleDependencies == null) {
+            return hash.toString();
+        }
+        moduleHash = hash.toString();
+        return moduleHash;
+    }
+
+    /**
+     * Adds the platform libraries of the given package to the digest. Java interop methods are resolved against these
+     * libraries, hence a library which is replaced changes the generated code even if the sources do not change.
+     */
+    private static void updatePlatformLibrariesDigest(MessageDigest digest, Package pkg) {
+        for (JvmTarget jvmTarget : JvmTarget.values()) {
+            PackageManifest.Platform platform = pkg.manifest().platform(jvmTarget.code());
+            if (platform == null) {
+                continue;
+            }
+            updateDigest(digest, jvmTarget.code());
+            for (Map<String, Object> dependency : platform.dependencies()) {
+                updateDigest(digest, String.valueOf(dependency.get(JarLibrary.KEY_GROUP_ID)));
+                updateDigest(digest, String.valueOf(dependency.get(JarLibrary.KEY_ARTIFACT_ID)));
+                updateDigest(digest, String.valueOf(dependency.get(JarLibrary.KEY_VERSION)));
+                updateDigest(digest, String.valueOf(dependency.get(JarLibrary.KEY_SCOPE)));
+                Object path = dependency.get(JarLibrary.KEY_PATH);
+                if (path != null) {
+                    updateFileDigest(digest, pkg.project().sourceRoot().resolve(path.toString()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the compiler plugins engaged by the given dependencies, and the built-in compiler plugins, to the digest.
+     * Code modifiers and code generators change the code which is compiled, hence so does a change of plugin.
+     */
+    private static void updateCompilerPluginsDigest(MessageDigest digest, Package currentPkg,
+                                                    List<ModuleDependency> dependencies) {
+        PackageCache packageCache = currentPkg.project().projectEnvironmentContext().getService(PackageCache.class);
+        Set<PackageId> visitedPackageIds = new HashSet<>();
+        for (ModuleDependency moduleDependency : dependencies) {
+            PackageId packageId = moduleDependency.packageDependency().packageId();
+            if (packageId.equals(currentPkg.packageId()) || !visitedPackageIds.add(packageId)) {
+                continue;
+            }
+            Optional<CompilerPluginDescriptor> pluginDescriptor = packageCache.getPackage(packageId)
+                    .flatMap(pkg -> pkg.manifest().compilerPluginDescriptor());
+            if (pluginDescriptor.isEmpty()) {
+                continue;
+            }
+            updateDigest(digest, pluginDescriptor.get().plugin().getClassName());
+            for (String pluginDependency : pluginDescriptor.get().getCompilerPluginDependencies()) {
+                updateFileDigest(digest, Paths.get(pluginDependency));
+            }
+        }
+        for (CompilerPlugin compilerPlugin : CompilerPlugins.getBuiltInPlugins()) {
+            updateDigest(digest, compilerPlugin.getClass().getName());
+        }
+    }
+
+    private static void updateFileDigest(MessageDigest digest, Path filePath) {
+        updateDigest(digest, filePath.toString());
+        if (!Files.isRegularFile(filePath)) {
+            // A missing file fails the build later on, and its path already distinguishes it from a present file
+            return;
+        }
+        try {
+            byte[] fileHash = MessageDigest.getInstance(MODULE_HASH_ALGORITHM).digest(Files.readAllBytes(filePath));
+            digest.update(fileHash);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new ProjectException("Failed to compute the hash of file: " + filePath, e);
+        }
+    }
+
+    private static <T> List<T> sortByName(Collection<T> contexts, Function<T, String> nameFunction) {
+        List<T> sortedContexts = new ArrayList<>(contexts);
+        sortedContexts.sort(Comparator.comparing(nameFunction));
+        return sortedContexts;
+    }
+
+    private static void updateDigest(MessageDigest digest, ModuleDescriptor moduleDescriptor) {
+        updateDigest(digest, moduleDescriptor.org().value());
+        updateDigest(digest, moduleDescriptor.packageName().value());
+        updateDigest(digest, moduleDescriptor.version().toString());
+        updateDigest(digest, moduleDescriptor.name().toString());
+    }
+
+    private static void updateDigest(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        // Prefix the length, so that the boundaries between the values are part of the hash
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
     void setCompilationState(ModuleCompilationState moduleCompState) {
         this.moduleCompState = moduleCompState;
     }
@@ -491,6 +685,13 @@ class ModuleContext {
         // Serialize the BIR  model
         birContent = generateBIR(moduleContext, compilerContext);
 
+        // The artifacts cached so far no longer belong to the recorded hash
+        boolean cacheModuleHash = moduleContext.project.kind() == ProjectKind.BUILD_PROJECT
+                && moduleContext.project().buildOptions().enableCache();
+        if (cacheModuleHash) {
+            moduleContext.compilationCache.removeModuleHash(moduleContext.moduleName());
+        }
+
         // Skip the code generation phase if there are diagnostics
         if (Diagnostics.hasErrors(moduleContext.diagnostics())) {
             return;
@@ -507,6 +708,11 @@ class ModuleContext {
         // This code will execute only if JAR caching is successful
         // TODO: check the filesystem cache and delete if the cache is incomplete (if BIR or JAR is missing)
         moduleContext.compilationCache.cacheBir(moduleContext.moduleName(), birContent);
+
+        // Record the hash last, so that it is only found along with both the BIR and the jar it was generated from
+        if (cacheModuleHash && !Diagnostics.hasErrors(moduleContext.diagnostics())) {
+            moduleContext.compilationCache.cacheModuleHash(moduleContext.moduleName(), moduleContext.moduleHash());
+        }
     }
 
     private static boolean shouldGenerateBir(ModuleContext moduleContext, CompilerContext compilerContext) {
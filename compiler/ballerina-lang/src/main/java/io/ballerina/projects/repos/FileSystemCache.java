@@ -32,6 +32,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Optional;
 
 /**
@@ -78,19 +79,67 @@ public class FileSystemCache extends CompilationCache {
     @Override
     public void cacheBir(ModuleName moduleName, ByteArrayOutputStream birContent) {
         Path birFilePath = getBirPath().resolve(moduleName.toString() + ProjectConstants.BLANG_COMPILED_PKG_BIR_EXT);
-        if (!Files.exists(birFilePath)) {
+        // A BIR which is cached already is replaced, since a module is compiled again only if its sources changed
+        try {
+            File tempBirFile = birPath.resolve(".tmp").toFile();
+            // TODO Can we improve this logic
+            FileUtils.writeByteArrayToFile(tempBirFile, birContent.toByteArray());
+            Files.move(tempBirFile.toPath(), birFilePath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            // TODO proper error handling
+            throw new RuntimeException("Failed to cache the bir of module: " + moduleName, e);
+        }
+    }
+
+    @Override
+    public Optional<String> getModuleHash(ModuleName moduleName) {
+        Path hashFilePath = getModuleHashPath(moduleName);
+        if (!Files.exists(hashFilePath)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(Files.readString(hashFilePath));
+        } catch (IOException e) {
+            // An unreadable hash only means that the module is compiled again
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void cacheModuleHash(ModuleName moduleName, String moduleHash) {
+        Path hashFilePath = getModuleHashPath(moduleName);
+        try {
+            Files.createDirectories(hashFilePath.getParent());
+            Files.writeString(hashFilePath, moduleHash);
+        } catch (IOException e) {
+            // Without a hash, the module is compiled again instead of being loaded from the cache
+            clearModuleHash(hashFilePath);
+        }
+    }
+
+    @Override
+    public void removeModuleHash(ModuleName moduleName) {
+        clearModuleHash(getModuleHashPath(moduleName));
+    }
+
+    private void clearModuleHash(Path hashFilePath) {
+        try {
+            Files.deleteIfExists(hashFilePath);
+        } catch (IOException e) {
+            // An empty hash matches no module, hence the module is compiled again as well
             try {
-                File tempBirFile = birPath.resolve(".tmp").toFile();
-                // TODO Can we improve this logic
-                FileUtils.writeByteArrayToFile(tempBirFile, birContent.toByteArray());
-                FileUtils.moveFile(tempBirFile, birFilePath.toFile());
-            } catch (IOException e) {
-                // TODO proper error handling
-                throw new RuntimeException("Failed to cache the bir of module: " + moduleName, e);
+                Files.write(hashFilePath, new byte[0]);
+            } catch (IOException ignored) {
+                // The hash can neither be removed nor emptied, so there is nothing more to do about it
             }
         }
     }
 
+    private Path getModuleHashPath(ModuleName moduleName) {
+        return getBirPath().resolve(moduleName.toString() + ProjectConstants.BLANG_COMPILED_PKG_HASH_EXT);
+    }
+
     @Override
     public Optional<Path> getPlatformSpecificLibrary(CompilerBackend compilerBackend, String libraryName) {
         String libraryFileName = libraryName + compilerBackend.libraryFileExtension();
@@ -78,6 +78,7 @@ public class ProjectConstants {
 
     public static final String BLANG_COMPILED_PKG_BINARY_EXT = ".bala";
     public static final String BLANG_COMPILED_PKG_BIR_EXT = ".bir";
+    public static final String BLANG_COMPILED_PKG_HASH_EXT = ".hash";
     public static final String BLANG_COMPILED_JAR_EXT = ".jar";
     public static final String RESOURCE_DIR_NAME = "resources";
     public static final String IDL_CACHE_FILE = "idl-plugin-cache.json";
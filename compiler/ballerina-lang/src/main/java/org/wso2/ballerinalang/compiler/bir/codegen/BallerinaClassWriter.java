@@ -20,15 +20,33 @@ package org.wso2.ballerinalang.compiler.bir.codegen;
 
 import org.objectweb.asm.ClassWriter;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Class Writer for generating ballerina classes.
  * <p>
+ * Stack map frames are not emitted by the code generator. They are computed by ASM, which looks up the common super
+ * classes of the types it merges through this writer, hence the lookups are cached.
+ * <p>
  * since 1.2.0
  */
 public class BallerinaClassWriter extends ClassWriter {
 
     private static final String OBJECT_CLASS = "java/lang/Object";
 
+    /**
+     * Classes resolved while computing common super classes, shared by all the writers. Types which cannot be
+     * resolved are not shared, since those are mostly the generated classes of the module being compiled.
+     */
+    private static final Map<String, Class<?>> RESOLVED_CLASSES = new ConcurrentHashMap<>();
+
+    private final Map<String, String> commonSuperClasses = new HashMap<>();
+    private final Set<String> unresolvedTypes = new HashSet<>();
+
     public BallerinaClassWriter(int flags) {
         super(flags);
     }
@@ -37,23 +55,29 @@ public class BallerinaClassWriter extends ClassWriter {
      * Returns the common super type of the two given types. If any of the classes are
      * not found, assume its a generated or to-be generated class and return
      * {@link Object} as the super type.
+     * <p>
+     * Frames of the methods of a class keep merging the same pairs of types, hence the results are cached per
+     * writer, and the class lookups, which fail with an exception for the generated classes, are cached as well.
      */
     @Override
     protected String getCommonSuperClass(String type1, String type2) {
+        String key = type1 + ' ' + type2;
+        String commonSuperClass = commonSuperClasses.get(key);
+        if (commonSuperClass == null) {
+            commonSuperClass = findCommonSuperClass(type1, type2);
+            commonSuperClasses.put(key, commonSuperClass);
+        }
+        return commonSuperClass;
+    }
 
-        ClassLoader classLoader = getClassLoader();
-        Class<?> class1;
-
-        try {
-            class1 = Class.forName(type1.replace('/', '.'), false, classLoader);
-        } catch (Exception e) {
+    private String findCommonSuperClass(String type1, String type2) {
+        Class<?> class1 = resolveClass(type1);
+        if (class1 == null) {
             return OBJECT_CLASS;
         }
 
-        Class<?> class2;
-        try {
-            class2 = Class.forName(type2.replace('/', '.'), false, classLoader);
-        } catch (Exception e) {
+        Class<?> class2 = resolveClass(type2);
+        if (class2 == null) {
             return OBJECT_CLASS;
         }
 
@@ -72,4 +96,20 @@ public class BallerinaClassWriter extends ClassWriter {
 
         return class1.getName().replace('.', '/');
     }
+
+    private Class<?> resolveClass(String type) {
+        Class<?> clazz = RESOLVED_CLASSES.get(type);
+        if (clazz != null || unresolvedTypes.contains(type)) {
+            return clazz;
+        }
+
+        try {
+            clazz = Class.forName(type.replace('/', '.'), false, getClassLoader());
+        } catch (Exception e) {
+            unresolvedTypes.add(type);
+            return null;
+        }
+        RESOLVED_CLASSES.put(type, clazz);
+        return clazz;
+    }
 }
@@ -31,6 +31,11 @@ import static org.wso2.ballerinalang.compiler.util.Names.DEFAULT_VERSION;
  */
 public class JvmConstants {
 
+    // Version of the generated classes, which is a part of the module hash of cached jars. It is bumped whenever
+    // classes generated by an earlier build of the compiler can no longer be loaded by the runtime, e.g. when a
+    // runtime class which generated code extends or calls into changes, so that cached jars are generated again.
+    public static final int CODE_GEN_VERSION = 1;
+
     // jvm values public API classes
     public static final String B_XML_QNAME = "io/ballerina/runtime/api/values/BXmlQName";
     public static final String B_FUNCTION_POINTER = "io/ballerina/runtime/api/values/BFunctionPointer";
@@ -23,6 +23,7 @@ import org.ballerinalang.compiler.BLangCompilerException;
 import org.ballerinalang.model.elements.PackageID;
 import org.ballerinalang.model.symbols.SymbolKind;
 import org.ballerinalang.util.diagnostic.DiagnosticErrorCode;
+import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassTooLargeException;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.FieldVisitor;
@@ -74,14 +75,18 @@ import org.wso2.ballerinalang.util.Flags;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
 
 import static org.ballerinalang.model.symbols.SymbolOrigin.VIRTUAL;
 import static org.objectweb.asm.ClassWriter.COMPUTE_FRAMES;
+import static org.objectweb.asm.ClassWriter.COMPUTE_MAXS;
 import static org.objectweb.asm.Opcodes.ACC_FINAL;
 import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
 import static org.objectweb.asm.Opcodes.ACC_STATIC;
@@ -130,6 +135,10 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.interop.ExternalMethod
  */
 public class JvmPackageGen {
 
+    // Minimum number of classes in a module for the stack map frames to be computed in parallel. For fewer classes,
+    // the second pass costs more than the parallelism saves.
+    private static final int MIN_CLASSES_FOR_PARALLEL_FRAMES = 4;
+
     private static Unifier unifier;
 
     public final SymbolTable symbolTable;
@@ -396,10 +405,17 @@ public class JvmPackageGen {
                                        JvmTypeGen jvmTypeGen, JvmCastGen jvmCastGen, JvmConstantsGen jvmConstantsGen,
                                        Map<String, JavaClass> jvmClassMapping, List<PackageID> moduleImports,
                                        boolean serviceEPAvailable, TypeHashVisitor typeHashVisitor) {
+        // The classes share the constant, type and cast generators, hence are generated one after the other. When
+        // the frames can be computed in parallel, the classes are generated without them and the frames are computed
+        // afterwards, for all the classes at once. Otherwise, the frames are computed while generating each class,
+        // since a second pass would only add the cost of re-reading the classes.
+        boolean computeFramesInParallel = jvmClassMapping.size() >= MIN_CLASSES_FOR_PARALLEL_FRAMES &&
+                isParallelismAvailable();
+        Map<String, byte[]> moduleClasses = new LinkedHashMap<>();
         jvmClassMapping.entrySet().forEach(entry -> {
             String moduleClass = entry.getKey();
             JavaClass javaClass = entry.getValue();
-            ClassWriter cw = new BallerinaClassWriter(COMPUTE_FRAMES);
+            ClassWriter cw = new BallerinaClassWriter(computeFramesInParallel ? COMPUTE_MAXS : COMPUTE_FRAMES);
             AsyncDataCollector asyncDataCollector = new AsyncDataCollector(moduleClass);
             boolean isInitClass = Objects.equals(moduleClass, moduleInitClass);
             LambdaGen lambdaGen = new LambdaGen(this, jvmCastGen);
@@ -458,8 +474,64 @@ public class JvmPackageGen {
             cw.visitEnd();
 
             byte[] bytes = getBytes(cw, module);
-            jarEntries.put(moduleClass + ".class", bytes);
+            if (computeFramesInParallel) {
+                moduleClasses.put(moduleClass, bytes);
+            } else {
+                jarEntries.put(moduleClass + ".class", bytes);
+            }
         });
+        if (computeFramesInParallel) {
+            computeFrames(moduleClasses, jarEntries, module);
+        }
+    }
+
+    /**
+     * Checks whether a parallel stream started from the current thread can run on more than one thread. That is the
+     * pool of the calling fork-join task if there is one, or else the common pool, which is only used with more than
+     * one processor.
+     *
+     * @return true if the frames of the classes can be computed in parallel
+     */
+    private static boolean isParallelismAvailable() {
+        if (ForkJoinTask.inForkJoinPool()) {
+            return ForkJoinTask.getPool().getParallelism() > 1;
+        }
+        return Runtime.getRuntime().availableProcessors() > 1;
+    }
+
+    /**
+     * Adds stack map frames to the given classes, which are generated without them, and adds the classes to the jar
+     * entries.
+     * <p>
+     * Computing the frames of a class only depends on the bytes of the class, hence the classes are processed in
+     * parallel. The resulting bytes do not depend on the order in which the classes are processed, nor on the number of
+     * threads which process them. They are not the same as the bytes of a class which is generated with the frames in
+     * the first place, since re-reading a class rebuilds its constant pool in the order the reader visits the class.
+     * Instructions and frames are the same, only the constant pool indexes differ.
+     *
+     * @param classes    class bytes without stack map frames, by class name
+     * @param jarEntries jar entries to add the classes to
+     * @param module     module the classes belong to
+     */
+    private void computeFrames(Map<String, byte[]> classes, Map<String, byte[]> jarEntries, BIRPackage module) {
+        List<String> classNames = new ArrayList<>(classes.keySet());
+        ClassWriter[] classWriters = new ClassWriter[classNames.size()];
+        IntStream.range(0, classWriters.length).parallel().forEach(i -> {
+            byte[] bytes = classes.get(classNames.get(i));
+            // Classes which failed to generate are already reported.
+            if (bytes.length != 0) {
+                ClassWriter cw = new BallerinaClassWriter(COMPUTE_FRAMES);
+                new ClassReader(bytes).accept(cw, 0);
+                classWriters[i] = cw;
+            }
+        });
+
+        // Errors are logged from this thread, in the order of the classes.
+        for (int i = 0; i < classWriters.length; i++) {
+            String className = classNames.get(i);
+            byte[] bytes = classWriters[i] == null ? classes.get(className) : getBytes(classWriters[i], module);
+            jarEntries.put(className + ".class", bytes);
+        }
     }
 
     private List<PackageID> flattenModuleImports(Set<PackageID> dependentModuleArray) {
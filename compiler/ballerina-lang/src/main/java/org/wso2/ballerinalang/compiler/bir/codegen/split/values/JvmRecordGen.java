@@ -62,7 +62,6 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.JvmCodeGenUtil.castToJ
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.ARRAY_LIST;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.B_STRING_VALUE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.JVM_INIT_METHOD;
-import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LINKED_HASH_MAP;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LINKED_HASH_SET;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LIST;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.MAP_SIMPLE_ENTRY;
@@ -369,7 +368,7 @@ public class JvmRecordGen {
         // Add all from super.entrySet() to the current entry set.
         mv.visitVarInsn(ALOAD, entrySetVarIndex);
         mv.visitVarInsn(ALOAD, 0);
-        mv.visitMethodInsn(INVOKESPECIAL, LINKED_HASH_MAP, "entrySet", RECORD_SET, false);
+        mv.visitMethodInsn(INVOKESPECIAL, MAP_VALUE_IMPL, "entrySet", RECORD_SET, false);
         mv.visitMethodInsn(INVOKEINTERFACE, SET, "addAll", ADD_COLLECTION, true);
         mv.visitInsn(POP);
 
@@ -781,7 +780,7 @@ public class JvmRecordGen {
         }
         mv.visitVarInsn(ALOAD, keysVarIndex);
         mv.visitVarInsn(ALOAD, selfIndex); // this
-        mv.visitMethodInsn(INVOKESPECIAL, LINKED_HASH_MAP, "keySet", RECORD_SET, false);
+        mv.visitMethodInsn(INVOKESPECIAL, MAP_VALUE_IMPL, "keySet", RECORD_SET, false);
         mv.visitMethodInsn(INVOKEINTERFACE, SET, "addAll", ADD_COLLECTION, true);
         mv.visitInsn(POP);
 
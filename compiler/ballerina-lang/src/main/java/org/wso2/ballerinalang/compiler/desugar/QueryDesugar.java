@@ -17,12 +17,14 @@
 package org.wso2.ballerinalang.compiler.desugar;
 
 import io.ballerina.tools.diagnostics.Location;
+import org.apache.commons.lang3.StringEscapeUtils;
 import org.ballerinalang.model.TreeBuilder;
 import org.ballerinalang.model.clauses.OrderKeyNode;
 import org.ballerinalang.model.elements.Flag;
 import org.ballerinalang.model.tree.IdentifierNode;
 import org.ballerinalang.model.tree.NodeKind;
 import org.ballerinalang.model.tree.OperatorKind;
+import org.ballerinalang.model.tree.expressions.LiteralNode;
 import org.ballerinalang.model.tree.statements.VariableDefinitionNode;
 import org.ballerinalang.model.tree.types.TypeNode;
 import org.ballerinalang.model.types.TypeKind;
@@ -43,6 +45,7 @@ import org.wso2.ballerinalang.compiler.semantics.model.types.BMapType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BRecordType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BStreamType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BStructureType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BTableType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BTypedescType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BUnionType;
@@ -192,6 +195,7 @@ import static org.ballerinalang.model.symbols.SymbolOrigin.VIRTUAL;
  */
 public class QueryDesugar extends BLangNodeVisitor {
     private static final Name QUERY_CREATE_PIPELINE_FUNCTION = new Name("createPipeline");
+    private static final Name QUERY_LOOKUP_TABLE_ROWS_FUNCTION = new Name("lookupTableRows");
     private static final Name QUERY_CREATE_INPUT_FUNCTION = new Name("createInputFunction");
     private static final Name QUERY_CREATE_NESTED_FROM_FUNCTION = new Name("createNestedFromFunction");
     private static final Name QUERY_CREATE_LET_FUNCTION = new Name("createLetFunction");
@@ -199,6 +203,7 @@ public class QueryDesugar extends BLangNodeVisitor {
     private static final Name QUERY_CREATE_OUTER_JOIN_FUNCTION = new Name("createOuterJoinFunction");
     private static final Name QUERY_CREATE_FILTER_FUNCTION = new Name("createFilterFunction");
     private static final Name QUERY_CREATE_ORDER_BY_FUNCTION = new Name("createOrderByFunction");
+    private static final Name QUERY_CREATE_TOP_K_ORDER_BY_FUNCTION = new Name("createTopKOrderByFunction");
     private static final Name QUERY_CREATE_SELECT_FUNCTION = new Name("createSelectFunction");
     private static final Name QUERY_CREATE_DO_FUNCTION = new Name("createDoFunction");
     private static final Name QUERY_CREATE_LIMIT_FUNCTION = new Name("createLimitFunction");
@@ -266,6 +271,10 @@ public class QueryDesugar extends BLangNodeVisitor {
         List<BLangNode> clauses = queryExpr.getQueryClauses();
         Location pos = clauses.get(0).pos;
         BLangBlockStmt queryBlock = ASTBuilderUtil.createBlockStmt(pos);
+        if (!queryExpr.isStream) {
+            // A stream is consumed lazily, so the rows of a table can only be looked up for the other queries.
+            addTableRowLookup(clauses);
+        }
         BLangVariableReference streamRef = buildStream(clauses, queryExpr.getBType(), env,
                 queryBlock, stmtsToBePropagated);
         BLangExpression result = streamRef;
@@ -512,7 +521,7 @@ public class QueryDesugar extends BLangNodeVisitor {
                     break;
                 case ORDER_BY:
                     BLangVariableReference orderFunc = addOrderByFunction(block, (BLangOrderByClause) clause,
-                            stmtsToBePropagated);
+                            getConstantLimit(clauses, clause), stmtsToBePropagated);
                     addStreamFunction(block, initPipeline, orderFunc);
                     break;
                 case SELECT:
@@ -538,6 +547,92 @@ public class QueryDesugar extends BLangNodeVisitor {
     }
 
     // ---- Util methods to create the stream pipeline. ---- //
+    /**
+     * Replace the collection of a query over a table with the rows looked up by the value of a field, when the
+     * clause after the from clause is a where clause comparing a field of the row with an int, string or boolean
+     * literal, and the table has an index for the field. The where clause still filters the rows looked up.
+     * from var person in personTable where person.name == "Anne" ...
+     * from var person in lookupTableRows(personTable, "name", "Anne") where person.name == "Anne" ...
+     *
+     * @param clauses list of query clauses.
+     */
+    private void addTableRowLookup(List<BLangNode> clauses) {
+        if (clauses.size() < 2 || clauses.get(1).getKind() != NodeKind.WHERE) {
+            return;
+        }
+        BLangFromClause fromClause = (BLangFromClause) clauses.get(0);
+        BLangVariable variable = (BLangVariable) fromClause.variableDefinitionNode.getVariable();
+        BType collectionType = Types.getReferredType(
+                Types.getEffectiveType(Types.getReferredType(fromClause.collection.getBType())));
+        if (collectionType.tag != TypeTags.TABLE || variable.getKind() != NodeKind.VARIABLE) {
+            return;
+        }
+        BLangExpression whereExpr = ((BLangWhereClause) clauses.get(1)).expression;
+        if (whereExpr.getKind() != NodeKind.BINARY_EXPR || ((BLangBinaryExpr) whereExpr).opKind != OperatorKind.EQUAL) {
+            return;
+        }
+        BLangExpression fieldExpr = ((BLangBinaryExpr) whereExpr).lhsExpr;
+        BLangExpression valueExpr = ((BLangBinaryExpr) whereExpr).rhsExpr;
+        if (valueExpr.getKind() == NodeKind.FIELD_BASED_ACCESS_EXPR) {
+            fieldExpr = valueExpr;
+            valueExpr = ((BLangBinaryExpr) whereExpr).lhsExpr;
+        }
+        if (fieldExpr.getKind() != NodeKind.FIELD_BASED_ACCESS_EXPR ||
+                (valueExpr.getKind() != NodeKind.LITERAL && valueExpr.getKind() != NodeKind.NUMERIC_LITERAL)) {
+            return;
+        }
+        BLangFieldBasedAccess fieldAccess = (BLangFieldBasedAccess) fieldExpr;
+        if (fieldAccess.optionalFieldAccess || fieldAccess.expr.getKind() != NodeKind.SIMPLE_VARIABLE_REF ||
+                ((BLangSimpleVarRef) fieldAccess.expr).symbol != ((BLangSimpleVariable) variable).symbol) {
+            return;
+        }
+        String field = StringEscapeUtils.unescapeJava(fieldAccess.field.value);
+        if (!isIndexedTableField((BTableType) collectionType, field)) {
+            // Without an index, the table would be scanned for the rows, which are then filtered again.
+            return;
+        }
+        BLangLiteral literal = (BLangLiteral) valueExpr;
+        int literalTypeTag = Types.getReferredType(literal.getBType()).tag;
+        if (literalTypeTag != TypeTags.INT && literalTypeTag != TypeTags.STRING &&
+                literalTypeTag != TypeTags.BOOLEAN) {
+            return;
+        }
+        Location pos = fromClause.collection.pos;
+        BLangLiteral fieldName = ASTBuilderUtil.createLiteral(pos, symTable.stringType, field);
+        BLangLiteral value = ASTBuilderUtil.createLiteral(pos, literal.getBType(), literal.value);
+        fromClause.collection = createQueryLibInvocation(QUERY_LOOKUP_TABLE_ROWS_FUNCTION,
+                Lists.of(fromClause.collection, fieldName,
+                        desugar.addConversionExprIfRequired(value, symTable.anyOrErrorType)), pos);
+    }
+
+    /**
+     * Checks whether a table of the given type has an index for the given field. That is the case when the field is
+     * the only key field of the table, or when the value of the field can never change: the table or its rows are
+     * readonly, or the field is readonly in the row type.
+     *
+     * @param tableType type of the table
+     * @param field     name of the field
+     * @return true if rows of the table can be looked up by the field through an index
+     */
+    private boolean isIndexedTableField(BTableType tableType, String field) {
+        if (tableType.fieldNameList.size() == 1 && tableType.fieldNameList.get(0).equals(field)) {
+            return true;
+        }
+        if (Symbols.isFlagOn(tableType.flags, Flags.READONLY)) {
+            return true;
+        }
+        BType constraintType = Types.getReferredType(tableType.constraint);
+        if (Symbols.isFlagOn(constraintType.flags, Flags.READONLY)) {
+            return true;
+        }
+        constraintType = Types.getReferredType(Types.getEffectiveType(constraintType));
+        if (constraintType.tag != TypeTags.RECORD) {
+            return false;
+        }
+        BField bField = ((BRecordType) constraintType).fields.get(field);
+        return bField != null && Symbols.isFlagOn(bField.symbol.flags, Flags.READONLY);
+    }
+
     /**
      * Desugar fromClause/joinClause to below and return a reference to created join _StreamPipeline.
      * _StreamPipeline pipeline = createPipeline(collection);
@@ -756,13 +851,15 @@ public class QueryDesugar extends BLangNodeVisitor {
      * _StreamFunction orderByFunc = createOrderByFunction(function(_Frame frame) {
      * _Frame frame = {"orderKey": frame["x2"] + frame["y2"], $orderDirection$: true + false"};
      * });
+     * When only the first `topK` ordered frames are needed, `createTopKOrderByFunction(lambda, topK)` is used instead.
      *
      * @param blockStmt           parent block to write to.
      * @param orderByClause       to be desugared.
+     * @param topK                number of ordered frames needed, or -1 if all of them are needed.
      * @param stmtsToBePropagated list of statements to be propagated.
      * @return variableReference to created orderBy _StreamFunction.
      */
-    BLangVariableReference addOrderByFunction(BLangBlockStmt blockStmt, BLangOrderByClause orderByClause,
+    BLangVariableReference addOrderByFunction(BLangBlockStmt blockStmt, BLangOrderByClause orderByClause, long topK,
                                               List<BLangStatement> stmtsToBePropagated) {
         Location pos = orderByClause.pos;
         BLangLambdaFunction lambda = createActionLambda(pos);
@@ -796,9 +893,40 @@ public class QueryDesugar extends BLangNodeVisitor {
         BLangStatement orderDirectionStmt = getAddToFrameStmt(pos, frame, "$orderDirection$", sortModesArrayExpr);
         body.stmts.add(orderDirectionStmt);
         lambda.accept(this);
+        if (topK > 0) {
+            BLangLiteral topKLiteral = ASTBuilderUtil.createLiteral(pos, symTable.intType, topK);
+            return getStreamFunctionVariableRef(blockStmt, QUERY_CREATE_TOP_K_ORDER_BY_FUNCTION,
+                    Lists.of(lambda, topKLiteral), pos);
+        }
         return getStreamFunctionVariableRef(blockStmt, QUERY_CREATE_ORDER_BY_FUNCTION, Lists.of(lambda), pos);
     }
 
+    /**
+     * Returns the value of the constant limit clause that directly follows the given orderByClause, if any. Since the
+     * limit is applied to the ordered frames, only that many frames need to be kept while ordering.
+     *
+     * @param clauses       list of query clauses.
+     * @param orderByClause orderByClause in the list of clauses.
+     * @return limit value, or -1 if the orderByClause is not directly followed by a positive constant limit.
+     */
+    private long getConstantLimit(List<BLangNode> clauses, BLangNode orderByClause) {
+        int limitIndex = clauses.indexOf(orderByClause) + 1;
+        if (limitIndex >= clauses.size() || clauses.get(limitIndex).getKind() != NodeKind.LIMIT) {
+            return -1;
+        }
+
+        BLangExpression limitExpr = ((BLangLimitClause) clauses.get(limitIndex)).expression;
+        if (!(limitExpr instanceof LiteralNode)) {
+            return -1;
+        }
+
+        Object limit = ((LiteralNode) limitExpr).getValue();
+        if (limit instanceof Long && (Long) limit > 0 && (Long) limit <= Integer.MAX_VALUE) {
+            return (Long) limit;
+        }
+        return -1;
+    }
+
     /**
      * Desugar selectClause to below and return a reference to created select _StreamFunction.
      * _StreamFunction selectFunc = createSelectFunction(function(_Frame frame) returns _Frame|error? {
@@ -64,6 +64,11 @@ function createOrderByFunction(function(_Frame _frame) returns error? orderFunc)
     return new _OrderByFunction(orderFunc);
 }
 
+function createTopKOrderByFunction(function(_Frame _frame) returns error? orderFunc, int topK)
+        returns _StreamFunction {
+    return new _OrderByFunction(orderFunc, topK);
+}
+
 function createSelectFunction(function(_Frame _frame) returns _Frame|error? selectFunc)
         returns _StreamFunction {
     return new _SelectFunction(selectFunc);
@@ -242,6 +247,36 @@ function createImmutableValue(any mutableValue) = @java:Method {
     name: "createImmutableValue"
 } external;
 
+function lookupTableRows(table<map<Type>> tbl, string fieldName, Type value) returns Type[] = @java:Method {
+    'class: "org.ballerinalang.langlib.query.TableLookup",
+    name: "lookupTableRows"
+} external;
+
+function createFrameMultiMap() returns handle = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FrameMultiMap",
+    name: "createFrameMultiMap"
+} external;
+
+function putFrame(handle frameMultiMap, any key, _Frame frame) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FrameMultiMap",
+    name: "putFrame"
+} external;
+
+function getFrameListId(handle frameMultiMap, any key) returns int = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FrameMultiMap",
+    name: "getFrameListId"
+} external;
+
+function getFrameAt(handle frameMultiMap, int frameListId, int index) returns _Frame? = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FrameMultiMap",
+    name: "getFrame"
+} external;
+
+function mergeFrames(_Frame lhsFrame, _Frame rhsFrame) returns _Frame = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FrameMultiMap",
+    name: "mergeFrames"
+} external;
+
 # Prepare `error` as a distinct `Error`.
 #
 # + err - `error` instance
@@ -106,6 +106,16 @@ class _StreamPipeline {
 
     function addStreamFunction(_StreamFunction streamFunction) {
         _StreamFunction existingFunc = self.streamFunction;
+        if (existingFunc is _FusedFunction && existingFunc.fuse(streamFunction)) {
+            return;
+        }
+        // Only runs of two or more where, let and select stages are fused, a lone stage is kept as it is.
+        _FusedFunction fusedFunc = new;
+        if (fusedFunc.fuse(existingFunc) && fusedFunc.fuse(streamFunction)) {
+            fusedFunc.prevFunc = existingFunc.prevFunc;
+            self.streamFunction = fusedFunc;
+            return;
+        }
         streamFunction.prevFunc = existingFunc;
         self.streamFunction = streamFunction;
     }
@@ -340,7 +350,8 @@ class _InnerJoinFunction {
     function (_Frame _frame) returns any|error lhsKeyFunction;
     function (_Frame _frame) returns any|error rhsKeyFunction;
     _FrameMultiMap rhsFramesMap = new;
-    _Frame[]? rhsCandidates;
+    int rhsCandidates = -1;
+    int rhsCandidateIndex = 0;
     _Frame|error? lhsFrame;
     error? failureAtJoin = ();
 
@@ -350,23 +361,9 @@ class _InnerJoinFunction {
             function (_Frame _frame) returns any|error rhsKeyFunction) {
         self.lhsKeyFunction = lhsKeyFunction;
         self.rhsKeyFunction = rhsKeyFunction;
-        self.rhsCandidates = ();
         self.prevFunc = ();
         self.lhsFrame = ();
-        _Frame|error? f = pipelineToJoin.next();
-        while (f is _Frame) {
-            any|error rhsKeyFuncResult = rhsKeyFunction(f);
-            if rhsKeyFuncResult is error {
-                self.failureAtJoin = prepareQueryBodyError(rhsKeyFuncResult);
-                return;
-            } else {
-                self.rhsFramesMap.put(rhsKeyFuncResult.toString(), f);
-                f = pipelineToJoin.next();
-            }
-        }
-        if (f is error) {
-            self.failureAtJoin = f;
-        }
+        self.failureAtJoin = self.rhsFramesMap.putAll(pipelineToJoin, rhsKeyFunction);
     }
 
     # Desugared function to do;
@@ -377,52 +374,45 @@ class _InnerJoinFunction {
         function (_Frame _frame) returns any|error lhsKF = self.lhsKeyFunction;
         _StreamFunction pf = <_StreamFunction>self.prevFunc;
         _FrameMultiMap rhsFramesMap = self.rhsFramesMap;
-        _Frame[]? rhsCandidates = self.rhsCandidates;
-        _Frame|error? lhsFrame = self.lhsFrame;
         error? failureAtJoin = self.failureAtJoin;
-        string lhsKey = "";
 
         if(failureAtJoin is error) {
             fail failureAtJoin;
         }
 
-        if (lhsFrame is ()) {
-            lhsFrame = pf.process();
-            self.lhsFrame = lhsFrame;
-        }
-
-        if (lhsFrame is _Frame) {
-            any|error lhsKFRes = lhsKF(lhsFrame);
-            if (lhsKFRes is error) {
-                return prepareQueryBodyError(lhsKFRes);
+        while true {
+            _Frame|error? lhsFrame = self.lhsFrame;
+            if (lhsFrame is ()) {
+                lhsFrame = pf.process();
+                if (lhsFrame is _Frame) {
+                    any|error lhsKFRes = lhsKF(lhsFrame);
+                    if (lhsKFRes is error) {
+                        return prepareQueryBodyError(lhsKFRes);
+                    }
+                    self.rhsCandidates = rhsFramesMap.get(lhsKFRes);
+                    self.rhsCandidateIndex = 0;
+                }
+                self.lhsFrame = lhsFrame;
             }
-            lhsKey = (lhsKFRes).toString();
-            if (rhsCandidates is ()) {
-                rhsCandidates = rhsFramesMap.get(lhsKey);
-                self.rhsCandidates = rhsCandidates;
+
+            if (lhsFrame !is _Frame) {
+                return lhsFrame;
             }
-            if (rhsCandidates is _Frame[] && rhsCandidates.length() > 0) {
-                _Frame rhsFrame = rhsCandidates.shift();
-                self.rhsCandidates = rhsCandidates;
-                _Frame joinedFrame = {...lhsFrame};
-                foreach var [k, val] in rhsFrame.entries() {
-                    joinedFrame[k] = val;
-                }
-                return joinedFrame;
-            } else {
-                // Move to next lhs frame
-                self.lhsFrame = ();
-                self.rhsCandidates = ();
-                return self.process();
+            _Frame? rhsFrame = rhsFramesMap.getFrame(self.rhsCandidates, self.rhsCandidateIndex);
+            if (rhsFrame is _Frame) {
+                self.rhsCandidateIndex += 1;
+                return mergeFrames(lhsFrame, rhsFrame);
             }
+            // Move to next lhs frame
+            self.lhsFrame = ();
         }
-        return lhsFrame;
     }
 
     public function reset() {
         // Reset the state of lhsFrame
         self.lhsFrame = ();
-        self.rhsCandidates = ();
+        self.rhsCandidates = -1;
+        self.rhsCandidateIndex = 0;
         _StreamFunction? pf = self.prevFunc;
         if (pf is _StreamFunction) {
             pf.reset();
@@ -435,7 +425,8 @@ class _OuterJoinFunction {
     function (_Frame _frame) returns any|error lhsKeyFunction;
     function (_Frame _frame) returns any|error rhsKeyFunction;
     _FrameMultiMap rhsFramesMap = new;
-    _Frame[]? rhsCandidates;
+    int rhsCandidates = -1;
+    int rhsCandidateIndex = 0;
     _Frame|error? lhsFrame;
     _Frame nilFrame;
     error? failureAtJoin = ();
@@ -446,24 +437,10 @@ class _OuterJoinFunction {
             function (_Frame _frame) returns any|error rhsKeyFunction, _Frame nilFrame) {
         self.lhsKeyFunction = lhsKeyFunction;
         self.rhsKeyFunction = rhsKeyFunction;
-        self.rhsCandidates = ();
         self.prevFunc = ();
         self.lhsFrame = ();
         self.nilFrame = nilFrame;
-        _Frame|error? f = pipelineToJoin.next();
-        while (f is _Frame) {
-            any|error rhsKeyFuncResult = rhsKeyFunction(f);
-            if rhsKeyFuncResult is error {
-                self.failureAtJoin = prepareQueryBodyError(rhsKeyFuncResult);
-                return;
-            } else {
-                self.rhsFramesMap.put(rhsKeyFuncResult.toString(), f);
-                f = pipelineToJoin.next();
-            }
-        }
-        if (f is error) {
-            self.failureAtJoin = f;
-        }
+        self.failureAtJoin = self.rhsFramesMap.putAll(pipelineToJoin, rhsKeyFunction);
     }
 
     # Desugared function to do;
@@ -474,63 +451,50 @@ class _OuterJoinFunction {
         function (_Frame _frame) returns any|error lhsKF = self.lhsKeyFunction;
         _StreamFunction pf = <_StreamFunction>self.prevFunc;
         _FrameMultiMap rhsFramesMap = self.rhsFramesMap;
-        _Frame[]? rhsCandidates = self.rhsCandidates;
-        _Frame|error? lhsFrame = self.lhsFrame;
-        _Frame nilFrame = self.nilFrame;
         error? failureAtJoin = self.failureAtJoin;
-        string lhsKey = "";
 
         if(failureAtJoin is error) {
             fail failureAtJoin;
         }
 
-        if (lhsFrame is ()) {
-            lhsFrame = pf.process();
-            self.lhsFrame = lhsFrame;
-        }
-
-        if (lhsFrame is _Frame) {
-            any|error lhsKFRes = lhsKF(lhsFrame);
-            if (lhsKFRes is error) {
-                return prepareQueryBodyError(lhsKFRes);
-            }
-            lhsKey = (lhsKFRes).toString();
-            if (rhsCandidates is ()) {
-                rhsCandidates = rhsFramesMap.get(lhsKey);
-                self.rhsCandidates = rhsCandidates;
+        while true {
+            _Frame|error? lhsFrame = self.lhsFrame;
+            if (lhsFrame is ()) {
+                lhsFrame = pf.process();
+                if (lhsFrame is _Frame) {
+                    any|error lhsKFRes = lhsKF(lhsFrame);
+                    if (lhsKFRes is error) {
+                        return prepareQueryBodyError(lhsKFRes);
+                    }
+                    self.rhsCandidates = rhsFramesMap.get(lhsKFRes);
+                    self.rhsCandidateIndex = 0;
+                }
+                self.lhsFrame = lhsFrame;
             }
 
-            if (rhsCandidates is _Frame[]) {
-                _Frame rhsFrame = rhsCandidates.shift();
-                if (rhsCandidates.length() > 0) {
-                    self.rhsCandidates = rhsCandidates;
-                } else {
-                    // Move to next lhs frame in next iteration.
-                    self.rhsCandidates = ();
-                    self.lhsFrame = ();
-                }
-                _Frame joinedFrame = {...lhsFrame};
-                foreach var [k, val] in rhsFrame.entries() {
-                    joinedFrame[k] = val;
-                }
-                return joinedFrame;
-            } else {
-                // rhsCandidates is nil, move to next lhs frame in next iteration.
-                _Frame joinedFrame = {...lhsFrame};
-                foreach var [k, val] in nilFrame.entries() {
-                    joinedFrame[k] = val;
-                }
+            if (lhsFrame !is _Frame) {
+                return lhsFrame;
+            }
+            if (self.rhsCandidates == -1) {
+                // There are no rhs candidates, move to next lhs frame in next iteration.
                 self.lhsFrame = ();
-                return joinedFrame;
+                return mergeFrames(lhsFrame, self.nilFrame);
+            }
+            _Frame? rhsFrame = rhsFramesMap.getFrame(self.rhsCandidates, self.rhsCandidateIndex);
+            if (rhsFrame is _Frame) {
+                self.rhsCandidateIndex += 1;
+                return mergeFrames(lhsFrame, rhsFrame);
             }
+            // Move to next lhs frame
+            self.lhsFrame = ();
         }
-        return lhsFrame;
     }
 
     public function reset() {
         // Reset the state of lhsFrame
         self.lhsFrame = ();
-        self.rhsCandidates = ();
+        self.rhsCandidates = -1;
+        self.rhsCandidateIndex = 0;
         _StreamFunction? pf = self.prevFunc;
         if (pf is _StreamFunction) {
             pf.reset();
@@ -584,10 +548,14 @@ class _OrderByFunction {
     # Desugared function to do;
     # order by person.fname true, person.age false
     function (_Frame _frame) returns error? orderKeyFunc;
+    # Number of frames needed by a constant `limit` that directly follows the `order by`, or -1 if all the frames
+    # are needed.
+    int topK;
     stream<_Frame>? orderedStream;
 
-    function init(function (_Frame _frame) returns error? orderKeyFunc) {
+    function init(function (_Frame _frame) returns error? orderKeyFunc, int topK = -1) {
         self.orderKeyFunc = orderKeyFunc;
+        self.topK = topK;
         self.orderedStream = ();
         self.prevFunc = ();
     }
@@ -599,17 +567,21 @@ class _OrderByFunction {
             _Frame|error? f = pf.process();
             boolean[] directions = [];
             _OrderTreeNode oTree = new;
-            // consume all events for ordering.
-            while (f is _Frame) {
-                error? res = orderKeyFunc(f);
-                if(res is error) {
-                    return prepareQueryBodyError(res);
+            if (self.topK > 0) {
+                oTree = check self.orderTopK(f, pf, orderKeyFunc);
+            } else {
+                // consume all events for ordering.
+                while (f is _Frame) {
+                    error? res = orderKeyFunc(f);
+                    if(res is error) {
+                        return prepareQueryBodyError(res);
+                    }
+                    oTree.add(f, <any[]>(checkpanic f["$orderDirection$"]), <any[]>(checkpanic f["$orderKey$"]));
+                    f = pf.process();
+                }
+                if (f is error) {
+                    return f;
                 }
-                oTree.add(f, <any[]>(checkpanic f["$orderDirection$"]), <any[]>(checkpanic f["$orderKey$"]));
-                f = pf.process();
-            }
-            if (f is error) {
-                return f;
             }
             self.orderedStream = oTree.get().toStream();
         }
@@ -622,6 +594,40 @@ class _OrderByFunction {
         return f;
     }
 
+    # Consumes all events, but only keeps the frames that can be among the first `topK` ordered frames.
+    # Whenever the tree grows past the threshold, it is rebuilt with just its first `topK` frames. Frames that are
+    # kept were added before any of the frames that follow, so ties are still resolved in the original order.
+    # + return - tree with at least the first `topK` ordered frames.
+    function orderTopK(_Frame|error? firstFrame, _StreamFunction pf,
+            function (_Frame _frame) returns error? orderKeyFunc) returns _OrderTreeNode|error {
+        int topK = self.topK;
+        int threshold = topK > 1024 ? topK * 2 : topK + 1024;
+        _OrderTreeNode oTree = new;
+        int treeSize = 0;
+        _Frame|error? f = firstFrame;
+        while (f is _Frame) {
+            error? res = orderKeyFunc(f);
+            if(res is error) {
+                return prepareQueryBodyError(res);
+            }
+            addToOrderTree(oTree, f);
+            treeSize += 1;
+            if (treeSize >= threshold) {
+                _Frame[] firstFrames = oTree.get().slice(0, topK);
+                oTree = new;
+                foreach _Frame frame in firstFrames {
+                    addToOrderTree(oTree, frame);
+                }
+                treeSize = topK;
+            }
+            f = pf.process();
+        }
+        if (f is error) {
+            return f;
+        }
+        return oTree;
+    }
+
     public function reset() {
         self.orderedStream = ();
         _StreamFunction? pf = self.prevFunc;
@@ -631,6 +637,12 @@ class _OrderByFunction {
     }
 }
 
+# Adds a frame to the tree. The tree does not modify the order keys and directions of the frame, so the frame can
+# be added to another tree later.
+function addToOrderTree(_OrderTreeNode oTree, _Frame f) {
+    oTree.add(f, <any[]>(checkpanic f["$orderDirection$"]), <any[]>(checkpanic f["$orderKey$"]));
+}
+
 class _SelectFunction {
     *_StreamFunction;
 
@@ -669,6 +681,87 @@ class _SelectFunction {
     }
 }
 
+class _FusedFunction {
+    *_StreamFunction;
+
+    # Two or more consecutive where, let and select stages fused into a single stage;
+    # each frame from the previous stage runs through all of them in one loop,
+    # instead of a chain of `process` calls. Only the `process` calls are saved;
+    # frames are still `_Frame` maps and each stage is still a call to its
+    # desugared function. A stage is either a filter function or a frame
+    # function, the other entry of the stage is nil.
+    (function (_Frame _frame) returns boolean|error)?[] filterFuncs = [];
+    (function (_Frame _frame) returns _Frame|error?)?[] frameFuncs = [];
+
+    function init() {
+        self.prevFunc = ();
+    }
+
+    function fuse(_StreamFunction streamFunction) returns boolean {
+        if (streamFunction is _FilterFunction) {
+            self.filterFuncs.push(streamFunction.filterFunc);
+            self.frameFuncs.push(());
+        } else if (streamFunction is _LetFunction) {
+            self.filterFuncs.push(());
+            self.frameFuncs.push(streamFunction.letFunc);
+        } else if (streamFunction is _SelectFunction) {
+            self.filterFuncs.push(());
+            self.frameFuncs.push(streamFunction.selectFunc);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    public function process() returns _Frame|error? {
+        _StreamFunction pf = <_StreamFunction>self.prevFunc;
+        (function (_Frame _frame) returns boolean|error)?[] filterFuncs = self.filterFuncs;
+        (function (_Frame _frame) returns _Frame|error?)?[] frameFuncs = self.frameFuncs;
+        int stageCount = filterFuncs.length();
+        _Frame|error? pFrame = pf.process();
+        while (pFrame is _Frame) {
+            _Frame frame = pFrame;
+            int i = 0;
+            while (i < stageCount) {
+                (function (_Frame _frame) returns boolean|error)? filterFunc = filterFuncs[i];
+                if (filterFunc is ()) {
+                    function (_Frame _frame) returns _Frame|error? f =
+                        <function (_Frame _frame) returns _Frame|error?>frameFuncs[i];
+                    _Frame|error? cFrame = f(frame);
+                    if (cFrame is error) {
+                        return prepareQueryBodyError(cFrame);
+                    }
+                    if (cFrame is ()) {
+                        return cFrame;
+                    }
+                    frame = cFrame;
+                } else {
+                    boolean|error filterResult = filterFunc(frame);
+                    if (filterResult is error) {
+                        return prepareQueryBodyError(filterResult);
+                    }
+                    if (!filterResult) {
+                        break;
+                    }
+                }
+                i += 1;
+            }
+            if (i == stageCount) {
+                return frame;
+            }
+            pFrame = pf.process();
+        }
+        return pFrame;
+    }
+
+    public function reset() {
+        _StreamFunction? pf = self.prevFunc;
+        if (pf is _StreamFunction) {
+            pf.reset();
+        }
+    }
+}
+
 class _DoFunction {
     *_StreamFunction;
 
@@ -753,36 +846,41 @@ class _LimitFunction {
 
 // ---- helper types ----
 
+# Multi-map of the frames of the rhs of a join, keyed by the string representation of their join keys.
+# The frames of a key are read by position with `getFrame`, so that they do not have to be copied for each lhs frame.
 class _FrameMultiMap {
-    map<_Frame[]> m;
+    handle m;
 
     function init() {
-        self.m = {};
+        self.m = createFrameMultiMap();
     }
 
-    function put(string k, _Frame v) {
-        _Frame[]? vals = self.m[k];
-        if (vals is _Frame[]) {
-            vals.push(v);
-        } else {
-            self.m[k] = [v];
+    # Adds all the frames of the pipeline with the keys returned by the key function.
+    # + return - an error if the pipeline or the key function failed
+    function putAll(_StreamPipeline pipeline, function (_Frame _frame) returns any|error keyFunction) returns error? {
+        _Frame|error? f = pipeline.next();
+        while (f is _Frame) {
+            any|error key = keyFunction(f);
+            if key is error {
+                return prepareQueryBodyError(key);
+            }
+            putFrame(self.m, key, f);
+            f = pipeline.next();
+        }
+        if (f is error) {
+            return f;
         }
     }
 
-    function get(string k) returns _Frame[]? {
-        _Frame[]? vals = self.m[k];
-        if (vals is _Frame[]) {
-            _Frame[] frames = [];
-            int l = vals.length();
-            int i = 0;
-            while (i < l) {
-                frames.push(vals[i]);
-                i += 1;
-            }
-            return frames;
-        }
+    # Returns the id of the frames added with the given key, or -1 if there are no such frames.
+    function get(any k) returns int {
+        return getFrameListId(self.m, k);
     }
 
+    # Returns the frame at the given position of the frames with the given id, or nil if there is no such frame.
+    function getFrame(int frameListId, int index) returns _Frame? {
+        return getFrameAt(self.m, frameListId, index);
+    }
 }
 
 class IterHelper {
@@ -813,9 +911,10 @@ class _OrderTreeNode {
     map<_OrderTreeNode> nodes = {};
     any[] keys = [];
 
-    # adds a _Frame into the _OrderTreeNode tree structure.
-    function add(_Frame f, any[] directions, any[] keys) {
-        if (keys.length() == 0 && directions.length() == 0) {
+    # adds a _Frame into the _OrderTreeNode tree structure. The order directions and keys of the frame are read
+    # from the given index onwards, and are left as they are, so that the frame can be added to another tree later.
+    function add(_Frame f, any[] directions, any[] keys, int index = 0) {
+        if (index >= keys.length() && index >= directions.length()) {
             _Frame[]? currentFrames = self.frames;
             if (currentFrames is _Frame[]) {
                 currentFrames.push(f);
@@ -824,10 +923,10 @@ class _OrderTreeNode {
             }
 
         } else {
-            if (!<boolean>directions.shift()) {
+            if (!<boolean>directions[index]) {
                 self.nodesDirection = lang_array:DESCENDING;
             }
-            any key = keys.shift();
+            any key = keys[index];
             string keyStr = key.toString();
             _OrderTreeNode o;
             if (self.nodes.hasKey(keyStr)) {
@@ -838,7 +937,7 @@ class _OrderTreeNode {
                 self.nodes[keyStr] = o;
                 self.keys.push(key);
             }
-            o.add(f, directions, keys);
+            o.add(f, directions, keys, index + 1);
         }
     }
 
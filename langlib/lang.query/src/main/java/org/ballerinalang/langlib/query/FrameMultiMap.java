@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.langlib.query;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Native multi-map of frames used by the hash join of lang.query.
+ * <p>
+ * Join keys match when their string representations are equal. Keys whose string representation is that of an
+ * {@code int} are kept in an open-addressing table of primitive {@code long} keys, so that {@code int} join keys are
+ * neither boxed nor converted to strings. All other keys are kept by their string representation. The frames of a key
+ * are kept in insertion order and are read by position, so probing a key does not copy its frames.
+ *
+ * @since 2201.4.0
+ */
+public class FrameMultiMap {
+
+    private static final int NOT_FOUND = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final List<List<BMap<BString, Object>>> frameLists = new ArrayList<>();
+    private final Map<String, Integer> stringKeys = new HashMap<>();
+    private long[] intKeys = new long[INITIAL_CAPACITY];
+    // Id of the frame list of each int key plus one, where zero marks an empty slot.
+    private int[] intKeyFrameLists = new int[INITIAL_CAPACITY];
+    private int intKeyCount = 0;
+
+    public static FrameMultiMap createFrameMultiMap() {
+        return new FrameMultiMap();
+    }
+
+    public static void putFrame(FrameMultiMap frameMultiMap, Object key, BMap<BString, Object> frame) {
+        int frameListId = frameMultiMap.findFrameList(key, true);
+        frameMultiMap.frameLists.get(frameListId).add(frame);
+    }
+
+    public static long getFrameListId(FrameMultiMap frameMultiMap, Object key) {
+        return frameMultiMap.findFrameList(key, false);
+    }
+
+    public static Object getFrame(FrameMultiMap frameMultiMap, long frameListId, long index) {
+        if (frameListId == NOT_FOUND) {
+            return null;
+        }
+        List<BMap<BString, Object>> frames = frameMultiMap.frameLists.get((int) frameListId);
+        return index < frames.size() ? frames.get((int) index) : null;
+    }
+
+    /**
+     * Creates a frame with the entries of both frames. Entries of the rhs frame replace the entries of the lhs frame
+     * with the same key. A new frame is created for each pair, as the later stages of the query may keep the frames
+     * they are given, e.g. to order them.
+     *
+     * @param lhsFrame lhs frame
+     * @param rhsFrame rhs frame
+     * @return joined frame
+     */
+    public static BMap<BString, Object> mergeFrames(BMap<BString, Object> lhsFrame, BMap<BString, Object> rhsFrame) {
+        BMap<BString, Object> joinedFrame = ValueCreator.createMapValue(lhsFrame.getType());
+        for (Map.Entry<BString, Object> entry : lhsFrame.entrySet()) {
+            joinedFrame.put(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<BString, Object> entry : rhsFrame.entrySet()) {
+            joinedFrame.put(entry.getKey(), entry.getValue());
+        }
+        return joinedFrame;
+    }
+
+    private int findFrameList(Object key, boolean create) {
+        if (key instanceof Long) {
+            return findFrameList(((Long) key).longValue(), create);
+        }
+
+        String keyStr = key instanceof BString ? ((BString) key).getValue() : StringUtils.getStringValue(key, null);
+        if (isIntString(keyStr)) {
+            return findFrameList(Long.parseLong(keyStr), create);
+        }
+
+        Integer frameListId = stringKeys.get(keyStr);
+        if (frameListId != null) {
+            return frameListId;
+        }
+        if (!create) {
+            return NOT_FOUND;
+        }
+        int newFrameListId = addFrameList();
+        stringKeys.put(keyStr, newFrameListId);
+        return newFrameListId;
+    }
+
+    private int findFrameList(long key, boolean create) {
+        int mask = intKeys.length - 1;
+        int slot = hash(key) & mask;
+        while (intKeyFrameLists[slot] != 0) {
+            if (intKeys[slot] == key) {
+                return intKeyFrameLists[slot] - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (!create) {
+            return NOT_FOUND;
+        }
+
+        int frameListId = addFrameList();
+        intKeys[slot] = key;
+        intKeyFrameLists[slot] = frameListId + 1;
+        if (++intKeyCount * 2 > intKeys.length) {
+            growIntKeys();
+        }
+        return frameListId;
+    }
+
+    private int addFrameList() {
+        frameLists.add(new ArrayList<>(1));
+        return frameLists.size() - 1;
+    }
+
+    private void growIntKeys() {
+        long[] oldKeys = intKeys;
+        int[] oldFrameLists = intKeyFrameLists;
+        intKeys = new long[oldKeys.length * 2];
+        intKeyFrameLists = new int[oldKeys.length * 2];
+        int mask = intKeys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldFrameLists[i] == 0) {
+                continue;
+            }
+            int slot = hash(oldKeys[i]) & mask;
+            while (intKeyFrameLists[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            intKeys[slot] = oldKeys[i];
+            intKeyFrameLists[slot] = oldFrameLists[i];
+        }
+    }
+
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    // Checks whether the string is the string representation of an int value, i.e. a decimal number without redundant
+    // leading zeros that fits in a long.
+    private static boolean isIntString(String str) {
+        int length = str.length();
+        int start = length > 0 && str.charAt(0) == '-' ? 1 : 0;
+        if (start == length || length > 20 || (str.charAt(start) == '0' && (length > start + 1 || start == 1))) {
+            return false;
+        }
+        for (int i = start; i < length; i++) {
+            char ch = str.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return false;
+            }
+        }
+        if (length - start < 19) {
+            return true;
+        }
+        try {
+            Long.parseLong(str);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
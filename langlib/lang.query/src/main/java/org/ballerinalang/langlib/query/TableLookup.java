@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.langlib.query;
+
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.TableType;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTable;
+import io.ballerina.runtime.internal.values.TableValueImpl;
+
+/**
+ * Native lookup of the rows of a table by the value of a field, used when the first clause after the input clause of
+ * a query over a table is a {@code where} clause comparing a field of the row with a literal.
+ * <p>
+ * The rows returned are a superset of the rows accepted by the {@code where} clause, which is still applied to them.
+ *
+ * @since 2201.4.0
+ */
+public class TableLookup {
+
+    public static BArray lookupTableRows(BTable tbl, BString fieldName, Object value) {
+        Object[] rows = ((TableValueImpl<?, ?>) tbl).getRowsByFieldValue(fieldName, value).toArray();
+        return ValueCreator.createArrayValue(rows,
+                TypeCreator.createArrayType(((TableType) tbl.getType()).getConstrainedType()));
+    }
+}
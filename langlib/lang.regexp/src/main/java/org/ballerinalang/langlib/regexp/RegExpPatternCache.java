@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.langlib.regexp;
+
+import io.ballerina.runtime.internal.regexp.RegExpFactory;
+import io.ballerina.runtime.internal.values.RegExpValue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Caches the Java patterns compiled for Ballerina regular expressions.
+ * <p>
+ * A compiled pattern is first kept on the {@link RegExpValue} itself, which serves repeated matches against the same
+ * value. Values that are created afresh, such as those returned by {@code fromString} or template expressions
+ * evaluated in a loop, are looked up by their source in a bounded LRU cache before they are translated and compiled.
+ *
+ * @since 2201.4.0
+ */
+public final class RegExpPatternCache {
+
+    private static final int MAX_ENTRIES = 256;
+
+    private static final Map<String, Pattern> PATTERNS = new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private RegExpPatternCache() {
+    }
+
+    static Pattern getPattern(RegExpValue regExpValue) {
+        Pattern pattern = regExpValue.getPattern();
+        if (pattern != null) {
+            HITS.increment();
+            return pattern;
+        }
+
+        String source = regExpValue.stringValue(null);
+        synchronized (PATTERNS) {
+            pattern = PATTERNS.get(source);
+        }
+        if (pattern != null) {
+            HITS.increment();
+        } else {
+            MISSES.increment();
+            // Map the required ballerina regexp constructs to java.
+            RegExpValue translatedRegExpVal = RegExpFactory.translateRegExpConstructs(regExpValue);
+            pattern = Pattern.compile(translatedRegExpVal.stringValue(null));
+            synchronized (PATTERNS) {
+                PATTERNS.put(source, pattern);
+            }
+        }
+        regExpValue.setPattern(pattern);
+        return pattern;
+    }
+
+    /**
+     * Returns the number of lookups served by a pattern that was already compiled.
+     *
+     * @return hit count
+     */
+    public static long getHitCount() {
+        return HITS.sum();
+    }
+
+    /**
+     * Returns the number of lookups that had to translate and compile the regular expression.
+     *
+     * @return miss count
+     */
+    public static long getMissCount() {
+        return MISSES.sum();
+    }
+
+    /**
+     * Clears the cached patterns keyed by source and resets the counters. Patterns kept on values are not affected.
+     */
+    public static void clear() {
+        synchronized (PATTERNS) {
+            PATTERNS.clear();
+        }
+        HITS.reset();
+        MISSES.reset();
+    }
+}
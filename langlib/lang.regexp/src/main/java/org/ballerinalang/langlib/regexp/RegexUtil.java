@@ -18,10 +18,8 @@
 package org.ballerinalang.langlib.regexp;
 
 import io.ballerina.runtime.api.PredefinedTypes;
-import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BRegexpValue;
 import io.ballerina.runtime.api.values.BString;
-import io.ballerina.runtime.internal.regexp.RegExpFactory;
 import io.ballerina.runtime.internal.types.BArrayType;
 import io.ballerina.runtime.internal.types.BTupleType;
 import io.ballerina.runtime.internal.values.RegExpValue;
@@ -47,10 +45,7 @@ public class RegexUtil {
     }
 
     static Matcher getMatcher(BRegexpValue regexpVal, String inputStr) {
-        // Map the required ballerina regexp constructs to java.
-        RegExpValue translatedRegExpVal = RegExpFactory.translateRegExpConstructs((RegExpValue) regexpVal);
-        String patternStr = StringUtils.getStringValue(translatedRegExpVal, null);
-        Pattern pattern = Pattern.compile(patternStr);
+        Pattern pattern = RegExpPatternCache.getPattern((RegExpValue) regexpVal);
         return pattern.matcher(inputStr);
     }
 }
@@ -19,15 +19,11 @@
 package org.ballerinalang.langlib.string;
 
 import io.ballerina.runtime.api.creators.ErrorCreator;
-import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.internal.util.exceptions.BLangExceptionHelper;
 import io.ballerina.runtime.internal.util.exceptions.RuntimeErrors;
-
-import java.nio.ByteBuffer;
-import java.nio.charset.CharacterCodingException;
-import java.nio.charset.CharsetDecoder;
-import java.nio.charset.StandardCharsets;
+import io.ballerina.runtime.internal.values.Utf8StringValue;
 
 import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReasons.FAILED_TO_DECODE_BYTES;
 
@@ -44,19 +40,16 @@ import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReason
 //)
 public class FromBytes {
 
-    private static final CharsetDecoder charsetDecoder = StandardCharsets.UTF_8.newDecoder();
-
     private FromBytes() {
     }
 
     public static Object fromBytes(BArray bytes) {
-        try {
-            String str = charsetDecoder.decode(ByteBuffer.wrap(bytes.getBytes())).toString();
-            charsetDecoder.reset();
-            return StringUtils.fromString(str);
-        } catch (CharacterCodingException e) {
+        // getBytes returns a copy, which the string can own without copying it again
+        BString str = Utf8StringValue.fromUtf8Bytes(bytes.getBytes());
+        if (str == null) {
             return ErrorCreator.createError(FAILED_TO_DECODE_BYTES,
                     BLangExceptionHelper.getErrorDetails(RuntimeErrors.INVALID_UTF_8_BYTE_ARRAY_VALUE));
         }
+        return str;
     }
 }
@@ -20,6 +20,7 @@ package org.ballerinalang.langlib.string;
 import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.values.Utf8StringValue;
 
 import java.nio.charset.StandardCharsets;
 
@@ -37,6 +38,10 @@ import java.nio.charset.StandardCharsets;
 public class ToBytes {
 
     public static BArray toBytes(BString value) {
+        if (value instanceof Utf8StringValue) {
+            // Skips the encoding only; the bytes are still copied, since the returned array is mutable
+            return ValueCreator.createArrayValue(((Utf8StringValue) value).getUtf8Bytes());
+        }
 
         byte[] bytes = value.getValue().getBytes(StandardCharsets.UTF_8);
         return ValueCreator.createArrayValue(bytes);
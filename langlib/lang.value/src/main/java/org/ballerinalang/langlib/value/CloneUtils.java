@@ -25,7 +25,7 @@ import io.ballerina.runtime.api.values.BRefValue;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.internal.ErrorUtils;
 
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 
 import static io.ballerina.runtime.internal.TypeConverter.MAX_CONVERSION_ERROR_COUNT;
@@ -56,7 +56,7 @@ public class CloneUtils {
         }
 
         BRefValue refValue = (BRefValue) value;
-        return refValue.copy(new HashMap<>());
+        return refValue.copy(new IdentityHashMap<>());
     }
 
     /**
@@ -76,7 +76,7 @@ public class CloneUtils {
         }
 
         BRefValue refValue = (BRefValue) value;
-        return refValue.frozenCopy(new HashMap<>());
+        return refValue.frozenCopy(new IdentityHashMap<>());
     }
 
     public static BError createConversionError(Object value, Type targetType, List<String> errors) {
@@ -22,7 +22,7 @@ import io.ballerina.runtime.api.values.BXml;
 import io.ballerina.runtime.internal.scheduling.Strand;
 import io.ballerina.runtime.internal.util.exceptions.BLangExceptionHelper;
 
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 
 /**
  * Make a deep copy of an XML.
@@ -39,7 +39,7 @@ public class Copy {
 
     public static BXml copy(Strand strand, BXml xml) {
         try {
-            return (BXml) xml.copy(new HashMap<>());
+            return (BXml) xml.copy(new IdentityHashMap<>());
         } catch (Throwable e) {
             BLangExceptionHelper.handleXMLException(OPERATION, e);
         }
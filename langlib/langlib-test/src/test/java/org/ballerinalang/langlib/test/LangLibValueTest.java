@@ -460,7 +460,12 @@ public class LangLibValueTest {
                 { "testFromJsonStringWithTypeStringArray" },
                 { "testFromJsonStringWithTypeArrayNegative" },
                 { "testFromJsonStringWithTypeIntArray" },
-                { "testFromJsonStringWithTypeWithInferredArgument" }
+                { "testFromJsonStringWithTypeWithInferredArgument" },
+                { "testFromJsonStringWithTypeNestedRecords" },
+                { "testFromJsonStringWithTypeNestedRecordsNegative" },
+                { "testFromJsonStringWithTypeErrorMatchesFromJsonWithType" },
+                { "testFromJsonStringWithTypeRunsDefaultsOnce" },
+                { "testFromJsonStringWithTypeDefaultPanics" }
         };
     }
 
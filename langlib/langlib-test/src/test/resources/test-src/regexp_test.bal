@@ -993,6 +993,29 @@ function testLangLibFuncWithNamedArgExpr() {
     }
 }
 
+function testRepeatedMatchesWithSameRegExp() {
+    string:RegExp logPattern = re `ERR.R \d+`;
+    string[] lines = ["ERROR 42", "ERR R 7", "WARN 1", "ERR\nR 3"];
+    int matchCount = 0;
+    foreach int i in 0 ..< 3 {
+        foreach string line in lines {
+            if logPattern.isFullMatch(line) {
+                matchCount += 1;
+            }
+            string:RegExp|error dynamicPattern = regexp:fromString("ERR.R \\d+");
+            if dynamicPattern is string:RegExp {
+                assertEquality(logPattern.isFullMatch(line), dynamicPattern.isFullMatch(line));
+            } else {
+                panic dynamicPattern;
+            }
+        }
+    }
+    assertEquality(6, matchCount);
+    regexp:Span? span = logPattern.find("a ERROR 4 b");
+    assertTrue(span is regexp:Span);
+    assertEquality("ERROR 4", (<regexp:Span>span).substring());
+}
+
 function assertEquality(any|error expected, any|error actual) {
     if expected is anydata && actual is anydata && expected == actual {
         return;
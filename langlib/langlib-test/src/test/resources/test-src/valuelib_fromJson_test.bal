@@ -455,6 +455,112 @@ function testFromJsonStringWithTypeWithInferredArgument() {
     assertEquality(a is error, true);
 }
 
+type Branch record {|
+    string city;
+    int employees = 10;
+    decimal? revenue;
+|};
+
+type Company record {
+    string name;
+    Branch[] branches;
+    [int, string...] codes;
+    map<int> ratings?;
+};
+
+type CompanyArray Company[];
+
+function testFromJsonStringWithTypeNestedRecords() {
+    string str = "[{\"name\": \"A\", \"branches\": [{\"city\": \"Colombo\", \"revenue\": 1.5}, " +
+        "{\"city\": \"Kandy\", \"employees\": 3, \"revenue\": null}], \"codes\": [1, \"x\"], " +
+        "\"ratings\": {\"q1\": 4}, \"founded\": 1990}, {\"name\": \"B\", \"branches\": [], \"codes\": [2]}]";
+    Company[] companies = checkpanic str.fromJsonStringWithType(CompanyArray);
+
+    assertEquality(companies.length(), 2);
+    Company a = companies[0];
+    assertEquality(a.branches[0], {city: "Colombo", employees: 10, revenue: 1.5d});
+    assertEquality(a.branches[1], {city: "Kandy", employees: 3, revenue: ()});
+    assertEquality(a.codes, [1, "x"]);
+    assertEquality(a.ratings, {q1: 4});
+    assertEquality(a["founded"], 1990);
+    assertEquality(companies[1].ratings, ());
+    assertEquality(companies[1].codes, [2]);
+
+    str = "{\"name\": \"C\", \"branches\": [{\"city\": \"Galle\", \"revenue\": 2}], \"codes\": [3]}";
+    Company|error company = str.fromJsonStringWithType();
+    assertEquality(company is Company, true);
+    assertEquality((checkpanic company).branches[0].revenue, 2d);
+}
+
+function testFromJsonStringWithTypeNestedRecordsNegative() {
+    string str = "[{\"name\": \"A\", \"branches\": [{\"city\": \"Colombo\", \"revenue\": 1.5, " +
+        "\"state\": \"WP\"}], \"codes\": [1]}]";
+    Company[]|error companies = str.fromJsonStringWithType(CompanyArray);
+    assertEquality(companies is error, true);
+
+    str = "[{\"name\": \"A\", \"branches\": [{\"city\": \"Colombo\", \"revenue\": 1.5}], \"codes\": []}]";
+    companies = str.fromJsonStringWithType(CompanyArray);
+    assertEquality(companies is error, true);
+}
+
+function testFromJsonStringWithTypeErrorMatchesFromJsonWithType() {
+    string str = "[{\"name\": \"A\", \"branches\": [{\"city\": \"Colombo\", \"revenue\": \"high\"}], " +
+        "\"codes\": [1]}]";
+    Company[]|error typed = str.fromJsonStringWithType(CompanyArray);
+    Company[]|error converted = (checkpanic str.fromJsonString()).fromJsonWithType(CompanyArray);
+    assertEquality(typed is error, true);
+    assertEquality(converted is error, true);
+    error typedError = <error> typed;
+    error convertedError = <error> converted;
+    assertEquality(typedError.message(), convertedError.message());
+    assertEquality(typedError.detail().toString(), convertedError.detail().toString());
+}
+
+int defaultCount = 0;
+
+function nextDefaultCount() returns int {
+    defaultCount += 1;
+    return defaultCount;
+}
+
+type Counted record {|
+    string name;
+    int count = nextDefaultCount();
+|};
+
+type CountedArray Counted[];
+
+function testFromJsonStringWithTypeRunsDefaultsOnce() {
+    string str = "[{\"name\": \"A\"}, {\"name\": \"B\", \"count\": 10}, {\"name\": \"C\"}]";
+    defaultCount = 0;
+    Counted[] typed = checkpanic str.fromJsonStringWithType(CountedArray);
+    int typedDefaultCount = defaultCount;
+
+    defaultCount = 0;
+    Counted[] converted = checkpanic (checkpanic str.fromJsonString()).fromJsonWithType(CountedArray);
+    assertEquality(typedDefaultCount, defaultCount);
+    assertEquality(typed, converted);
+    assertEquality(typed[1].count, 10);
+}
+
+function faultyDefault() returns int {
+    panic error("cannot create 'Faulty'");
+}
+
+type Faulty record {
+    string name;
+    int id = faultyDefault();
+};
+
+type FaultyArray Faulty[];
+
+function testFromJsonStringWithTypeDefaultPanics() {
+    string str = "[{\"name\": \"A\"}, {\"name\": \"B\", \"extra\": [1]}]";
+    Faulty[]|error faulty = trap str.fromJsonStringWithType(FaultyArray);
+    assertEquality(faulty is error, true);
+    assertEquality((<error> faulty).message(), "cannot create 'Faulty'");
+}
+
 type OpenRecordWithUnionTarget record {|
     string|decimal...;
 |};
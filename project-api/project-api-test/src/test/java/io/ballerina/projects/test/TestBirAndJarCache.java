@@ -21,6 +21,7 @@ import io.ballerina.projects.BuildOptions;
 import io.ballerina.projects.CompilationCache;
 import io.ballerina.projects.CompilationCacheFactory;
 import io.ballerina.projects.CompilerBackend;
+import io.ballerina.projects.Document;
 import io.ballerina.projects.JBallerinaBackend;
 import io.ballerina.projects.JvmTarget;
 import io.ballerina.projects.Module;
@@ -33,6 +34,7 @@ import io.ballerina.projects.ProjectEnvironmentBuilder;
 import io.ballerina.projects.directory.BuildProject;
 import io.ballerina.projects.repos.FileSystemCache;
 import io.ballerina.projects.util.ProjectConstants;
+import org.apache.commons.io.FileUtils;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -105,6 +107,74 @@ public class TestBirAndJarCache {
         }
     }
 
+    @Test(description = "tests reusing the cached BIR and Jar files of unchanged modules")
+    public void testBirAndJarCacheReuse() throws IOException {
+        Path projectPath = RESOURCE_DIRECTORY.resolve("balawriter").resolve("projectOne");
+        Path cacheDirPath = Files.createTempDirectory("test-compilation-cache" + System.nanoTime());
+        BuildOptions buildOptions = BuildOptions.builder().setEnableCache(true).build();
+
+        // 1) Build the project to populate the cache
+        TestCompilationCacheFactory testCompCacheFactory = new TestCompilationCacheFactory(cacheDirPath);
+        ProjectEnvironmentBuilder environmentBuilder = ProjectEnvironmentBuilder.getDefaultBuilder();
+        environmentBuilder.addCompilationCacheFactory(testCompCacheFactory);
+        BuildProject project = TestUtils.loadBuildProject(environmentBuilder, projectPath, buildOptions);
+        JBallerinaBackend.from(project.currentPackage().getCompilation(), JvmTarget.JAVA_11);
+        int numOfModules = project.currentPackage().moduleIds().size();
+        Assert.assertEquals(testCompCacheFactory.compilationCache().birCachedCount, numOfModules);
+
+        // 2) Build the unchanged project again, none of the modules should be compiled
+        testCompCacheFactory = new TestCompilationCacheFactory(cacheDirPath);
+        environmentBuilder = ProjectEnvironmentBuilder.getDefaultBuilder();
+        environmentBuilder.addCompilationCacheFactory(testCompCacheFactory);
+        project = TestUtils.loadBuildProject(environmentBuilder, projectPath, buildOptions);
+        PackageCompilation compilation = project.currentPackage().getCompilation();
+        Assert.assertFalse(compilation.diagnosticResult().hasErrors());
+        JBallerinaBackend.from(compilation, JvmTarget.JAVA_11);
+        TestCompilationCache testCompilationCache = testCompCacheFactory.compilationCache();
+        Assert.assertEquals(testCompilationCache.birCachedCount, 0);
+        Assert.assertEquals(testCompilationCache.jarCachedCount, 0);
+
+        // 3) Change a single line of the default module, only that module should be compiled again
+        Module defaultModule = project.currentPackage().getDefaultModule();
+        Document document = defaultModule.documentIds().stream()
+                .map(defaultModule::document)
+                .filter(doc -> doc.name().equals("utils.bal"))
+                .findFirst().orElseThrow();
+        Package updatedPackage = document.modify()
+                .withContent(document.textDocument().toString() + "\nfunction addedFunction() {\n}\n")
+                .apply().module().packageInstance();
+        JBallerinaBackend.from(updatedPackage.getCompilation(), JvmTarget.JAVA_11);
+        Assert.assertEquals(testCompilationCache.birCachedCount, 1);
+        Assert.assertEquals(testCompilationCache.jarCachedCount, 1);
+    }
+
+    @Test(description = "tests compiling the modules again when a platform library changes")
+    public void testBirAndJarCacheInvalidatedByPlatformLibrary() throws IOException {
+        Path projectPath = Files.createTempDirectory("test-platform-library-project" + System.nanoTime());
+        FileUtils.copyDirectory(RESOURCE_DIRECTORY.resolve("balawriter").resolve("projectOne").toFile(),
+                projectPath.toFile());
+        Path cacheDirPath = Files.createTempDirectory("test-compilation-cache" + System.nanoTime());
+        BuildOptions buildOptions = BuildOptions.builder().setEnableCache(true).build();
+
+        // 1) Build the project to populate the cache
+        TestCompilationCacheFactory testCompCacheFactory = new TestCompilationCacheFactory(cacheDirPath);
+        ProjectEnvironmentBuilder environmentBuilder = ProjectEnvironmentBuilder.getDefaultBuilder();
+        environmentBuilder.addCompilationCacheFactory(testCompCacheFactory);
+        BuildProject project = TestUtils.loadBuildProject(environmentBuilder, projectPath, buildOptions);
+        JBallerinaBackend.from(project.currentPackage().getCompilation(), JvmTarget.JAVA_11);
+        int numOfModules = project.currentPackage().moduleIds().size();
+        Assert.assertEquals(testCompCacheFactory.compilationCache().birCachedCount, numOfModules);
+
+        // 2) Replace the contents of a platform library, every module should be compiled again
+        Files.writeString(projectPath.resolve("libs").resolve("ballerina-io-1.0.0-java.txt"), "replaced");
+        testCompCacheFactory = new TestCompilationCacheFactory(cacheDirPath);
+        environmentBuilder = ProjectEnvironmentBuilder.getDefaultBuilder();
+        environmentBuilder.addCompilationCacheFactory(testCompCacheFactory);
+        project = TestUtils.loadBuildProject(environmentBuilder, projectPath, buildOptions);
+        JBallerinaBackend.from(project.currentPackage().getCompilation(), JvmTarget.JAVA_11);
+        Assert.assertEquals(testCompCacheFactory.compilationCache().birCachedCount, numOfModules);
+    }
+
     /**
      * An instance of {@code CompilationCacheFactory} used for testing purposes.
      */
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.jvm;
+
+import io.ballerina.projects.JBallerinaBackend;
+import io.ballerina.projects.JvmTarget;
+import io.ballerina.projects.Module;
+import io.ballerina.projects.Package;
+import io.ballerina.projects.Project;
+import org.ballerinalang.test.BCompileUtil;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Test cases to verify that the generated classes do not depend on the number of threads which compute their stack
+ * map frames. Modules with enough classes have their frames computed in parallel when more than one thread is
+ * available, while the other modules and single threaded builds compute the frames while generating each class.
+ *
+ * @since 2201.4.0
+ */
+public class FrameComputationTest {
+
+    // The shapes module has enough classes for its frames to be computed in parallel, the root module does not.
+    private static final String PROJECT = "test-src/jvm/FrameComputationProject";
+    private static final String ROOT_MODULE_CLASS_PREFIX = "testorg/framecomputation/1/";
+
+    @Test
+    public void testParallelFrameComputationGeneratesSameClasses() throws Exception {
+        Map<String, byte[]> twoThreadClasses = generateClasses(2);
+        Map<String, byte[]> fourThreadClasses = generateClasses(4);
+
+        Assert.assertFalse(twoThreadClasses.isEmpty());
+        Assert.assertEquals(fourThreadClasses.keySet(), twoThreadClasses.keySet());
+        for (Map.Entry<String, byte[]> entry : twoThreadClasses.entrySet()) {
+            Assert.assertTrue(Arrays.equals(fourThreadClasses.get(entry.getKey()), entry.getValue()),
+                    "classes differ: " + entry.getKey());
+        }
+    }
+
+    @Test
+    public void testSingleThreadGeneratesSameClasses() throws Exception {
+        Map<String, byte[]> singleThreadClasses = generateClasses(1);
+        Map<String, byte[]> parallelClasses = generateClasses(4);
+
+        Assert.assertEquals(parallelClasses.keySet(), singleThreadClasses.keySet());
+        // Only the classes of modules with too few classes to compute the frames in parallel take the same path
+        // either way. The constant pool of a class whose frames are computed in a second pass is in a different order.
+        boolean rootModuleFound = false;
+        for (Map.Entry<String, byte[]> entry : singleThreadClasses.entrySet()) {
+            if (entry.getKey().startsWith(ROOT_MODULE_CLASS_PREFIX)) {
+                rootModuleFound = true;
+                Assert.assertTrue(Arrays.equals(parallelClasses.get(entry.getKey()), entry.getValue()),
+                        "classes differ: " + entry.getKey());
+            }
+        }
+        Assert.assertTrue(rootModuleFound);
+    }
+
+    private Map<String, byte[]> generateClasses(int parallelism) throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> {
+                Project project = BCompileUtil.loadProject(PROJECT);
+                Package currentPackage = project.currentPackage();
+                JBallerinaBackend jBallerinaBackend = JBallerinaBackend.from(currentPackage.getCompilation(),
+                        JvmTarget.JAVA_11);
+                Assert.assertFalse(jBallerinaBackend.diagnosticResult().hasErrors());
+
+                Map<String, byte[]> classes = new TreeMap<>();
+                for (Module module : currentPackage.modules()) {
+                    Path jarPath = jBallerinaBackend.codeGeneratedLibrary(currentPackage.packageId(),
+                            module.moduleName()).path();
+                    readClasses(jarPath, classes);
+                }
+                return classes;
+            }).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void readClasses(Path jarPath, Map<String, byte[]> classes) throws IOException {
+        try (JarFile jarFile = new JarFile(jarPath.toFile())) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                if (!entry.getName().endsWith(".class")) {
+                    continue;
+                }
+                try (InputStream inputStream = jarFile.getInputStream(entry)) {
+                    classes.put(entry.getName(), inputStream.readAllBytes());
+                }
+            }
+        }
+    }
+}
@@ -120,6 +120,11 @@ public class JoinClauseTest {
         BRunUtil.invoke(result, "testOuterJoin");
     }
 
+    @Test(description = "Test inner and outer joins with many frames")
+    public void testJoinWithManyFrames() {
+        BRunUtil.invoke(result, "testJoinWithManyFrames");
+    }
+
     @Test(description = "Test negative scenarios for query expr with join clause")
     public void testNegativeScenarios() {
         Assert.assertEquals(negativeResult.getErrorCount(), 40);
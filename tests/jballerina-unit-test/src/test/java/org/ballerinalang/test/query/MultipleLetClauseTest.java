@@ -107,6 +107,11 @@ public class MultipleLetClauseTest {
         BRunUtil.invoke(result, "testwildcardBindingPatternInLetClause");
     }
 
+    @Test
+    public void testInterleavedWhereAndLetClauses() {
+        BRunUtil.invoke(result, "testInterleavedWhereAndLetClauses");
+    }
+
     @AfterClass
     public void tearDown() {
         result = null;
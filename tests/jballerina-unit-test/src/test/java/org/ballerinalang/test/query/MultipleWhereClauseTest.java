@@ -86,6 +86,18 @@ public class MultipleWhereClauseTest {
         Assert.assertEquals((person1.get(StringUtils.fromString("score"))), 90.6);
     }
 
+    @Test(description = "Test where clauses comparing a field of the rows of a table")
+    public void testWhereClausesOnTableFields() {
+        BArray returnValues = (BArray) BRunUtil.invoke(result, "testWhereClausesOnTableFields");
+        Assert.assertNotNull(returnValues);
+
+        Assert.assertEquals(returnValues.get(0).toString(), "[200]");
+        Assert.assertEquals(returnValues.get(1).toString(), "[2,4]");
+        Assert.assertEquals(returnValues.get(2).toString(), "[2,3,4]");
+        Assert.assertEquals(returnValues.get(3).toString(), "[]");
+        Assert.assertEquals(returnValues.get(4).toString(), "[4,5]");
+    }
+
     @AfterClass
     public void tearDown() {
         result = null;
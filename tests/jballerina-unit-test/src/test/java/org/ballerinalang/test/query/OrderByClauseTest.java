@@ -231,6 +231,12 @@ public class OrderByClauseTest {
                 "<author>Dan Brown</author><author>Enid Blyton</author>");
     }
 
+    @Test(description = "Test query expr with order by clause followed by a constant limit")
+    public void testQueryExprWithOrderByClauseAndConstantLimit() {
+        Object returnValues = BRunUtil.invoke(result, "testQueryExprWithOrderByClauseAndConstantLimit");
+        Assert.assertTrue((Boolean) returnValues);
+    }
+
     @Test(description = "Test negative scenarios for query expr with order by clause")
     public void testNegativeScenarios() {
         Assert.assertEquals(negativeResult.getErrorCount(), 3);
@@ -0,0 +1,27 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import framecomputation.shapes;
+
+public function main() {
+    float total = 0.0;
+    foreach int i in 1 ... 10 {
+        total += shapes:area(i % 3 == 0 ? "circle" : i % 3 == 1 ? "square" : "triangle", <float>i);
+    }
+    if total <= 0.0 {
+        panic error("unexpected total area: " + total.toString());
+    }
+}
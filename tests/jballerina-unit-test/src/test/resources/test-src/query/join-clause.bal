@@ -509,6 +509,48 @@ public function testOuterJoin() {
     assertEquality(null, ordered_names[2]);
 }
 
+type Order record {|
+    int id;
+    int customerId;
+    string region;
+|};
+
+type Region record {|
+    string code;
+    string name;
+|};
+
+function testJoinWithManyFrames() {
+    Order[] orders = [];
+    foreach int i in 0 ..< 3000 {
+        orders.push({id: i, customerId: i % 700 - 50, region: "R" + (i % 11).toString()});
+    }
+    int[] customerIds = [];
+    foreach int i in 0 ..< 1000 {
+        customerIds.push(i % 500 - 20);
+    }
+    Region[] regions = from int i in 0 ..< 10 select {code: "R" + i.toString(), name: "Region " + i.toString()};
+
+    int[][] expectedPairs = from var o in orders
+                            from var c in customerIds
+                            where o.customerId == c
+                            select [o.id, c];
+    int[][] actualPairs = from var o in orders
+                          join var c in customerIds on o.customerId equals c
+                          select [o.id, c];
+    assertEquality(4340, actualPairs.length());
+    assertEquality(expectedPairs, actualPairs);
+
+    string?[] regionNames = from var o in orders
+                            outer join var r in regions on o.region equals r?.code
+                            select r?.name;
+    assertEquality(3000, regionNames.length());
+    assertEquality("Region 0", regionNames[0]);
+    assertEquality("Region 9", regionNames[9]);
+    assertEquality((), regionNames[10]);
+    assertEquality("Region 0", regionNames[11]);
+}
+
 const ASSERTION_ERROR_REASON = "AssertionError";
 
 function assertEquality(any|error expected, any|error actual) {
@@ -183,6 +183,25 @@ public function testwildcardBindingPatternInLetClause() {
     assertEquality(p.lastName, "George");
 }
 
+function testInterleavedWhereAndLetClauses() {
+    string[] trace = [];
+    int[] evens = from int i in 1 ... 6
+        where addTrace(trace, "w1:" + i.toString()) && i % 2 == 0
+        let int j = i * 10
+        where addTrace(trace, "w2:" + j.toString()) && j != 40
+        let int k = j + 1
+        select k;
+    int[] expectedEvens = [21, 61];
+    string[] expectedTrace = ["w1:1", "w1:2", "w2:20", "w1:3", "w1:4", "w2:40", "w1:5", "w1:6", "w2:60"];
+    assertEquality(expectedEvens, evens);
+    assertEquality(expectedTrace, trace);
+}
+
+function addTrace(string[] trace, string entry) returns boolean {
+    trace.push(entry);
+    return true;
+}
+
 function foo() returns [string, string] {
   return ["Mark", "Mark"];
 }
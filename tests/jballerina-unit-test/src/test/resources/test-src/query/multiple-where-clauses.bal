@@ -30,6 +30,12 @@ type Student record{|
     float score;
 |};
 
+type Employee record {|
+    readonly int id;
+    readonly string dept;
+    int salary;
+|};
+
 function testMultipleWhereClausesWithSimpleVariable() returns Person[]{
 
     Person p1 = {firstName: "Alex", lastName: "George", deptAccess: "XYZ"};
@@ -100,3 +106,23 @@ function testLogicalOperandsWithWhere() returns Student[]{
 
     return  outputStudentList;
 }
+
+function testWhereClausesOnTableFields() returns int[][] {
+    table<Employee> key(id) employees = table [
+        {id: 1, dept: "HR", salary: 100},
+        {id: 2, dept: "IT", salary: 200},
+        {id: 3, dept: "HR", salary: 300},
+        {id: 4, dept: "IT", salary: 200}
+    ];
+    Employee employee = employees.get(3);
+    employee.salary = 200;
+
+    int[] byKey = from var emp in employees where emp.id == 3 select emp.salary;
+    int[] byReadonlyField = from var emp in employees where "IT" == emp.dept where emp.salary > 100 select emp.id;
+    int[] byMutableField = from var emp in employees where emp.salary == 200 select emp.id;
+    int[] noMatch = from var emp in employees where emp.dept == "Sales" select emp.id;
+    _ = employees.remove(2);
+    employees.add({id: 5, dept: "IT", salary: 400});
+    int[] afterUpdate = from var emp in employees where emp.dept == "IT" select emp.id;
+    return [byKey, byReadonlyField, byMutableField, noMatch, afterUpdate];
+}
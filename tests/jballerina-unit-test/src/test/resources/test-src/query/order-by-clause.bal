@@ -502,3 +502,50 @@ function incrementCount(int i) returns int {
     int count = i + 2;
     return count;
 }
+
+const TOP_STUDENTS = 4;
+
+function testQueryExprWithOrderByClauseAndConstantLimit() returns boolean {
+    Student[] studentList = [];
+    foreach int i in 0 ..< 5000 {
+        // Repeated names and fees, with a nil name now and then, so that many frames share the same order keys.
+        string? fname = i % 13 == 0 ? () : "Student" + (i * 7 % 31).toString();
+        studentList.push({id: i, fname: fname, fee: <float>(i % 5), impact: <decimal>(i % 3), isUndergrad: i % 2 == 0});
+    }
+
+    int topCount = 10;
+    Student[] expected = from var student in studentList
+                         order by student.fname descending, student.fee ascending
+                         limit topCount
+                         select student;
+    Student[] actual = from var student in studentList
+                       order by student.fname descending, student.fee ascending
+                       limit 10
+                       select student;
+    boolean testPassed = actual.length() == 10 && actual == expected;
+
+    int[] expectedIds = from var student in studentList
+                        order by student.isUndergrad, student.impact descending
+                        limit topCount
+                        select student.id;
+    expectedIds = expectedIds.slice(0, TOP_STUDENTS);
+    int[] actualIds = from var student in studentList
+                      order by student.isUndergrad, student.impact descending
+                      limit TOP_STUDENTS
+                      select student.id;
+    testPassed = testPassed && actualIds == expectedIds;
+
+    // The limit does not directly follow the order by clause, hence it is applied to the filtered frames.
+    actualIds = from var student in studentList
+                order by student.fee descending
+                where student.id % 2 == 1
+                limit 3
+                select student.id;
+    testPassed = testPassed && actualIds == [9, 19, 29];
+
+    actualIds = from var student in studentList.slice(0, 3)
+                order by student.id descending
+                limit 5
+                select student.id;
+    return testPassed && actualIds == [2, 1, 0];
+}